@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.mobilitydata.gtfsvalidator.parsing.ByteCsvFile;
+import org.mobilitydata.gtfsvalidator.parsing.CsvFile;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link ByteCsvFile} iteration over content that is already in memory, to compare with
+ * {@link CsvFileBenchmark}. Only the first cell of each row is materialized as a string.
+ *
+ * <p>The largest feed size is not used because a byte array cannot hold it.
+ */
+@State(Scope.Benchmark)
+public class ByteCsvFileBenchmark {
+  @Param({"1000000", "10000000"})
+  public int rowCount;
+
+  private byte[] stopTimes;
+  private byte[] shapes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    stopTimes = Files.readAllBytes(SyntheticFeeds.stopTimes(rowCount));
+    shapes = Files.readAllBytes(SyntheticFeeds.shapes(rowCount));
+  }
+
+  @Benchmark
+  public void iterateStopTimes(RowCounter counter, Blackhole blackhole) {
+    iterate(stopTimes, "stop_times.txt", counter, blackhole);
+  }
+
+  @Benchmark
+  public void iterateShapes(RowCounter counter, Blackhole blackhole) {
+    iterate(shapes, "shapes.txt", counter, blackhole);
+  }
+
+  private static void iterate(
+      byte[] content, String filename, RowCounter counter, Blackhole blackhole) {
+    ByteCsvFile csvFile =
+        new ByteCsvFile(ByteBuffer.wrap(content), filename, CsvFile.createDefaultParserSettings());
+    for (CsvRow row : csvFile) {
+      blackhole.consume(row.asString(0));
+      ++counter.rows;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.mobilitydata.gtfsvalidator.parsing.CsvFile;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures raw {@link CsvFile} iteration, i.e. decoding and tokenizing without entity building. */
+@State(Scope.Benchmark)
+public class CsvFileBenchmark {
+  @Param({"1000000", "10000000", "50000000"})
+  public int rowCount;
+
+  private Path stopTimes;
+  private Path shapes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    stopTimes = SyntheticFeeds.stopTimes(rowCount);
+    shapes = SyntheticFeeds.shapes(rowCount);
+  }
+
+  @Benchmark
+  public void iterateStopTimes(RowCounter counter, Blackhole blackhole) throws IOException {
+    iterate(stopTimes, "stop_times.txt", counter, blackhole);
+  }
+
+  @Benchmark
+  public void iterateShapes(RowCounter counter, Blackhole blackhole) throws IOException {
+    iterate(shapes, "shapes.txt", counter, blackhole);
+  }
+
+  private static void iterate(Path path, String filename, RowCounter counter, Blackhole blackhole)
+      throws IOException {
+    try (InputStream inputStream = Files.newInputStream(path)) {
+      for (CsvRow row : new CsvFile(inputStream, filename)) {
+        blackhole.consume(row);
+        ++counter.rows;
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.input.DateForValidation;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.CsvFileLoader;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsShapeTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultValidatorProvider;
+import org.mobilitydata.gtfsvalidator.validator.ValidationContext;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorLoader;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures whole-table {@link CsvFileLoader#load} for stop_times.txt and shapes.txt.
+ *
+ * <p>No validators are registered, as in unit tests, so that the benchmark covers parsing, field
+ * loading, entity building and table indexing only. Run with a large heap: a 50M-row stop_times.txt
+ * table takes several GiB.
+ */
+@State(Scope.Benchmark)
+public class CsvFileLoaderBenchmark {
+  @Param({"1000000", "10000000", "50000000"})
+  public int rowCount;
+
+  private Path stopTimes;
+  private Path shapes;
+  private ValidatorProvider validatorProvider;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    stopTimes = SyntheticFeeds.stopTimes(rowCount);
+    shapes = SyntheticFeeds.shapes(rowCount);
+    ValidationContext context =
+        ValidationContext.builder()
+            .setCountryCode(CountryCode.forStringOrUnknown(CountryCode.ZZ))
+            .setDateForValidation(new DateForValidation(LocalDate.of(2024, 1, 1)))
+            .build();
+    validatorProvider = new DefaultValidatorProvider(context, ValidatorLoader.createEmpty());
+  }
+
+  @Benchmark
+  public GtfsEntityContainer<?, ?> loadStopTimes(RowCounter counter) throws IOException {
+    return load(new GtfsStopTimeTableDescriptor(), stopTimes, counter);
+  }
+
+  @Benchmark
+  public GtfsEntityContainer<?, ?> loadShapes(RowCounter counter) throws IOException {
+    return load(new GtfsShapeTableDescriptor(), shapes, counter);
+  }
+
+  private GtfsEntityContainer<?, ?> load(
+      GtfsTableDescriptor<?> tableDescriptor, Path path, RowCounter counter) throws IOException {
+    try (InputStream inputStream = Files.newInputStream(path)) {
+      GtfsEntityContainer<?, ?> container =
+          CsvFileLoader.getInstance()
+              .load(tableDescriptor, validatorProvider, inputStream, new NoticeContainer());
+      counter.rows += container.entityCount();
+      return container;
+    }
+  }
+}
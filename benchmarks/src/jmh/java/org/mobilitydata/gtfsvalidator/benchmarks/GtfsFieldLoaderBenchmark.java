@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntityBuilder;
+import org.mobilitydata.gtfsvalidator.table.GtfsFieldLoader;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the generated {@link GtfsFieldLoader}s and entity builder for stop_times.txt, i.e. the
+ * per-row work of {@code CsvFileLoader.load} without CSV tokenizing.
+ *
+ * <p>The reported throughput is in rows per second.
+ */
+@State(Scope.Thread)
+public class GtfsFieldLoaderBenchmark {
+  private List<CsvRow> rows;
+  private RowParser rowParser;
+  private NoticeContainer noticeContainer;
+  private ImmutableList<GtfsColumnDescriptor> columnDescriptors;
+  private int[] columnIndices;
+  private GtfsFieldLoader[] fieldLoaders;
+  private FieldCache[] fieldCaches;
+  private GtfsEntityBuilder builder;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    GtfsStopTimeTableDescriptor tableDescriptor = new GtfsStopTimeTableDescriptor();
+    CsvHeader header = new CsvHeader(SyntheticFeeds.STOP_TIMES_HEADER.split(","));
+    rows = SyntheticFeeds.stopTimeRows(RowParserBenchmark.ROW_COUNT);
+    rowParser =
+        new RowParser(
+            "stop_times.txt",
+            header,
+            new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    noticeContainer = new NoticeContainer();
+    columnDescriptors = tableDescriptor.getColumns();
+    ImmutableMap<String, GtfsFieldLoader> fieldLoadersMap = tableDescriptor.getFieldLoaders();
+    int nColumns = columnDescriptors.size();
+    columnIndices = new int[nColumns];
+    fieldLoaders = new GtfsFieldLoader[nColumns];
+    fieldCaches = new FieldCache[nColumns];
+    for (int i = 0; i < nColumns; ++i) {
+      GtfsColumnDescriptor columnDescriptor = columnDescriptors.get(i);
+      columnIndices[i] = header.getColumnIndex(columnDescriptor.columnName());
+      fieldLoaders[i] = fieldLoadersMap.get(columnDescriptor.columnName());
+      if (columnDescriptor.isCached()) {
+        fieldCaches[i] = new FieldCache();
+      }
+    }
+    builder = tableDescriptor.createEntityBuilder();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RowParserBenchmark.ROW_COUNT)
+  public void loadStopTimeRows(Blackhole blackhole) {
+    for (CsvRow row : rows) {
+      rowParser.setRow(row, noticeContainer);
+      builder.clear();
+      builder.setCsvRowNumber(rowParser.getRowNumber());
+      for (int i = 0; i < fieldLoaders.length; ++i) {
+        fieldLoaders[i].load(
+            rowParser, columnIndices[i], columnDescriptors.get(i), fieldCaches[i], builder);
+      }
+      blackhole.consume(builder.build());
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.GtfsCalendarDateTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.type.GtfsTime;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the hand-written {@link GtfsTime} and {@link GtfsDate} parsers with the regular
+ * expression and substring parsers that they replaced, and measures the date cache of {@link
+ * RowParser} on calendar_dates.txt rows.
+ *
+ * <p>Each invocation parses {@link #VALUE_COUNT} values, so the reported throughput is in values
+ * per second.
+ */
+@State(Scope.Thread)
+public class GtfsTimeDateBenchmark {
+  static final int VALUE_COUNT = 4096;
+
+  /** Number of distinct dates in calendar_dates.txt, e.g., holidays of one year. */
+  private static final int DISTINCT_DATES = 30;
+
+  private static final Pattern HHMMSS_PATTERN = Pattern.compile("(\\d{1,3}):(\\d\\d):(\\d\\d)");
+
+  private String[] times;
+  private String[] dates;
+  private List<CsvRow> calendarDateRows;
+  private RowParser rowParser;
+  private NoticeContainer noticeContainer;
+  private int dateIndex;
+  private GtfsColumnDescriptor dateColumn;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    times = new String[VALUE_COUNT];
+    dates = new String[VALUE_COUNT];
+    calendarDateRows = new ArrayList<>(VALUE_COUNT);
+    for (int i = 0; i < VALUE_COUNT; ++i) {
+      times[i] = SyntheticFeeds.stopTimeLine(i).split(",")[1];
+      dates[i] = yyyymmdd(i % DISTINCT_DATES);
+      calendarDateRows.add(
+          new CsvRow(i + 2, new String[] {"service" + (i / DISTINCT_DATES), dates[i], "1"}));
+    }
+    CsvHeader header = new CsvHeader(new String[] {"service_id", "date", "exception_type"});
+    rowParser =
+        new RowParser(
+            "calendar_dates.txt",
+            header,
+            new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    noticeContainer = new NoticeContainer();
+    dateColumn = RowParserBenchmark.column(new GtfsCalendarDateTableDescriptor(), "date");
+    dateIndex = header.getColumnIndex("date");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void timeFromString(Blackhole blackhole) {
+    for (String time : times) {
+      blackhole.consume(GtfsTime.fromString(time));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void timeFromStringRegex(Blackhole blackhole) {
+    for (String time : times) {
+      Matcher matcher = HHMMSS_PATTERN.matcher(time);
+      if (!matcher.matches()) {
+        throw new IllegalArgumentException(time);
+      }
+      blackhole.consume(
+          GtfsTime.fromHourMinuteSecond(
+              Integer.parseInt(matcher.group(1)),
+              Integer.parseInt(matcher.group(2)),
+              Integer.parseInt(matcher.group(3))));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void dateFromString(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(GtfsDate.fromString(date));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void dateFromStringSubstring(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(
+          GtfsDate.fromLocalDate(
+              LocalDate.of(
+                  Integer.parseInt(date.substring(0, 4)),
+                  Integer.parseInt(date.substring(4, 6)),
+                  Integer.parseInt(date.substring(6)))));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void asDate(Blackhole blackhole) {
+    for (CsvRow row : calendarDateRows) {
+      rowParser.setRow(row, noticeContainer);
+      blackhole.consume(rowParser.asDate(dateIndex, dateColumn));
+    }
+  }
+
+  private static String yyyymmdd(int day) {
+    LocalDate date = LocalDate.of(2026, 1, 1).plusDays(day * 12L);
+    return String.format(
+        "%04d%02d%02d", date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+  }
+}
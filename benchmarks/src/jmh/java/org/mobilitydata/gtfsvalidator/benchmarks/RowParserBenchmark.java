@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableDescriptor;
+import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per-cell {@link RowParser} conversions that dominate stop_times.txt loading.
+ *
+ * <p>Each invocation parses one column of {@link #ROW_COUNT} pre-tokenized rows, so the reported
+ * throughput is in cells per second.
+ */
+@State(Scope.Thread)
+public class RowParserBenchmark {
+  static final int ROW_COUNT = 4096;
+
+  private List<CsvRow> rows;
+  private RowParser rowParser;
+  private NoticeContainer noticeContainer;
+  private int tripIdIndex;
+  private int arrivalTimeIndex;
+  private int shapeDistTraveledIndex;
+  private GtfsColumnDescriptor tripIdColumn;
+  private GtfsColumnDescriptor arrivalTimeColumn;
+  private GtfsColumnDescriptor shapeDistTraveledColumn;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    CsvHeader header = new CsvHeader(SyntheticFeeds.STOP_TIMES_HEADER.split(","));
+    rows = SyntheticFeeds.stopTimeRows(ROW_COUNT);
+    rowParser =
+        new RowParser(
+            "stop_times.txt",
+            header,
+            new DefaultFieldValidator(CountryCode.forStringOrUnknown(CountryCode.ZZ)));
+    noticeContainer = new NoticeContainer();
+    GtfsStopTimeTableDescriptor tableDescriptor = new GtfsStopTimeTableDescriptor();
+    tripIdColumn = column(tableDescriptor, "trip_id");
+    arrivalTimeColumn = column(tableDescriptor, "arrival_time");
+    shapeDistTraveledColumn = column(tableDescriptor, "shape_dist_traveled");
+    tripIdIndex = header.getColumnIndex("trip_id");
+    arrivalTimeIndex = header.getColumnIndex("arrival_time");
+    shapeDistTraveledIndex = header.getColumnIndex("shape_dist_traveled");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROW_COUNT)
+  public void asId(Blackhole blackhole) {
+    for (CsvRow row : rows) {
+      rowParser.setRow(row, noticeContainer);
+      blackhole.consume(rowParser.asId(tripIdIndex, tripIdColumn));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROW_COUNT)
+  public void asTime(Blackhole blackhole) {
+    for (CsvRow row : rows) {
+      rowParser.setRow(row, noticeContainer);
+      blackhole.consume(rowParser.asTime(arrivalTimeIndex, arrivalTimeColumn));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROW_COUNT)
+  public void asFloat(Blackhole blackhole) {
+    for (CsvRow row : rows) {
+      rowParser.setRow(row, noticeContainer);
+      blackhole.consume(rowParser.asFloat(shapeDistTraveledIndex, shapeDistTraveledColumn));
+    }
+  }
+
+  static GtfsColumnDescriptor column(GtfsTableDescriptor<?> tableDescriptor, String columnName) {
+    return tableDescriptor.getColumns().stream()
+        .filter(column -> column.columnName().equals(columnName))
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+
+/**
+ * Generates synthetic stop_times.txt and shapes.txt files of a requested size.
+ *
+ * <p>The content mimics a large national feed: trips of {@link #STOPS_PER_TRIP} stops drawn from a
+ * pool of {@link #STOP_COUNT} stops and shapes of {@link #POINTS_PER_SHAPE} points. The files are
+ * written to a temporary directory once per JVM and reused by all benchmarks of the same fork.
+ */
+final class SyntheticFeeds {
+  static final String STOP_TIMES_HEADER =
+      "trip_id,arrival_time,departure_time,stop_id,stop_sequence,stop_headsign,pickup_type,"
+          + "drop_off_type,shape_dist_traveled,timepoint";
+  static final String SHAPES_HEADER =
+      "shape_id,shape_pt_lat,shape_pt_lon,shape_pt_sequence,shape_dist_traveled";
+
+  static final int STOPS_PER_TRIP = 30;
+  static final int STOP_COUNT = 50_000;
+  static final int POINTS_PER_SHAPE = 500;
+
+  private SyntheticFeeds() {}
+
+  /** Returns a stop_times.txt file with {@code rowCount} data rows, creating it if needed. */
+  static Path stopTimes(int rowCount) throws IOException {
+    Path path = tempDirectory().resolve("stop_times_" + rowCount + ".txt");
+    if (!Files.exists(path)) {
+      try (Writer writer = newWriter(path)) {
+        writer.write(STOP_TIMES_HEADER);
+        writer.write('\n');
+        for (int i = 0; i < rowCount; ++i) {
+          writer.write(stopTimeLine(i));
+          writer.write('\n');
+        }
+      }
+    }
+    return path;
+  }
+
+  /** Returns a shapes.txt file with {@code rowCount} data rows, creating it if needed. */
+  static Path shapes(int rowCount) throws IOException {
+    Path path = tempDirectory().resolve("shapes_" + rowCount + ".txt");
+    if (!Files.exists(path)) {
+      try (Writer writer = newWriter(path)) {
+        writer.write(SHAPES_HEADER);
+        writer.write('\n');
+        for (int i = 0; i < rowCount; ++i) {
+          writer.write(shapeLine(i));
+          writer.write('\n');
+        }
+      }
+    }
+    return path;
+  }
+
+  /** Returns {@code rowCount} parsed stop_times.txt rows for in-memory benchmarks. */
+  static List<CsvRow> stopTimeRows(int rowCount) {
+    List<CsvRow> rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; ++i) {
+      rows.add(new CsvRow(i + 2, stopTimeLine(i).split(",", -1)));
+    }
+    return rows;
+  }
+
+  static String stopTimeLine(int row) {
+    int trip = row / STOPS_PER_TRIP;
+    int sequence = row % STOPS_PER_TRIP;
+    // Trips start every minute from 05:00:00 and wrap after 24 hours of service.
+    int seconds = 5 * 3600 + (trip % 1440) * 60 + sequence * 90;
+    String time = formatTime(seconds);
+    return "t"
+        + trip
+        + ','
+        + time
+        + ','
+        + time
+        + ",s"
+        + ((trip * 7 + sequence) % STOP_COUNT)
+        + ','
+        + sequence
+        + ",Downtown "
+        + (trip % 16)
+        + ",0,0,"
+        + (sequence * 412.5)
+        + ",1";
+  }
+
+  static String shapeLine(int row) {
+    int shape = row / POINTS_PER_SHAPE;
+    int sequence = row % POINTS_PER_SHAPE;
+    double lat = 45.0 + (shape % 1000) * 0.001 + sequence * 0.0001;
+    double lon = -73.0 - (shape % 1000) * 0.001 - sequence * 0.0001;
+    return "sh" + shape + ',' + lat + ',' + lon + ',' + sequence + ',' + (sequence * 11.1);
+  }
+
+  private static String formatTime(int seconds) {
+    return String.format("%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+  }
+
+  private static Writer newWriter(Path path) throws IOException {
+    return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 20);
+  }
+
+  private static Path tempDirectory() throws IOException {
+    Path dir = Path.of(System.getProperty("java.io.tmpdir"), "gtfs-validator-benchmarks");
+    Files.createDirectories(dir);
+    return dir;
+  }
+}
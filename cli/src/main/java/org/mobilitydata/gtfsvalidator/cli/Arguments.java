@@ -117,6 +117,26 @@ public class Arguments {
       description = "Output JSON report to stdout instead of writing to files (conflicts with -o)")
   private boolean stdoutOutput = false;
 
+  @Parameter(
+      names = {"--memory_map"},
+      description =
+          "Read the files of an unzipped GTFS directory through memory mapping instead of streams")
+  private boolean memoryMappedInput = false;
+
+  @Parameter(
+      names = {"--bounded_notices"},
+      description =
+          "Keep only the notices that are exported to the reports in memory, with exact counts of"
+              + " all notices")
+  private boolean boundedNotices = false;
+
+  @Parameter(
+      names = {"--all_notices"},
+      description =
+          "Name of a file in the output directory to write all notices to, as gzipped JSON lines"
+              + " (implies --bounded_notices)")
+  private String allNoticesFileName;
+
   @Parameter(
       names = {"--http_header"},
       description =
@@ -160,6 +180,11 @@ public class Arguments {
     builder.setPrettyJson(pretty);
     builder.setSkipValidatorUpdate(skipValidatorUpdate);
     builder.setStdoutOutput(stdoutOutput);
+    builder.setMemoryMappedInput(memoryMappedInput);
+    builder.setBoundedNotices(boundedNotices);
+    if (allNoticesFileName != null) {
+      builder.setAllNoticesFileName(allNoticesFileName);
+    }
     builder.setHttpHeaders(parseHttpHeaders(httpHeaders));
     return builder.build();
   }
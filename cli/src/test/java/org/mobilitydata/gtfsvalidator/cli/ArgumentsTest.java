@@ -415,5 +415,39 @@ public class ArgumentsTest {
     assertTrue(underTest.validate());
   }
 
+  @Test
+  public void memoryMap() throws URISyntaxException {
+    String[] args = {"--input", "/tmp/gtfs", "--output_base", "/tmp/out", "--memory_map"};
+    Arguments underTest = new Arguments();
+    new JCommander(underTest).parse(args);
+    assertThat(underTest.toConfig().memoryMappedInput()).isTrue();
+  }
+
+  @Test
+  public void memoryMapIsOffByDefault() throws URISyntaxException {
+    String[] args = {"--input", "/tmp/gtfs", "--output_base", "/tmp/out"};
+    Arguments underTest = new Arguments();
+    new JCommander(underTest).parse(args);
+    assertThat(underTest.toConfig().memoryMappedInput()).isFalse();
+  }
+
+  @Test
+  public void boundedNotices() throws URISyntaxException {
+    String[] args = {
+      "--input", "/tmp/gtfs", "--output_base", "/tmp/out", "--all_notices", "notices.jsonl.gz"
+    };
+    Arguments underTest = new Arguments();
+    new JCommander(underTest).parse(args);
+    assertThat(underTest.toConfig().boundedNotices()).isFalse();
+    assertThat(underTest.toConfig().allNoticesPath().get().toString())
+        .isEqualTo("/tmp/out/notices.jsonl.gz");
+
+    args = new String[] {"--input", "/tmp/gtfs", "--output_base", "/tmp/out", "--bounded_notices"};
+    underTest = new Arguments();
+    new JCommander(underTest).parse(args);
+    assertThat(underTest.toConfig().boundedNotices()).isTrue();
+    assertThat(underTest.toConfig().allNoticesPath().isPresent()).isFalse();
+  }
+
   // --- end of class ---
 }
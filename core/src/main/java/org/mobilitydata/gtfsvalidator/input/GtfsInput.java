@@ -26,6 +26,7 @@ import java.nio.file.Path;
 import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import javax.annotation.Nullable;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
 import org.mobilitydata.gtfsvalidator.notice.InvalidInputFilesInSubfolderNotice;
@@ -50,11 +51,26 @@ public abstract class GtfsInput implements Closeable {
    */
   public static GtfsInput createFromPath(Path path, NoticeContainer noticeContainer)
       throws IOException {
+    return createFromPath(path, noticeContainer, false);
+  }
+
+  /**
+   * Creates a specific GtfsInput to read data from the given path.
+   *
+   * @param path the path to the resource
+   * @param noticeContainer
+   * @param memoryMapped whether files of an unarchived directory are read through memory mapping,
+   *     see {@link #getMappedFile}; it has no effect for ZIP archives
+   * @return the {@code GtfsInput} created after processing the GTFS archive
+   * @throws IOException any IO exception that occurred during loading
+   */
+  public static GtfsInput createFromPath(
+      Path path, NoticeContainer noticeContainer, boolean memoryMapped) throws IOException {
     if (!Files.exists(path)) {
       throw new FileNotFoundException(path.toString());
     }
     if (Files.isDirectory(path)) {
-      return new GtfsUnarchivedInput(path);
+      return new GtfsUnarchivedInput(path, memoryMapped);
     }
     String fileName = path.getFileName().toString().replace(".zip", "");
     ZipFile zipFile =
@@ -213,4 +229,19 @@ public abstract class GtfsInput implements Closeable {
    * @throws IOException if no file could not be found at the specified location
    */
   public abstract InputStream getFile(String filename) throws IOException;
+
+  /**
+   * Opens a file for reading through memory mapping if this input supports it.
+   *
+   * <p>Loaders that can parse bytes use the mapped file instead of {@link #getFile}. The caller
+   * must close the returned file.
+   *
+   * @param filename relative path to the file, e.g, "stops.txt"
+   * @return the mapped file or null if files of this input are only available as streams
+   * @throws IOException if the file cannot be opened
+   */
+  @Nullable
+  public MappedFile getMappedFile(String filename) throws IOException {
+    return null;
+  }
 }
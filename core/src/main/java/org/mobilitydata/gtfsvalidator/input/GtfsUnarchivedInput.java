@@ -22,14 +22,26 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
-/** Implements support for unarchived GTFS directories. */
+/**
+ * Implements support for unarchived GTFS directories.
+ *
+ * <p>In memory-mapped mode, files are also available through {@link #getMappedFile}, so that
+ * loaders can parse them straight from the OS page cache.
+ */
 public class GtfsUnarchivedInput extends GtfsInput {
   private final ImmutableSet<String> filenames;
   private final Path directory;
+  private final boolean memoryMapped;
 
   public GtfsUnarchivedInput(Path directory) throws IOException {
+    this(directory, false);
+  }
+
+  public GtfsUnarchivedInput(Path directory, boolean memoryMapped) throws IOException {
     this.directory = directory;
+    this.memoryMapped = memoryMapped;
     try (Stream<Path> stream = Files.list(directory)) {
       this.filenames =
           stream
@@ -49,6 +61,12 @@ public class GtfsUnarchivedInput extends GtfsInput {
     return Files.newInputStream(directory.resolve(filename));
   }
 
+  @Override
+  @Nullable
+  public MappedFile getMappedFile(String filename) throws IOException {
+    return memoryMapped ? MappedFile.open(directory.resolve(filename)) : null;
+  }
+
   @Override
   public void close() throws IOException {
     // Do nothing.
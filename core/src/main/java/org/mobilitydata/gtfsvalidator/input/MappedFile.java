@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file that is read through memory mapping, so that its content is served from the OS page cache
+ * without being copied to the Java heap.
+ *
+ * <p>A single mapping is limited to 2 GB, so large files are mapped region by region with {@link
+ * #map}.
+ */
+public final class MappedFile implements Closeable {
+  private final Path path;
+  private final FileChannel channel;
+  private final long size;
+
+  private MappedFile(Path path) throws IOException {
+    this.path = path;
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+  }
+
+  /** Opens a file for mapping. */
+  public static MappedFile open(Path path) throws IOException {
+    return new MappedFile(path);
+  }
+
+  /** Returns the size of the file in bytes. */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Maps a region of the file into memory.
+   *
+   * <p>The mapping stays valid after the file is closed until the buffer is garbage collected.
+   *
+   * @param position start of the region in the file
+   * @param length length of the region
+   * @return a read-only buffer over the region
+   */
+  public ByteBuffer map(long position, int length) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+  }
+
+  /**
+   * Opens a stream over the file content that starts at the given position. The caller must close
+   * the stream.
+   */
+  public InputStream newInputStream(long position) throws IOException {
+    FileChannel streamChannel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      streamChannel.position(position);
+    } catch (IOException e) {
+      streamChannel.close();
+      throw e;
+    }
+    return Channels.newInputStream(streamChannel);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
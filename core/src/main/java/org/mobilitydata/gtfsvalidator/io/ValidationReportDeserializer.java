@@ -16,19 +16,29 @@
 
 package org.mobilitydata.gtfsvalidator.io;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimaps;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.mobilitydata.gtfsvalidator.model.NoticeReport;
 import org.mobilitydata.gtfsvalidator.model.ValidationReport;
 import org.mobilitydata.gtfsvalidator.notice.Notice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.ResolvedNotice;
+import org.mobilitydata.gtfsvalidator.notice.SeverityLevel;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsage;
 
 /**
@@ -43,6 +53,13 @@ public class ValidationReportDeserializer implements JsonDeserializer<Validation
   private static final String VALIDATION_TIME_MEMBER_NAME = "validationTimeSeconds";
   private static final String MEMORY_USAGE_RECORDS_MEMBER_NAME = "memoryUsageRecords";
 
+  /**
+   * Maximal number of notice reports that {@link #write} serializes ahead of the writer for large
+   * lists of notices. Only these reports are held in memory at a time.
+   */
+  private static final int MAX_PARALLEL_NOTICE_REPORTS =
+      2 * Runtime.getRuntime().availableProcessors();
+
   @Override
   public ValidationReport deserialize(
       JsonElement json, Type typoOfT, JsonDeserializationContext context) {
@@ -77,55 +94,180 @@ public class ValidationReportDeserializer implements JsonDeserializer<Validation
       List<ResolvedNotice<T>> resolvedNotices,
       int maxExportsPerNoticeTypeAndSeverity,
       Map<String, Integer> noticesCountPerTypeAndSeverity) {
-    Set<NoticeReport> noticeReports = new LinkedHashSet<>();
-    for (Collection<ResolvedNotice<T>> noticesOfType :
-        NoticeContainer.groupNoticesByTypeAndSeverity(resolvedNotices).asMap().values()) {
-      ResolvedNotice<T> firstNotice = noticesOfType.iterator().next();
-      ImmutableList.Builder<JsonElement> noticesToExport = ImmutableList.builder();
-      int i = 0;
-      for (ResolvedNotice<T> notice : noticesOfType) {
-        ++i;
-        if (i > maxExportsPerNoticeTypeAndSeverity) {
-          // Do not export too many notices for this type.
-          break;
+    Set<NoticeReport> noticeReports =
+        new LinkedHashSet<>(
+            createNoticeReports(
+                resolvedNotices,
+                maxExportsPerNoticeTypeAndSeverity,
+                noticesCountPerTypeAndSeverity));
+    return Notice.GSON.toJsonTree(new ValidationReport(noticeReports)).getAsJsonObject();
+  }
+
+  /**
+   * Writes the notice reports of the given notices as a JSON array.
+   *
+   * <p>The output is the same as {@code gson.toJson} of the {@code notices} member of {@link
+   * #serialize}, but the JSON tree of the whole report is never built: the samples of each notice
+   * type and severity are serialized, written and released one after another. The samples of large
+   * lists are serialized by a few tasks ahead of the writer, see {@link
+   * #MAX_PARALLEL_NOTICE_REPORTS}.
+   *
+   * @param gson the Gson whose settings are used to write the samples of each notice type
+   * @param writer a writer from {@link #newJsonWriter}
+   */
+  public static <T extends Notice> void write(
+      List<ResolvedNotice<T>> resolvedNotices,
+      int maxExportsPerNoticeTypeAndSeverity,
+      Map<String, Integer> noticesCountPerTypeAndSeverity,
+      Gson gson,
+      JsonWriter writer)
+      throws IOException {
+    write(
+        resolvedNotices,
+        maxExportsPerNoticeTypeAndSeverity,
+        noticesCountPerTypeAndSeverity,
+        gson,
+        writer,
+        resolvedNotices.size() >= NoticeContainer.MIN_NOTICES_FOR_PARALLEL_EXPORT
+            ? MAX_PARALLEL_NOTICE_REPORTS
+            : 1);
+  }
+
+  /**
+   * Same as the public {@link #write}, with at most {@code maxReportsInFlight} notice reports
+   * serialized but not yet written. With 1, the reports are serialized on the current thread.
+   */
+  @VisibleForTesting
+  static <T extends Notice> void write(
+      List<ResolvedNotice<T>> resolvedNotices,
+      int maxExportsPerNoticeTypeAndSeverity,
+      Map<String, Integer> noticesCountPerTypeAndSeverity,
+      Gson gson,
+      JsonWriter writer,
+      int maxReportsInFlight)
+      throws IOException {
+    writer.beginArray();
+    if (maxReportsInFlight <= 1) {
+      for (List<ResolvedNotice<T>> noticesOfType : groupNoticesByTypeAndSeverity(resolvedNotices)) {
+        writeNoticeReport(
+            createNoticeReport(
+                noticesOfType, maxExportsPerNoticeTypeAndSeverity, noticesCountPerTypeAndSeverity),
+            gson,
+            writer);
+      }
+    } else {
+      // Reports are written in order. A new report is started only when the oldest one is written,
+      // so that the reports in memory are bounded by the window.
+      Iterator<List<ResolvedNotice<T>>> groups =
+          groupNoticesByTypeAndSeverity(resolvedNotices).iterator();
+      Deque<CompletableFuture<NoticeReport>> window = new ArrayDeque<>(maxReportsInFlight);
+      while (groups.hasNext() || !window.isEmpty()) {
+        while (groups.hasNext() && window.size() < maxReportsInFlight) {
+          List<ResolvedNotice<T>> noticesOfType = groups.next();
+          window.addLast(
+              CompletableFuture.supplyAsync(
+                  () ->
+                      createNoticeReport(
+                          noticesOfType,
+                          maxExportsPerNoticeTypeAndSeverity,
+                          noticesCountPerTypeAndSeverity)));
         }
-        noticesToExport.add(notice.getContext().toJsonTree());
+        writeNoticeReport(window.removeFirst().join(), gson, writer);
       }
-      noticeReports.add(
-          new NoticeReport(
-              firstNotice.getContext().getCode(),
-              firstNotice.getSeverityLevel(),
-              noticesCountPerTypeAndSeverity.get(firstNotice.getMappingKey()),
-              noticesToExport.build()));
     }
-    return Notice.GSON.toJsonTree(new ValidationReport(noticeReports)).getAsJsonObject();
+    writer.endArray();
+  }
+
+  private static void writeNoticeReport(NoticeReport noticeReport, Gson gson, JsonWriter writer)
+      throws IOException {
+    // Same members and order as the fields of NoticeReport.
+    writer.beginObject();
+    writer.name("code").value(noticeReport.getCode());
+    writer.name("severity");
+    gson.toJson(noticeReport.getSeverity(), SeverityLevel.class, writer);
+    writer.name("totalNotices").value(noticeReport.getTotalNotices());
+    writer.name("sampleNotices");
+    writer.beginArray();
+    for (JsonElement sampleNotice : noticeReport.getSampleNotices()) {
+      gson.toJson(sampleNotice, writer);
+    }
+    writer.endArray();
+    writer.endObject();
+  }
+
+  /**
+   * Returns a JSON writer with the same settings that {@code gson.toJson} uses, so that a report
+   * written member by member is byte-identical to the report serialized at once.
+   */
+  public static JsonWriter newJsonWriter(Gson gson, Writer writer) throws IOException {
+    JsonWriter jsonWriter = gson.newJsonWriter(writer);
+    jsonWriter.setLenient(true);
+    jsonWriter.setHtmlSafe(gson.htmlSafe());
+    return jsonWriter;
   }
 
   public static <T extends Notice> ValidationReport createValidationReport(
       List<ResolvedNotice<T>> resolvedNotices,
       int maxExportsPerNoticeTypeAndSeverity,
       Map<String, Integer> noticesCountPerTypeAndSeverity) {
-    Set<NoticeReport> noticeReports = new LinkedHashSet<>();
-    for (Collection<ResolvedNotice<T>> noticesOfType :
-        NoticeContainer.groupNoticesByTypeAndSeverity(resolvedNotices).asMap().values()) {
-      ResolvedNotice<T> firstNotice = noticesOfType.iterator().next();
-      ImmutableList.Builder<JsonElement> noticesToExport = ImmutableList.builder();
-      int i = 0;
-      for (ResolvedNotice<T> notice : noticesOfType) {
-        ++i;
-        if (i > maxExportsPerNoticeTypeAndSeverity) {
-          // Do not export too many notices for this type.
-          break;
-        }
-        noticesToExport.add(notice.getContext().toJsonTree());
-      }
-      noticeReports.add(
-          new NoticeReport(
-              firstNotice.getContext().getCode(),
-              firstNotice.getSeverityLevel(),
-              noticesCountPerTypeAndSeverity.get(firstNotice.getMappingKey()),
-              noticesToExport.build()));
+    return new ValidationReport(
+        new LinkedHashSet<>(
+            createNoticeReports(
+                resolvedNotices,
+                maxExportsPerNoticeTypeAndSeverity,
+                noticesCountPerTypeAndSeverity)));
+  }
+
+  /**
+   * Creates one notice report per type and severity of the given notices, sorted by {@link
+   * ResolvedNotice#getMappingKey}.
+   *
+   * <p>The samples of large lists are serialized in parallel, one notice type and severity per
+   * task. The result is the same as with a single thread.
+   */
+  private static <T extends Notice> List<NoticeReport> createNoticeReports(
+      List<ResolvedNotice<T>> resolvedNotices,
+      int maxExportsPerNoticeTypeAndSeverity,
+      Map<String, Integer> noticesCountPerTypeAndSeverity) {
+    List<List<ResolvedNotice<T>>> noticesByType = groupNoticesByTypeAndSeverity(resolvedNotices);
+    Stream<List<ResolvedNotice<T>>> stream =
+        resolvedNotices.size() >= NoticeContainer.MIN_NOTICES_FOR_PARALLEL_EXPORT
+            ? noticesByType.parallelStream()
+            : noticesByType.stream();
+    return stream
+        .map(
+            noticesOfType ->
+                createNoticeReport(
+                    noticesOfType,
+                    maxExportsPerNoticeTypeAndSeverity,
+                    noticesCountPerTypeAndSeverity))
+        .collect(Collectors.toList());
+  }
+
+  /** Returns the notices grouped by type and severity, sorted by the mapping key. */
+  private static <T extends Notice> List<List<ResolvedNotice<T>>> groupNoticesByTypeAndSeverity(
+      List<ResolvedNotice<T>> resolvedNotices) {
+    return new ArrayList<>(
+        Multimaps.asMap(NoticeContainer.groupNoticesByTypeAndSeverity(resolvedNotices)).values());
+  }
+
+  /** Creates the report of notices that all have the same type and severity. */
+  private static <T extends Notice> NoticeReport createNoticeReport(
+      List<ResolvedNotice<T>> noticesOfType,
+      int maxExportsPerNoticeTypeAndSeverity,
+      Map<String, Integer> noticesCountPerTypeAndSeverity) {
+    ResolvedNotice<T> firstNotice = noticesOfType.get(0);
+    ImmutableList.Builder<JsonElement> noticesToExport = ImmutableList.builder();
+    // Do not export too many notices for this type.
+    for (ResolvedNotice<T> notice :
+        noticesOfType.subList(
+            0, Math.min(noticesOfType.size(), maxExportsPerNoticeTypeAndSeverity))) {
+      noticesToExport.add(notice.getContext().toJsonTree());
     }
-    return new ValidationReport(noticeReports);
+    return new NoticeReport(
+        firstNotice.getContext().getCode(),
+        firstNotice.getSeverityLevel(),
+        noticesCountPerTypeAndSeverity.get(firstNotice.getMappingKey()),
+        noticesToExport.build());
   }
 }
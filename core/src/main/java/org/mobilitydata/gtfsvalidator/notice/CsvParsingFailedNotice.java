@@ -54,11 +54,29 @@ public class CsvParsingFailedNotice extends ValidationNotice {
    * @param exception the exception thrown
    */
   public CsvParsingFailedNotice(String filename, TextParsingException exception) {
+    this(filename, exception, 0, 0);
+  }
+
+  /**
+   * Constructor used when the exception was thrown while parsing a chunk of the file.
+   *
+   * @param filename the name of the file
+   * @param exception the exception thrown
+   * @param lineOffset the number of lines in the file before the chunk
+   * @param charOffset the number of characters in the file before the chunk
+   */
+  public CsvParsingFailedNotice(
+      String filename, TextParsingException exception, long lineOffset, long charOffset) {
     this.filename = filename;
-    this.charIndex = exception.getCharIndex();
+    this.charIndex = shiftIndex(exception.getCharIndex(), charOffset);
     this.columnIndex = exception.getColumnIndex();
-    this.lineIndex = exception.getLineIndex();
+    this.lineIndex = shiftIndex(exception.getLineIndex(), lineOffset);
     this.message = Strings.nullToEmpty(exception.getMessage());
     this.parsedContent = Strings.nullToEmpty(exception.getParsedContent());
   }
+
+  /** Shifts a known index by the given offset. Negative indices mean that the index is unknown. */
+  private static long shiftIndex(long index, long offset) {
+    return index < 0 ? index : index + offset;
+  }
 }
@@ -48,8 +48,14 @@ public abstract class Notice {
 
   private static final String NOTICE_SUFFIX = "Notice";
 
+  /**
+   * Returns the fields of this notice as JSON, the same as {@code GSON.toJsonTree(this)}.
+   *
+   * <p>The fields of each notice class are looked up once, so this does not go through Gson
+   * reflection for every notice.
+   */
   public JsonElement toJsonTree() {
-    return GSON.toJsonTree(this);
+    return NoticeFields.of(getClass()).toJsonTree(this);
   }
 
   public List<String> getAllFields() {
@@ -64,7 +70,7 @@ public abstract class Notice {
    * @return notice code, e.g., "foreign_key_violation".
    */
   public String getCode() {
-    return getCode(getClass());
+    return NoticeType.of(getClass()).getCode();
   }
 
   /**
@@ -73,6 +79,11 @@ public abstract class Notice {
    * @return notice code, e.g., "foreign_key_violation".
    */
   public static String getCode(Class<?> noticeClass) {
+    return NoticeType.of(noticeClass).getCode();
+  }
+
+  /** Computes the code of a notice class from its name, see {@link NoticeType}. */
+  static String computeCode(Class<?> noticeClass) {
     return CaseFormat.UPPER_CAMEL.to(
         CaseFormat.LOWER_UNDERSCORE,
         StringUtils.removeEnd(noticeClass.getSimpleName(), NOTICE_SUFFIX));
@@ -86,11 +97,8 @@ public abstract class Notice {
     if (o == null || this.getClass() != o.getClass()) {
       return false;
     }
-    Notice notice = (Notice) o;
-
-    JsonElement lhsJson = this.toJsonTree();
-    JsonElement rhsJson = notice.toJsonTree();
-    return lhsJson.equals(rhsJson);
+    // Same as comparing JSON trees of the notices, but field by field.
+    return NoticeFields.of(getClass()).equals(this, (Notice) o);
   }
 
   @Override
@@ -100,7 +108,7 @@ public abstract class Notice {
 
   @Override
   public int hashCode() {
-    return toJsonTree().hashCode();
+    return NoticeFields.of(getClass()).hashCode(this);
   }
 
   private static class GtfsColorSerializer implements JsonSerializer<GtfsColor> {
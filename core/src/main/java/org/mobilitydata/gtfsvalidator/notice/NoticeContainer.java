@@ -19,12 +19,19 @@ package org.mobilitydata.gtfsvalidator.notice;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.Multimaps;
+import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.io.ValidationReportDeserializer;
 import org.mobilitydata.gtfsvalidator.model.ValidationReport;
 
@@ -33,6 +40,12 @@ import org.mobilitydata.gtfsvalidator.model.ValidationReport;
  *
  * <p>This class is not intentionally not thread-safe to increase performance. Each thread has it's
  * own NoticeContainer, and after execution is complete the results are merged.
+ *
+ * <p>A container created by {@link #createBounded} keeps exact counts of notices but only the
+ * notices that are exported to the report, i.e., the first {@code
+ * MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY} of each type and severity. All notices may be streamed
+ * to a {@link NoticeSpill} instead. Threads get containers of the same kind from {@link
+ * #createChildContainer}.
  */
 public class NoticeContainer {
   /** Limit on the amount notices of the same type and severity. */
@@ -52,12 +65,23 @@ public class NoticeContainer {
   /** Limit on the amount of exported notices */
   private static final int MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY = 1_000;
 
+  /**
+   * Minimum amount of notices that are grouped and exported in parallel. Smaller lists are exported
+   * faster by a single thread.
+   */
+  public static final int MIN_NOTICES_FOR_PARALLEL_EXPORT = 10_000;
+
   private final int maxTotalValidationNotices;
   private final int maxValidationNoticesPerTypeAndSeverity;
   private final int maxExportsPerNoticeTypeAndSeverity;
+  private final boolean retainExportedNoticesOnly;
+  @Nullable private final NoticeSpill spill;
   private final List<ResolvedNotice<ValidationNotice>> validationNotices = new ArrayList<>();
   private final List<ResolvedNotice<SystemError>> systemErrors = new ArrayList<>();
-  private final Map<String, Integer> noticesCountPerTypeAndSeverity = new HashMap<>();
+  /** Counts of notices by {@link ResolvedNotice#getCountIndex}, i.e., by type and severity. */
+  private int[] noticesCountPerTypeAndSeverity = new int[0];
+
+  private final int[] validationNoticesCountPerSeverity = new int[SeverityLevel.values().length];
   private boolean hasValidationErrors = false;
   private boolean hasValidationWarnings = false;
 
@@ -75,9 +99,28 @@ public class NoticeContainer {
       int maxTotalValidationNotices,
       int maxValidationNoticePerTypeAndSeverity,
       int maxExportPerNoticeTypeAndSeverity) {
+    this(
+        maxTotalValidationNotices,
+        maxValidationNoticePerTypeAndSeverity,
+        maxExportPerNoticeTypeAndSeverity,
+        false,
+        null);
+  }
+
+  private NoticeContainer(
+      int maxTotalValidationNotices,
+      int maxValidationNoticePerTypeAndSeverity,
+      int maxExportPerNoticeTypeAndSeverity,
+      boolean retainExportedNoticesOnly,
+      @Nullable NoticeSpill spill) {
     this.maxTotalValidationNotices = maxTotalValidationNotices;
-    this.maxValidationNoticesPerTypeAndSeverity = maxValidationNoticePerTypeAndSeverity;
+    this.maxValidationNoticesPerTypeAndSeverity =
+        retainExportedNoticesOnly
+            ? Math.min(maxValidationNoticePerTypeAndSeverity, maxExportPerNoticeTypeAndSeverity)
+            : maxValidationNoticePerTypeAndSeverity;
     this.maxExportsPerNoticeTypeAndSeverity = maxExportPerNoticeTypeAndSeverity;
+    this.retainExportedNoticesOnly = retainExportedNoticesOnly;
+    this.spill = spill;
   }
 
   /** Used if no constant is provided: limits on amount of notices are set using class constants. */
@@ -88,6 +131,51 @@ public class NoticeContainer {
         MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY);
   }
 
+  /**
+   * Creates a container that keeps only the notices that are exported to the report.
+   *
+   * <p>Counts of notices per type and severity are still exact, so the report has the same totals
+   * and samples as with a regular container, but memory does not grow with the number of notices.
+   *
+   * @param spill file that all notices are written to, or null to drop the notices that are not
+   *     exported
+   */
+  public static NoticeContainer createBounded(@Nullable NoticeSpill spill) {
+    return new NoticeContainer(
+        MAX_TOTAL_VALIDATION_NOTICES,
+        MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY,
+        MAX_EXPORTS_PER_NOTICE_TYPE_AND_SEVERITY,
+        true,
+        spill);
+  }
+
+  /**
+   * Creates an empty container for a single thread whose notices are later merged into this one
+   * with {@link #addAll}.
+   *
+   * <p>The new container has the same limits as this one and writes to the same {@link
+   * NoticeSpill}, if any.
+   */
+  public NoticeContainer createChildContainer() {
+    return new NoticeContainer(
+        maxTotalValidationNotices,
+        maxValidationNoticesPerTypeAndSeverity,
+        maxExportsPerNoticeTypeAndSeverity,
+        retainExportedNoticesOnly,
+        spill);
+  }
+
+  /** Tells if this container keeps only the notices that are exported to the report. */
+  public boolean retainsExportedNoticesOnly() {
+    return retainExportedNoticesOnly;
+  }
+
+  /** Returns the file that all notices are written to, or null if there is none. */
+  @Nullable
+  public NoticeSpill getSpill() {
+    return spill;
+  }
+
   /** Adds a new validation notice to the container (if there is capacity). */
   public void addValidationNotice(ValidationNotice notice) {
     // TODO: This would be the spot to add customization of notice severity levels in the future.
@@ -104,11 +192,13 @@ public class NoticeContainer {
     if (resolved.isWarning()) {
       hasValidationWarnings = true;
     }
+    if (spill != null) {
+      spill.write(resolved);
+    }
+    ++validationNoticesCountPerSeverity[severityLevel.ordinal()];
 
-    updateNoticeCount(resolved);
-    if (validationNotices.size() >= maxTotalValidationNotices
-        || noticesCountPerTypeAndSeverity.get(resolved.getMappingKey())
-            > maxValidationNoticesPerTypeAndSeverity) {
+    if (updateNoticeCount(resolved) > maxValidationNoticesPerTypeAndSeverity
+        || validationNotices.size() >= maxTotalValidationNotices) {
       return;
     }
     validationNotices.add(resolved);
@@ -124,6 +214,9 @@ public class NoticeContainer {
   /** Adds a new system error to the container. */
   public void addSystemError(SystemError error) {
     ResolvedNotice<SystemError> resolved = new ResolvedNotice<>(error, SeverityLevel.ERROR);
+    if (spill != null) {
+      spill.write(resolved);
+    }
     updateNoticeCount(resolved);
     systemErrors.add(resolved);
   }
@@ -132,10 +225,41 @@ public class NoticeContainer {
    * Updates the count of notices per type and severity.
    *
    * @param notice the {@code Notice} whose count should be updated
+   * @return the updated count
    */
-  private void updateNoticeCount(ResolvedNotice notice) {
-    int count = noticesCountPerTypeAndSeverity.getOrDefault(notice.getMappingKey(), 0);
-    noticesCountPerTypeAndSeverity.put(notice.getMappingKey(), count + 1);
+  private int updateNoticeCount(ResolvedNotice<?> notice) {
+    final int index = notice.getCountIndex();
+    if (index >= noticesCountPerTypeAndSeverity.length) {
+      growNoticeCounts(index + 1);
+    }
+    return ++noticesCountPerTypeAndSeverity[index];
+  }
+
+  private void growNoticeCounts(int minLength) {
+    noticesCountPerTypeAndSeverity =
+        Arrays.copyOf(
+            noticesCountPerTypeAndSeverity,
+            Math.max(minLength, NoticeType.count() * NoticeType.SEVERITY_LEVEL_COUNT));
+  }
+
+  private int getNoticeCount(int index) {
+    return index < noticesCountPerTypeAndSeverity.length
+        ? noticesCountPerTypeAndSeverity[index]
+        : 0;
+  }
+
+  /** Returns counts of notices by {@link ResolvedNotice#getMappingKey}, for export. */
+  private Map<String, Integer> getNoticesCountPerMappingKey() {
+    Map<String, Integer> counts = new HashMap<>();
+    for (int index = 0; index < noticesCountPerTypeAndSeverity.length; ++index) {
+      if (noticesCountPerTypeAndSeverity[index] > 0) {
+        counts.put(
+            NoticeType.byId(index / NoticeType.SEVERITY_LEVEL_COUNT)
+                .getMappingKey(SeverityLevel.values()[index % NoticeType.SEVERITY_LEVEL_COUNT]),
+            noticesCountPerTypeAndSeverity[index]);
+      }
+    }
+    return counts;
   }
 
   /**
@@ -147,19 +271,111 @@ public class NoticeContainer {
    * by {@code NoticeContainer#MAX_TOTAL_VALIDATION_NOTICES} and {@code
    * NoticeContainer#MAX_VALIDATION_NOTICES_TYPE_AND_SEVERITY}.
    *
+   * <p>A container that keeps only exported notices takes only as many notices of each type and
+   * severity as it can export. Notices of a container without a {@link NoticeSpill} are written to
+   * the spill of this container, if any, since they have not been written yet.
+   *
    * @param otherContainer a container to take the notices from
    */
   public void addAll(NoticeContainer otherContainer) {
-    validationNotices.addAll(otherContainer.validationNotices);
+    if (spill != null && otherContainer.spill == null) {
+      spill.writeAll(otherContainer.validationNotices);
+      spill.writeAll(otherContainer.systemErrors);
+    }
+    if (retainExportedNoticesOnly) {
+      addExportedNotices(otherContainer.validationNotices);
+    } else {
+      validationNotices.addAll(otherContainer.validationNotices);
+    }
     systemErrors.addAll(otherContainer.systemErrors);
+    for (int i = 0; i < validationNoticesCountPerSeverity.length; ++i) {
+      validationNoticesCountPerSeverity[i] += otherContainer.validationNoticesCountPerSeverity[i];
+    }
     hasValidationErrors |= otherContainer.hasValidationErrors;
     hasValidationWarnings |= otherContainer.hasValidationWarnings;
-    for (Entry<String, Integer> entry : otherContainer.noticesCountPerTypeAndSeverity.entrySet()) {
-      int count = noticesCountPerTypeAndSeverity.getOrDefault(entry.getKey(), 0);
-      noticesCountPerTypeAndSeverity.put(entry.getKey(), count + entry.getValue());
+    final int[] otherCounts = otherContainer.noticesCountPerTypeAndSeverity;
+    if (otherCounts.length > noticesCountPerTypeAndSeverity.length) {
+      growNoticeCounts(otherCounts.length);
+    }
+    for (int index = 0; index < otherCounts.length; ++index) {
+      noticesCountPerTypeAndSeverity[index] += otherCounts[index];
     }
   }
 
+  /**
+   * Adds notices of each type and severity until this container has as many as it can export.
+   *
+   * <p>Must be called before the counts of {@code notices} are added to this container.
+   */
+  private void addExportedNotices(List<ResolvedNotice<ValidationNotice>> notices) {
+    if (notices.isEmpty()) {
+      return;
+    }
+    // Only the types and severities of the given notices are looked up, so that merging a few
+    // notices does not go through all notice types.
+    Map<Integer, Integer> keptCountPerTypeAndSeverity = new HashMap<>();
+    for (ResolvedNotice<ValidationNotice> notice : notices) {
+      final int index = notice.getCountIndex();
+      final int keptCount =
+          keptCountPerTypeAndSeverity.computeIfAbsent(
+              index, i -> Math.min(getNoticeCount(i), maxValidationNoticesPerTypeAndSeverity));
+      if (keptCount < maxValidationNoticesPerTypeAndSeverity) {
+        validationNotices.add(notice);
+        keptCountPerTypeAndSeverity.put(index, keptCount + 1);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of validation notices that were added to this container, including those
+   * that are not kept.
+   */
+  public int getValidationNoticeCount() {
+    int count = 0;
+    for (int severityCount : validationNoticesCountPerSeverity) {
+      count += severityCount;
+    }
+    return count;
+  }
+
+  /** Returns the number of validation notices with the given severity added to this container. */
+  public int getValidationNoticeCount(SeverityLevel severityLevel) {
+    return validationNoticesCountPerSeverity[severityLevel.ordinal()];
+  }
+
+  /**
+   * Returns the number of validation notices with the given code and severity added to this
+   * container.
+   */
+  public int getValidationNoticeCount(String code, SeverityLevel severityLevel) {
+    NoticeType type = NoticeType.findByCode(code);
+    return type == null ? 0 : getNoticeCount(type.getCountIndex(severityLevel));
+  }
+
+  /** Tells if no validation notices and no system errors were added to this container. */
+  public boolean isEmpty() {
+    return systemErrors.isEmpty() && getValidationNoticeCount() == 0;
+  }
+
+  /**
+   * Removes all notices from this container, so that it may be reused.
+   *
+   * <p>This is used for containers of a single row that are merged into the container of a file and
+   * cleared before the next row. The limits of the container are kept.
+   */
+  public void clear() {
+    if (isEmpty()) {
+      // Most rows have no notices, so there is nothing to clear.
+      return;
+    }
+    validationNotices.clear();
+    systemErrors.clear();
+    Arrays.fill(noticesCountPerTypeAndSeverity, 0);
+    Arrays.fill(validationNoticesCountPerSeverity, 0);
+    hasValidationErrors = false;
+    hasValidationWarnings = false;
+  }
+
   /** Tells if this container has any {@code ValidationNotice} that is an error. */
   public boolean hasValidationErrors() {
     return hasValidationErrors;
@@ -196,23 +412,59 @@ public class NoticeContainer {
 
   public <T extends Notice> JsonObject exportJson(List<ResolvedNotice<T>> notices) {
     return ValidationReportDeserializer.serialize(
-        notices, maxExportsPerNoticeTypeAndSeverity, noticesCountPerTypeAndSeverity);
+        notices, maxExportsPerNoticeTypeAndSeverity, getNoticesCountPerMappingKey());
+  }
+
+  /**
+   * Writes the notice reports of all validation notices as a JSON array, in the same format as the
+   * {@code notices} member of {@link #exportValidationNotices}.
+   */
+  public void writeValidationNotices(Gson gson, JsonWriter writer) throws IOException {
+    writeJson(validationNotices, gson, writer);
+  }
+
+  /**
+   * Writes all system errors in the same format as {@code gson.toJson(exportSystemErrors())},
+   * without building the JSON tree.
+   */
+  public void writeSystemErrors(Gson gson, Writer writer) throws IOException {
+    JsonWriter jsonWriter = ValidationReportDeserializer.newJsonWriter(gson, writer);
+    jsonWriter.beginObject();
+    jsonWriter.name("notices");
+    writeJson(systemErrors, gson, jsonWriter);
+    jsonWriter.endObject();
+    jsonWriter.flush();
+  }
+
+  public <T extends Notice> void writeJson(
+      List<ResolvedNotice<T>> notices, Gson gson, JsonWriter writer) throws IOException {
+    ValidationReportDeserializer.write(
+        notices, maxExportsPerNoticeTypeAndSeverity, getNoticesCountPerMappingKey(), gson, writer);
   }
 
   public <T extends Notice> ValidationReport createValidationReport(
       List<ResolvedNotice<T>> notices) {
     return ValidationReportDeserializer.createValidationReport(
-        notices, maxExportsPerNoticeTypeAndSeverity, noticesCountPerTypeAndSeverity);
+        notices, maxExportsPerNoticeTypeAndSeverity, getNoticesCountPerMappingKey());
   }
 
+  /**
+   * Groups notices by their {@link ResolvedNotice#getMappingKey}, i.e., by type and severity.
+   *
+   * <p>Large lists are grouped in parallel. Groups are sorted by key and the notices of each group
+   * keep their order in the list, so the result does not depend on the number of threads.
+   */
   public static <T extends Notice>
       ListMultimap<String, ResolvedNotice<T>> groupNoticesByTypeAndSeverity(
           List<ResolvedNotice<T>> notices) {
-    ListMultimap<String, ResolvedNotice<T>> noticesByType =
-        MultimapBuilder.treeKeys().arrayListValues().build();
-    for (ResolvedNotice<T> notice : notices) {
-      noticesByType.put(notice.getMappingKey(), notice);
-    }
-    return noticesByType;
+    Stream<ResolvedNotice<T>> stream =
+        notices.size() >= MIN_NOTICES_FOR_PARALLEL_EXPORT
+            ? notices.parallelStream()
+            : notices.stream();
+    return stream.collect(
+        Multimaps.toMultimap(
+            ResolvedNotice::getMappingKey,
+            notice -> notice,
+            MultimapBuilder.treeKeys().arrayListValues()::build));
   }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.geometry.S2LatLng;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.mobilitydata.gtfsvalidator.type.GtfsColor;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.type.GtfsTime;
+
+/**
+ * Fields of a notice class, used to compare, hash and serialize notices field by field.
+ *
+ * <p>Fields are looked up once per class. They are the fields that {@link Notice#GSON} serializes,
+ * in the same order, so {@link #toJsonTree} returns the same tree as {@code GSON.toJsonTree}
+ * without its reflective type adapters. Two notices are equal if their JSON trees are equal: fields
+ * of types that are serialized as their value are compared with {@code equals}, and other fields by
+ * their JSON trees.
+ */
+final class NoticeFields {
+  private static final ClassValue<NoticeFields> FIELDS_BY_CLASS =
+      new ClassValue<>() {
+        @Override
+        protected NoticeFields computeValue(Class<?> noticeClass) {
+          return new NoticeFields(noticeClass);
+        }
+      };
+
+  /** Types whose {@code equals} agrees with equality of their JSON trees. */
+  private static final ImmutableSet<Class<?>> VALUE_TYPES =
+      ImmutableSet.of(
+          String.class,
+          Integer.class,
+          Long.class,
+          Boolean.class,
+          Character.class,
+          GtfsColor.class,
+          GtfsDate.class,
+          GtfsTime.class,
+          S2LatLng.class);
+
+  private enum Kind {
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    /** Other primitive types, compared by their boxed values. */
+    PRIMITIVE,
+    /** Types from {@link #VALUE_TYPES} and enums. */
+    VALUE,
+    /** Any other type, compared by its JSON tree. */
+    JSON
+  }
+
+  private final Field[] fields;
+  private final String[] names;
+  private final Kind[] kinds;
+
+  private NoticeFields(Class<?> noticeClass) {
+    List<Field> fieldList = new ArrayList<>();
+    // Gson serializes the fields of a class before the fields of its superclasses.
+    for (Class<?> c = noticeClass; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (isSerialized(field)) {
+          field.setAccessible(true);
+          fieldList.add(field);
+        }
+      }
+    }
+    fields = fieldList.toArray(new Field[0]);
+    names = new String[fields.length];
+    kinds = new Kind[fields.length];
+    for (int i = 0; i < fields.length; ++i) {
+      names[i] = fields[i].getName();
+      kinds[i] = kindOf(fields[i].getType());
+    }
+  }
+
+  static NoticeFields of(Class<?> noticeClass) {
+    return FIELDS_BY_CLASS.get(noticeClass);
+  }
+
+  /** Tells if Gson serializes the field with the default exclusion rules. */
+  private static boolean isSerialized(Field field) {
+    if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0
+        || field.isSynthetic()) {
+      return false;
+    }
+    Class<?> type = field.getType();
+    return Enum.class.isAssignableFrom(type) || !(type.isAnonymousClass() || type.isLocalClass());
+  }
+
+  private static Kind kindOf(Class<?> type) {
+    if (type == int.class) {
+      return Kind.INT;
+    }
+    if (type == long.class) {
+      return Kind.LONG;
+    }
+    if (type == double.class) {
+      return Kind.DOUBLE;
+    }
+    if (type == boolean.class) {
+      return Kind.BOOLEAN;
+    }
+    if (type.isPrimitive()) {
+      return Kind.PRIMITIVE;
+    }
+    if (VALUE_TYPES.contains(type) || type.isEnum()) {
+      return Kind.VALUE;
+    }
+    return Kind.JSON;
+  }
+
+  boolean equals(Notice a, Notice b) {
+    try {
+      for (int i = 0; i < fields.length; ++i) {
+        final Field field = fields[i];
+        switch (kinds[i]) {
+          case INT:
+            if (field.getInt(a) != field.getInt(b)) {
+              return false;
+            }
+            break;
+          case LONG:
+            if (field.getLong(a) != field.getLong(b)) {
+              return false;
+            }
+            break;
+          case DOUBLE:
+            double x = field.getDouble(a);
+            double y = field.getDouble(b);
+            // Same as JsonPrimitive: 0.0 equals -0.0 and NaN equals NaN.
+            if (x != y && !(Double.isNaN(x) && Double.isNaN(y))) {
+              return false;
+            }
+            break;
+          case BOOLEAN:
+            if (field.getBoolean(a) != field.getBoolean(b)) {
+              return false;
+            }
+            break;
+          case PRIMITIVE:
+          case VALUE:
+            if (!Objects.equals(field.get(a), field.get(b))) {
+              return false;
+            }
+            break;
+          case JSON:
+            if (!Objects.equals(toJsonTree(field.get(a)), toJsonTree(field.get(b)))) {
+              return false;
+            }
+            break;
+        }
+      }
+      return true;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  int hashCode(Notice notice) {
+    try {
+      int hash = 0;
+      for (int i = 0; i < fields.length; ++i) {
+        final Field field = fields[i];
+        int fieldHash;
+        switch (kinds[i]) {
+          case INT:
+            fieldHash = field.getInt(notice);
+            break;
+          case LONG:
+            fieldHash = Long.hashCode(field.getLong(notice));
+            break;
+          case DOUBLE:
+            double value = field.getDouble(notice);
+            fieldHash = value == 0 ? 0 : Double.hashCode(value);
+            break;
+          case BOOLEAN:
+            fieldHash = Boolean.hashCode(field.getBoolean(notice));
+            break;
+          case JSON:
+            fieldHash = Objects.hashCode(toJsonTree(field.get(notice)));
+            break;
+          default:
+            fieldHash = Objects.hashCode(field.get(notice));
+            break;
+        }
+        hash = 31 * hash + fieldHash;
+      }
+      return hash;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  JsonObject toJsonTree(Notice notice) {
+    try {
+      JsonObject json = new JsonObject();
+      for (int i = 0; i < fields.length; ++i) {
+        final Field field = fields[i];
+        switch (kinds[i]) {
+          case INT:
+            json.add(names[i], new JsonPrimitive(field.getInt(notice)));
+            break;
+          case LONG:
+            json.add(names[i], new JsonPrimitive(field.getLong(notice)));
+            break;
+          case DOUBLE:
+            json.add(names[i], new JsonPrimitive(field.getDouble(notice)));
+            break;
+          case BOOLEAN:
+            json.add(names[i], new JsonPrimitive(field.getBoolean(notice)));
+            break;
+          default:
+            Object value = field.get(notice);
+            if (value instanceof String) {
+              json.add(names[i], new JsonPrimitive((String) value));
+            } else if (value != null) {
+              // Null fields are omitted, as by Gson.
+              json.add(names[i], toJsonTree(value));
+            }
+            break;
+        }
+      }
+      return json;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static JsonElement toJsonTree(Object value) {
+    return Notice.GSON.toJsonTree(value);
+  }
+}
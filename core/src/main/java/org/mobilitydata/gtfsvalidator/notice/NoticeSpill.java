@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Gzipped file with all notices of a validation, one JSON object per line.
+ *
+ * <p>A {@link NoticeContainer} that only keeps the exported samples of each notice type writes all
+ * its notices here, so that they may be exported after validation without keeping them in memory.
+ * Each line has the code and the severity of a notice and the fields of its context, e.g.:
+ *
+ * <pre>
+ * {"code":"missing_required_file","severity":"ERROR","context":{"filename":"stops.txt"}}
+ * </pre>
+ *
+ * <p>Notices of different threads are written as they are added, so their order in the file is not
+ * deterministic. This class is thread-safe.
+ */
+public final class NoticeSpill implements Closeable {
+  private final Path path;
+  private final Writer writer;
+  private long noticeCount = 0;
+  @Nullable private IOException writeError = null;
+  private boolean closed = false;
+
+  private NoticeSpill(Path path, Writer writer) {
+    this.path = path;
+    this.writer = writer;
+  }
+
+  /** Creates the file, overwriting it if it exists. */
+  public static NoticeSpill create(Path path) throws IOException {
+    return new NoticeSpill(
+        path,
+        new BufferedWriter(
+            new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(path)), StandardCharsets.UTF_8)));
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /** Returns the number of notices written so far. */
+  public synchronized long getNoticeCount() {
+    return noticeCount;
+  }
+
+  /**
+   * Writes a notice to the file.
+   *
+   * <p>Write errors do not interrupt validation: the first one is thrown by {@link #close()} and
+   * further notices are dropped.
+   */
+  public synchronized void write(ResolvedNotice<?> notice) {
+    if (closed || writeError != null) {
+      return;
+    }
+    JsonObject line = new JsonObject();
+    line.addProperty("code", notice.getContext().getCode());
+    line.addProperty("severity", notice.getSeverityLevel().toString());
+    line.add("context", notice.getContext().toJsonTree());
+    try {
+      writer.write(Notice.GSON.toJson(line));
+      writer.write('\n');
+      ++noticeCount;
+    } catch (IOException e) {
+      writeError = e;
+    }
+  }
+
+  /** Writes all notices from the list to the file. */
+  public synchronized void writeAll(List<? extends ResolvedNotice<?>> notices) {
+    for (ResolvedNotice<?> notice : notices) {
+      write(notice);
+    }
+  }
+
+  /**
+   * Flushes and closes the file. Notices that are written afterwards are dropped.
+   *
+   * @throws IOException if writing any notice or closing the file failed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      writer.close();
+    } catch (IOException e) {
+      if (writeError == null) {
+        writeError = e;
+      }
+    }
+    if (writeError != null) {
+      throw writeError;
+    }
+  }
+
+  /**
+   * Reads notices from a file that was written by {@link NoticeSpill}.
+   *
+   * @param path the file to read
+   * @param consumer receives each notice as a JSON object with code, severity and context
+   */
+  public static void read(Path path, Consumer<JsonObject> consumer) throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty()) {
+          consumer.accept(JsonParser.parseString(line).getAsJsonObject());
+        }
+      }
+    }
+  }
+}
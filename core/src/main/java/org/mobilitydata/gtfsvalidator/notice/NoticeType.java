@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Code of a notice type with a dense int id, computed once per notice class.
+ *
+ * <p>Notice classes with the same code share a type, so that they are counted together, as they
+ * are grouped together in reports. Ids are assigned in the order in which the types are first used
+ * and are only meaningful in the current process.
+ *
+ * <p>{@link NoticeContainer} counts notices in an array indexed by {@link #getCountIndex}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class NoticeType {
+  /** Number of severity levels, i.e., of counts per type. */
+  static final int SEVERITY_LEVEL_COUNT = SeverityLevel.values().length;
+
+  private static final ClassValue<NoticeType> TYPES_BY_CLASS =
+      new ClassValue<>() {
+        @Override
+        protected NoticeType computeValue(Class<?> noticeClass) {
+          return forCode(Notice.computeCode(noticeClass));
+        }
+      };
+
+  private static final Map<String, NoticeType> typesByCode = new ConcurrentHashMap<>();
+
+  /** Types by id. The array is replaced when a type is added. */
+  private static volatile NoticeType[] typesById = new NoticeType[0];
+
+  private final int id;
+  private final String code;
+  private final String[] mappingKeys;
+
+  private NoticeType(int id, String code) {
+    this.id = id;
+    this.code = code;
+    this.mappingKeys = new String[SEVERITY_LEVEL_COUNT];
+    for (SeverityLevel severityLevel : SeverityLevel.values()) {
+      mappingKeys[severityLevel.ordinal()] = code + severityLevel.ordinal();
+    }
+  }
+
+  /** Returns the type of the given notice class. */
+  public static NoticeType of(Class<?> noticeClass) {
+    return TYPES_BY_CLASS.get(noticeClass);
+  }
+
+  /** Returns the type with the given code, or null if no notice with that code was used. */
+  @Nullable
+  public static NoticeType findByCode(String code) {
+    return typesByCode.get(code);
+  }
+
+  /** Returns the type with the given id. */
+  static NoticeType byId(int id) {
+    return typesById[id];
+  }
+
+  /** Returns the number of types used so far. Ids are from 0 to {@code count() - 1}. */
+  static int count() {
+    return typesById.length;
+  }
+
+  private static NoticeType forCode(String code) {
+    NoticeType type = typesByCode.get(code);
+    return type != null ? type : add(code);
+  }
+
+  private static synchronized NoticeType add(String code) {
+    NoticeType type = typesByCode.get(code);
+    if (type != null) {
+      return type;
+    }
+    NoticeType[] types = Arrays.copyOf(typesById, typesById.length + 1);
+    type = new NoticeType(typesById.length, code);
+    types[type.id] = type;
+    typesById = types;
+    typesByCode.put(code, type);
+    return type;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  /** Returns the notice code, e.g., "foreign_key_violation". */
+  public String getCode() {
+    return code;
+  }
+
+  /** Returns the {@link ResolvedNotice#getMappingKey} of this type with the given severity. */
+  public String getMappingKey(SeverityLevel severityLevel) {
+    return mappingKeys[severityLevel.ordinal()];
+  }
+
+  /** Returns the index of the count of notices of this type with the given severity. */
+  int getCountIndex(SeverityLevel severityLevel) {
+    return id * SEVERITY_LEVEL_COUNT + severityLevel.ordinal();
+  }
+
+  @Override
+  public String toString() {
+    return code;
+  }
+}
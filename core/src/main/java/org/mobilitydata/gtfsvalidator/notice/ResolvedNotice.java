@@ -28,9 +28,12 @@ public final class ResolvedNotice<T extends Notice> {
 
   private final SeverityLevel severityLevel;
 
+  private final NoticeType type;
+
   public ResolvedNotice(T context, SeverityLevel severityLevel) {
     this.context = context;
     this.severityLevel = severityLevel;
+    this.type = NoticeType.of(context.getClass());
   }
 
   public T getContext() {
@@ -41,11 +44,20 @@ public final class ResolvedNotice<T extends Notice> {
     return this.severityLevel;
   }
 
+  public NoticeType getType() {
+    return this.type;
+  }
+
   /**
    * @return the key used to group notices per type and severity: code + ordinal of severity level.
    */
   public String getMappingKey() {
-    return context.getCode() + getSeverityLevel().ordinal();
+    return type.getMappingKey(severityLevel);
+  }
+
+  /** Returns the index of the count of notices of the same type and severity. */
+  int getCountIndex() {
+    return type.getCountIndex(severityLevel);
   }
 
   @Override
@@ -62,7 +74,7 @@ public final class ResolvedNotice<T extends Notice> {
 
   @Override
   public String toString() {
-    return String.format("%s %s %s", context.getCode(), getSeverityLevel(), getContext());
+    return String.format("%s %s %s", type.getCode(), getSeverityLevel(), getContext());
   }
 
   @Override
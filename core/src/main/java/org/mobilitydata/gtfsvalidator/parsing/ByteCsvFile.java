@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import com.univocity.parsers.csv.CsvParserSettings;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a CSV file straight from UTF-8 encoded bytes, without decoding the whole content to chars.
+ *
+ * <p>This is an alternative to {@link CsvFile} for content that is already in memory. Cells are
+ * returned as slices of the buffer by {@link ByteCsvRow} and a {@code String} is created only for
+ * the cells that are read as strings.
+ *
+ * <p>The tokenizer yields the same rows, values and row numbers as {@link CsvFile} with {@link
+ * CsvFile#createDefaultParserSettings} for well-formed files: records are separated by {@code \n},
+ * empty lines are skipped, leading and trailing whitespaces of unquoted values are removed and
+ * quoted values are kept as they are. Whenever the content is not well-formed in this sense, e.g.
+ * a quote inside an unquoted value, an unterminated quoted value, a last record without a new line
+ * or a value that exceeds the limits of the settings, the tokenizer throws {@link
+ * UnsupportedSyntaxException} instead of guessing how {@link CsvFile} would interpret it. The
+ * caller should then parse the same content with {@link CsvFile}, which also reports the exact
+ * parsing errors.
+ */
+public class ByteCsvFile implements Iterable<CsvRow> {
+  private static final byte QUOTE = '"';
+  private static final byte DELIMITER = ',';
+  private static final byte NEW_LINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  private final ByteBuffer buffer;
+  private final String filename;
+  private final int maxCharsPerColumn;
+  private final int maxColumns;
+  private final boolean isEmpty;
+  private final CsvHeader headers;
+
+  /** Number of lines that precede the parsed input in the original file, see {@link #forChunk}. */
+  private final long lineNumberOffset;
+
+  /** Position of the next byte to tokenize. */
+  private int position;
+
+  /** Number of lines consumed so far. */
+  private long lineCount = 0;
+
+  /** The row returned by the iterator, it is reused for all rows. */
+  private final ByteCsvRow row;
+
+  /**
+   * Creates a reader over a whole CSV file and reads its header.
+   *
+   * @param buffer file content between the position and the limit of the buffer, a UTF-8 byte
+   *     order mark is skipped
+   * @param filename base name of the file, e.g., "stop_times.txt"
+   * @param settings parser settings, only the limits of chars per column and of columns are used
+   * @throws UnsupportedSyntaxException if the header cannot be tokenized
+   */
+  public ByteCsvFile(ByteBuffer buffer, String filename, CsvParserSettings settings) {
+    this.buffer = buffer;
+    this.filename = filename;
+    this.maxCharsPerColumn = settings.getMaxCharsPerColumn();
+    this.maxColumns = settings.getMaxColumns();
+    this.lineNumberOffset = 0;
+    this.position = buffer.position();
+    this.row = new ByteCsvRow(buffer);
+    if (buffer.limit() - position >= 3
+        && buffer.get(position) == (byte) 0xEF
+        && buffer.get(position + 1) == (byte) 0xBB
+        && buffer.get(position + 2) == (byte) 0xBF) {
+      position += 3;
+    }
+    // The header is read into the reused row, so its values are copied.
+    ByteCsvRow headerRow = nextRow();
+    String[] columnNames = null;
+    if (headerRow != null) {
+      columnNames = new String[headerRow.getColumnCount()];
+      for (int i = 0; i < columnNames.length; ++i) {
+        columnNames[i] = headerRow.asString(i);
+      }
+    }
+    this.isEmpty = columnNames == null;
+    this.headers = new CsvHeader(columnNames);
+  }
+
+  private ByteCsvFile(
+      ByteBuffer buffer,
+      String filename,
+      CsvParserSettings settings,
+      CsvHeader headers,
+      long lineNumberOffset) {
+    this.buffer = buffer;
+    this.filename = filename;
+    this.maxCharsPerColumn = settings.getMaxCharsPerColumn();
+    this.maxColumns = settings.getMaxColumns();
+    this.lineNumberOffset = lineNumberOffset;
+    this.position = buffer.position();
+    this.row = new ByteCsvRow(buffer);
+    this.isEmpty = false;
+    this.headers = headers;
+  }
+
+  /**
+   * Creates a reader over a chunk of a CSV file that was split by {@link CsvFileSplitter}, same as
+   * {@link CsvFile#forChunk}.
+   *
+   * @param buffer chunk content, it must start and end at record boundaries
+   * @param filename base name of the file, e.g., "stop_times.txt"
+   * @param settings parser settings for the whole file
+   * @param headers header of the whole file
+   * @param lineNumberOffset number of lines in the file before the chunk
+   * @return a reader over the rows of the chunk
+   */
+  public static ByteCsvFile forChunk(
+      ByteBuffer buffer,
+      String filename,
+      CsvParserSettings settings,
+      CsvHeader headers,
+      long lineNumberOffset) {
+    return new ByteCsvFile(buffer, filename, settings, headers, lineNumberOffset);
+  }
+
+  /**
+   * Returns CSV headers descriptor.
+   *
+   * @return CSV headers
+   */
+  public CsvHeader getHeader() {
+    return headers;
+  }
+
+  /**
+   * Tells if the file is empty, i.e. it has no rows and even no headers.
+   *
+   * @return true if the file is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return isEmpty;
+  }
+
+  /**
+   * Base name of the file, e.g., "stops.txt".
+   *
+   * @return file name
+   */
+  public String getFileName() {
+    return filename;
+  }
+
+  /**
+   * Returns an iterator over this CSV file.
+   *
+   * <p>Note that you can iterate over the file only once. All rows returned by the iterator are the
+   * same {@link ByteCsvRow} instance that is overwritten by the next call to {@code hasNext()}.
+   *
+   * @throws UnsupportedSyntaxException from the iterator methods if a row cannot be tokenized
+   */
+  @Override
+  public Iterator<CsvRow> iterator() {
+    return new Iterator<>() {
+      /** Tells if the row was already tokenized and not yet returned by {@link #next}. */
+      boolean hasPendingRow = false;
+
+      boolean endOfFile = false;
+
+      @Override
+      public boolean hasNext() {
+        if (!hasPendingRow && !endOfFile) {
+          hasPendingRow = nextRow() != null;
+          endOfFile = !hasPendingRow;
+        }
+        return hasPendingRow;
+      }
+
+      @Override
+      public CsvRow next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        hasPendingRow = false;
+        return row;
+      }
+    };
+  }
+
+  /** Tokenizes the next record into {@link #row}, returns null at the end of input. */
+  private ByteCsvRow nextRow() {
+    final int limit = buffer.limit();
+    while (position < limit && buffer.get(position) == NEW_LINE) {
+      // Skip empty lines.
+      ++position;
+      ++lineCount;
+    }
+    if (position == limit) {
+      return null;
+    }
+    final int recordStart = position;
+    row.reset();
+    while (true) {
+      if (row.getColumnCount() == maxColumns) {
+        throw new UnsupportedSyntaxException(filename, recordStart, "too many columns");
+      }
+      final int cellStart = position;
+      if (position < limit && buffer.get(position) == QUOTE) {
+        readQuotedCell(limit);
+      } else {
+        readUnquotedCell(limit);
+      }
+      if (maxCharsPerColumn >= 0 && position - cellStart > maxCharsPerColumn) {
+        throw new UnsupportedSyntaxException(filename, cellStart, "too long value");
+      }
+      if (position == limit) {
+        // The parser numbers and splits an unterminated last line in its own way.
+        throw new UnsupportedSyntaxException(filename, recordStart, "no new line at end of file");
+      }
+      final byte terminator = buffer.get(position++);
+      if (terminator == NEW_LINE) {
+        ++lineCount;
+        break;
+      }
+      // The only other terminator is a delimiter, another cell follows.
+    }
+    if (row.getColumnCount() == 1 && row.asString(0) == null) {
+      // A line of whitespaces is handled differently depending on its position in the file.
+      throw new UnsupportedSyntaxException(filename, recordStart, "line of whitespaces");
+    }
+    row.setRowNumber(lineCount + lineNumberOffset);
+    return row;
+  }
+
+  /** Reads a quoted cell and stops at the following delimiter, new line or end of input. */
+  private void readQuotedCell(int limit) {
+    final int cellStart = position;
+    final int valueStart = ++position;
+    boolean hasEscapedQuotes = false;
+    boolean isPrintableAscii = true;
+    while (true) {
+      if (position == limit) {
+        throw new UnsupportedSyntaxException(filename, cellStart, "unterminated quoted value");
+      }
+      final byte b = buffer.get(position);
+      if (b == QUOTE) {
+        if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+          hasEscapedQuotes = true;
+          position += 2;
+          continue;
+        }
+        break;
+      }
+      if (b == NEW_LINE) {
+        ++lineCount;
+      } else if (b == CARRIAGE_RETURN) {
+        // Line endings inside quotes may be normalized by the parser.
+        throw new UnsupportedSyntaxException(filename, position, "carriage return in quoted value");
+      }
+      isPrintableAscii &= isPrintableAscii(b);
+      ++position;
+    }
+    final int valueEnd = position++;
+    while (position < limit && isWhitespace(buffer.get(position))) {
+      ++position;
+    }
+    if (position < limit && !isTerminator(buffer.get(position))) {
+      throw new UnsupportedSyntaxException(filename, position, "text after closing quote");
+    }
+    row.addCell(valueStart, valueEnd, hasEscapedQuotes, isPrintableAscii && !hasEscapedQuotes);
+  }
+
+  /**
+   * Reads an unquoted cell and stops at the following delimiter, new line or end of input. Leading
+   * and trailing whitespaces are not included into the value.
+   */
+  private void readUnquotedCell(int limit) {
+    int valueStart = -1;
+    int valueEnd = -1;
+    boolean isPrintableAscii = true;
+    for (; position < limit; ++position) {
+      final byte b = buffer.get(position);
+      if (isTerminator(b)) {
+        break;
+      }
+      if (b == QUOTE) {
+        throw new UnsupportedSyntaxException(filename, position, "quote in unquoted value");
+      }
+      if (isWhitespace(b)) {
+        continue;
+      }
+      if (b >= 0 && b < ' ') {
+        // Control characters may or may not be trimmed by the parser.
+        throw new UnsupportedSyntaxException(filename, position, "control character");
+      }
+      if (valueStart < 0) {
+        valueStart = position;
+      } else if (valueEnd < position) {
+        // A whitespace inside the value.
+        isPrintableAscii = false;
+      }
+      valueEnd = position + 1;
+      isPrintableAscii &= isPrintableAscii(b);
+    }
+    if (valueStart < 0) {
+      row.addCell(position, position, false, false);
+    } else {
+      row.addCell(valueStart, valueEnd, false, isPrintableAscii);
+    }
+  }
+
+  private static boolean isTerminator(byte b) {
+    return b == DELIMITER || b == NEW_LINE;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == CARRIAGE_RETURN;
+  }
+
+  /** Tells if the byte is a printable ASCII character other than space. */
+  private static boolean isPrintableAscii(byte b) {
+    return b > ' ' && b < 0x7F;
+  }
+
+  /**
+   * Thrown if the content is not a well-formed CSV that {@link ByteCsvFile} can tokenize exactly
+   * like {@link CsvFile}.
+   */
+  public static class UnsupportedSyntaxException extends RuntimeException {
+    UnsupportedSyntaxException(String filename, int position, String reason) {
+      super(String.format("Cannot tokenize %s at byte %d: %s", filename, position, reason));
+    }
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * A CSV row whose cells are slices of a UTF-8 encoded buffer, see {@link ByteCsvFile}.
+ *
+ * <p>A {@code String} is only created when {@link #asString} is called. {@link RowParser} reads
+ * numbers, times and dates straight from the bytes of cells that consist of printable ASCII.
+ *
+ * <p>The same instance is reused for all rows of a file, so it must not be kept after the next row
+ * is read.
+ */
+public class ByteCsvRow extends CsvRow {
+  /** Returned by {@link #parseInteger} if the value is not a plain decimal integer. */
+  static final long NOT_AN_INTEGER = Long.MIN_VALUE;
+
+  /** Powers of ten that are exactly representable as a double. */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** Largest integer such that all smaller integers are exactly representable as a double. */
+  private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+
+  private final ByteBuffer buffer;
+  private long rowNumber;
+  private int columnCount;
+
+  /** Start of the value of each cell in the buffer. */
+  private int[] valueStarts = new int[16];
+
+  /** End (exclusive) of the value of each cell in the buffer. */
+  private int[] valueEnds = new int[16];
+
+  /** Tells if the value of a cell contains escaped double quotes. */
+  private boolean[] escapedQuotes = new boolean[16];
+
+  /** Tells if the value of a cell consists only of printable ASCII characters without spaces. */
+  private boolean[] printableAscii = new boolean[16];
+
+  /** Scratch space to decode values that are not backed by an array or have escaped quotes. */
+  private byte[] scratch = new byte[64];
+
+  ByteCsvRow(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  void reset() {
+    columnCount = 0;
+  }
+
+  void setRowNumber(long rowNumber) {
+    this.rowNumber = rowNumber;
+  }
+
+  void addCell(int valueStart, int valueEnd, boolean hasEscapedQuotes, boolean isPrintableAscii) {
+    if (columnCount == valueStarts.length) {
+      int capacity = columnCount * 2;
+      valueStarts = Arrays.copyOf(valueStarts, capacity);
+      valueEnds = Arrays.copyOf(valueEnds, capacity);
+      escapedQuotes = Arrays.copyOf(escapedQuotes, capacity);
+      printableAscii = Arrays.copyOf(printableAscii, capacity);
+    }
+    valueStarts[columnCount] = valueStart;
+    valueEnds[columnCount] = valueEnd;
+    escapedQuotes[columnCount] = hasEscapedQuotes;
+    printableAscii[columnCount] = isPrintableAscii && valueStart < valueEnd;
+    ++columnCount;
+  }
+
+  @Override
+  public long getRowNumber() {
+    return rowNumber;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Returns a value in this row for the requested column as a string.
+   *
+   * <p>Returns {@code null} if the column index is out of bounds or the value is empty, same as
+   * {@link CsvRow#asString}. Malformed UTF-8 sequences are replaced with U+FFFD.
+   */
+  @Override
+  @Nullable
+  public String asString(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columnCount) {
+      return null;
+    }
+    final int start = valueStarts[columnIndex];
+    final int end = valueEnds[columnIndex];
+    if (start == end) {
+      return null;
+    }
+    if (escapedQuotes[columnIndex]) {
+      int length = 0;
+      ensureScratchCapacity(end - start);
+      for (int i = start; i < end; ++i) {
+        final byte b = buffer.get(i);
+        scratch[length++] = b;
+        if (b == '"') {
+          // Skip the second quote of "".
+          ++i;
+        }
+      }
+      return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+    if (buffer.hasArray()) {
+      return new String(
+          buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+    }
+    ensureScratchCapacity(end - start);
+    buffer.get(start, scratch, 0, end - start);
+    return new String(scratch, 0, end - start, StandardCharsets.UTF_8);
+  }
+
+  private void ensureScratchCapacity(int capacity) {
+    if (scratch.length < capacity) {
+      scratch = new byte[Math.max(capacity, scratch.length * 2)];
+    }
+  }
+
+  /**
+   * Tells if the cell is not empty and consists only of printable ASCII characters without spaces.
+   *
+   * <p>Such value is the same before and after {@link
+   * org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator#validateField} and it has no
+   * invalid characters.
+   */
+  boolean isPrintableAscii(int columnIndex) {
+    return columnIndex >= 0 && columnIndex < columnCount && printableAscii[columnIndex];
+  }
+
+  /**
+   * Parses a printable ASCII cell as an integer in the format accepted by {@link
+   * Integer#parseInt(String)}.
+   *
+   * @return the integer value or {@link #NOT_AN_INTEGER} if the value is not an integer or does not
+   *     fit into {@code int}
+   */
+  long parseInteger(int columnIndex) {
+    int i = valueStarts[columnIndex];
+    final int end = valueEnds[columnIndex];
+    final boolean negative = buffer.get(i) == '-';
+    if (negative || buffer.get(i) == '+') {
+      ++i;
+    }
+    if (i == end || end - i > 10) {
+      return NOT_AN_INTEGER;
+    }
+    long value = 0;
+    for (; i < end; ++i) {
+      final int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return NOT_AN_INTEGER;
+      }
+      value = value * 10 + digit;
+    }
+    value = negative ? -value : value;
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      return NOT_AN_INTEGER;
+    }
+    return value;
+  }
+
+  /**
+   * Parses a printable ASCII cell in the form {@code [+-]digits[.digits]} as a double.
+   *
+   * <p>The result is the same as of {@link Double#parseDouble(String)}. Only values with at most 15
+   * significant digits and at most 22 fractional digits are parsed: their mantissa and the power of
+   * ten are exact doubles, so a single division is correctly rounded.
+   *
+   * @return the parsed value or NaN if the value has another form
+   */
+  double parseSimpleDouble(int columnIndex) {
+    int i = valueStarts[columnIndex];
+    final int end = valueEnds[columnIndex];
+    final boolean negative = buffer.get(i) == '-';
+    if (negative || buffer.get(i) == '+') {
+      ++i;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    for (; i < end; ++i) {
+      final byte b = buffer.get(i);
+      if (b == '.' && fractionDigits < 0) {
+        fractionDigits = 0;
+        continue;
+      }
+      final int digit = b - '0';
+      if (digit < 0 || digit > 9) {
+        return Double.NaN;
+      }
+      mantissa = mantissa * 10 + digit;
+      if (mantissa > MAX_EXACT_DOUBLE_MANTISSA) {
+        return Double.NaN;
+      }
+      ++digits;
+      if (fractionDigits >= 0) {
+        ++fractionDigits;
+      }
+    }
+    if (digits == 0 || fractionDigits >= EXACT_POWERS_OF_TEN.length) {
+      return Double.NaN;
+    }
+    double value = fractionDigits > 0 ? mantissa / EXACT_POWERS_OF_TEN[fractionDigits] : mantissa;
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a printable ASCII cell in H:MM:SS, HH:MM:SS or HHH:MM:SS format.
+   *
+   * @return seconds since midnight or -1 if the value has another format or minutes or seconds are
+   *     out of range
+   */
+  int parseTime(int columnIndex) {
+    final int start = valueStarts[columnIndex];
+    final int end = valueEnds[columnIndex];
+    final int hourDigits = end - start - 6;
+    if (hourDigits < 1 || hourDigits > 3) {
+      return -1;
+    }
+    final int hour = parseDigitsBetween(start, start + hourDigits);
+    final int minute = parseDigitsBetween(end - 5, end - 3);
+    final int second = parseDigitsBetween(end - 2, end);
+    if (hour < 0
+        || minute < 0
+        || second < 0
+        || minute >= 60
+        || second >= 60
+        || buffer.get(end - 6) != ':'
+        || buffer.get(end - 3) != ':') {
+      return -1;
+    }
+    return hour * 3600 + minute * 60 + second;
+  }
+
+  /**
+   * Parses a printable ASCII cell that consists of exactly {@code length} decimal digits.
+   *
+   * @return the parsed value or -1 if the value has another length or is not a number
+   */
+  int parseDigits(int columnIndex, int length) {
+    final int start = valueStarts[columnIndex];
+    final int end = valueEnds[columnIndex];
+    return end - start == length ? parseDigitsBetween(start, end) : -1;
+  }
+
+  /** Parses decimal digits between the given buffer positions, returns -1 for a non-digit. */
+  private int parseDigitsBetween(int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; ++i) {
+      final int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+}
@@ -41,6 +41,9 @@ public class CsvFile implements Iterable<CsvRow> {
   private final CsvHeader headers;
   private final String filename;
 
+  /** Number of lines that precede the parsed input in the original file, see {@link #forChunk}. */
+  private final long lineNumberOffset;
+
   public static CsvParserSettings createDefaultParserSettings() {
     CsvParserSettings settings = new CsvParserSettings();
     settings.getFormat().setLineSeparator("\n");
@@ -58,7 +61,54 @@ public class CsvFile implements Iterable<CsvRow> {
 
   public CsvFile(InputStream inputStream, String filename, CsvParserSettings settings) {
     this.filename = filename;
+    this.lineNumberOffset = 0;
+    parser = new CsvParser(settings);
+    parser.beginParsing(createReader(inputStream));
+
+    String[] columnNames = parser.getContext().headers();
+    isEmpty = columnNames == null;
+    headers = new CsvHeader(columnNames);
+  }
+
+  private CsvFile(
+      InputStream inputStream,
+      String filename,
+      CsvParserSettings settings,
+      CsvHeader headers,
+      long lineNumberOffset) {
+    this.filename = filename;
+    this.lineNumberOffset = lineNumberOffset;
+    this.headers = headers;
+    this.isEmpty = false;
+    CsvParserSettings chunkSettings = settings.clone();
+    chunkSettings.setHeaderExtractionEnabled(false);
+    parser = new CsvParser(chunkSettings);
+    parser.beginParsing(createReader(inputStream));
+  }
+
+  /**
+   * Creates a reader over a chunk of a CSV file that was split by {@link CsvFileSplitter}.
+   *
+   * <p>The chunk has no header row, so the header of the whole file must be provided. Row numbers
+   * are shifted by {@code lineNumberOffset} so that they match row numbers in the whole file.
+   *
+   * @param inputStream chunk content, it must start and end at record boundaries
+   * @param filename base name of the file, e.g., "stop_times.txt"
+   * @param settings parser settings for the whole file
+   * @param headers header of the whole file
+   * @param lineNumberOffset number of lines in the file before the chunk
+   * @return a reader over the rows of the chunk
+   */
+  public static CsvFile forChunk(
+      InputStream inputStream,
+      String filename,
+      CsvParserSettings settings,
+      CsvHeader headers,
+      long lineNumberOffset) {
+    return new CsvFile(inputStream, filename, settings, headers, lineNumberOffset);
+  }
 
+  private static BufferedReader createReader(InputStream inputStream) {
     // Only UTF-8 is supported according to GTFS reference. We may add optional support for other
     // encodings later.
     final BOMInputStream bomInputStream;
@@ -76,15 +126,7 @@ public class CsvFile implements Iterable<CsvRow> {
             .newDecoder()
             .replaceWith("\uFFFD")
             .onMalformedInput(CodingErrorAction.REPLACE);
-    final BufferedReader reader =
-        new BufferedReader(new InputStreamReader(bomInputStream, decoder));
-
-    parser = new CsvParser(settings);
-    parser.beginParsing(reader);
-
-    String[] columnNames = parser.getContext().headers();
-    isEmpty = columnNames == null;
-    headers = new CsvHeader(columnNames);
+    return new BufferedReader(new InputStreamReader(bomInputStream, decoder));
   }
 
   /**
@@ -129,7 +171,7 @@ public class CsvFile implements Iterable<CsvRow> {
     if (columnValues == null) {
       return null;
     }
-    return new CsvRow(parser.getContext().currentLine(), columnValues);
+    return new CsvRow(parser.getContext().currentLine() + lineNumberOffset, columnValues);
   }
 
   /**
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import com.univocity.parsers.common.TextParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.io.input.BOMInputStream;
+import org.mobilitydata.gtfsvalidator.input.MappedFile;
+
+/**
+ * Splits a CSV file into chunks of raw bytes that start and end at record boundaries, so that the
+ * chunks can be parsed independently and in parallel with {@link CsvFile#forChunk} or {@link
+ * ByteCsvFile#forChunk}.
+ *
+ * <p>A record boundary is a new line that is not inside a quoted value. Quotes are tracked with the
+ * same rules as the CSV parser: a value is quoted if its first non-whitespace character is a double
+ * quote, and a double quote inside a quoted value is escaped by another double quote. If the file
+ * contains a quote that does not follow these rules, the parser may interpret it in several ways,
+ * so the splitter stops splitting and returns the rest of the file as a single chunk.
+ *
+ * <p>The content is either read from a stream into heap buffers, or mapped from a {@link
+ * MappedFile}, in which case chunks are views of the mapped regions and nothing is copied. A chunk
+ * that is the rest of the input after splitting stopped, or that is too large for a buffer, is not
+ * buffered: it reads the rest of the stream or of the mapped file.
+ *
+ * <p>The first chunk contains the header row. A byte order mark is removed from the input.
+ */
+public class CsvFileSplitter {
+  private static final byte QUOTE = '"';
+  private static final byte DELIMITER = ',';
+  private static final byte NEW_LINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  /** First byte of UTF-8 encoded U+FEFF. A chunk must not start with it, see {@link CsvFile}. */
+  private static final byte BOM_FIRST_BYTE = (byte) 0xEF;
+
+  /** Maximal size of a single mapped region. */
+  private static final int MAX_MAPPED_REGION = Integer.MAX_VALUE - 8;
+
+  /** Maximal size of a heap buffer. */
+  private static final int MAX_BUFFER_LENGTH = Integer.MAX_VALUE - 8;
+
+  private final int chunkSize;
+
+  /** The input stream, or null if a mapped file is read. */
+  @Nullable private final InputStream inputStream;
+
+  /** The mapped file, or null if a stream is read. */
+  @Nullable private final MappedFile mappedFile;
+
+  /**
+   * Bytes read from the input but not yet returned in a chunk, starting at a record boundary. The
+   * buffer is a heap buffer for a stream and a mapped region for a mapped file.
+   */
+  private ByteBuffer buffer;
+
+  private int length = 0;
+  private boolean endOfInput = false;
+
+  /** Position of {@link #buffer} in a mapped file. */
+  private long filePosition = 0;
+
+  /** False once an ambiguous quote was found. */
+  private boolean splittable = true;
+
+  private long lineNumberOffset = 0;
+  private long charOffset = 0;
+
+  /**
+   * Creates a splitter over the given input.
+   *
+   * @param inputStream content of a CSV file
+   * @param chunkSize approximate size of a chunk in bytes; a chunk may be larger if a single record
+   *     does not fit into it
+   */
+  public CsvFileSplitter(InputStream inputStream, int chunkSize) {
+    try {
+      this.inputStream =
+          BOMInputStream.builder()
+              .setInputStream(inputStream)
+              .setByteOrderMarks(ByteOrderMark.UTF_8)
+              .get();
+    } catch (Exception e) {
+      throw new TextParsingException(null, e.getMessage(), e);
+    }
+    this.mappedFile = null;
+    this.chunkSize = chunkSize;
+    this.buffer = ByteBuffer.allocate(chunkSize);
+  }
+
+  /**
+   * Creates a splitter over a mapped file. Chunks share memory with the mapping.
+   *
+   * @param mappedFile content of a CSV file
+   * @param chunkSize approximate size of a chunk in bytes; a chunk may be larger if a single record
+   *     does not fit into it
+   */
+  public CsvFileSplitter(MappedFile mappedFile, int chunkSize) {
+    this.inputStream = null;
+    this.mappedFile = mappedFile;
+    this.chunkSize = chunkSize;
+    this.buffer = ByteBuffer.allocate(0);
+    try {
+      ByteBuffer head = mappedFile.map(0, (int) Math.min(mappedFile.size(), 3));
+      byte[] bom = ByteOrderMark.UTF_8.getBytes();
+      if (head.equals(ByteBuffer.wrap(bom))) {
+        filePosition = bom.length;
+      }
+    } catch (IOException e) {
+      throw new TextParsingException(null, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the next chunk or null if the whole input was consumed.
+   *
+   * @throws TextParsingException if the input cannot be read
+   */
+  @Nullable
+  public Chunk next() {
+    try {
+      fillBuffer(chunkSize);
+      if (endOfInput && length <= chunkSize) {
+        // The rest of the input is small enough to be a single chunk.
+        return length > 0 ? takeChunk(length) : null;
+      }
+      while (true) {
+        int boundary = splittable ? findLastBoundary() : -1;
+        if (boundary > 0) {
+          return takeChunk(boundary);
+        }
+        if (endOfInput) {
+          return length > 0 ? takeChunk(length) : null;
+        }
+        if (mappedFile != null && length == MAX_MAPPED_REGION) {
+          // The rest of the file cannot be mapped as a whole.
+          return takeRestOfMappedFile();
+        }
+        if (mappedFile == null && (!splittable || length >= MAX_BUFFER_LENGTH)) {
+          // Parse the rest of the stream as a single chunk without reading it into the heap.
+          return takeRestOfStream();
+        }
+        if (!splittable) {
+          // Map everything that is left.
+          fillBuffer(Integer.MAX_VALUE);
+          continue;
+        }
+        // A single record does not fit into the buffer.
+        fillBuffer(length > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : length * 2);
+      }
+    } catch (IOException e) {
+      throw new TextParsingException(null, e.getMessage(), e);
+    }
+  }
+
+  /** Reads the input until the buffer has at least {@code minLength} bytes or input ends. */
+  private void fillBuffer(int minLength) throws IOException {
+    if (mappedFile != null) {
+      if (length < minLength && !endOfInput) {
+        long remaining = mappedFile.size() - filePosition;
+        length = (int) Math.min(remaining, Math.min(minLength, MAX_MAPPED_REGION));
+        endOfInput = length == remaining;
+        buffer = mappedFile.map(filePosition, length);
+      }
+      return;
+    }
+    minLength = Math.min(minLength, MAX_BUFFER_LENGTH);
+    byte[] array = buffer.array();
+    while (!endOfInput && length < minLength) {
+      if (length == array.length) {
+        array =
+            Arrays.copyOf(
+                array, (int) Math.min(MAX_BUFFER_LENGTH, Math.max(2L * array.length, chunkSize)));
+        buffer = ByteBuffer.wrap(array);
+      }
+      int n = inputStream.read(array, length, array.length - length);
+      if (n < 0) {
+        endOfInput = true;
+      } else {
+        length += n;
+      }
+    }
+  }
+
+  /**
+   * Scans the buffer and returns the position right after the last record boundary, or -1 if there
+   * is none. The buffer always starts at a record boundary.
+   */
+  private int findLastBoundary() {
+    int lastBoundary = -1;
+    boolean inQuotes = false;
+    boolean atFieldStart = true;
+    boolean afterClosingQuote = false;
+    // The last byte is only looked at as the successor of the previous one unless the input ended.
+    final int scanLength = endOfInput ? length : length - 1;
+    for (int i = 0; i < scanLength; ++i) {
+      final byte b = buffer.get(i);
+      if (inQuotes) {
+        if (b == QUOTE) {
+          if (i + 1 < length && buffer.get(i + 1) == QUOTE) {
+            // Escaped quote.
+            ++i;
+          } else if (i + 1 < length || endOfInput) {
+            inQuotes = false;
+            afterClosingQuote = true;
+          } else {
+            // Cannot tell yet whether the quote is escaped.
+            break;
+          }
+        }
+        continue;
+      }
+      if (b == NEW_LINE) {
+        if (i + 1 < length && isChunkStart(buffer.get(i + 1))) {
+          lastBoundary = i + 1;
+        }
+        atFieldStart = true;
+        afterClosingQuote = false;
+      } else if (b == DELIMITER) {
+        atFieldStart = true;
+        afterClosingQuote = false;
+      } else if (isWhitespace(b)) {
+        // Leading and trailing whitespaces around a quoted value are allowed.
+      } else if (b == QUOTE && atFieldStart) {
+        inQuotes = true;
+        atFieldStart = false;
+      } else if (b == QUOTE || afterClosingQuote) {
+        // A quote inside an unquoted value, or text after a closing quote.
+        splittable = false;
+        return lastBoundary;
+      } else {
+        atFieldStart = false;
+      }
+    }
+    return lastBoundary;
+  }
+
+  /**
+   * Tells if a chunk may start with the given byte.
+   *
+   * <p>Chunks never start with an empty line so that all empty lines between two records are
+   * counted in the same chunk, and never start with a byte order mark.
+   */
+  private static boolean isChunkStart(byte b) {
+    return b != NEW_LINE && b != CARRIAGE_RETURN && b != BOM_FIRST_BYTE;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == CARRIAGE_RETURN;
+  }
+
+  /** Returns the first {@code chunkLength} bytes of the buffer as a chunk. */
+  private Chunk takeChunk(int chunkLength) {
+    final Chunk chunk;
+    if (mappedFile != null) {
+      chunk = new Chunk(buffer.slice(0, chunkLength), null, 0, null, lineNumberOffset, charOffset);
+    } else {
+      chunk =
+          new Chunk(
+              ByteBuffer.wrap(Arrays.copyOf(buffer.array(), chunkLength)),
+              null,
+              0,
+              null,
+              lineNumberOffset,
+              charOffset);
+    }
+    for (int i = 0; i < chunkLength; ++i) {
+      final byte b = buffer.get(i);
+      if (b == NEW_LINE) {
+        ++lineNumberOffset;
+      }
+      // Count UTF-16 chars: skip continuation bytes, 4-byte sequences are surrogate pairs.
+      if ((b & 0xC0) != 0x80) {
+        charOffset += (b & 0xF8) == 0xF0 ? 2 : 1;
+      }
+    }
+    if (mappedFile != null) {
+      filePosition += chunkLength;
+      buffer = buffer.slice(chunkLength, length - chunkLength);
+    } else {
+      byte[] array = buffer.array();
+      System.arraycopy(array, chunkLength, array, 0, length - chunkLength);
+    }
+    length -= chunkLength;
+    return chunk;
+  }
+
+  /** Returns the rest of a mapped file that is too large for a buffer as a stream-only chunk. */
+  private Chunk takeRestOfMappedFile() {
+    Chunk chunk = new Chunk(null, mappedFile, filePosition, null, lineNumberOffset, charOffset);
+    filePosition = mappedFile.size();
+    buffer = ByteBuffer.allocate(0);
+    length = 0;
+    return chunk;
+  }
+
+  /**
+   * Returns the buffered bytes followed by the unread rest of the input stream as a stream-only
+   * chunk. The input stream is not read by the splitter anymore.
+   */
+  private Chunk takeRestOfStream() {
+    InputStream rest =
+        new SequenceInputStream(new ByteArrayInputStream(buffer.array(), 0, length), inputStream);
+    Chunk chunk = new Chunk(null, null, 0, rest, lineNumberOffset, charOffset);
+    buffer = ByteBuffer.allocate(0);
+    length = 0;
+    endOfInput = true;
+    return chunk;
+  }
+
+  /** A chunk of a CSV file that starts and ends at record boundaries. */
+  public static final class Chunk {
+    /** Content of the chunk, or null if the chunk is the rest of the input. */
+    @Nullable private final ByteBuffer data;
+
+    @Nullable private final MappedFile mappedFile;
+    private final long filePosition;
+
+    /** The rest of the input stream, which can be read only once. */
+    @Nullable private final InputStream restOfStream;
+
+    private final long lineNumberOffset;
+    private final long charOffset;
+
+    Chunk(
+        @Nullable ByteBuffer data,
+        @Nullable MappedFile mappedFile,
+        long filePosition,
+        @Nullable InputStream restOfStream,
+        long lineNumberOffset,
+        long charOffset) {
+      this.data = data;
+      this.mappedFile = mappedFile;
+      this.filePosition = filePosition;
+      this.restOfStream = restOfStream;
+      this.lineNumberOffset = lineNumberOffset;
+      this.charOffset = charOffset;
+    }
+
+    /**
+     * Returns a stream over the content of the chunk.
+     *
+     * <p>If the chunk is the rest of an input stream, then the same stream is returned by every
+     * call, so its content can be read only once.
+     *
+     * @throws TextParsingException if the rest of a mapped file cannot be opened
+     */
+    public InputStream newInputStream() {
+      if (data != null) {
+        return new ByteBufferInputStream(data.duplicate());
+      }
+      if (restOfStream != null) {
+        return restOfStream;
+      }
+      try {
+        return mappedFile.newInputStream(filePosition);
+      } catch (IOException e) {
+        throw new TextParsingException(null, e.getMessage(), e);
+      }
+    }
+
+    /**
+     * Returns a buffer over the content of the chunk for {@link ByteCsvFile#forChunk}, or null if
+     * the chunk is too large for a buffer and can only be read by {@link #newInputStream}.
+     */
+    @Nullable
+    public ByteBuffer asByteBuffer() {
+      return data == null ? null : data.duplicate();
+    }
+
+    /** Returns the number of lines in the file before this chunk. */
+    public long getLineNumberOffset() {
+      return lineNumberOffset;
+    }
+
+    /** Returns the number of chars in the file before this chunk. */
+    public long getCharOffset() {
+      return charOffset;
+    }
+  }
+
+  /** Reads a byte buffer as a stream. */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
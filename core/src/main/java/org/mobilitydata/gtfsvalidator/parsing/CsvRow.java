@@ -29,6 +29,14 @@ public class CsvRow {
     this.columnValues = columnValues;
   }
 
+  /**
+   * Constructor for subclasses that keep cell values in a different form. Such subclasses must
+   * override all public methods.
+   */
+  protected CsvRow() {
+    this(0, new String[] {});
+  }
+
   public long getRowNumber() {
     return rowNumber;
   }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Ids of a feed that are shared by all its tables.
+ *
+ * <p>Ids are grouped in domains named after the id column, e.g., "stop_id". A foreign key belongs
+ * to the domain of the column it references, so stop_id in stops.txt and stop_times.txt and
+ * from_stop_id in transfers.txt are all in the "stop_id" domain. Each distinct id of a domain is
+ * stored once and gets a dense int code, no matter how many tables use it.
+ *
+ * <p>This class is thread-safe: tables are loaded in parallel and look up ids in the same domains.
+ */
+public final class FeedIdDictionary {
+  private final Map<String, Domain> domains = new ConcurrentHashMap<>();
+
+  /** Returns the domain with the given name, creating it if needed. */
+  public Domain getDomain(String name) {
+    return domains.computeIfAbsent(name, Domain::new);
+  }
+
+  /**
+   * Ids of a single domain.
+   *
+   * <p>This is a {@link FieldCache} that is shared between tables, so it may be used by field
+   * loaders instead of a cache per table. Lookups of ids that are already present do not lock.
+   */
+  public static final class Domain extends FieldCache<String> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String name;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final LongAdder lookupCount = new LongAdder();
+
+    /**
+     * Ids by code. The array is replaced when it grows, and an id is stored before its code is
+     * published in {@link #codes}, so readers that found a code always see the id.
+     */
+    private volatile String[] ids = new String[INITIAL_CAPACITY];
+
+    private Domain(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the code of the id, adding the id to the domain if it is absent.
+     *
+     * @param id the id to encode
+     * @return code from 0 to {@code size() - 1}
+     */
+    public int encode(String id) {
+      Integer code = codes.get(id);
+      return code != null ? code : add(id);
+    }
+
+    /** Returns the code of the id, or -1 if the domain does not have it. */
+    public int codeOf(String id) {
+      Integer code = codes.get(id);
+      return code != null ? code : -1;
+    }
+
+    /** Returns the id with the given code. */
+    public String decode(int code) {
+      return ids[code];
+    }
+
+    /** Returns the number of distinct ids in the domain. */
+    public int size() {
+      return codes.size();
+    }
+
+    private synchronized int add(String id) {
+      Integer code = codes.get(id);
+      if (code != null) {
+        return code;
+      }
+      final int newCode = codes.size();
+      if (newCode == ids.length) {
+        ids = Arrays.copyOf(ids, newCode * 2);
+      }
+      ids[newCode] = id;
+      codes.put(id, newCode);
+      return newCode;
+    }
+
+    /** Returns the canonical instance of the id, adding it to the domain if it is absent. */
+    @Override
+    public @Nullable String addIfAbsent(@Nullable String id) {
+      lookupCount.increment();
+      if (id == null) {
+        return null;
+      }
+      return decode(encode(id));
+    }
+
+    @Override
+    public int getLookupCount() {
+      return lookupCount.intValue();
+    }
+
+    @Override
+    public int getCacheSize() {
+      return size();
+    }
+
+    @Override
+    public int getCacheMisses() {
+      return size();
+    }
+  }
+}
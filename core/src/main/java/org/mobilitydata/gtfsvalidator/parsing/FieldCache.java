@@ -29,8 +29,8 @@ import javax.annotation.Nullable;
  * caching.
  *
  * <p>All tables are read in parallel, that's why we create a separate set of caches for each table.
- * It is tempting to use the same cache for, e.g., trip_id in both trips.txt and stop_times.txt but
- * that would require synchronization that slows down the reading.
+ * Id columns are the exception: they use a {@link FeedIdDictionary.Domain} that is shared by all
+ * tables of a feed, so that, e.g., trip_id in trips.txt and stop_times.txt are the same instances.
  *
  * @param <T> the type of the cached objects. It must be suitable as a key for hash maps.
  */
@@ -115,7 +115,7 @@ public class FieldCache<T> {
    * @return hit ratio.
    */
   public double getHitRatio() {
-    return lookupCount == 0 ? 1.0 : getCacheHits() * 1.0 / lookupCount;
+    return getLookupCount() == 0 ? 1.0 : getCacheHits() * 1.0 / getLookupCount();
   }
 
   /**
@@ -126,6 +126,6 @@ public class FieldCache<T> {
    * @return miss ratio.
    */
   public double getMissRatio() {
-    return lookupCount == 0 ? 0.0 : getCacheMisses() * 1.0 / lookupCount;
+    return getLookupCount() == 0 ? 0.0 : getCacheMisses() * 1.0 / getLookupCount();
   }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+
+/**
+ * Small cache of the dates parsed by a {@link RowParser}, keyed by their {@code YYYYMMDD} value.
+ *
+ * <p>A table uses few distinct dates, e.g., calendar_dates.txt repeats the same holidays for every
+ * service. A hit returns the same {@link GtfsDate} instance without checking the date and creating
+ * a {@link LocalDate} again.
+ *
+ * <p>The cache is direct-mapped: a date replaces the previous date in its slot. It is not
+ * thread-safe, each row parser has its own cache.
+ */
+final class GtfsDateCache {
+  private static final int SIZE = 256;
+
+  private final int[] keys = new int[SIZE];
+  private final GtfsDate[] dates = new GtfsDate[SIZE];
+
+  /**
+   * Returns the date with the given {@code YYYYMMDD} value.
+   *
+   * @return the date or null if the value is not a valid date
+   */
+  @Nullable
+  GtfsDate get(int yyyymmdd) {
+    final int slot = yyyymmdd & (SIZE - 1);
+    GtfsDate date = dates[slot];
+    if (date != null && keys[slot] == yyyymmdd) {
+      return date;
+    }
+    try {
+      date =
+          GtfsDate.fromLocalDate(
+              LocalDate.of(yyyymmdd / 10000, yyyymmdd / 100 % 100, yyyymmdd % 100));
+    } catch (DateTimeException e) {
+      return null;
+    }
+    keys[slot] = yyyymmdd;
+    dates[slot] = date;
+    return date;
+  }
+
+  /**
+   * Same as {@link GtfsDate#fromString} but returns cached dates.
+   *
+   * @throws IllegalArgumentException for invalid date string
+   */
+  GtfsDate fromString(String yyyymmdd) {
+    if (yyyymmdd.length() == 8) {
+      int value = 0;
+      for (int i = 0; i < 8 && value >= 0; ++i) {
+        final int digit = yyyymmdd.charAt(i) - '0';
+        value = digit < 0 || digit > 9 ? -1 : value * 10 + digit;
+      }
+      GtfsDate date = value >= 0 ? get(value) : null;
+      if (date != null) {
+        return date;
+      }
+    }
+    // Other strings are parsed as usual, which throws for invalid dates.
+    return GtfsDate.fromString(yyyymmdd);
+  }
+}
@@ -46,11 +46,23 @@ public class RowParser {
   private final GtfsFieldValidator fieldValidator;
   private CsvRow row;
 
+  /**
+   * The current row if it is a {@link ByteCsvRow} and the field validator accepts printable ASCII
+   * values as they are, otherwise null. Numbers, times and dates are then parsed from bytes.
+   */
+  @Nullable private ByteCsvRow byteRow;
+
   // The largest CSV files contain about 100 M rows (as of 2022). Set the limit to 1 billion.
   private static final long MAX_ROW_NUMBER = 1000000000;
 
   private NoticeContainer noticeContainer;
 
+  /** Context of the cell that is being validated, reused for all cells of the file. */
+  private final RowCellContext cellContext = new RowCellContext();
+
+  /** Dates repeat a lot within a file, so they are parsed once per value. */
+  private final GtfsDateCache dateCache = new GtfsDateCache();
+
   public RowParser(String fileName, CsvHeader header, GtfsFieldValidator fieldValidator) {
     this.fileName = fileName;
     this.header = header;
@@ -60,6 +72,10 @@ public class RowParser {
   public void setRow(CsvRow row, NoticeContainer noticeContainer) {
     this.row = row;
     this.noticeContainer = noticeContainer;
+    this.byteRow =
+        row instanceof ByteCsvRow && fieldValidator.acceptsPrintableAsciiFields()
+            ? (ByteCsvRow) row
+            : null;
   }
 
   public NoticeContainer getNoticeContainer() {
@@ -127,15 +143,22 @@ public class RowParser {
             new InvalidCharacterNotice(fileName, getRowNumber(), columnDescriptor.columnName(), s));
       }
 
-      s =
-          fieldValidator.validateField(
-              s,
-              GtfsCellContext.create(fileName, getRowNumber(), header.getColumnName(columnIndex)),
-              noticeContainer);
+      s = fieldValidator.validateField(s, cellContext.at(columnIndex), noticeContainer);
     }
     return s;
   }
 
+  /**
+   * Tells if the cell may be parsed straight from bytes of {@link #byteRow}.
+   *
+   * <p>Such cell is not empty and consists of printable ASCII, so {@link #asString} would not add
+   * any notice for it. If parsing from bytes fails, then the caller falls back to {@link
+   * #parseAsType} that adds the same notices as for any other row.
+   */
+  private boolean isPrintableAsciiCell(int columnIndex) {
+    return byteRow != null && byteRow.isPrintableAscii(columnIndex);
+  }
+
   private boolean containsInvalidCharacters(String string) {
     return string.contains("\uFFFD");
   }
@@ -216,6 +239,12 @@ public class RowParser {
 
   @Nullable
   public Double asFloat(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    if (isPrintableAsciiCell(columnIndex)) {
+      double value = byteRow.parseSimpleDouble(columnIndex);
+      if (!Double.isNaN(value)) {
+        return value;
+      }
+    }
     return parseAsType(columnIndex, columnDescriptor, Double::parseDouble, InvalidFloatNotice::new);
   }
 
@@ -259,6 +288,12 @@ public class RowParser {
 
   @Nullable
   public Integer asInteger(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    if (isPrintableAsciiCell(columnIndex)) {
+      long value = byteRow.parseInteger(columnIndex);
+      if (value != ByteCsvRow.NOT_AN_INTEGER) {
+        return (int) value;
+      }
+    }
     return parseAsType(columnIndex, columnDescriptor, Integer::parseInt, InvalidIntegerNotice::new);
   }
 
@@ -366,12 +401,29 @@ public class RowParser {
 
   @Nullable
   public GtfsTime asTime(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
+    if (isPrintableAsciiCell(columnIndex)) {
+      int secondsSinceMidnight = byteRow.parseTime(columnIndex);
+      if (secondsSinceMidnight >= 0) {
+        return GtfsTime.fromSecondsSinceMidnight(secondsSinceMidnight);
+      }
+    }
     return parseAsType(columnIndex, columnDescriptor, GtfsTime::fromString, InvalidTimeNotice::new);
   }
 
   @Nullable
   public GtfsDate asDate(int columnIndex, GtfsColumnDescriptor columnDescriptor) {
-    return parseAsType(columnIndex, columnDescriptor, GtfsDate::fromString, InvalidDateNotice::new);
+    if (isPrintableAsciiCell(columnIndex)) {
+      int yyyymmdd = byteRow.parseDigits(columnIndex, 8);
+      if (yyyymmdd >= 0) {
+        GtfsDate date = dateCache.get(yyyymmdd);
+        if (date != null) {
+          return date;
+        }
+        // Parse the string below to add a notice.
+      }
+    }
+    return parseAsType(
+        columnIndex, columnDescriptor, dateCache::fromString, InvalidDateNotice::new);
   }
 
   public enum NumberBounds {
@@ -438,13 +490,46 @@ public class RowParser {
     if (s == null) {
       return null;
     }
-    validatingFunction.apply(
-        s,
-        GtfsCellContext.create(fileName, getRowNumber(), header.getColumnName(columnIndex)),
-        noticeContainer);
+    validatingFunction.apply(s, cellContext.at(columnIndex), noticeContainer);
     return s;
   }
 
+  /**
+   * Context of a cell in the current row.
+   *
+   * <p>The row number and the field name are looked up only when a validator asks for them, which
+   * happens when it adds a notice. So clean cells do not allocate a context.
+   */
+  private final class RowCellContext extends GtfsCellContext {
+    private int columnIndex;
+
+    /** Points this context to the given column of the current row. */
+    GtfsCellContext at(int columnIndex) {
+      this.columnIndex = columnIndex;
+      return this;
+    }
+
+    @Override
+    public String filename() {
+      return fileName;
+    }
+
+    @Override
+    public int csvRowNumber() {
+      return getRowNumber();
+    }
+
+    @Override
+    public String fieldName() {
+      return header.getColumnName(columnIndex);
+    }
+
+    @Override
+    public String toString() {
+      return GtfsCellContext.create(filename(), csvRowNumber(), fieldName()).toString();
+    }
+  }
+
   /**
    * Generates a validation notice for the given value at the given position in a file.
    *
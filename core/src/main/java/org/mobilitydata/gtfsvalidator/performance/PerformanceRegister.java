@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Registers wall time, CPU time and allocated bytes of the files and validators of a validation.
+ *
+ * <p>A register is bound to the threads that work on a validation with {@link #bind}, so that code
+ * deep in the call stack finds it with {@link #current} instead of getting it through every
+ * method. Concurrent validations use their own registers.
+ *
+ * <p>CPU time and allocated bytes are measured for the current thread with {@link ThreadMXBean}.
+ * They are 0 if the JVM does not support measuring them. Work that a validator hands to a parallel
+ * stream, such as {@code ForeignKeyIndex.findMissing} or {@code TripPatterns.fromStopTimes}, runs
+ * on threads that are not measured: it only counts in the elapsed time of the validator.
+ */
+public final class PerformanceRegister {
+  private static final ThreadLocal<PerformanceRegister> CURRENT = new ThreadLocal<>();
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final Map<String, ResourceUsage> files = new ConcurrentHashMap<>();
+  private final Map<String, ResourceUsage> validators = new ConcurrentHashMap<>();
+
+  /** Exact number of invocations of each validator, whether they were measured or not. */
+  private final Map<String, LongAdder> validatorInvocations = new ConcurrentHashMap<>();
+
+  /** Returns the register that is bound to the current thread, or null if there is none. */
+  @Nullable
+  public static PerformanceRegister current() {
+    return CURRENT.get();
+  }
+
+  /** Returns a task that runs the given task with this register bound to its thread. */
+  public <T> Callable<T> bind(Callable<T> task) {
+    return () -> {
+      PerformanceRegister previous = CURRENT.get();
+      CURRENT.set(this);
+      try {
+        return task.call();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /** Returns the resources used by the current thread so far. */
+  public static Snapshot snapshot() {
+    return new Snapshot(System.nanoTime(), currentThreadCpuTime(), currentThreadAllocatedBytes());
+  }
+
+  /**
+   * Registers the resources used by the current thread to load a file since {@code start}.
+   *
+   * @param filename name of the file
+   * @param start snapshot taken by the current thread
+   * @param includeWallTime false if the work ran in parallel with the thread that loads the file,
+   *     so that its elapsed time is already counted
+   */
+  public void registerFile(String filename, Snapshot start, boolean includeWallTime) {
+    register(files, filename, start, 1, 1, includeWallTime);
+  }
+
+  /**
+   * Registers the resources used by the current thread to run a validator since {@code start}.
+   *
+   * @param validatorClass class of the validator
+   * @param start snapshot taken by the current thread
+   * @param invocations number of invocations of the validator since {@code start}
+   * @param weight factor that elapsed time, CPU time and allocated bytes are multiplied by, if only
+   *     a sample of invocations is measured; invocations are not multiplied
+   */
+  public void registerValidator(
+      Class<?> validatorClass, Snapshot start, long invocations, long weight) {
+    register(validators, validatorClass.getSimpleName(), start, 0, weight, true);
+    countValidatorInvocations(validatorClass, invocations);
+  }
+
+  /**
+   * Counts invocations of a validator whose resources were not measured, so that the number of
+   * invocations is exact when only a sample of them is registered with {@link #registerValidator}.
+   */
+  public void countValidatorInvocations(Class<?> validatorClass, long invocations) {
+    validatorInvocations
+        .computeIfAbsent(validatorClass.getSimpleName(), name -> new LongAdder())
+        .add(invocations);
+  }
+
+  /** Returns usages of files, the longest first. */
+  public List<ResourceUsage> getFileUsages() {
+    return sortedByWallTime(files);
+  }
+
+  /** Returns usages of validators, the longest first. */
+  public List<ResourceUsage> getValidatorUsages() {
+    Map<String, ResourceUsage> usages = new HashMap<>();
+    validatorInvocations.forEach(
+        (name, invocations) -> {
+          ResourceUsage usage = new ResourceUsage(name, invocations.sum(), 0, 0, 0);
+          ResourceUsage measured = validators.get(name);
+          usages.put(name, measured == null ? usage : measured.plus(usage));
+        });
+    return sortedByWallTime(usages);
+  }
+
+  private static void register(
+      Map<String, ResourceUsage> usages,
+      String name,
+      Snapshot start,
+      long invocations,
+      long weight,
+      boolean includeWallTime) {
+    Snapshot end = snapshot();
+    ResourceUsage usage =
+        new ResourceUsage(
+            name,
+            invocations,
+            includeWallTime ? (end.nanoTime - start.nanoTime) * weight : 0,
+            (end.cpuTimeNanos - start.cpuTimeNanos) * weight,
+            (end.allocatedBytes - start.allocatedBytes) * weight);
+    usages.merge(name, usage, ResourceUsage::plus);
+  }
+
+  private static List<ResourceUsage> sortedByWallTime(Map<String, ResourceUsage> usages) {
+    List<ResourceUsage> sorted = new ArrayList<>(usages.values());
+    sorted.sort(Comparator.comparingLong(ResourceUsage::getWallTimeNanos).reversed());
+    return sorted;
+  }
+
+  private static long currentThreadCpuTime() {
+    if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+      return 0;
+    }
+    // Returns -1 if CPU time measurement is disabled.
+    return Math.max(0, THREAD_MX_BEAN.getCurrentThreadCpuTime());
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+      // Returns -1 if allocated memory measurement is disabled.
+      return Math.max(
+          0, ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getCurrentThreadAllocatedBytes());
+    }
+    return 0;
+  }
+
+  /** Resources used by a thread up to some moment. */
+  public static final class Snapshot {
+    private final long nanoTime;
+    private final long cpuTimeNanos;
+    private final long allocatedBytes;
+
+    private Snapshot(long nanoTime, long cpuTimeNanos, long allocatedBytes) {
+      this.nanoTime = nanoTime;
+      this.cpuTimeNanos = cpuTimeNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+}
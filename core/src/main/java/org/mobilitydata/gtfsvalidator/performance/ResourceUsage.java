@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.performance;
+
+/** Resources used by a file or a validator during a validation. */
+public final class ResourceUsage {
+  /** Name of the file or simple name of the validator class. */
+  private final String name;
+
+  /** Number of times the file was loaded or the validator was invoked. */
+  private final long invocations;
+
+  /** Elapsed time, measured in nanoseconds. */
+  private final long wallTimeNanos;
+
+  /** Time that threads spent running on a CPU, measured in nanoseconds. */
+  private final long cpuTimeNanos;
+
+  /** Memory allocated on the heap, measured in bytes. */
+  private final long allocatedBytes;
+
+  public ResourceUsage(
+      String name, long invocations, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+    this.name = name;
+    this.invocations = invocations;
+    this.wallTimeNanos = wallTimeNanos;
+    this.cpuTimeNanos = cpuTimeNanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /** Returns the sum of this usage and the other one. */
+  ResourceUsage plus(ResourceUsage other) {
+    return new ResourceUsage(
+        name,
+        invocations + other.invocations,
+        wallTimeNanos + other.wallTimeNanos,
+        cpuTimeNanos + other.cpuTimeNanos,
+        allocatedBytes + other.allocatedBytes);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  public long getCpuTimeNanos() {
+    return cpuTimeNanos;
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+}
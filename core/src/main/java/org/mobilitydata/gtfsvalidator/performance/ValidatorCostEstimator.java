@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.performance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates how long validators take to run, so that the slowest ones can be started first.
+ *
+ * <p>The cost of a validator is proportional to the number of rows in the tables it depends on.
+ * The time per row of each validator class is learnt from its previous runs in this process, e.g.,
+ * from previous feeds validated by the same web server. Validators that have not run yet are
+ * assumed to take {@link #DEFAULT_NANOS_PER_ROW}.
+ */
+public final class ValidatorCostEstimator {
+  private static final ValidatorCostEstimator INSTANCE = new ValidatorCostEstimator();
+
+  /** Time per row of a validator that has not run yet. */
+  static final double DEFAULT_NANOS_PER_ROW = 100;
+
+  /** Weight of the last run in the time per row of a validator. */
+  private static final double LAST_RUN_WEIGHT = 0.5;
+
+  private final Map<Class<?>, Double> nanosPerRow = new ConcurrentHashMap<>();
+
+  ValidatorCostEstimator() {}
+
+  /** Returns the estimator that is shared by all validations in this process. */
+  public static ValidatorCostEstimator getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the estimated time of running a validator.
+   *
+   * @param validatorClass class of the validator
+   * @param rowCount number of rows in the tables that the validator depends on
+   * @return estimated time in nanoseconds
+   */
+  public double estimateNanos(Class<?> validatorClass, long rowCount) {
+    // Every validator has some fixed cost, so that validators of empty tables are also ordered.
+    return nanosPerRow.getOrDefault(validatorClass, DEFAULT_NANOS_PER_ROW) * (rowCount + 1);
+  }
+
+  /**
+   * Records the time that a validator took, to refine later estimates for its class.
+   *
+   * @param validatorClass class of the validator
+   * @param rowCount number of rows in the tables that the validator depends on
+   * @param nanos time that the validator took in nanoseconds
+   */
+  public void recordRun(Class<?> validatorClass, long rowCount, long nanos) {
+    double lastRun = (double) nanos / (rowCount + 1);
+    nanosPerRow.merge(
+        validatorClass,
+        lastRun,
+        (previous, last) -> previous * (1 - LAST_RUN_WEIGHT) + last * LAST_RUN_WEIGHT);
+  }
+}
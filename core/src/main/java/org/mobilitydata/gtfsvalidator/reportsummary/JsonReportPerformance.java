@@ -0,0 +1,58 @@
+package org.mobilitydata.gtfsvalidator.reportsummary;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
+import org.mobilitydata.gtfsvalidator.performance.ResourceUsage;
+
+/**
+ * Time and memory spent on each file and validator of the validation. These values are used
+ * internally for performance metrics, and they can change in future versions.
+ *
+ * <p>Usages are sorted by wall time, the longest first.
+ */
+public class JsonReportPerformance {
+  /** Loading of each file, including the validators that run while it is loaded. */
+  public final List<JsonReportResourceUsage> files;
+
+  /**
+   * Each validator. Single-entity validators are measured on a sample of rows, so their values are
+   * estimates.
+   */
+  public final List<JsonReportResourceUsage> validators;
+
+  public JsonReportPerformance(PerformanceRegister performanceRegister) {
+    this.files = convert(performanceRegister.getFileUsages());
+    this.validators = convert(performanceRegister.getValidatorUsages());
+  }
+
+  private static List<JsonReportResourceUsage> convert(List<ResourceUsage> usages) {
+    return usages.stream().map(JsonReportResourceUsage::new).collect(Collectors.toList());
+  }
+
+  /** Resources used by a file or a validator. */
+  public static class JsonReportResourceUsage {
+    /** Name of the file or of the validator class. */
+    public final String name;
+
+    /** Number of times the file was loaded or the validator was invoked. */
+    public final long invocations;
+
+    /** Elapsed time in milliseconds. */
+    public final double wallTimeMillis;
+
+    /** Time spent running on a CPU in milliseconds, summed over all threads. */
+    public final double cpuTimeMillis;
+
+    /** Memory allocated on the heap in bytes. */
+    public final long allocatedBytes;
+
+    JsonReportResourceUsage(ResourceUsage usage) {
+      this.name = usage.getName();
+      this.invocations = usage.getInvocations();
+      this.wallTimeMillis = usage.getWallTimeNanos() / 1e6;
+      this.cpuTimeMillis = usage.getCpuTimeNanos() / 1e6;
+      this.allocatedBytes = usage.getAllocatedBytes();
+    }
+  }
+}
@@ -73,6 +73,12 @@ public class JsonReportSummary {
    */
   public final List<MemoryUsage> memoryUsageRecords;
 
+  /**
+   * Wall time, CPU time and allocated memory of each file and validator. These values are used
+   * internally for performance metrics, and they can change in future versions.
+   */
+  public final JsonReportPerformance performance;
+
   /** Number of entities in the feed. */
   @SerializedName("counts")
   public final JsonReportCounts jsonReportCounts;
@@ -100,6 +106,7 @@ public class JsonReportSummary {
       Set<String> files,
       Double validationTimeSeconds,
       List<MemoryUsage> memoryUsageRecords,
+      JsonReportPerformance performance,
       JsonReportCounts jsonReportCounts,
       List<String> gtfsFeatures) {
     this.validatorVersion = validatorVersion;
@@ -117,6 +124,7 @@ public class JsonReportSummary {
     this.files = files;
     this.validationTimeSeconds = validationTimeSeconds;
     this.memoryUsageRecords = memoryUsageRecords;
+    this.performance = performance;
     this.jsonReportCounts = jsonReportCounts;
     this.gtfsFeatures = gtfsFeatures;
   }
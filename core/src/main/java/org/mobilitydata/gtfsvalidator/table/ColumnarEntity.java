@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+/**
+ * An entity of a table with columnar storage, see {@link
+ * org.mobilitydata.gtfsvalidator.annotation.GtfsTable#columnar}.
+ *
+ * <p>Values of such table are kept in primitive arrays, one per column, that are split into
+ * segments. An entity is a flyweight view of a single row in a segment. Views are created on
+ * demand, so the same row may be returned by different instances: they are equal but not
+ * identical.
+ */
+public interface ColumnarEntity extends GtfsEntity {
+
+  /** Returns the segment that stores the row of this entity. */
+  Segment<?> columnSegment();
+
+  /** Returns the index of the row in {@link #columnSegment()}. */
+  int rowInSegment();
+
+  /**
+   * A segment of columns that stores a number of rows of a table.
+   *
+   * @param <T> entity class of the table
+   */
+  interface Segment<T extends ColumnarEntity> {
+    /** Returns a view of the given row. */
+    T entityAt(int row);
+  }
+}
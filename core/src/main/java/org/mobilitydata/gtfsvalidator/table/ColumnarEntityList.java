@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of {@link ColumnarEntity} that does not keep the entities themselves.
+ *
+ * <p>The list remembers runs of consecutive rows of the same segment and creates a view of a row
+ * whenever an element is requested. A table that was loaded in a few large chunks takes a few runs,
+ * so the list costs almost no memory regardless of the number of entities.
+ *
+ * @param <T> entity class of the table
+ */
+public final class ColumnarEntityList<T extends ColumnarEntity> extends AbstractList<T>
+    implements RandomAccess {
+
+  /** Segment of each run. */
+  private final ColumnarEntity.Segment<?>[] runSegments;
+
+  /** Position in this list of the first element of each run. */
+  private final int[] runStarts;
+
+  /** Row in its segment of the first element of each run. */
+  private final int[] runFirstRows;
+
+  private final int size;
+
+  private ColumnarEntityList(
+      ColumnarEntity.Segment<?>[] runSegments, int[] runStarts, int[] runFirstRows, int size) {
+    this.runSegments = runSegments;
+    this.runStarts = runStarts;
+    this.runFirstRows = runFirstRows;
+    this.size = size;
+  }
+
+  /**
+   * Creates a list with the same entities as the given list.
+   *
+   * <p>The given list may be discarded afterwards, so that its views are garbage collected.
+   */
+  public static <T extends ColumnarEntity> ColumnarEntityList<T> copyOf(List<T> entities) {
+    int runCount = 0;
+    ColumnarEntity.Segment<?>[] runSegments = new ColumnarEntity.Segment<?>[4];
+    int[] runStarts = new int[4];
+    int[] runFirstRows = new int[4];
+    ColumnarEntity.Segment<?> lastSegment = null;
+    int lastRow = 0;
+    for (int i = 0; i < entities.size(); ++i) {
+      final T entity = entities.get(i);
+      final ColumnarEntity.Segment<?> segment = entity.columnSegment();
+      final int row = entity.rowInSegment();
+      if (segment != lastSegment || row != lastRow + 1) {
+        if (runCount == runStarts.length) {
+          runSegments = Arrays.copyOf(runSegments, runCount * 2);
+          runStarts = Arrays.copyOf(runStarts, runCount * 2);
+          runFirstRows = Arrays.copyOf(runFirstRows, runCount * 2);
+        }
+        runSegments[runCount] = segment;
+        runStarts[runCount] = i;
+        runFirstRows[runCount] = row;
+        ++runCount;
+      }
+      lastSegment = segment;
+      lastRow = row;
+    }
+    return new ColumnarEntityList<>(
+        Arrays.copyOf(runSegments, runCount),
+        Arrays.copyOf(runStarts, runCount),
+        Arrays.copyOf(runFirstRows, runCount),
+        entities.size());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    int run = Arrays.binarySearch(runStarts, index);
+    if (run < 0) {
+      // The run that starts before the index.
+      run = -run - 2;
+    }
+    return (T) runSegments[run].entityAt(runFirstRows[run] + index - runStarts[run]);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
@@ -1,25 +1,41 @@
 package org.mobilitydata.gtfsvalidator.table;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.flogger.FluentLogger;
 import com.univocity.parsers.common.TextParsingException;
 import com.univocity.parsers.csv.CsvParserSettings;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.input.MappedFile;
 import org.mobilitydata.gtfsvalidator.notice.CsvParsingFailedNotice;
 import org.mobilitydata.gtfsvalidator.notice.EmptyFileNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.ByteCsvFile;
 import org.mobilitydata.gtfsvalidator.parsing.CsvFile;
+import org.mobilitydata.gtfsvalidator.parsing.CsvFileSplitter;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
 import org.mobilitydata.gtfsvalidator.parsing.CsvRow;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 import org.mobilitydata.gtfsvalidator.parsing.FieldCache;
 import org.mobilitydata.gtfsvalidator.parsing.RowParser;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
 import org.mobilitydata.gtfsvalidator.validator.SingleEntityValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorUtil;
@@ -37,7 +53,22 @@ public final class CsvFileLoader extends TableLoader {
     return INSTANCE;
   }
 
-  private final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /** Approximate size of a chunk of a CSV file that is parsed in parallel with other chunks. */
+  static final int CHUNK_SIZE_BYTES = 4 << 20;
+
+  /** Largest file that is tokenized from a single mapped buffer. */
+  static final long MAX_SINGLE_BUFFER_BYTES = Integer.MAX_VALUE;
+
+  /** Maximal number of chunks that are submitted to the executor and not yet merged. */
+  private static final int MAX_PENDING_CHUNKS = 32;
+
+  /** Number of rows in a batch of entities that is validated apart from parsing. */
+  static final int VALIDATION_BATCH_ROWS = 1024;
+
+  /** Maximal number of validation batches that are submitted to the executor and not yet merged. */
+  private static final int MAX_PENDING_VALIDATION_BATCHES = 16;
 
   @Override
   public GtfsEntityContainer<?, ?> load(
@@ -45,26 +76,180 @@ public final class CsvFileLoader extends TableLoader {
       ValidatorProvider validatorProvider,
       InputStream csvInputStream,
       NoticeContainer noticeContainer) {
+    return load(fileDescriptor, validatorProvider, csvInputStream, noticeContainer, null, null);
+  }
+
+  /**
+   * Loads a CSV file, parsing chunks of a large file in parallel.
+   *
+   * <p>If {@code chunkExecutor} is provided, then the file is split into chunks of about {@link
+   * #CHUNK_SIZE_BYTES} at record boundaries. The rows of each chunk are tokenized from bytes by
+   * {@link ByteCsvFile}, parsed, built into entities and validated by single-entity validators on
+   * the executor. The results are stitched back in row order, so the loaded table and notices are
+   * the same as for sequential loading. Entities of the first chunk, which is parsed on the calling
+   * thread, are handed to single-entity validators on the executor in batches of {@link
+   * #VALIDATION_BATCH_ROWS}, so that validation does not hold back parsing. Batches of a columnar
+   * table are handed over once the segment that stores their rows is full.
+   *
+   * <p>The executor must not be the one that runs this method: otherwise the loader may wait for
+   * chunks that are queued behind it.
+   *
+   * <p>If {@code idDictionary} is provided, then id columns are interned in its domains instead of
+   * caches of this table.
+   */
+  @Override
+  public GtfsEntityContainer<?, ?> load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      InputStream csvInputStream,
+      NoticeContainer noticeContainer,
+      @Nullable ExecutorService chunkExecutor,
+      @Nullable FeedIdDictionary idDictionary) {
     GtfsTableDescriptor tableDescriptor = (GtfsTableDescriptor) fileDescriptor;
     final String gtfsFilename = tableDescriptor.gtfsFilename();
-
+    final CsvParserSettings settings = createParserSettings(tableDescriptor);
     CsvFile csvFile;
+    CsvFileSplitter splitter = null;
     try {
-      CsvParserSettings settings = CsvFile.createDefaultParserSettings();
-      if (tableDescriptor.maxCharsPerColumn().isPresent()) {
-        Optional<Integer> maxCharsPerColumn = tableDescriptor.maxCharsPerColumn();
-        settings.setMaxCharsPerColumn(maxCharsPerColumn.get());
+      if (chunkExecutor == null) {
+        csvFile = new CsvFile(csvInputStream, gtfsFilename, settings);
+      } else {
+        splitter = new CsvFileSplitter(csvInputStream, CHUNK_SIZE_BYTES);
+        csvFile = openFirstChunk(splitter, gtfsFilename, settings);
       }
-      csvFile = new CsvFile(csvInputStream, gtfsFilename, settings);
     } catch (TextParsingException e) {
       noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.INVALID_HEADERS);
     }
-    if (csvFile.isEmpty()) {
+    return loadTable(
+        tableDescriptor,
+        validatorProvider,
+        csvFile.isEmpty(),
+        csvFile.getHeader(),
+        csvFile,
+        splitter,
+        settings,
+        noticeContainer,
+        chunkExecutor,
+        idDictionary);
+  }
+
+  /**
+   * Loads a CSV file that is mapped into memory.
+   *
+   * <p>If {@code chunkExecutor} is provided, then the file is loaded in parallel chunks as in
+   * {@link #load(GtfsFileDescriptor, ValidatorProvider, InputStream, NoticeContainer,
+   * ExecutorService, FeedIdDictionary)}, but the chunks are views of the mapping instead of
+   * copies. Otherwise the whole file is tokenized by {@link ByteCsvFile} straight from the mapping.
+   * Files that {@link ByteCsvFile} cannot tokenize and files larger than {@link
+   * #MAX_SINGLE_BUFFER_BYTES} are read as a stream.
+   */
+  @Override
+  GtfsEntityContainer<?, ?> load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      MappedFile mappedFile,
+      NoticeContainer noticeContainer,
+      @Nullable ExecutorService chunkExecutor,
+      @Nullable FeedIdDictionary idDictionary)
+      throws IOException {
+    GtfsTableDescriptor tableDescriptor = (GtfsTableDescriptor) fileDescriptor;
+    final String gtfsFilename = tableDescriptor.gtfsFilename();
+    final CsvParserSettings settings = createParserSettings(tableDescriptor);
+    if (chunkExecutor != null) {
+      CsvFileSplitter splitter;
+      CsvFile csvFile;
+      try {
+        splitter = new CsvFileSplitter(mappedFile, CHUNK_SIZE_BYTES);
+        csvFile = openFirstChunk(splitter, gtfsFilename, settings);
+      } catch (TextParsingException e) {
+        noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
+        return tableDescriptor.createContainerForInvalidStatus(TableStatus.INVALID_HEADERS);
+      }
+      return loadTable(
+          tableDescriptor,
+          validatorProvider,
+          csvFile.isEmpty(),
+          csvFile.getHeader(),
+          csvFile,
+          splitter,
+          settings,
+          noticeContainer,
+          chunkExecutor,
+          idDictionary);
+    }
+    if (mappedFile.size() <= MAX_SINGLE_BUFFER_BYTES) {
+      // Notices are kept aside until the whole file is tokenized.
+      NoticeContainer fileNotices = noticeContainer.createChildContainer();
+      try {
+        ByteCsvFile byteCsvFile =
+            new ByteCsvFile(mappedFile.map(0, (int) mappedFile.size()), gtfsFilename, settings);
+        GtfsEntityContainer<?, ?> table =
+            loadTable(
+                tableDescriptor,
+                validatorProvider,
+                byteCsvFile.isEmpty(),
+                byteCsvFile.getHeader(),
+                byteCsvFile,
+                null,
+                settings,
+                fileNotices,
+                null,
+                idDictionary);
+        noticeContainer.addAll(fileNotices);
+        return table;
+      } catch (ByteCsvFile.UnsupportedSyntaxException e) {
+        logger.atInfo().log("%s, falling back to the CSV parser", e.getMessage());
+      }
+    }
+    try (InputStream inputStream = mappedFile.newInputStream(0)) {
+      return load(
+          fileDescriptor, validatorProvider, inputStream, noticeContainer, null, idDictionary);
+    }
+  }
+
+  private static CsvParserSettings createParserSettings(GtfsTableDescriptor<?> tableDescriptor) {
+    CsvParserSettings settings = CsvFile.createDefaultParserSettings();
+    if (tableDescriptor.maxCharsPerColumn().isPresent()) {
+      Optional<Integer> maxCharsPerColumn = tableDescriptor.maxCharsPerColumn();
+      settings.setMaxCharsPerColumn(maxCharsPerColumn.get());
+    }
+    return settings;
+  }
+
+  /** Parses the first chunk that contains the header. It is parsed on the calling thread. */
+  private static CsvFile openFirstChunk(
+      CsvFileSplitter splitter, String gtfsFilename, CsvParserSettings settings) {
+    CsvFileSplitter.Chunk firstChunk = splitter.next();
+    return new CsvFile(
+        firstChunk == null ? InputStream.nullInputStream() : firstChunk.newInputStream(),
+        gtfsFilename,
+        settings);
+  }
+
+  /**
+   * Validates the header and loads the rows of a file.
+   *
+   * @param rows rows of the whole file, or of the first chunk if {@code splitter} is provided
+   * @param splitter splitter that returns the remaining chunks of the file, or null
+   * @param idDictionary ids shared with other tables of the feed, or null
+   */
+  private GtfsEntityContainer<?, ?> loadTable(
+      GtfsTableDescriptor tableDescriptor,
+      ValidatorProvider validatorProvider,
+      boolean isEmpty,
+      CsvHeader header,
+      Iterable<CsvRow> rows,
+      @Nullable CsvFileSplitter splitter,
+      CsvParserSettings settings,
+      NoticeContainer noticeContainer,
+      @Nullable ExecutorService chunkExecutor,
+      @Nullable FeedIdDictionary idDictionary) {
+    final String gtfsFilename = tableDescriptor.gtfsFilename();
+    if (isEmpty) {
       noticeContainer.addValidationNotice(new EmptyFileNotice(gtfsFilename));
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.EMPTY_FILE);
     }
-    final CsvHeader header = csvFile.getHeader();
     final ImmutableList<GtfsColumnDescriptor> columnDescriptors = tableDescriptor.getColumns();
     final NoticeContainer headerNotices =
         validateHeaders(validatorProvider, gtfsFilename, header, columnDescriptors);
@@ -72,77 +257,202 @@ public final class CsvFileLoader extends TableLoader {
     if (headerNotices.hasValidationErrors()) {
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.INVALID_HEADERS);
     }
-    final int nColumns = columnDescriptors.size();
-    final ImmutableMap<String, GtfsFieldLoader> fieldLoadersMap = tableDescriptor.getFieldLoaders();
-    final int[] columnIndices = new int[nColumns];
-    final GtfsFieldLoader[] fieldLoaders = new GtfsFieldLoader[nColumns];
-    final FieldCache[] fieldCaches = new FieldCache[nColumns];
-    for (int i = 0; i < nColumns; ++i) {
-      GtfsColumnDescriptor columnDescriptor = columnDescriptors.get(i);
-      String columnName = columnDescriptor.columnName();
-      columnIndices[i] = header.getColumnIndex(columnName);
-      fieldLoaders[i] = fieldLoadersMap.get(columnName);
-      if (columnDescriptor.isCached()) {
-        // FieldCache is a generic type. However, info about generics is eliminated at runtime.
-        fieldCaches[i] = new FieldCache();
-      }
-    }
-    final GtfsEntityBuilder builder = tableDescriptor.createEntityBuilder();
-    final RowParser rowParser =
-        new RowParser(gtfsFilename, header, validatorProvider.getFieldValidator());
-    final List<GtfsEntity> entities = new ArrayList<>();
-    boolean hasUnparsableRows = false;
     final List<SingleEntityValidator<GtfsEntity>> singleEntityValidators =
         createSingleEntityValidators(tableDescriptor.getEntityClass(), header, validatorProvider);
-
+    final RowsLoader firstRowsLoader =
+        new RowsLoader(
+            tableDescriptor, header, validatorProvider, singleEntityValidators, idDictionary);
+    // Chunk threads validate their own entities: they must not wait for tasks of their executor.
+    firstRowsLoader.validationExecutor = chunkExecutor;
+    final List<RowsLoader> rowsLoaders = new ArrayList<>();
+    rowsLoaders.add(firstRowsLoader);
+    // Rows of the first chunk (or of the whole file) are loaded straight into the resulting lists.
+    final ChunkResult result = new ChunkResult(new ArrayList<>(), noticeContainer, 0, 0);
     try {
-      for (CsvRow row : csvFile) {
-        if (row.getRowNumber() % 200000 == 0) {
-          logger.atInfo().log("Reading %s, row %d", gtfsFilename, row.getRowNumber());
-        }
-        NoticeContainer rowNotices = new NoticeContainer();
-        rowParser.setRow(row, rowNotices);
-        if (!rowParser.checkRowNumber()) {
-          hasUnparsableRows = true;
-          break;
-        }
-        final boolean validRowLength = rowParser.checkRowLength();
-        if (validRowLength) {
-          builder.clear();
-          builder.setCsvRowNumber(rowParser.getRowNumber());
-          for (int i = 0; i < nColumns; ++i) {
-            fieldLoaders[i].load(
-                rowParser, columnIndices[i], columnDescriptors.get(i), fieldCaches[i], builder);
-          }
-        }
-        if (rowNotices.hasValidationErrors()) {
-          hasUnparsableRows = true;
-        } else if (validRowLength) {
-          GtfsEntity entity = builder.build();
-          ValidatorUtil.invokeSingleEntityValidators(
-              entity, singleEntityValidators, noticeContainer);
-          entities.add(entity);
-        }
-        noticeContainer.addAll(rowNotices);
+      firstRowsLoader.loadRows(rows, result);
+      if (splitter != null && !result.isFinal()) {
+        loadChunks(
+            splitter,
+            chunkExecutor,
+            tableDescriptor,
+            header,
+            settings,
+            validatorProvider,
+            singleEntityValidators,
+            idDictionary,
+            rowsLoaders,
+            result);
       }
     } catch (TextParsingException e) {
-      noticeContainer.addValidationNotice(new CsvParsingFailedNotice(gtfsFilename, e));
-      return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
+      // The file could not be split into chunks.
+      result.parsingException = e;
     } finally {
-      logFieldCacheStats(gtfsFilename, fieldCaches, columnDescriptors);
+      for (RowsLoader rowsLoader : rowsLoaders) {
+        logFieldCacheStats(gtfsFilename, rowsLoader.fieldCaches, columnDescriptors);
+      }
     }
-    if (hasUnparsableRows) {
+    if (result.parsingException != null) {
+      noticeContainer.addValidationNotice(
+          new CsvParsingFailedNotice(
+              gtfsFilename,
+              result.parsingException,
+              result.parsingExceptionLineOffset,
+              result.parsingExceptionCharOffset));
+      return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
+    }
+    if (result.hasUnparsableRows) {
       logger.atSevere().log("Failed to parse some rows in %s", gtfsFilename);
       return tableDescriptor.createContainerForInvalidStatus(TableStatus.UNPARSABLE_ROWS);
     }
     GtfsTableContainer table =
-        tableDescriptor.createContainerForHeaderAndEntities(header, entities, noticeContainer);
+        tableDescriptor.createContainerForHeaderAndEntities(
+            header, result.entities, noticeContainer);
 
     ValidatorUtil.invokeSingleFileValidators(
         createSingleFileValidators(table, validatorProvider), noticeContainer);
     return table;
   }
 
+  /**
+   * Loads the remaining chunks of a file on the executor and merges them into {@code result} in
+   * row order.
+   *
+   * <p>Each executor thread reuses its own {@link RowsLoader}, so that entity builders and field
+   * caches are never shared between threads. At most {@link #MAX_PENDING_CHUNKS} chunks are kept in
+   * memory at a time.
+   */
+  private void loadChunks(
+      CsvFileSplitter splitter,
+      ExecutorService chunkExecutor,
+      GtfsTableDescriptor tableDescriptor,
+      CsvHeader header,
+      CsvParserSettings settings,
+      ValidatorProvider validatorProvider,
+      List<SingleEntityValidator<GtfsEntity>> singleEntityValidators,
+      @Nullable FeedIdDictionary idDictionary,
+      List<RowsLoader> rowsLoaders,
+      ChunkResult result) {
+    final String gtfsFilename = tableDescriptor.gtfsFilename();
+    final Map<Thread, RowsLoader> rowsLoadersByThread = new ConcurrentHashMap<>();
+    final Deque<Future<ChunkResult>> pendingChunks = new ArrayDeque<>();
+    // Chunks are measured as part of the file, and their validators as part of the validators.
+    final PerformanceRegister performanceRegister = PerformanceRegister.current();
+    try {
+      CsvFileSplitter.Chunk chunk;
+      while ((chunk = splitter.next()) != null) {
+        final CsvFileSplitter.Chunk currentChunk = chunk;
+        Callable<ChunkResult> chunkLoader =
+            () -> {
+              RowsLoader rowsLoader =
+                  rowsLoadersByThread.computeIfAbsent(
+                      Thread.currentThread(),
+                      t ->
+                          new RowsLoader(
+                              tableDescriptor,
+                              header,
+                              validatorProvider,
+                              singleEntityValidators,
+                              idDictionary));
+              if (performanceRegister == null) {
+                return loadChunk(
+                    currentChunk,
+                    gtfsFilename,
+                    header,
+                    settings,
+                    rowsLoader,
+                    result.noticeContainer);
+              }
+              PerformanceRegister.Snapshot start = PerformanceRegister.snapshot();
+              ChunkResult chunkResult =
+                  loadChunk(
+                      currentChunk,
+                      gtfsFilename,
+                      header,
+                      settings,
+                      rowsLoader,
+                      result.noticeContainer);
+              // The loader of the file waits for the chunks, so their elapsed time is counted.
+              performanceRegister.registerFile(gtfsFilename, start, false);
+              return chunkResult;
+            };
+        pendingChunks.add(
+            chunkExecutor.submit(
+                performanceRegister == null ? chunkLoader : performanceRegister.bind(chunkLoader)));
+        if (pendingChunks.size() >= MAX_PENDING_CHUNKS) {
+          waitForChunk(pendingChunks.removeFirst()).mergeInto(result);
+          if (result.isFinal()) {
+            return;
+          }
+        }
+      }
+      while (!pendingChunks.isEmpty()) {
+        waitForChunk(pendingChunks.removeFirst()).mergeInto(result);
+        if (result.isFinal()) {
+          return;
+        }
+      }
+    } finally {
+      for (Future<ChunkResult> pendingChunk : pendingChunks) {
+        pendingChunk.cancel(true);
+      }
+      rowsLoaders.addAll(rowsLoadersByThread.values());
+    }
+  }
+
+  /**
+   * Loads a chunk with the byte-level {@link ByteCsvFile}. If the chunk has a syntax that the
+   * tokenizer does not support or is too large for a single buffer, then the chunk is loaded with
+   * {@link CsvFile}.
+   */
+  private static ChunkResult loadChunk(
+      CsvFileSplitter.Chunk chunk,
+      String gtfsFilename,
+      CsvHeader header,
+      CsvParserSettings settings,
+      RowsLoader rowsLoader,
+      NoticeContainer fileNotices) {
+    ChunkResult chunkResult = newChunkResult(chunk, fileNotices);
+    ByteBuffer data = chunk.asByteBuffer();
+    if (data != null) {
+      try {
+        rowsLoader.loadRows(
+            ByteCsvFile.forChunk(data, gtfsFilename, settings, header, chunk.getLineNumberOffset()),
+            chunkResult);
+        return chunkResult;
+      } catch (ByteCsvFile.UnsupportedSyntaxException e) {
+        logger.atFine().log("%s, falling back to the CSV parser", e.getMessage());
+      }
+      chunkResult = newChunkResult(chunk, fileNotices);
+    }
+    rowsLoader.loadRows(
+        CsvFile.forChunk(
+            chunk.newInputStream(), gtfsFilename, settings, header, chunk.getLineNumberOffset()),
+        chunkResult);
+    return chunkResult;
+  }
+
+  private static ChunkResult newChunkResult(
+      CsvFileSplitter.Chunk chunk, NoticeContainer fileNotices) {
+    return new ChunkResult(
+        new ArrayList<>(),
+        fileNotices.createChildContainer(),
+        chunk.getLineNumberOffset(),
+        chunk.getCharOffset());
+  }
+
+  /** Waits for a chunk to be loaded and rethrows runtime exceptions from the loading thread. */
+  private static ChunkResult waitForChunk(Future<ChunkResult> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading a chunk of a CSV file", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
   private NoticeContainer validateHeaders(
       ValidatorProvider validatorProvider,
       String gtfsFilename,
@@ -183,4 +493,331 @@ public final class CsvFileLoader extends TableLoader {
       }
     }
   }
+
+  /**
+   * Parses rows, builds entities and runs single-entity validators for them.
+   *
+   * <p>This class is not thread-safe, each thread uses its own instance.
+   */
+  private static class RowsLoader {
+    private final String gtfsFilename;
+    private final ImmutableList<GtfsColumnDescriptor> columnDescriptors;
+    private final int[] columnIndices;
+    private final GtfsFieldLoader[] fieldLoaders;
+    private final FieldCache[] fieldCaches;
+    private final GtfsEntityBuilder builder;
+    private final RowParser rowParser;
+
+    /** Notices of the current row, cleared before each row so that clean rows allocate nothing. */
+    private final NoticeContainer rowNotices = new NoticeContainer();
+
+    private final List<SingleEntityValidator<GtfsEntity>> singleEntityValidators;
+
+    /** Executor that runs single-entity validators, or null to run them on the loading thread. */
+    @Nullable ExecutorService validationExecutor = null;
+
+    RowsLoader(
+        GtfsTableDescriptor tableDescriptor,
+        CsvHeader header,
+        ValidatorProvider validatorProvider,
+        List<SingleEntityValidator<GtfsEntity>> singleEntityValidators,
+        @Nullable FeedIdDictionary idDictionary) {
+      this.gtfsFilename = tableDescriptor.gtfsFilename();
+      this.columnDescriptors = tableDescriptor.getColumns();
+      this.singleEntityValidators = singleEntityValidators;
+      final int nColumns = columnDescriptors.size();
+      final ImmutableMap<String, GtfsFieldLoader> fieldLoadersMap =
+          tableDescriptor.getFieldLoaders();
+      columnIndices = new int[nColumns];
+      fieldLoaders = new GtfsFieldLoader[nColumns];
+      fieldCaches = new FieldCache[nColumns];
+      for (int i = 0; i < nColumns; ++i) {
+        GtfsColumnDescriptor columnDescriptor = columnDescriptors.get(i);
+        String columnName = columnDescriptor.columnName();
+        columnIndices[i] = header.getColumnIndex(columnName);
+        fieldLoaders[i] = fieldLoadersMap.get(columnName);
+        if (idDictionary != null && columnDescriptor.idDomain().isPresent()) {
+          // Ids are shared by all tables, so they are interned even in primary keys.
+          fieldCaches[i] = idDictionary.getDomain(columnDescriptor.idDomain().get());
+        } else if (columnDescriptor.isCached()) {
+          // FieldCache is a generic type. However, info about generics is eliminated at runtime.
+          fieldCaches[i] = new FieldCache();
+        }
+      }
+      builder = tableDescriptor.createEntityBuilder();
+      rowParser = new RowParser(gtfsFilename, header, validatorProvider.getFieldValidator());
+    }
+
+    /**
+     * Loads all rows of the given file into {@code result}.
+     *
+     * @param rows rows of a {@link CsvFile} or a {@link ByteCsvFile}
+     */
+    void loadRows(Iterable<CsvRow> rows, ChunkResult result) {
+      final int nColumns = columnDescriptors.size();
+      final ValidationBatches validationBatches =
+          validationExecutor == null || singleEntityValidators.isEmpty()
+              ? null
+              : new ValidationBatches(
+                  validationExecutor,
+                  gtfsFilename,
+                  singleEntityValidators,
+                  result.noticeContainer);
+      try {
+        for (CsvRow row : rows) {
+          if (row.getRowNumber() % 200000 == 0) {
+            logger.atInfo().log("Reading %s, row %d", gtfsFilename, row.getRowNumber());
+          }
+          rowNotices.clear();
+          rowParser.setRow(row, rowNotices);
+          if (!rowParser.checkRowNumber()) {
+            result.hasUnparsableRows = true;
+            result.tooManyRows = true;
+            break;
+          }
+          final boolean validRowLength = rowParser.checkRowLength();
+          if (validRowLength) {
+            builder.clear();
+            builder.setCsvRowNumber(rowParser.getRowNumber());
+            for (int i = 0; i < nColumns; ++i) {
+              fieldLoaders[i].load(
+                  rowParser, columnIndices[i], columnDescriptors.get(i), fieldCaches[i], builder);
+            }
+          }
+          GtfsEntity entity = null;
+          if (rowNotices.hasValidationErrors()) {
+            result.hasUnparsableRows = true;
+          } else if (validRowLength) {
+            entity = builder.build();
+            result.entities.add(entity);
+          }
+          if (validationBatches != null) {
+            validationBatches.add(entity, rowNotices);
+            continue;
+          }
+          if (entity != null) {
+            ValidatorUtil.invokeSingleEntityValidators(
+                entity, singleEntityValidators, result.noticeContainer);
+          }
+          if (!rowNotices.isEmpty()) {
+            result.noticeContainer.addAll(rowNotices);
+          }
+        }
+      } catch (TextParsingException e) {
+        result.parsingException = e;
+        result.parsingExceptionLineOffset = result.lineNumberOffset;
+        result.parsingExceptionCharOffset = result.charOffset;
+      } finally {
+        if (validationBatches != null) {
+          validationBatches.finish();
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs single-entity validators for batches of rows on an executor while the next rows are
+   * parsed.
+   *
+   * <p>Notices of a row, from parsing and from validators, are added in the same order as if the
+   * validators ran on the loading thread. At most {@link #MAX_PENDING_VALIDATION_BATCHES} batches
+   * are submitted at a time.
+   *
+   * <p>A {@link ColumnarEntity} is a view of a segment that the loading thread keeps appending rows
+   * to, growing its arrays. A batch with such entities is therefore held until the builder has
+   * moved to another segment or the file is loaded, so validators only read segments that are no
+   * longer written.
+   *
+   * <p>This class is not thread-safe, it is used by the loading thread only.
+   */
+  private static class ValidationBatches {
+    private final ExecutorService executor;
+    private final String gtfsFilename;
+    private final List<SingleEntityValidator<GtfsEntity>> validators;
+    private final NoticeContainer noticeContainer;
+    @Nullable private final PerformanceRegister performanceRegister;
+    private final Deque<Future<NoticeContainer>> pendingBatches = new ArrayDeque<>();
+
+    /** Full batches with rows of {@link #openSegment}, in row order. */
+    private final List<Callable<NoticeContainer>> heldBatches = new ArrayList<>();
+
+    /** Segment that the builder appends rows to, or null if the entities are not columnar. */
+    @Nullable private ColumnarEntity.Segment<?> openSegment = null;
+
+    /** Entities of the current batch, or null for rows that were not built. */
+    private GtfsEntity[] entities = new GtfsEntity[VALIDATION_BATCH_ROWS];
+
+    /** Parsing notices of rows of the current batch, or null for rows without notices. */
+    private NoticeContainer[] rowNotices = new NoticeContainer[VALIDATION_BATCH_ROWS];
+
+    private int size = 0;
+
+    ValidationBatches(
+        ExecutorService executor,
+        String gtfsFilename,
+        List<SingleEntityValidator<GtfsEntity>> validators,
+        NoticeContainer noticeContainer) {
+      this.executor = executor;
+      this.gtfsFilename = gtfsFilename;
+      this.validators = validators;
+      this.noticeContainer = noticeContainer;
+      this.performanceRegister = PerformanceRegister.current();
+    }
+
+    /**
+     * Adds a row to the current batch.
+     *
+     * @param entity entity of the row, or null if it was not built
+     * @param notices parsing notices of the row, copied since the container is reused
+     */
+    void add(@Nullable GtfsEntity entity, NoticeContainer notices) {
+      if (entity instanceof ColumnarEntity) {
+        ColumnarEntity.Segment<?> segment = ((ColumnarEntity) entity).columnSegment();
+        if (segment != openSegment) {
+          // The builder does not write to the previous segment anymore.
+          submitHeldBatches();
+          openSegment = segment;
+        }
+      }
+      entities[size] = entity;
+      if (!notices.isEmpty()) {
+        NoticeContainer copy = new NoticeContainer();
+        copy.addAll(notices);
+        rowNotices[size] = copy;
+      }
+      if (++size == VALIDATION_BATCH_ROWS) {
+        endBatch();
+      }
+    }
+
+    /** Waits for all batches and adds their notices. */
+    void finish() {
+      if (size > 0) {
+        endBatch();
+      }
+      try {
+        submitHeldBatches();
+        while (!pendingBatches.isEmpty()) {
+          noticeContainer.addAll(waitForBatch(pendingBatches.removeFirst()));
+        }
+      } finally {
+        for (Future<NoticeContainer> pendingBatch : pendingBatches) {
+          pendingBatch.cancel(true);
+        }
+      }
+    }
+
+    /** Submits the current batch, or holds it while its last segment is written. */
+    private void endBatch() {
+      Callable<NoticeContainer> batch = createBatch();
+      if (openSegment == null) {
+        submit(batch);
+      } else {
+        heldBatches.add(batch);
+      }
+    }
+
+    private void submitHeldBatches() {
+      for (Callable<NoticeContainer> batch : heldBatches) {
+        submit(batch);
+      }
+      heldBatches.clear();
+    }
+
+    /** Returns a task that validates the current batch, and starts a new batch. */
+    private Callable<NoticeContainer> createBatch() {
+      final GtfsEntity[] batchEntities = entities;
+      final NoticeContainer[] batchRowNotices = rowNotices;
+      final int batchSize = size;
+      final NoticeContainer batchNotices = noticeContainer.createChildContainer();
+      Callable<NoticeContainer> validation =
+          () -> {
+            PerformanceRegister.Snapshot start =
+                performanceRegister == null ? null : PerformanceRegister.snapshot();
+            for (int i = 0; i < batchSize; ++i) {
+              if (batchEntities[i] != null) {
+                ValidatorUtil.invokeSingleEntityValidators(
+                    batchEntities[i], validators, batchNotices);
+              }
+              if (batchRowNotices[i] != null) {
+                batchNotices.addAll(batchRowNotices[i]);
+              }
+            }
+            if (performanceRegister != null) {
+              // Validation used to run on the loading thread, so its resources are counted for the
+              // file as for chunks, but not its elapsed time that overlaps parsing.
+              performanceRegister.registerFile(gtfsFilename, start, false);
+            }
+            return batchNotices;
+          };
+      entities = new GtfsEntity[VALIDATION_BATCH_ROWS];
+      rowNotices = new NoticeContainer[VALIDATION_BATCH_ROWS];
+      size = 0;
+      return validation;
+    }
+
+    private void submit(Callable<NoticeContainer> validation) {
+      pendingBatches.add(
+          executor.submit(
+              performanceRegister == null ? validation : performanceRegister.bind(validation)));
+      if (pendingBatches.size() >= MAX_PENDING_VALIDATION_BATCHES) {
+        noticeContainer.addAll(waitForBatch(pendingBatches.removeFirst()));
+      }
+    }
+
+    /** Waits for a batch and rethrows runtime exceptions from the validating thread. */
+    private static NoticeContainer waitForBatch(Future<NoticeContainer> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while validating entities", e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /** Entities and notices loaded from a chunk of a CSV file. */
+  private static class ChunkResult {
+    final List<GtfsEntity> entities;
+    final NoticeContainer noticeContainer;
+    final long lineNumberOffset;
+    final long charOffset;
+    boolean hasUnparsableRows = false;
+    boolean tooManyRows = false;
+    @Nullable TextParsingException parsingException = null;
+    long parsingExceptionLineOffset = 0;
+    long parsingExceptionCharOffset = 0;
+
+    ChunkResult(
+        List<GtfsEntity> entities,
+        NoticeContainer noticeContainer,
+        long lineNumberOffset,
+        long charOffset) {
+      this.entities = entities;
+      this.noticeContainer = noticeContainer;
+      this.lineNumberOffset = lineNumberOffset;
+      this.charOffset = charOffset;
+    }
+
+    /** Tells if loading must stop after this chunk. */
+    boolean isFinal() {
+      return tooManyRows || parsingException != null;
+    }
+
+    /** Appends entities, notices and errors of this chunk to the result of preceding chunks. */
+    void mergeInto(ChunkResult target) {
+      target.entities.addAll(entities);
+      target.noticeContainer.addAll(noticeContainer);
+      target.hasUnparsableRows |= hasUnparsableRows;
+      target.tooManyRows |= tooManyRows;
+      if (parsingException != null) {
+        target.parsingException = parsingException;
+        target.parsingExceptionLineOffset = parsingExceptionLineOffset;
+        target.parsingExceptionCharOffset = parsingExceptionCharOffset;
+      }
+    }
+  }
 }
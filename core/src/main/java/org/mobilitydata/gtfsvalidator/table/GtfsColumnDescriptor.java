@@ -19,6 +19,13 @@ public abstract class GtfsColumnDescriptor {
 
   public abstract boolean isMixedCase();
 
+  /**
+   * Domain of the ids in this column in a {@link
+   * org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary}, e.g., "stop_id" for from_stop_id in
+   * transfers.txt. Empty if the column does not have ids.
+   */
+  public abstract Optional<String> idDomain();
+
   public boolean isRequired() {
     return FieldLevelEnum.REQUIRED.equals(fieldLevel());
   }
@@ -43,6 +50,8 @@ public abstract class GtfsColumnDescriptor {
 
     public abstract Builder setIsMixedCase(boolean value);
 
+    public abstract Builder setIdDomain(String value);
+
     public abstract GtfsColumnDescriptor build();
   }
 }
@@ -18,6 +18,8 @@ package org.mobilitydata.gtfsvalidator.table;
 
 import com.google.common.base.Ascii;
 import java.util.*;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 
 /**
  * Container for a whole parsed GTFS feed with all its tables.
@@ -28,8 +30,16 @@ public class GtfsFeedContainer {
   private final Map<String, GtfsEntityContainer<?, ?>> tables = new HashMap<>();
   private final Map<Class<? extends GtfsEntityContainer>, GtfsEntityContainer<?, ?>> tablesByClass =
       new HashMap<>();
+  @Nullable private final FeedIdDictionary idDictionary;
 
   public GtfsFeedContainer(List<GtfsEntityContainer<?, ?>> tableContainerList) {
+    this(tableContainerList, null);
+  }
+
+  public GtfsFeedContainer(
+      List<GtfsEntityContainer<?, ?>> tableContainerList,
+      @Nullable FeedIdDictionary idDictionary) {
+    this.idDictionary = idDictionary;
     for (GtfsEntityContainer<?, ?> table : tableContainerList) {
       tables.put(table.gtfsFilename(), table);
       tablesByClass.put(table.getClass(), table);
@@ -73,6 +83,16 @@ public class GtfsFeedContainer {
     return true;
   }
 
+  /**
+   * Returns the ids shared by the tables of the feed.
+   *
+   * <p>Returns null if the tables were loaded without a shared dictionary, e.g., in tests.
+   */
+  @Nullable
+  public FeedIdDictionary getIdDictionary() {
+    return idDictionary;
+  }
+
   public Collection<GtfsEntityContainer<?, ?>> getTables() {
     return tables.values();
   }
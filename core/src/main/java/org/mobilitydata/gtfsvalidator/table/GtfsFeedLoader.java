@@ -21,26 +21,42 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.flogger.FluentLogger;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.input.GtfsInput;
+import org.mobilitydata.gtfsvalidator.input.MappedFile;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInLoaderError;
 import org.mobilitydata.gtfsvalidator.notice.ThreadExecutionError;
 import org.mobilitydata.gtfsvalidator.notice.UnknownFileNotice;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 import org.mobilitydata.gtfsvalidator.performance.MemoryMonitor;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsageRegister;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
+import org.mobilitydata.gtfsvalidator.performance.ValidatorCostEstimator;
 import org.mobilitydata.gtfsvalidator.validator.FileValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorUtil;
@@ -52,6 +68,7 @@ import org.mobilitydata.gtfsvalidator.validator.ValidatorUtil;
  */
 public class GtfsFeedLoader {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final int SLOWEST_VALIDATORS_TO_LOG = 5;
   private final HashMap<String, GtfsFileDescriptor<?>> tableDescriptors = new HashMap<>();
   private int numThreads = 1;
 
@@ -80,6 +97,13 @@ public class GtfsFeedLoader {
     return skippedValidators;
   }
 
+  /** Resources used by files and validators during the last call of {@link #loadAndValidate}. */
+  private PerformanceRegister performanceRegister = new PerformanceRegister();
+
+  public PerformanceRegister getPerformanceRegister() {
+    return performanceRegister;
+  }
+
   public GtfsFeedLoader(
       ImmutableList<Class<? extends GtfsFileDescriptor<?>>> tableDescriptorClasses) {
     for (Class<? extends GtfsFileDescriptor<?>> clazz : tableDescriptorClasses) {
@@ -119,8 +143,17 @@ public class GtfsFeedLoader {
       GtfsInput gtfsInput, ValidatorProvider validatorProvider, NoticeContainer noticeContainer)
       throws InterruptedException {
     logger.atInfo().log("Loading in %d threads", numThreads);
-    ExecutorService exec = Executors.newFixedThreadPool(numThreads);
+    // Validators that split their work, e.g., with parallel streams, fork tasks in this pool, so
+    // that idle threads steal them.
+    ExecutorService exec = new ForkJoinPool(numThreads);
+    // Chunks of large CSV files are parsed on a separate pool: a loader waits for its chunks, so
+    // they must not be queued behind loaders of other files.
+    ExecutorService chunkExec = numThreads > 1 ? Executors.newFixedThreadPool(numThreads) : null;
     skippedValidators.clear();
+    PerformanceRegister performance = new PerformanceRegister();
+    performanceRegister = performance;
+    // Ids are interned across tables, so that all tables refer to the same instances.
+    FeedIdDictionary idDictionary = new FeedIdDictionary();
     List<Callable<TableAndNoticeContainers>> loaderCallables = new ArrayList<>();
     Map<String, GtfsTableDescriptor<?>> remainingDescriptors =
         (Map<String, GtfsTableDescriptor<?>>) tableDescriptors.clone();
@@ -130,33 +163,42 @@ public class GtfsFeedLoader {
         noticeContainer.addValidationNotice(new UnknownFileNotice(filename));
       } else {
         loaderCallables.add(
-            () -> {
-              NoticeContainer loaderNotices = new NoticeContainer();
-              GtfsEntityContainer<?, ?> tableContainer;
-              // The descriptor knows what loader to use to load the file
-              TableLoader tableLoader = tableDescriptor.getTableLoader();
-              tableLoader.setSkippedValidators(skippedValidators);
-              try (InputStream inputStream = gtfsInput.getFile(filename)) {
-                try {
-                  tableContainer =
-                      tableLoader.load(
-                          tableDescriptor, validatorProvider, inputStream, loaderNotices);
-                } catch (RuntimeException e) {
-                  // This handler should prevent ExecutionException for
-                  // this thread. We catch an exception here for storing
-                  // the context since we know the filename here.
-                  logger.atSevere().withCause(e).log("Runtime exception when loading %s", filename);
-                  loaderNotices.addSystemError(new RuntimeExceptionInLoaderError(filename, e));
-                  // Since the file was not loaded successfully, we treat
-                  // it as missing for continuing validation.
-
-                  tableContainer =
-                      tableLoader.loadMissingFile(
-                          tableDescriptor, validatorProvider, loaderNotices);
-                }
-              }
-              return new TableAndNoticeContainers(tableContainer, loaderNotices);
-            });
+            performance.bind(
+                () -> {
+                  PerformanceRegister.Snapshot start = PerformanceRegister.snapshot();
+                  NoticeContainer loaderNotices = noticeContainer.createChildContainer();
+                  GtfsEntityContainer<?, ?> tableContainer;
+                  // The descriptor knows what loader to use to load the file
+                  TableLoader tableLoader = tableDescriptor.getTableLoader();
+                  tableLoader.setSkippedValidators(skippedValidators);
+                  try {
+                    tableContainer =
+                        loadFile(
+                            gtfsInput,
+                            filename,
+                            tableLoader,
+                            tableDescriptor,
+                            validatorProvider,
+                            loaderNotices,
+                            chunkExec,
+                            idDictionary);
+                  } catch (RuntimeException e) {
+                    // This handler should prevent ExecutionException for
+                    // this thread. We catch an exception here for storing
+                    // the context since we know the filename here.
+                    logger.atSevere().withCause(e).log(
+                        "Runtime exception when loading %s", filename);
+                    loaderNotices.addSystemError(new RuntimeExceptionInLoaderError(filename, e));
+                    // Since the file was not loaded successfully, we treat
+                    // it as missing for continuing validation.
+
+                    tableContainer =
+                        tableLoader.loadMissingFile(
+                            tableDescriptor, validatorProvider, loaderNotices);
+                  }
+                  performance.registerFile(filename, start, true);
+                  return new TableAndNoticeContainers(tableContainer, loaderNotices);
+                }));
       }
     }
     ArrayList<GtfsEntityContainer<?, ?>> tableContainers = new ArrayList<>();
@@ -170,15 +212,27 @@ public class GtfsFeedLoader {
       var beforeLoading =
           MemoryUsageRegister.getInstance()
               .getMemoryUsageSnapshot("GtfsFeedLoader.loadTables", null);
-      loadTables(noticeContainer, exec, loaderCallables, tableContainers);
+      // Cross-table validators that were started while tables were loading, by validator class.
+      Map<Class<? extends FileValidator>, ValidatorRun> earlyValidators = new HashMap<>();
+      Set<Class<? extends FileValidator>> scheduledValidators = new HashSet<>();
+      loadTables(
+          noticeContainer,
+          exec,
+          loaderCallables,
+          tableContainers,
+          validatorProvider,
+          idDictionary,
+          earlyValidators,
+          scheduledValidators);
       MemoryUsageRegister.getInstance()
           .registerMemoryUsage("GtfsFeedLoader.loadTables", beforeLoading);
 
-      GtfsFeedContainer feed = new GtfsFeedContainer(tableContainers);
+      GtfsFeedContainer feed = new GtfsFeedContainer(tableContainers, idDictionary);
       var beforeMultiFileValidators =
           MemoryUsageRegister.getInstance()
               .getMemoryUsageSnapshot("GtfsFeedLoader.executeMultiFileValidators", null);
-      executeMultiFileValidators(validatorProvider, noticeContainer, feed, exec);
+      executeMultiFileValidators(
+          validatorProvider, noticeContainer, feed, exec, earlyValidators, scheduledValidators);
       MemoryUsageRegister.getInstance()
           .registerMemoryUsage(
               "GtfsFeedLoader.executeMultiFileValidators", beforeMultiFileValidators);
@@ -186,16 +240,91 @@ public class GtfsFeedLoader {
       return feed;
     } finally {
       exec.shutdown();
+      if (chunkExec != null) {
+        chunkExec.shutdown();
+      }
+    }
+  }
+
+  /** Loads a file through memory mapping if the input supports it, otherwise as a stream. */
+  private static GtfsEntityContainer<?, ?> loadFile(
+      GtfsInput gtfsInput,
+      String filename,
+      TableLoader tableLoader,
+      GtfsFileDescriptor<?> tableDescriptor,
+      ValidatorProvider validatorProvider,
+      NoticeContainer loaderNotices,
+      @Nullable ExecutorService chunkExec,
+      FeedIdDictionary idDictionary)
+      throws IOException {
+    MappedFile mappedFile = gtfsInput.getMappedFile(filename);
+    if (mappedFile != null) {
+      try (mappedFile) {
+        return tableLoader.load(
+            tableDescriptor, validatorProvider, mappedFile, loaderNotices, chunkExec, idDictionary);
+      }
+    }
+    try (InputStream inputStream = gtfsInput.getFile(filename)) {
+      return tableLoader.load(
+          tableDescriptor, validatorProvider, inputStream, loaderNotices, chunkExec, idDictionary);
     }
   }
 
+  /**
+   * Loads the tables and starts cross-table validators as soon as the tables they are injected with
+   * are loaded, so that validators of small tables run while large tables are still parsing.
+   *
+   * <p>Table containers and notices are collected in the order of {@code loaderCallables}, no
+   * matter in which order the tables finish loading.
+   */
   private void loadTables(
       NoticeContainer noticeContainer,
       ExecutorService exec,
       List<Callable<TableAndNoticeContainers>> loaderCallables,
-      ArrayList<GtfsEntityContainer<?, ?>> tableContainers)
+      ArrayList<GtfsEntityContainer<?, ?>> tableContainers,
+      ValidatorProvider validatorProvider,
+      FeedIdDictionary idDictionary,
+      Map<Class<? extends FileValidator>, ValidatorRun> earlyValidators,
+      Set<Class<? extends FileValidator>> scheduledValidators)
       throws InterruptedException {
-    for (Future<TableAndNoticeContainers> futureContainer : exec.invokeAll(loaderCallables)) {
+    CompletionService<TableAndNoticeContainers> completionService =
+        new ExecutorCompletionService<>(exec);
+    List<Future<TableAndNoticeContainers>> loaderFutures = new ArrayList<>();
+    for (Callable<TableAndNoticeContainers> loaderCallable : loaderCallables) {
+      loaderFutures.add(completionService.submit(loaderCallable));
+    }
+    Map<Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+        pendingValidators = new LinkedHashMap<>(validatorProvider.getMultiFileValidatorTables());
+    // Tables for missing files are available from the start.
+    List<GtfsEntityContainer<?, ?>> availableTables = new ArrayList<>(tableContainers);
+    startReadyValidators(
+        validatorProvider,
+        noticeContainer,
+        exec,
+        idDictionary,
+        availableTables,
+        pendingValidators,
+        earlyValidators,
+        scheduledValidators);
+    for (int i = 0; i < loaderFutures.size(); ++i) {
+      Future<TableAndNoticeContainers> loaded = completionService.take();
+      try {
+        availableTables.add(loaded.get().tableContainer);
+      } catch (ExecutionException e) {
+        // Reported below, when notices are collected.
+        continue;
+      }
+      startReadyValidators(
+          validatorProvider,
+          noticeContainer,
+          exec,
+          idDictionary,
+          availableTables,
+          pendingValidators,
+          earlyValidators,
+          scheduledValidators);
+    }
+    for (Future<TableAndNoticeContainers> futureContainer : loaderFutures) {
       try {
         TableAndNoticeContainers containers = futureContainer.get();
         tableContainers.add(containers.tableContainer);
@@ -208,35 +337,147 @@ public class GtfsFeedLoader {
     }
   }
 
+  /**
+   * Starts the pending cross-table validators whose tables are all available.
+   *
+   * <p>The validators are created with a feed that has only the available tables.
+   */
+  private void startReadyValidators(
+      ValidatorProvider validatorProvider,
+      NoticeContainer noticeContainer,
+      ExecutorService exec,
+      FeedIdDictionary idDictionary,
+      List<GtfsEntityContainer<?, ?>> availableTables,
+      Map<Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+          pendingValidators,
+      Map<Class<? extends FileValidator>, ValidatorRun> earlyValidators,
+      Set<Class<? extends FileValidator>> scheduledValidators) {
+    Set<Class<?>> availableClasses = new HashSet<>();
+    for (GtfsEntityContainer<?, ?> table : availableTables) {
+      availableClasses.add(table.getClass());
+    }
+    Set<Class<? extends FileValidator>> readyValidators = new HashSet<>();
+    for (var entry : pendingValidators.entrySet()) {
+      if (availableClasses.containsAll(entry.getValue())) {
+        readyValidators.add(entry.getKey());
+      }
+    }
+    if (readyValidators.isEmpty()) {
+      return;
+    }
+    pendingValidators.keySet().removeAll(readyValidators);
+    scheduledValidators.addAll(readyValidators);
+    GtfsFeedContainer availableFeed =
+        new GtfsFeedContainer(new ArrayList<>(availableTables), idDictionary);
+    // Validators with parser-error dependencies will not be returned here, but instead added to
+    // the skippedValidators list.
+    for (ValidatorRun run :
+        submitValidators(
+            validatorProvider.createMultiFileValidators(
+                availableFeed, readyValidators::contains, skippedValidators),
+            availableFeed,
+            validatorProvider,
+            noticeContainer,
+            exec,
+            performanceRegister)) {
+      for (FileValidator validator : run.validators) {
+        earlyValidators.put(validator.getClass(), run);
+      }
+    }
+  }
+
   private void executeMultiFileValidators(
       ValidatorProvider validatorProvider,
       NoticeContainer noticeContainer,
       GtfsFeedContainer feed,
-      ExecutorService exec)
+      ExecutorService exec,
+      Map<Class<? extends FileValidator>, ValidatorRun> earlyValidators,
+      Set<Class<? extends FileValidator>> scheduledValidators)
       throws InterruptedException {
-    List<Callable<NoticeContainer>> validatorCallables = new ArrayList<>();
+    // Notices of early validators are collected in a fixed order, followed by the others.
+    List<ValidatorRun> runs = new ArrayList<>();
+    for (Class<? extends FileValidator> validatorClass :
+        validatorProvider.getMultiFileValidatorTables().keySet()) {
+      ValidatorRun run = earlyValidators.get(validatorClass);
+      // Fused validators share a run.
+      if (run != null && !runs.contains(run)) {
+        runs.add(run);
+      }
+    }
     // Validators with parser-error dependencies will not be returned here, but instead added to
     // the skippedValidators list.
-    for (FileValidator validator :
-        validatorProvider.createMultiFileValidators(feed, skippedValidators)) {
-      validatorCallables.add(
-          () -> {
-            NoticeContainer validatorNotices = new NoticeContainer();
-            ValidatorUtil.safeValidate(validator::validate, validator.getClass(), validatorNotices);
-            return validatorNotices;
-          });
-    }
-    collectMultiFileValidationNotices(noticeContainer, exec, validatorCallables);
+    runs.addAll(
+        submitValidators(
+            validatorProvider.createMultiFileValidators(
+                feed,
+                validatorClass -> !scheduledValidators.contains(validatorClass),
+                skippedValidators),
+            feed,
+            validatorProvider,
+            noticeContainer,
+            exec,
+            performanceRegister));
+    collectMultiFileValidationNotices(noticeContainer, runs);
+    logSlowestValidators(runs);
   }
 
-  private void collectMultiFileValidationNotices(
+  /**
+   * Submits validators in the order of their estimated cost, the most expensive first, so that a
+   * slow validator does not start last and delay the end of validation.
+   *
+   * <p>Entity group validators over the same groups, e.g., trips of stop times, share a run that
+   * makes a single pass over the groups, see {@link ValidatorUtil#fuseEntityGroupValidators}.
+   *
+   * @return the runs of the validators in the order of their first validator
+   */
+  private static List<ValidatorRun> submitValidators(
+      List<FileValidator> validators,
+      GtfsFeedContainer feed,
+      ValidatorProvider validatorProvider,
       NoticeContainer noticeContainer,
       ExecutorService exec,
-      List<Callable<NoticeContainer>> validatorCallables)
-      throws InterruptedException {
-    for (Future<NoticeContainer> futureContainer : exec.invokeAll(validatorCallables)) {
+      PerformanceRegister performanceRegister) {
+    Map<Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+        validatorTables = validatorProvider.getMultiFileValidatorTables();
+    List<ValidatorRun> runs = new ArrayList<>();
+    for (List<FileValidator> fused : ValidatorUtil.fuseEntityGroupValidators(validators)) {
+      long[] rowCounts = new long[fused.size()];
+      for (int i = 0; i < fused.size(); ++i) {
+        ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>> tables =
+            validatorTables.get(fused.get(i).getClass());
+        if (tables == null) {
+          // The validator is injected with the whole feed.
+          for (GtfsEntityContainer<?, ?> table : feed.getTables()) {
+            rowCounts[i] += table.entityCount();
+          }
+        } else {
+          for (Class<? extends GtfsEntityContainer<?, ?>> tableClass : tables) {
+            GtfsEntityContainer<?, ?> table = feed.getTable(tableClass);
+            rowCounts[i] += table == null ? 0 : table.entityCount();
+          }
+        }
+      }
+      runs.add(new ValidatorRun(fused, rowCounts, noticeContainer.createChildContainer()));
+    }
+    List<ValidatorRun> schedule = new ArrayList<>(runs);
+    schedule.sort(Comparator.comparingDouble((ValidatorRun run) -> run.estimatedNanos).reversed());
+    if (!schedule.isEmpty()) {
+      logger.atInfo().log(
+          "Starting %d multi-file validators by estimated cost: %s",
+          schedule.size(),
+          schedule.stream().map(ValidatorRun::toString).collect(Collectors.joining(", ")));
+    }
+    for (ValidatorRun run : schedule) {
+      run.future = exec.submit(performanceRegister.bind(run));
+    }
+    return runs;
+  }
+
+  private void collectMultiFileValidationNotices(
+      NoticeContainer noticeContainer, List<ValidatorRun> runs) throws InterruptedException {
+    for (ValidatorRun run : runs) {
       try {
-        noticeContainer.addAll(futureContainer.get());
+        noticeContainer.addAll(run.future.get());
       } catch (ExecutionException e) {
         // All runtime exceptions should be caught above.
         // ExecutionException is not expected to happen.
@@ -245,12 +486,94 @@ public class GtfsFeedLoader {
     }
   }
 
+  /** Logs the validators that took the longest, which make the critical path of validation. */
+  private static void logSlowestValidators(List<ValidatorRun> runs) {
+    List<ValidatorRun> slowest = new ArrayList<>(runs);
+    slowest.sort(Comparator.comparingLong((ValidatorRun run) -> run.elapsedNanos).reversed());
+    if (!slowest.isEmpty()) {
+      logger.atInfo().log(
+          "Slowest multi-file validators: %s",
+          slowest.stream()
+              .limit(SLOWEST_VALIDATORS_TO_LOG)
+              .map(
+                  run ->
+                      String.format(
+                          "%s %d ms (estimated %d ms)",
+                          run.getName(),
+                          TimeUnit.NANOSECONDS.toMillis(run.elapsedNanos),
+                          (long) (run.estimatedNanos / 1_000_000)))
+              .collect(Collectors.joining(", ")));
+    }
+  }
+
   /** Adds a ThreadExecutionError to the notice container. */
   private void addThreadExecutionError(ExecutionException e, NoticeContainer noticeContainer) {
     logger.atSevere().withCause(e).log("Execution exception");
     noticeContainer.addSystemError(new ThreadExecutionError(e));
   }
 
+  /**
+   * A multi-file validator that is scheduled to run, with its estimated and actual time.
+   *
+   * <p>A run has several validators only if they are fused entity group validators. Their actual
+   * time is then shared among them in proportion to their estimated times.
+   */
+  private static class ValidatorRun implements Callable<NoticeContainer> {
+    final List<FileValidator> validators;
+    final NoticeContainer validatorNotices;
+    final long[] rowCounts;
+    final double[] estimatedNanosPerValidator;
+    final double estimatedNanos;
+    Future<NoticeContainer> future;
+    volatile long elapsedNanos;
+
+    ValidatorRun(
+        List<FileValidator> validators, long[] rowCounts, NoticeContainer validatorNotices) {
+      this.validators = validators;
+      this.validatorNotices = validatorNotices;
+      this.rowCounts = rowCounts;
+      this.estimatedNanosPerValidator = new double[validators.size()];
+      double estimatedNanos = 0;
+      for (int i = 0; i < validators.size(); ++i) {
+        estimatedNanosPerValidator[i] =
+            ValidatorCostEstimator.getInstance()
+                .estimateNanos(validators.get(i).getClass(), rowCounts[i]);
+        estimatedNanos += estimatedNanosPerValidator[i];
+      }
+      this.estimatedNanos = estimatedNanos;
+    }
+
+    @Override
+    public NoticeContainer call() {
+      long start = System.nanoTime();
+      ValidatorUtil.invokeFusedValidators(validators, validatorNotices);
+      elapsedNanos = System.nanoTime() - start;
+      for (int i = 0; i < validators.size(); ++i) {
+        double share =
+            estimatedNanos > 0
+                ? estimatedNanosPerValidator[i] / estimatedNanos
+                : 1.0 / validators.size();
+        ValidatorCostEstimator.getInstance()
+            .recordRun(validators.get(i).getClass(), rowCounts[i], (long) (elapsedNanos * share));
+      }
+      return validatorNotices;
+    }
+
+    /** Returns the simple names of the validators, e.g., {@code AValidator+BValidator}. */
+    String getName() {
+      return validators.stream()
+          .map(validator -> validator.getClass().getSimpleName())
+          .collect(Collectors.joining("+"));
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s (%d rows, estimated %d ms)",
+          getName(), Arrays.stream(rowCounts).max().orElse(0), (long) (estimatedNanos / 1_000_000));
+    }
+  }
+
   static class TableAndNoticeContainers {
     final GtfsEntityContainer tableContainer;
     final NoticeContainer noticeContainer;
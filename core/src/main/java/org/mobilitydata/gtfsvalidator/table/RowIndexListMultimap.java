@@ -0,0 +1,394 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multiset;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable index of a table by a key column that stores positions of entities instead of
+ * entities.
+ *
+ * <p>This is the index of tables with columnar storage, see {@link ColumnarEntityList}. It costs a
+ * single {@code int} per entity, while an {@link com.google.common.collect.ArrayListMultimap} keeps
+ * a reference to each entity and thus forces all entities to stay in memory.
+ *
+ * <p>Keys are iterated in the same order as in an {@link
+ * com.google.common.collect.ArrayListMultimap} that is filled in entity order, so validators report
+ * notices in the same order with either index.
+ *
+ * @param <K> key type
+ * @param <V> entity type
+ */
+public final class RowIndexListMultimap<K, V> implements ListMultimap<K, V> {
+  /** Same as the default number of keys in {@link com.google.common.collect.ArrayListMultimap}. */
+  private static final int DEFAULT_EXPECTED_KEYS = 12;
+
+  private final List<V> entities;
+
+  /** Positions of entities in {@link #entities} for each key. */
+  private final Map<K, int[]> positionsByKey;
+
+  private final int size;
+
+  @Nullable private final ToIntFunction<? super V> sequenceFunction;
+
+  /**
+   * Pairs of positions of entities with the same key and sequence, ordered by the position of the
+   * second entity. The high 32 bits are the position of the first such entity.
+   */
+  private final long[] duplicateSequences;
+
+  private RowIndexListMultimap(
+      List<V> entities,
+      Map<K, int[]> positionsByKey,
+      @Nullable ToIntFunction<? super V> sequenceFunction,
+      long[] duplicateSequences) {
+    this.entities = entities;
+    this.positionsByKey = positionsByKey;
+    this.size = entities.size();
+    this.sequenceFunction = sequenceFunction;
+    this.duplicateSequences = duplicateSequences;
+  }
+
+  /** Returns an empty index. */
+  public static <K, V> RowIndexListMultimap<K, V> of() {
+    return new RowIndexListMultimap<>(ImmutableList.of(), Map.of(), null, new long[0]);
+  }
+
+  /**
+   * Indexes entities by key.
+   *
+   * @param entities entities of the table, the index refers to them by position
+   * @param keyFunction returns the key of an entity
+   * @param sequenceFunction returns the sequence of an entity to sort entities with the same key,
+   *     or null to keep them in list order
+   */
+  public static <K, V> RowIndexListMultimap<K, V> create(
+      List<V> entities,
+      Function<? super V, ? extends K> keyFunction,
+      @Nullable ToIntFunction<? super V> sequenceFunction) {
+    // Count entities per key first, so that positions are stored in arrays of the exact size.
+    final Object[] keys = new Object[entities.size()];
+    final Map<K, int[]> positionsByKey = Maps.newHashMapWithExpectedSize(DEFAULT_EXPECTED_KEYS);
+    for (int i = 0; i < keys.length; ++i) {
+      final K key = keyFunction.apply(entities.get(i));
+      keys[i] = key;
+      final int[] count = positionsByKey.get(key);
+      if (count == null) {
+        positionsByKey.put(key, new int[] {1});
+      } else {
+        ++count[0];
+      }
+    }
+    // The first element of each array is the number of positions filled so far.
+    for (Map.Entry<K, int[]> entry : positionsByKey.entrySet()) {
+      entry.setValue(new int[entry.getValue()[0] + 1]);
+    }
+    for (int i = 0; i < keys.length; ++i) {
+      final int[] positions = positionsByKey.get(keys[i]);
+      positions[++positions[0]] = i;
+    }
+    for (Map.Entry<K, int[]> entry : positionsByKey.entrySet()) {
+      entry.setValue(Arrays.copyOfRange(entry.getValue(), 1, entry.getValue().length));
+    }
+    long[] duplicateSequences = new long[0];
+    if (sequenceFunction != null) {
+      int duplicateCount = 0;
+      for (int[] positions : positionsByKey.values()) {
+        final long[] sorted = sortBySequence(entities, positions, sequenceFunction);
+        int runStart = 0;
+        for (int j = 1; j < sorted.length; ++j) {
+          if ((int) (sorted[j] >> 32) != (int) (sorted[runStart] >> 32)) {
+            runStart = j;
+            continue;
+          }
+          if (duplicateCount == duplicateSequences.length) {
+            duplicateSequences =
+                Arrays.copyOf(duplicateSequences, Math.max(16, duplicateCount * 2));
+          }
+          duplicateSequences[duplicateCount++] =
+              ((long) positions[runStart] << 32) | (positions[j] & 0xFFFFFFFFL);
+        }
+      }
+      duplicateSequences = sortBySecondPosition(Arrays.copyOf(duplicateSequences, duplicateCount));
+    }
+    return new RowIndexListMultimap<>(
+        entities, positionsByKey, sequenceFunction, duplicateSequences);
+  }
+
+  /**
+   * Sorts positions by sequence of their entities, keeping list order for equal sequences.
+   *
+   * @return the sorted sequences in the high 32 bits and positions in the low 32 bits
+   */
+  private static <V> long[] sortBySequence(
+      List<V> entities, int[] positions, ToIntFunction<? super V> sequenceFunction) {
+    final long[] sorted = new long[positions.length];
+    boolean isSorted = true;
+    for (int j = 0; j < positions.length; ++j) {
+      sorted[j] =
+          ((long) sequenceFunction.applyAsInt(entities.get(positions[j])) << 32)
+              | (positions[j] & 0xFFFFFFFFL);
+      isSorted &= j == 0 || sorted[j - 1] <= sorted[j];
+    }
+    if (!isSorted) {
+      // Positions are increasing, so equal sequences keep their order.
+      Arrays.sort(sorted);
+      for (int j = 0; j < positions.length; ++j) {
+        positions[j] = (int) sorted[j];
+      }
+    }
+    return sorted;
+  }
+
+  /** Sorts pairs of positions by the position in their low 32 bits. */
+  private static long[] sortBySecondPosition(long[] pairs) {
+    final long[] swapped = new long[pairs.length];
+    for (int i = 0; i < pairs.length; ++i) {
+      swapped[i] = (pairs[i] << 32) | (pairs[i] >>> 32);
+    }
+    Arrays.sort(swapped);
+    for (int i = 0; i < pairs.length; ++i) {
+      swapped[i] = (swapped[i] << 32) | (swapped[i] >>> 32);
+    }
+    return swapped;
+  }
+
+  /**
+   * Calls the action for each entity that has the same key and sequence as a previous entity.
+   *
+   * <p>The action receives the first entity with that key and sequence and the repeated one. It is
+   * called in list order of the repeated entities. This is only available if the index was created
+   * with a sequence function.
+   */
+  public void forEachDuplicateSequence(BiConsumer<? super V, ? super V> action) {
+    for (long pair : duplicateSequences) {
+      action.accept(entities.get((int) (pair >>> 32)), entities.get((int) pair));
+    }
+  }
+
+  /**
+   * Finds the first entity with the given key and sequence.
+   *
+   * <p>This is only available if the index was created with a sequence function.
+   */
+  public Optional<V> findBySequence(K key, int sequence) {
+    if (sequenceFunction == null) {
+      throw new IllegalStateException("Index has no sequence");
+    }
+    final List<V> list = get(key);
+    int low = 0;
+    int high = list.size();
+    // Find the first entity with a sequence that is not less than the given one.
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (sequenceFunction.applyAsInt(list.get(middle)) < sequence) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (low < list.size() && sequenceFunction.applyAsInt(list.get(low)) == sequence) {
+      return Optional.of(list.get(low));
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<V> get(@Nullable K key) {
+    final int[] positions = positionsByKey.get(key);
+    return positions == null ? ImmutableList.of() : new EntityList(positions);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return positionsByKey.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+    return values().contains(value);
+  }
+
+  @Override
+  public boolean containsEntry(@Nullable Object key, @Nullable Object value) {
+    final int[] positions = positionsByKey.get(key);
+    return positions != null && new EntityList(positions).contains(value);
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return Collections.unmodifiableSet(positionsByKey.keySet());
+  }
+
+  @Override
+  public Multiset<K> keys() {
+    ImmutableMultiset.Builder<K> keys = ImmutableMultiset.builder();
+    for (Map.Entry<K, int[]> entry : positionsByKey.entrySet()) {
+      keys.addCopies(entry.getKey(), entry.getValue().length);
+    }
+    return keys.build();
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<V> iterator() {
+        return positionsByKey.values().stream()
+            .flatMap(positions -> new EntityList(positions).stream())
+            .iterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<Map.Entry<K, V>> entries() {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<Map.Entry<K, V>> iterator() {
+        return positionsByKey.entrySet().stream()
+            .flatMap(
+                entry ->
+                    new EntityList(entry.getValue())
+                        .stream().map(value -> Maps.immutableEntry(entry.getKey(), value)))
+            .iterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns a view of this multimap as a map from each key to the list of its entities.
+   *
+   * <p>Values are lists, so that {@link com.google.common.collect.Multimaps#asMap(ListMultimap)}
+   * may be used.
+   */
+  @Override
+  public Map<K, Collection<V>> asMap() {
+    return Collections.unmodifiableMap(
+        Maps.<K, int[], Collection<V>>transformValues(positionsByKey, EntityList::new));
+  }
+
+  @Override
+  public boolean put(K key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove(@Nullable Object key, @Nullable Object value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean putAll(K key, Iterable<? extends V> values) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean putAll(Multimap<? extends K, ? extends V> multimap) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public List<V> replaceValues(K key, Iterable<? extends V> values) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public List<V> removeAll(@Nullable Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object object) {
+    return object instanceof Multimap && asMap().equals(((Multimap<?, ?>) object).asMap());
+  }
+
+  @Override
+  public int hashCode() {
+    return asMap().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  /** Entities at the given positions. */
+  private final class EntityList extends AbstractList<V> implements RandomAccess {
+    private final int[] positions;
+
+    EntityList(int[] positions) {
+      this.positions = positions;
+    }
+
+    @Override
+    public V get(int index) {
+      return entities.get(positions[index]);
+    }
+
+    @Override
+    public int size() {
+      return positions.length;
+    }
+  }
+}
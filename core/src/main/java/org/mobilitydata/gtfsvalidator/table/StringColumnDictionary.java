@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Dictionary encoding of a string column of a segment in a columnar table.
+ *
+ * <p>Each distinct value gets an int code, so that the column is stored as an {@code int[]} and
+ * all rows with the same value share a single {@code String} instance. Id columns repeat a few
+ * values many times, e.g., trip_id in stop_times.txt.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class StringColumnDictionary {
+  private String[] values = new String[16];
+  private int size = 0;
+
+  /** Codes of the values, dropped by {@link #freeze}. */
+  @Nullable private Map<String, Integer> codes = new HashMap<>();
+
+  /** Returns the code of the value, adding it to the dictionary if needed. */
+  public int encode(String value) {
+    Preconditions.checkState(codes != null, "Dictionary is frozen");
+    // Consecutive rows often have the same value.
+    if (size > 0 && values[size - 1].equals(value)) {
+      return size - 1;
+    }
+    Integer code = codes.get(value);
+    if (code != null) {
+      return code;
+    }
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size] = value;
+    codes.put(value, size);
+    return size++;
+  }
+
+  /** Returns the value for the code. */
+  public String decode(int code) {
+    return values[code];
+  }
+
+  /** Returns the number of distinct values. */
+  public int size() {
+    return size;
+  }
+
+  /** Releases the memory needed for encoding once no more values will be added. */
+  public void freeze() {
+    codes = null;
+    values = Arrays.copyOf(values, size);
+  }
+}
@@ -4,11 +4,16 @@ import static org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader.*;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.input.MappedFile;
 import org.mobilitydata.gtfsvalidator.notice.MissingRecommendedFileNotice;
 import org.mobilitydata.gtfsvalidator.notice.MissingRequiredFileNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 import org.mobilitydata.gtfsvalidator.validator.ColumnInspector;
 import org.mobilitydata.gtfsvalidator.validator.FileValidator;
 import org.mobilitydata.gtfsvalidator.validator.SingleEntityValidator;
@@ -36,6 +41,62 @@ public abstract class TableLoader {
       InputStream csvInputStream,
       NoticeContainer noticeContainer);
 
+  /**
+   * Load the file, possibly splitting the work on a single file between several threads.
+   *
+   * <p>Loaders that cannot split a file ignore {@code chunkExecutor} and load the file on the
+   * calling thread.
+   *
+   * @param fileDescriptor Description of the file
+   * @param validatorProvider Will provide validators to run on the file.
+   * @param csvInputStream Stream to load from
+   * @param noticeContainer Where to put the notices if errors occur during the loading.
+   * @param chunkExecutor Executor for parts of the file, or null to load on the calling thread.
+   * @param idDictionary Ids shared with other tables of the feed, or null to cache ids per table.
+   * @return A container for the loaded entities
+   */
+  GtfsEntityContainer load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      InputStream csvInputStream,
+      NoticeContainer noticeContainer,
+      @Nullable ExecutorService chunkExecutor,
+      @Nullable FeedIdDictionary idDictionary) {
+    return load(fileDescriptor, validatorProvider, csvInputStream, noticeContainer);
+  }
+
+  /**
+   * Load the file that is mapped into memory.
+   *
+   * <p>Loaders that cannot read a mapped file directly load it as a stream.
+   *
+   * @param fileDescriptor Description of the file
+   * @param validatorProvider Will provide validators to run on the file.
+   * @param mappedFile File to load from, it is not closed by this method.
+   * @param noticeContainer Where to put the notices if errors occur during the loading.
+   * @param chunkExecutor Executor for parts of the file, or null to load on the calling thread.
+   * @param idDictionary Ids shared with other tables of the feed, or null to cache ids per table.
+   * @return A container for the loaded entities
+   */
+  GtfsEntityContainer load(
+      GtfsFileDescriptor fileDescriptor,
+      ValidatorProvider validatorProvider,
+      MappedFile mappedFile,
+      NoticeContainer noticeContainer,
+      @Nullable ExecutorService chunkExecutor,
+      @Nullable FeedIdDictionary idDictionary)
+      throws IOException {
+    try (InputStream inputStream = mappedFile.newInputStream(0)) {
+      return load(
+          fileDescriptor,
+          validatorProvider,
+          inputStream,
+          noticeContainer,
+          chunkExecutor,
+          idDictionary);
+    }
+  }
+
   public void setSkippedValidators(Multimap<SkippedValidatorReason, Class<?>> skippedValidators) {
     this.skippedValidators = skippedValidators;
   }
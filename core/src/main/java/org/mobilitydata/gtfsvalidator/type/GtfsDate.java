@@ -51,12 +51,21 @@ public class GtfsDate implements Comparable<GtfsDate> {
       throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
     }
     int year, month, day;
-    try {
-      year = Integer.parseInt(yyyymmdd.substring(0, 4));
-      month = Integer.parseInt(yyyymmdd.substring(4, 6));
-      day = Integer.parseInt(yyyymmdd.substring(6));
-    } catch (NumberFormatException ex) {
-      throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
+    final int value = parseDigits(yyyymmdd);
+    if (value >= 0) {
+      // Fast path for ASCII digits, the only ones in practice.
+      year = value / 10000;
+      month = value / 100 % 100;
+      day = value % 100;
+    } else {
+      // Integer.parseInt also accepts signs and non-ASCII digits, keep accepting them.
+      try {
+        year = Integer.parseInt(yyyymmdd.substring(0, 4));
+        month = Integer.parseInt(yyyymmdd.substring(4, 6));
+        day = Integer.parseInt(yyyymmdd.substring(6));
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("Date must have YYYYMMDD format: " + yyyymmdd);
+      }
     }
     try {
       return new GtfsDate(LocalDate.of(year, month, day));
@@ -65,6 +74,19 @@ public class GtfsDate implements Comparable<GtfsDate> {
     }
   }
 
+  /** Parses a string of ASCII decimal digits, returns -1 for any other char. */
+  private static int parseDigits(String s) {
+    int value = 0;
+    for (int i = 0; i < s.length(); ++i) {
+      final int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
   public int getYear() {
     return localDate.getYear();
   }
@@ -61,6 +61,11 @@ public class DefaultFieldValidator implements GtfsFieldValidator {
     return fieldValue;
   }
 
+  @Override
+  public boolean acceptsPrintableAsciiFields() {
+    return true;
+  }
+
   @Override
   public void validateId(String id, GtfsCellContext cellContext, NoticeContainer noticeContainer) {
     if (!hasOnlyPrintableAscii(id)) {
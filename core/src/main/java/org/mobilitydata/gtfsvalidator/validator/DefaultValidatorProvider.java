@@ -18,11 +18,14 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader.SkippedValidatorReason.*;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.flogger.FluentLogger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
@@ -44,6 +47,9 @@ public class DefaultValidatorProvider implements ValidatorProvider {
           Class<? extends GtfsEntityContainer<?, ?>>, Class<? extends FileValidator>>
       singleFileValidators;
   private final List<Class<? extends FileValidator>> multiFileValidators;
+  private final Map<
+          Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+      multiFileValidatorTables;
 
   /** Creates a validator provider that uses given validators. */
   public DefaultValidatorProvider(
@@ -57,6 +63,7 @@ public class DefaultValidatorProvider implements ValidatorProvider {
     this.singleEntityValidators = validatorLoader.getSingleEntityValidators();
     this.singleFileValidators = validatorLoader.getSingleFileValidators();
     this.multiFileValidators = validatorLoader.getMultiFileValidators();
+    this.multiFileValidatorTables = validatorLoader.getMultiFileValidatorTables();
   }
 
   /** Creates a validator provider that uses default validators for fields and headers. */
@@ -143,9 +150,19 @@ public class DefaultValidatorProvider implements ValidatorProvider {
   public List<FileValidator> createMultiFileValidators(
       GtfsFeedContainer feed,
       Multimap<GtfsFeedLoader.SkippedValidatorReason, Class<?>> skippedValidators) {
+    return createMultiFileValidators(feed, validatorClass -> true, skippedValidators);
+  }
+
+  @Override
+  public List<FileValidator> createMultiFileValidators(
+      GtfsFeedContainer feed,
+      Predicate<Class<? extends FileValidator>> validatorFilter,
+      Multimap<GtfsFeedLoader.SkippedValidatorReason, Class<?>> skippedValidators) {
     ArrayList<FileValidator> validators = new ArrayList<>();
-    validators.ensureCapacity(multiFileValidators.size());
     for (Class<? extends FileValidator> validatorClass : multiFileValidators) {
+      if (!validatorFilter.test(validatorClass)) {
+        continue;
+      }
       try {
         ValidatorWithDependencyStatus<? extends FileValidator> validatorWithStatus =
             ValidatorLoader.createMultiFileValidator(validatorClass, feed, validationContext);
@@ -165,4 +182,11 @@ public class DefaultValidatorProvider implements ValidatorProvider {
     }
     return validators;
   }
+
+  @Override
+  public Map<
+          Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+      getMultiFileValidatorTables() {
+    return multiFileValidatorTables;
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import java.util.List;
+import java.util.Map;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
+
+/**
+ * Base class for validators that check a table group by group, e.g., stop times trip by trip.
+ *
+ * <p>Validators whose {@link #entityGroups()} return the same multimap are invoked together, see
+ * {@link ValidatorUtil#fuseEntityGroupValidators}: a single pass over the groups calls every
+ * validator on a group while its entities are still in the CPU cache, and the groups are split
+ * among threads. Single-file validators are fused when their table is loaded, and multi-file
+ * validators when they are ready at the same time. See {@link
+ * ValidatorUtil#invokeEntityGroupValidators}.
+ *
+ * <p>{@link #validateGroup} may be called concurrently for different groups, so it must not keep
+ * state between calls.
+ *
+ * @param <T> type of the GTFS entity
+ */
+public abstract class EntityGroupValidator<T extends GtfsEntity> extends FileValidator {
+
+  /** Returns the groups to validate, e.g., {@code stopTimeTable.byTripIdMap()}. */
+  public abstract ListMultimap<String, T> entityGroups();
+
+  /**
+   * Validates a single group.
+   *
+   * @param key the key of the group in {@link #entityGroups()}
+   * @param entities the entities of the group, never empty
+   * @param noticeContainer container for accumulating notices
+   */
+  public abstract void validateGroup(String key, List<T> entities, NoticeContainer noticeContainer);
+
+  /** Validates all groups one after another on the current thread. */
+  @Override
+  public void validate(NoticeContainer noticeContainer) {
+    for (Map.Entry<String, List<T>> entry : Multimaps.asMap(entityGroups()).entrySet()) {
+      validateGroup(entry.getKey(), entry.getValue(), noticeContainer);
+    }
+  }
+}
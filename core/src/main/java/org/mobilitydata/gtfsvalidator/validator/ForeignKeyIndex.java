@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
+
+/**
+ * Set of keys of a parent table that foreign keys of a child table are checked against.
+ *
+ * <p>If the feed has a {@link FeedIdDictionary}, then the set is a bit set of the codes of the
+ * parent keys in their domain. Since ids of all tables are interned in the dictionary, checking a
+ * child key is a lookup of its code and a bit test. Otherwise, the keys are kept in a hash set.
+ *
+ * <p>Large child tables are checked in parallel chunks.
+ */
+public final class ForeignKeyIndex {
+  /** Number of child entities that are checked by a single task. */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  @Nullable private final FeedIdDictionary.Domain domain;
+  @Nullable private final BitSet codes;
+  @Nullable private final Set<String> keys;
+
+  private ForeignKeyIndex(
+      @Nullable FeedIdDictionary.Domain domain,
+      @Nullable BitSet codes,
+      @Nullable Set<String> keys) {
+    this.domain = domain;
+    this.codes = codes;
+    this.keys = keys;
+  }
+
+  /**
+   * Creates a set of the keys of parent entities.
+   *
+   * @param idDictionary ids of the feed, or null if the tables were loaded without one
+   * @param domainName domain of the keys in {@code idDictionary}, or null if the keys are not ids
+   * @param parents entities of the parent table
+   * @param parentKey returns the key of a parent entity, or null if the entity has no key
+   * @param <P> entity class of the parent table
+   */
+  public static <P> ForeignKeyIndex create(
+      @Nullable FeedIdDictionary idDictionary,
+      @Nullable String domainName,
+      List<P> parents,
+      Function<P, String> parentKey) {
+    if (idDictionary != null && domainName != null) {
+      FeedIdDictionary.Domain domain = idDictionary.getDomain(domainName);
+      BitSet codes = new BitSet(domain.size());
+      for (P parent : parents) {
+        String key = parentKey.apply(parent);
+        if (key != null) {
+          // Parent keys are normally in the domain already, but tables that were built without the
+          // dictionary are added to it, so that a missing code always means a missing key.
+          codes.set(domain.encode(key));
+        }
+      }
+      return new ForeignKeyIndex(domain, codes, null);
+    }
+    Set<String> keys = new HashSet<>();
+    for (P parent : parents) {
+      String key = parentKey.apply(parent);
+      if (key != null) {
+        keys.add(key);
+      }
+    }
+    return new ForeignKeyIndex(null, null, keys);
+  }
+
+  /** Tells if the given key is a key of a parent entity. */
+  public boolean contains(String key) {
+    if (domain != null) {
+      int code = domain.codeOf(key);
+      return code >= 0 && codes.get(code);
+    }
+    return keys.contains(key);
+  }
+
+  /**
+   * Returns positions of the child entities that refer to keys that are not in this set.
+   *
+   * @param children entities of the child table
+   * @param childKey returns the foreign key of a child entity, or null if the entity has no
+   *     foreign key and should not be checked
+   * @param <C> entity class of the child table
+   * @return positions in {@code children} in ascending order
+   */
+  public <C> int[] findMissing(List<C> children, Function<C, String> childKey) {
+    final int size = children.size();
+    if (size <= CHUNK_SIZE) {
+      return findMissing(children, childKey, 0, size);
+    }
+    int[][] chunks =
+        IntStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE)
+            .parallel()
+            .mapToObj(
+                chunk ->
+                    findMissing(
+                        children,
+                        childKey,
+                        chunk * CHUNK_SIZE,
+                        Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+            .toArray(int[][]::new);
+    int total = 0;
+    for (int[] chunk : chunks) {
+      total += chunk.length;
+    }
+    int[] missing = new int[total];
+    int offset = 0;
+    for (int[] chunk : chunks) {
+      System.arraycopy(chunk, 0, missing, offset, chunk.length);
+      offset += chunk.length;
+    }
+    return missing;
+  }
+
+  private <C> int[] findMissing(
+      List<C> children, Function<C, String> childKey, int fromIndex, int toIndex) {
+    int[] missing = new int[0];
+    int count = 0;
+    for (int i = fromIndex; i < toIndex; ++i) {
+      String key = childKey.apply(children.get(i));
+      if (key == null || contains(key)) {
+        continue;
+      }
+      if (count == missing.length) {
+        missing = Arrays.copyOf(missing, Math.max(8, count * 2));
+      }
+      missing[count++] = i;
+    }
+    return count == missing.length ? missing : Arrays.copyOf(missing, count);
+  }
+}
@@ -23,6 +23,9 @@ import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
  *
  * <p>All methods of this validator store notices in the provided container. If an error is stored,
  * then the value is considered invalid.
+ *
+ * <p>The parser reuses the same {@link GtfsCellContext} for all cells of a file, so the context is
+ * only valid during the call. Validators copy its values into notices and do not keep it.
  */
 public interface GtfsFieldValidator {
 
@@ -37,6 +40,17 @@ public interface GtfsFieldValidator {
   String validateField(
       String fieldValue, GtfsCellContext cellContext, NoticeContainer noticeContainer);
 
+  /**
+   * Tells if {@link #validateField} returns non-empty values of printable ASCII characters without
+   * spaces unchanged and without notices.
+   *
+   * <p>If so, the parser may read numbers, dates and times from such values without calling {@link
+   * #validateField} and without creating strings for them.
+   */
+  default boolean acceptsPrintableAsciiFields() {
+    return false;
+  }
+
   /** Validates an ID field and adds notices to the container. */
   void validateId(String id, GtfsCellContext cellContext, NoticeContainer noticeContainer);
 
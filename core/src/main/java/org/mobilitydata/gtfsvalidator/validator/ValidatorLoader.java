@@ -23,12 +23,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
@@ -47,6 +49,9 @@ public class ValidatorLoader {
           Class<? extends GtfsEntityContainer<?, ?>>, Class<? extends FileValidator>>
       singleFileValidators = ArrayListMultimap.create();
   private final List<Class<? extends FileValidator>> multiFileValidators = new ArrayList<>();
+  private final Map<
+          Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+      multiFileValidatorTables = new LinkedHashMap<>();
 
   /** Create a validator with the specified validator classes loaded. */
   public static ValidatorLoader createForClasses(ImmutableList<Class<?>> validatorClasses)
@@ -86,6 +91,17 @@ public class ValidatorLoader {
     return multiFileValidators;
   }
 
+  /**
+   * Tables injected to cross-file validators, keyed by validator class.
+   *
+   * <p>Validators that are injected with the whole {@link GtfsFeedContainer} are not in the map.
+   */
+  public Map<
+          Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+      getMultiFileValidatorTables() {
+    return multiFileValidatorTables;
+  }
+
   @SuppressWarnings("unchecked")
   private <T extends SingleEntityValidator<?>> void addSingleEntityValidator(
       Class<T> validatorClass) {
@@ -129,6 +145,9 @@ public class ValidatorLoader {
       singleFileValidators.put(injectedTables.get(0), validatorClass);
     } else {
       multiFileValidators.add(validatorClass);
+      if (!injectFeedContainer) {
+        multiFileValidatorTables.put(validatorClass, ImmutableList.copyOf(injectedTables));
+      }
     }
   }
 
@@ -266,6 +285,10 @@ public class ValidatorLoader {
         }
         return container;
       }
+      if (feedContainer != null && parameterClass.isAssignableFrom(FeedIdDictionary.class)) {
+        // May be null if the feed was loaded without a shared dictionary.
+        return feedContainer.getIdDictionary();
+      }
       return context.get(parameterClass);
     }
   }
@@ -16,8 +16,12 @@
 
 package org.mobilitydata.gtfsvalidator.validator;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
@@ -78,4 +82,39 @@ public interface ValidatorProvider {
    */
   List<FileValidator> createMultiFileValidators(
       GtfsFeedContainer feed, Multimap<SkippedValidatorReason, Class<?>> skippedValidators);
+
+  /**
+   * Creates cross-table validators of the classes that match the given filter.
+   *
+   * <p>The feed may have only the tables that the matching validators are injected with, so that
+   * validators start while other tables are still loading. See {@link
+   * #getMultiFileValidatorTables}.
+   *
+   * <p>The default implementation creates all validators and keeps the matching ones.
+   *
+   * @param feed GTFS feed to validate
+   * @param validatorFilter tells which validator classes to create
+   * @param skippedValidators A map where to put the validators classes that did not run.
+   */
+  default List<FileValidator> createMultiFileValidators(
+      GtfsFeedContainer feed,
+      Predicate<Class<? extends FileValidator>> validatorFilter,
+      Multimap<SkippedValidatorReason, Class<?>> skippedValidators) {
+    List<FileValidator> validators = createMultiFileValidators(feed, skippedValidators);
+    validators.removeIf(validator -> !validatorFilter.test(validator.getClass()));
+    return validators;
+  }
+
+  /**
+   * Returns the tables that cross-table validators are injected with, keyed by validator class.
+   *
+   * <p>A validator in the map may be created as soon as its tables are loaded. Validators that are
+   * not in the map are created once the whole feed is loaded. The default implementation returns
+   * an empty map.
+   */
+  default Map<
+          Class<? extends FileValidator>, ImmutableList<Class<? extends GtfsEntityContainer<?, ?>>>>
+      getMultiFileValidatorTables() {
+    return ImmutableMap.of();
+  }
 }
@@ -16,20 +16,44 @@
 
 package org.mobilitydata.gtfsvalidator.validator;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.flogger.FluentLogger;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.RuntimeExceptionInValidatorError;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 
 /** Methods for calling one or multiple validators and handle runtime exceptions gracefully. */
 public final class ValidatorUtil {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+  /**
+   * Single-entity validators are measured on one row out of this many, because measuring every
+   * call would cost more than most of these validators.
+   */
+  private static final int SINGLE_ENTITY_SAMPLING = 32;
+
+  /** Number of groups that one thread validates at a time in a fused pass. */
+  static final int GROUPS_PER_TASK = 1 << 12;
+
   /**
    * Invokes all single-entity validators in the list.
    *
+   * <p>If a {@link PerformanceRegister} is bound to the current thread, then the validators are
+   * measured on a sample of rows and the usage is extrapolated to all rows. Invocations are counted
+   * on every row.
+   *
    * @param entity GTFS entity to validate
    * @param validators list of single-entity validators
    * @param noticeContainer container for accumulating notices
@@ -37,22 +61,194 @@ public final class ValidatorUtil {
    */
   public static <T extends GtfsEntity> void invokeSingleEntityValidators(
       T entity, List<SingleEntityValidator<T>> validators, NoticeContainer noticeContainer) {
+    PerformanceRegister performanceRegister = PerformanceRegister.current();
+    if (performanceRegister == null || entity.csvRowNumber() % SINGLE_ENTITY_SAMPLING != 0) {
+      for (SingleEntityValidator<T> validator : validators) {
+        validateAndCatch(
+            c -> validator.validate(entity, c), validator.getClass(), noticeContainer);
+        if (performanceRegister != null) {
+          performanceRegister.countValidatorInvocations(validator.getClass(), 1);
+        }
+      }
+      return;
+    }
     for (SingleEntityValidator<T> validator : validators) {
-      safeValidate(c -> validator.validate(entity, c), validator.getClass(), noticeContainer);
+      PerformanceRegister.Snapshot start = PerformanceRegister.snapshot();
+      validateAndCatch(c -> validator.validate(entity, c), validator.getClass(), noticeContainer);
+      performanceRegister.registerValidator(validator.getClass(), start, 1, SINGLE_ENTITY_SAMPLING);
     }
   }
 
   /**
    * Invokes single-file validators.
    *
+   * <p>{@link EntityGroupValidator}s over the same groups are invoked together with {@link
+   * #invokeEntityGroupValidators}, at the position of the first of them in the list.
+   *
    * @param validators list of single-file validators
    * @param noticeContainer container for accumulating notices
    * @param <T> type of the GTFS entity
    */
   public static <T extends GtfsEntity> void invokeSingleFileValidators(
       List<FileValidator> validators, NoticeContainer noticeContainer) {
+    for (List<FileValidator> fused : fuseEntityGroupValidators(validators)) {
+      invokeFusedValidators(fused, noticeContainer);
+    }
+  }
+
+  /**
+   * Splits validators into lists that are invoked together by {@link #invokeFusedValidators}.
+   *
+   * <p>{@link EntityGroupValidator}s over the same groups are in the same list, at the position of
+   * the first of them. Any other validator is alone in its list.
+   *
+   * @param validators single-file or multi-file validators
+   * @return lists of validators in the order of their first validator
+   */
+  public static List<List<FileValidator>> fuseEntityGroupValidators(
+      List<FileValidator> validators) {
+    Map<ListMultimap<String, ?>, List<FileValidator>> validatorsByGroups = new IdentityHashMap<>();
+    List<List<FileValidator>> fusedValidators = new ArrayList<>();
     for (FileValidator validator : validators) {
+      if (!(validator instanceof EntityGroupValidator)) {
+        fusedValidators.add(ImmutableList.of(validator));
+        continue;
+      }
+      ListMultimap<String, ?> groups = ((EntityGroupValidator<?>) validator).entityGroups();
+      List<FileValidator> fused = validatorsByGroups.get(groups);
+      if (fused == null) {
+        fused = new ArrayList<>();
+        validatorsByGroups.put(groups, fused);
+        fusedValidators.add(fused);
+      }
+      fused.add(validator);
+    }
+    return fusedValidators;
+  }
+
+  /**
+   * Invokes a list of validators from {@link #fuseEntityGroupValidators}.
+   *
+   * <p>A single validator is invoked with {@link #safeValidate}, and several entity group
+   * validators with {@link #invokeEntityGroupValidators}.
+   *
+   * @param validators a list of validators from {@link #fuseEntityGroupValidators}
+   * @param noticeContainer container for accumulating notices
+   */
+  @SuppressWarnings("unchecked")
+  public static void invokeFusedValidators(
+      List<FileValidator> validators, NoticeContainer noticeContainer) {
+    if (validators.size() == 1) {
+      FileValidator validator = validators.get(0);
       safeValidate(validator::validate, validator.getClass(), noticeContainer);
+      return;
+    }
+    // All validators return the same multimap, so they validate the same entity type.
+    invokeEntityGroupValidators(
+        (List<EntityGroupValidator<GtfsEntity>>) (List<?>) validators, noticeContainer);
+  }
+
+  /**
+   * Invokes entity group validators in a single pass over their groups.
+   *
+   * <p>Groups are split into tasks of {@link #GROUPS_PER_TASK} groups that run in parallel, and
+   * each task calls every validator on a group before moving to the next group. Each validator
+   * writes to its own container per task, and the containers are merged in the order of
+   * validators and then tasks, so {@code noticeContainer} receives notices in the same order as if
+   * the validators ran one after another.
+   *
+   * <p>After a validator raises an exception, a system error is stored and the validator is not
+   * called on the remaining groups. As in a sequential run, only the notices of the validator up to
+   * its first failure in the order of groups are kept, whichever task fails first. Notices that
+   * other tasks added to a {@link org.mobilitydata.gtfsvalidator.notice.NoticeSpill} in the
+   * meantime stay there.
+   *
+   * <p>If a {@link PerformanceRegister} is bound to the current thread, then the validators are
+   * measured on a sample of groups and the usage is extrapolated to all groups. Invocations are
+   * counted on every group. The register is not bound to the worker threads, so it is not {@link
+   * PerformanceRegister#current} for code that validators call on these threads.
+   *
+   * @param validators validators whose {@link EntityGroupValidator#entityGroups()} return the same
+   *     multimap
+   * @param noticeContainer container for accumulating notices
+   * @param <T> type of the GTFS entity
+   */
+  public static <T extends GtfsEntity> void invokeEntityGroupValidators(
+      List<EntityGroupValidator<T>> validators, NoticeContainer noticeContainer) {
+    if (validators.isEmpty()) {
+      return;
+    }
+    ListMultimap<String, T> groups = validators.get(0).entityGroups();
+    for (EntityGroupValidator<T> validator : validators) {
+      checkArgument(
+          validator.entityGroups() == groups,
+          "%s validates other groups",
+          validator.getClass().getSimpleName());
+    }
+    final List<Map.Entry<String, List<T>>> entries =
+        new ArrayList<>(Multimaps.asMap(groups).entrySet());
+    final int taskCount = (entries.size() + GROUPS_PER_TASK - 1) / GROUPS_PER_TASK;
+    final NoticeContainer[][] notices = new NoticeContainer[validators.size()][taskCount];
+    for (NoticeContainer[] validatorNotices : notices) {
+      for (int task = 0; task < taskCount; ++task) {
+        validatorNotices[task] = noticeContainer.createChildContainer();
+      }
+    }
+    // Worker threads have no register bound, so pass the one of the calling thread.
+    final PerformanceRegister performanceRegister = PerformanceRegister.current();
+    // Lowest task in which each validator failed. Notices of the validator in later tasks are
+    // dropped, so the result does not depend on which task fails first in time.
+    final AtomicIntegerArray failedTask = new AtomicIntegerArray(validators.size());
+    for (int v = 0; v < validators.size(); ++v) {
+      failedTask.set(v, Integer.MAX_VALUE);
+    }
+    IntStream tasks = IntStream.range(0, taskCount);
+    if (taskCount > 1) {
+      tasks = tasks.parallel();
+    }
+    tasks.forEach(
+        task -> {
+          int end = Math.min(entries.size(), (task + 1) * GROUPS_PER_TASK);
+          // Invocations that were not measured, counted once per task.
+          long[] unmeasuredInvocations = new long[validators.size()];
+          for (int i = task * GROUPS_PER_TASK; i < end; ++i) {
+            String key = entries.get(i).getKey();
+            List<T> entities = entries.get(i).getValue();
+            boolean measured = performanceRegister != null && i % SINGLE_ENTITY_SAMPLING == 0;
+            for (int v = 0; v < validators.size(); ++v) {
+              if (failedTask.get(v) <= task) {
+                continue;
+              }
+              EntityGroupValidator<T> validator = validators.get(v);
+              PerformanceRegister.Snapshot start = measured ? PerformanceRegister.snapshot() : null;
+              try {
+                validator.validateGroup(key, entities, notices[v][task]);
+              } catch (RuntimeException e) {
+                // Only the container of the lowest failing task is merged, so the error is
+                // reported once.
+                addRuntimeException(e, validator.getClass(), notices[v][task]);
+                failedTask.accumulateAndGet(v, task, Math::min);
+              }
+              if (measured) {
+                performanceRegister.registerValidator(
+                    validator.getClass(), start, 1, SINGLE_ENTITY_SAMPLING);
+              } else {
+                ++unmeasuredInvocations[v];
+              }
+            }
+          }
+          if (performanceRegister != null) {
+            for (int v = 0; v < validators.size(); ++v) {
+              performanceRegister.countValidatorInvocations(
+                  validators.get(v).getClass(), unmeasuredInvocations[v]);
+            }
+          }
+        });
+    for (int v = 0; v < validators.size(); ++v) {
+      int lastTask = Math.min(taskCount - 1, failedTask.get(v));
+      for (int task = 0; task <= lastTask; ++task) {
+        noticeContainer.addAll(notices[v][task]);
+      }
     }
   }
 
@@ -62,6 +258,9 @@ public final class ValidatorUtil {
    * <p>If the function raises an exception, then a system error is stored in the {@code
    * noticeContainer}.
    *
+   * <p>If a {@link PerformanceRegister} is bound to the current thread, then the resources used by
+   * the function are registered for {@code validatorClass}.
+   *
    * @param validate a function to invoke
    * @param validatorClass the class of the validator for debugging purposes
    * @param noticeContainer the container for storing notices
@@ -70,15 +269,34 @@ public final class ValidatorUtil {
       Consumer<NoticeContainer> validate,
       Class<?> validatorClass,
       NoticeContainer noticeContainer) {
+    PerformanceRegister performanceRegister = PerformanceRegister.current();
+    if (performanceRegister == null) {
+      validateAndCatch(validate, validatorClass, noticeContainer);
+      return;
+    }
+    PerformanceRegister.Snapshot start = PerformanceRegister.snapshot();
+    validateAndCatch(validate, validatorClass, noticeContainer);
+    performanceRegister.registerValidator(validatorClass, start, 1, 1);
+  }
+
+  private static void validateAndCatch(
+      Consumer<NoticeContainer> validate,
+      Class<?> validatorClass,
+      NoticeContainer noticeContainer) {
     try {
       validate.accept(noticeContainer);
     } catch (RuntimeException e) {
-      logger.atSevere().withCause(e).log(
-          "Runtime exception in validator %s", validatorClass.getCanonicalName());
-      noticeContainer.addSystemError(
-          new RuntimeExceptionInValidatorError(validatorClass.getCanonicalName(), e));
+      addRuntimeException(e, validatorClass, noticeContainer);
     }
   }
 
+  private static void addRuntimeException(
+      RuntimeException e, Class<?> validatorClass, NoticeContainer noticeContainer) {
+    logger.atSevere().withCause(e).log(
+        "Runtime exception in validator %s", validatorClass.getCanonicalName());
+    noticeContainer.addSystemError(
+        new RuntimeExceptionInValidatorError(validatorClass.getCanonicalName(), e));
+  }
+
   private ValidatorUtil() {}
 }
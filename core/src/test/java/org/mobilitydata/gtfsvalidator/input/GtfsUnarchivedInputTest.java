@@ -20,6 +20,8 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -53,4 +55,29 @@ public class GtfsUnarchivedInputTest {
       assertThat(gtfsInput.getFilenames()).containsExactly("noext");
     }
   }
+
+  @Test
+  public void mappedFileIsNullByDefault() throws IOException {
+    File rootDir = tmpDir.newFolder("unarchived");
+    tmpDir.newFile("unarchived/stops.txt");
+
+    try (GtfsInput gtfsInput = new GtfsUnarchivedInput(rootDir.toPath())) {
+      assertThat(gtfsInput.getMappedFile("stops.txt")).isNull();
+    }
+  }
+
+  @Test
+  public void memoryMappedFile() throws IOException {
+    File rootDir = tmpDir.newFolder("unarchived");
+    Files.writeString(rootDir.toPath().resolve("stops.txt"), "stop_id,stop_name\ns1,First stop\n");
+
+    try (GtfsInput gtfsInput = new GtfsUnarchivedInput(rootDir.toPath(), true);
+        MappedFile mappedFile = gtfsInput.getMappedFile("stops.txt")) {
+      assertThat(mappedFile.size()).isEqualTo(32);
+      assertThat(StandardCharsets.UTF_8.decode(mappedFile.map(18, 14)).toString())
+          .isEqualTo("s1,First stop\n");
+      assertThat(new String(mappedFile.newInputStream(3).readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo("p_id,stop_name\ns1,First stop\n");
+    }
+  }
 }
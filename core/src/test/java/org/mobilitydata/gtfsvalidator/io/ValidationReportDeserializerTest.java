@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.io;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.ResolvedNotice;
+import org.mobilitydata.gtfsvalidator.notice.SeverityLevel;
+import org.mobilitydata.gtfsvalidator.notice.ValidationNotice;
+
+@RunWith(JUnit4.class)
+public class ValidationReportDeserializerTest {
+
+  private static final Gson GSON = new Gson();
+
+  /** Output of the report being written. */
+  private static StringWriter output;
+
+  /** Mapping keys of the notices whose JSON trees were built. */
+  private static Set<String> serializedGroups;
+
+  /** Largest number of groups that were serialized but not written yet. */
+  private static int maxGroupsInMemory;
+
+  /** Records how many groups are in memory when its JSON tree is built. */
+  private abstract static class TrackedNotice extends ValidationNotice {
+    private final transient String mappingKey;
+    private final int index;
+
+    TrackedNotice(SeverityLevel severityLevel, int index) {
+      this.mappingKey = getCode() + severityLevel;
+      this.index = index;
+    }
+
+    @Override
+    public JsonElement toJsonTree() {
+      serializedGroups.add(mappingKey);
+      int groupsInMemory = serializedGroups.size() - countWrittenGroups();
+      synchronized (ValidationReportDeserializerTest.class) {
+        maxGroupsInMemory = Math.max(maxGroupsInMemory, groupsInMemory);
+      }
+      return super.toJsonTree();
+    }
+  }
+
+  private static class FirstTrackedNotice extends TrackedNotice {
+    FirstTrackedNotice(SeverityLevel severityLevel, int index) {
+      super(severityLevel, index);
+    }
+  }
+
+  private static class SecondTrackedNotice extends TrackedNotice {
+    SecondTrackedNotice(SeverityLevel severityLevel, int index) {
+      super(severityLevel, index);
+    }
+  }
+
+  private static int countWrittenGroups() {
+    String written = output.toString();
+    int count = 0;
+    for (int i = written.indexOf("\"sampleNotices\""); i >= 0; ) {
+      // A group is written once its samples are closed.
+      int end = written.indexOf(']', i);
+      if (end < 0) {
+        break;
+      }
+      ++count;
+      i = written.indexOf("\"sampleNotices\"", end);
+    }
+    return count;
+  }
+
+  private static List<ResolvedNotice<TrackedNotice>> createNotices(int noticesPerGroup) {
+    List<ResolvedNotice<TrackedNotice>> notices = new ArrayList<>();
+    for (SeverityLevel severityLevel :
+        new SeverityLevel[] {SeverityLevel.INFO, SeverityLevel.WARNING, SeverityLevel.ERROR}) {
+      for (int i = 0; i < noticesPerGroup; ++i) {
+        notices.add(new ResolvedNotice<>(new FirstTrackedNotice(severityLevel, i), severityLevel));
+        notices.add(new ResolvedNotice<>(new SecondTrackedNotice(severityLevel, i), severityLevel));
+      }
+    }
+    return notices;
+  }
+
+  private static Map<String, Integer> countNotices(List<ResolvedNotice<TrackedNotice>> notices) {
+    Map<String, Integer> counts = new HashMap<>();
+    for (ResolvedNotice<TrackedNotice> notice : notices) {
+      counts.merge(notice.getMappingKey(), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  private static String write(
+      List<ResolvedNotice<TrackedNotice>> notices, int maxExports, int maxReportsInFlight)
+      throws IOException {
+    JsonWriter writer = ValidationReportDeserializer.newJsonWriter(GSON, output);
+    ValidationReportDeserializer.write(
+        notices, maxExports, countNotices(notices), GSON, writer, maxReportsInFlight);
+    writer.flush();
+    return output.toString();
+  }
+
+  private static String serialize(List<ResolvedNotice<TrackedNotice>> notices, int maxExports) {
+    return GSON.toJson(
+        ValidationReportDeserializer.serialize(notices, maxExports, countNotices(notices))
+            .get("notices"));
+  }
+
+  @Before
+  public void setUp() {
+    output = new StringWriter();
+    serializedGroups = ConcurrentHashMap.newKeySet();
+    maxGroupsInMemory = 0;
+  }
+
+  @Test
+  public void write_sequential_serializesOneGroupAtATime() throws IOException {
+    List<ResolvedNotice<TrackedNotice>> notices = createNotices(5);
+
+    String written = write(notices, 3, 1);
+
+    assertThat(serializedGroups).hasSize(6);
+    assertThat(maxGroupsInMemory).isEqualTo(1);
+    assertThat(written).isEqualTo(serialize(notices, 3));
+  }
+
+  @Test
+  public void write_parallel_serializesBoundedWindowOfGroups() throws IOException {
+    List<ResolvedNotice<TrackedNotice>> notices = createNotices(5);
+
+    String written = write(notices, 3, 2);
+
+    assertThat(serializedGroups).hasSize(6);
+    assertThat(maxGroupsInMemory).isAtMost(2);
+    assertThat(written).isEqualTo(serialize(notices, 3));
+  }
+}
@@ -19,10 +19,20 @@ package org.mobilitydata.gtfsvalidator.notice;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.io.ValidationReportDeserializer;
 import org.mobilitydata.gtfsvalidator.notice.testnotices.DoubleFieldNotice;
 import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
 
@@ -199,4 +209,112 @@ public class NoticeContainerTest {
                 + "\",\"totalNotices\":55,\"sampleNotices\":[{\"someField\":\"1\"},{\"someField"
                 + "\":\"1\"},{\"someField\":\"1\"}]}]}");
   }
+
+  @Test
+  public void writeNotices_sameAsExport() throws IOException {
+    NoticeContainer container = new NoticeContainer(26, 8, 3);
+    for (int i = 0; i < 5; i++) {
+      container.addValidationNotice(new StringFieldNotice("<" + i + ">"));
+      container.addValidationNotice(new DoubleFieldNotice(Double.NaN));
+      container.addValidationNoticeWithSeverity(new StringFieldNotice("3"), SeverityLevel.INFO);
+    }
+    container.addSystemError(
+        new RuntimeExceptionInValidatorError(
+            "FaultyValidator", new IndexOutOfBoundsException("Index 0 out of bounds")));
+
+    for (Gson gson : ImmutableList.of(new Gson(), new GsonBuilder().setPrettyPrinting().create())) {
+      StringWriter validationNotices = new StringWriter();
+      JsonWriter writer = ValidationReportDeserializer.newJsonWriter(gson, validationNotices);
+      writer.beginObject();
+      writer.name("notices");
+      container.writeValidationNotices(gson, writer);
+      writer.endObject();
+      writer.flush();
+      StringWriter systemErrors = new StringWriter();
+      container.writeSystemErrors(gson, systemErrors);
+
+      assertThat(validationNotices.toString())
+          .isEqualTo(gson.toJson(container.exportValidationNotices()));
+      assertThat(systemErrors.toString()).isEqualTo(gson.toJson(container.exportSystemErrors()));
+    }
+  }
+
+  @Test
+  public void groupNoticesByTypeAndSeverity_largeList_keepsOrder() {
+    NoticeContainer container = new NoticeContainer();
+    List<ValidationNotice> stringNotices = new ArrayList<>();
+    List<ValidationNotice> doubleNotices = new ArrayList<>();
+    for (int i = 0; i < 2 * NoticeContainer.MIN_NOTICES_FOR_PARALLEL_EXPORT; i++) {
+      stringNotices.add(new StringFieldNotice(Integer.toString(i)));
+      doubleNotices.add(new DoubleFieldNotice(i));
+      container.addValidationNotice(stringNotices.get(i));
+      container.addValidationNotice(doubleNotices.get(i));
+    }
+
+    ListMultimap<String, ResolvedNotice<ValidationNotice>> noticesByType =
+        NoticeContainer.groupNoticesByTypeAndSeverity(container.getResolvedValidationNotices());
+
+    String stringKey = NoticeType.of(StringFieldNotice.class).getMappingKey(SeverityLevel.ERROR);
+    String doubleKey = NoticeType.of(DoubleFieldNotice.class).getMappingKey(SeverityLevel.ERROR);
+    assertThat(noticesByType.keySet()).containsExactly(doubleKey, stringKey).inOrder();
+    assertThat(Lists.transform(noticesByType.get(stringKey), ResolvedNotice::getContext))
+        .containsExactlyElementsIn(stringNotices)
+        .inOrder();
+    assertThat(Lists.transform(noticesByType.get(doubleKey), ResolvedNotice::getContext))
+        .containsExactlyElementsIn(doubleNotices)
+        .inOrder();
+  }
+
+  @Test
+  public void clear_allowsReuse() {
+    NoticeContainer rowNotices = new NoticeContainer();
+    NoticeContainer fileNotices = new NoticeContainer();
+    rowNotices.addValidationNotice(new MissingRequiredFileNotice("stops.txt"));
+    fileNotices.addAll(rowNotices);
+    rowNotices.clear();
+
+    assertThat(rowNotices.isEmpty()).isTrue();
+    assertThat(rowNotices.hasValidationErrors()).isFalse();
+    assertThat(fileNotices.getValidationNotices())
+        .containsExactly(new MissingRequiredFileNotice("stops.txt"));
+
+    rowNotices.addValidationNotice(new MissingRecommendedFileNotice("feed_info.txt"));
+    fileNotices.addAll(rowNotices);
+    assertThat(rowNotices.hasValidationWarnings()).isTrue();
+    assertThat(fileNotices.getValidationNotices())
+        .containsExactly(
+            new MissingRequiredFileNotice("stops.txt"),
+            new MissingRecommendedFileNotice("feed_info.txt"))
+        .inOrder();
+  }
+
+  @Test
+  public void createBounded_keepsExportedNoticesWithExactCounts() {
+    NoticeContainer container = NoticeContainer.createBounded(null);
+    NoticeContainer child = container.createChildContainer();
+    for (int i = 0; i < 1500; i++) {
+      container.addValidationNotice(new StringFieldNotice(Integer.toString(i)));
+      child.addValidationNotice(new StringFieldNotice(Integer.toString(i)));
+    }
+    NoticeContainer rowNotices = new NoticeContainer();
+    rowNotices.addValidationNotice(new StringFieldNotice("row"));
+    child.addAll(rowNotices);
+    container.addAll(child);
+
+    assertThat(container.retainsExportedNoticesOnly()).isTrue();
+    assertThat(child.getValidationNotices()).hasSize(1000);
+    assertThat(container.getValidationNotices()).hasSize(1000);
+    assertThat(container.getValidationNoticeCount()).isEqualTo(3001);
+    assertThat(container.getValidationNoticeCount(SeverityLevel.ERROR)).isEqualTo(3001);
+    assertThat(container.getValidationNoticeCount("string_field", SeverityLevel.ERROR))
+        .isEqualTo(3001);
+    assertThat(
+            container
+                .createValidationReport(container.getResolvedValidationNotices())
+                .getNotices()
+                .iterator()
+                .next()
+                .getTotalNotices())
+        .isEqualTo(3001);
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
+
+@RunWith(JUnit4.class)
+public class NoticeSpillTest {
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void boundedContainer_writesAllNoticesOnce() throws IOException {
+    Path path = tmpDir.getRoot().toPath().resolve("notices.jsonl.gz");
+    NoticeSpill spill = NoticeSpill.create(path);
+    NoticeContainer container = NoticeContainer.createBounded(spill);
+    NoticeContainer child = container.createChildContainer();
+    for (int i = 0; i < 1500; i++) {
+      child.addValidationNotice(new StringFieldNotice(Integer.toString(i)));
+    }
+    NoticeContainer rowNotices = new NoticeContainer();
+    rowNotices.addValidationNotice(new MissingRequiredFileNotice("stops.txt"));
+    child.addAll(rowNotices);
+    container.addAll(child);
+    spill.close();
+
+    List<JsonObject> notices = new ArrayList<>();
+    NoticeSpill.read(path, notices::add);
+
+    assertThat(spill.getNoticeCount()).isEqualTo(1501);
+    assertThat(notices).hasSize(1501);
+    assertThat(container.getValidationNotices()).hasSize(1001);
+    assertThat(notices.get(1499).get("code").getAsString()).isEqualTo("string_field");
+    assertThat(notices.get(1499).get("severity").getAsString()).isEqualTo("ERROR");
+    assertThat(notices.get(1499).getAsJsonObject("context").get("someField").getAsString())
+        .isEqualTo("1499");
+    assertThat(notices.get(1500).get("code").getAsString()).isEqualTo("missing_required_file");
+  }
+
+  @Test
+  public void close_dropsLaterNotices() throws IOException {
+    Path path = tmpDir.getRoot().toPath().resolve("notices.jsonl.gz");
+    NoticeSpill spill = NoticeSpill.create(path);
+    NoticeContainer container = NoticeContainer.createBounded(spill);
+    container.addValidationNotice(new StringFieldNotice("1"));
+    spill.close();
+    container.addValidationNotice(new StringFieldNotice("2"));
+
+    List<JsonObject> notices = new ArrayList<>();
+    NoticeSpill.read(path, notices::add);
+
+    assertThat(notices).hasSize(1);
+    assertThat(container.getValidationNoticeCount()).isEqualTo(2);
+  }
+}
@@ -98,4 +98,31 @@ public class NoticeTest {
       this.someField = someField;
     }
   }
+
+  @Test
+  public void toJsonTree_sameAsGson() {
+    ForeignKeyViolationNotice notice =
+        new ForeignKeyViolationNotice("trips.txt", "route_id", "routes.txt", "route_id", "r1", 5);
+
+    assertThat(notice.toJsonTree()).isEqualTo(Notice.GSON.toJsonTree(notice));
+    assertThat(notice.toString()).isEqualTo(Notice.GSON.toJsonTree(notice).toString());
+  }
+
+  @Test
+  public void equals_doubleFields_sameAsJson() {
+    assertThat(new DoubleFieldNotice(0.0)).isEqualTo(new DoubleFieldNotice(-0.0));
+    assertThat(new DoubleFieldNotice(0.0).hashCode())
+        .isEqualTo(new DoubleFieldNotice(-0.0).hashCode());
+    assertThat(new DoubleFieldNotice(Double.NaN)).isEqualTo(new DoubleFieldNotice(Double.NaN));
+    assertThat(new DoubleFieldNotice(1.0)).isNotEqualTo(new DoubleFieldNotice(2.0));
+  }
+
+  @Test
+  public void hashCode_equalNotices() {
+    assertThat(new StringFieldNotice("value1").hashCode())
+        .isEqualTo(new StringFieldNotice("value1").hashCode());
+    assertThat(new StringFieldNotice(null)).isEqualTo(new StringFieldNotice(null));
+    assertThat(new StringFieldNotice(null).hashCode())
+        .isEqualTo(new StringFieldNotice(null).hashCode());
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.notice;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.DoubleFieldNotice;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
+
+@RunWith(JUnit4.class)
+public class NoticeTypeTest {
+
+  @Test
+  public void of_returnsSameTypeForClass() {
+    NoticeType type = NoticeType.of(StringFieldNotice.class);
+
+    assertThat(type.getCode()).isEqualTo("string_field");
+    assertThat(NoticeType.of(StringFieldNotice.class)).isSameInstanceAs(type);
+    assertThat(NoticeType.findByCode("string_field")).isSameInstanceAs(type);
+    assertThat(NoticeType.byId(type.getId())).isSameInstanceAs(type);
+  }
+
+  @Test
+  public void of_assignsDenseIds() {
+    NoticeType stringType = NoticeType.of(StringFieldNotice.class);
+    NoticeType doubleType = NoticeType.of(DoubleFieldNotice.class);
+
+    assertThat(stringType.getId()).isNotEqualTo(doubleType.getId());
+    assertThat(stringType.getId()).isLessThan(NoticeType.count());
+    assertThat(doubleType.getId()).isLessThan(NoticeType.count());
+  }
+
+  @Test
+  public void getMappingKey_matchesResolvedNotice() {
+    ResolvedNotice<StringFieldNotice> notice =
+        new ResolvedNotice<>(new StringFieldNotice("value"), SeverityLevel.WARNING);
+
+    assertThat(notice.getType().getMappingKey(SeverityLevel.WARNING)).isEqualTo("string_field1");
+    assertThat(notice.getMappingKey()).isEqualTo("string_field1");
+    assertThat(notice.getCountIndex())
+        .isEqualTo(
+            notice.getType().getId() * NoticeType.SEVERITY_LEVEL_COUNT
+                + SeverityLevel.WARNING.ordinal());
+  }
+
+  @Test
+  public void findByCode_unknownCode_returnsNull() {
+    assertThat(NoticeType.findByCode("no_such_code")).isNull();
+  }
+}
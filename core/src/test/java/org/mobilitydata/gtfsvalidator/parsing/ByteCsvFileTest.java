@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mobilitydata.gtfsvalidator.TestUtils.toInputStream;
+
+import com.google.common.primitives.Bytes;
+import com.univocity.parsers.csv.CsvParserSettings;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import org.apache.commons.io.ByteOrderMark;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.annotation.FieldLevelEnum;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsColumnDescriptor;
+import org.mobilitydata.gtfsvalidator.validator.DefaultFieldValidator;
+
+@RunWith(JUnit4.class)
+public class ByteCsvFileTest {
+
+  private static final GtfsColumnDescriptor COLUMN_DESCRIPTOR =
+      new GtfsColumnDescriptor() {
+        @Override
+        public String columnName() {
+          return "value";
+        }
+
+        @Override
+        public boolean headerRequired() {
+          return false;
+        }
+
+        @Override
+        public FieldLevelEnum fieldLevel() {
+          return FieldLevelEnum.REQUIRED;
+        }
+
+        @Override
+        public Optional<RowParser.NumberBounds> numberBounds() {
+          return Optional.empty();
+        }
+
+        @Override
+        public boolean isCached() {
+          return false;
+        }
+
+        @Override
+        public boolean isMixedCase() {
+          return false;
+        }
+      };
+
+  private static ByteCsvFile byteCsvFile(String content) {
+    return new ByteCsvFile(
+        ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)),
+        "stops.txt",
+        CsvFile.createDefaultParserSettings());
+  }
+
+  private static CsvFile csvFile(String content) {
+    return new CsvFile(toInputStream(content), "stops.txt");
+  }
+
+  /** Returns row numbers and values of all rows. */
+  private static List<String> describeRows(Iterable<CsvRow> rows) {
+    List<String> descriptions = new ArrayList<>();
+    for (CsvRow row : rows) {
+      String[] values = new String[row.getColumnCount()];
+      for (int i = 0; i < values.length; ++i) {
+        values[i] = row.asString(i);
+      }
+      descriptions.add(row.getRowNumber() + ":" + Arrays.toString(values));
+    }
+    return descriptions;
+  }
+
+  private static void assertSameAsCsvFile(String content) {
+    ByteCsvFile byteCsvFile = byteCsvFile(content);
+    CsvFile csvFile = csvFile(content);
+    assertThat(byteCsvFile.isEmpty()).isEqualTo(csvFile.isEmpty());
+    assertThat(byteCsvFile.getHeader().getColumnNames())
+        .isEqualTo(csvFile.getHeader().getColumnNames());
+    assertThat(describeRows(byteCsvFile))
+        .containsExactlyElementsIn(describeRows(csvFile))
+        .inOrder();
+  }
+
+  @Test
+  public void emptyFile() {
+    assertThat(byteCsvFile("").isEmpty()).isTrue();
+    assertThat(byteCsvFile("\n\n").isEmpty()).isTrue();
+  }
+
+  @Test
+  public void sameRowsAsCsvFile() {
+    assertSameAsCsvFile("stop_id,stop_name,stop_lat\n" + "s1,First stop,3.21\n" + "s2,,1.31\n");
+    assertSameAsCsvFile("stop_id,stop_name\r\n" + "s1,First stop\r\n" + "s2,Second stop\r\n");
+    assertSameAsCsvFile("col0,col1,col2\n" + "a,,\"\",b\n" + "c, d ,\te\t\n");
+    assertSameAsCsvFile("stop_id,stop_name\n" + "s1,Первая остановка\n" + "s2,\"Вторая\"\n");
+    assertSameAsCsvFile(
+        "trip_id,stop_headsign\n"
+            + "t1,\"first\nline\"\n"
+            + "\n"
+            + "\n"
+            + "t2,\"with \"\"quotes\"\"\" \n");
+  }
+
+  @Test
+  public void byteOrderMark() {
+    ByteCsvFile file =
+        new ByteCsvFile(
+            ByteBuffer.wrap(
+                Bytes.concat(
+                    ByteOrderMark.UTF_8.getBytes(),
+                    "stop_id,stop_name\ns1,First stop\n".getBytes(StandardCharsets.UTF_8))),
+            "stops.txt",
+            CsvFile.createDefaultParserSettings());
+
+    assertThat(file.getHeader().getColumnNames()).asList().containsExactly("stop_id", "stop_name");
+    assertThat(describeRows(file)).containsExactly("2:[s1, First stop]");
+  }
+
+  @Test
+  public void malformedUtf8IsReplaced() {
+    ByteCsvFile file =
+        new ByteCsvFile(
+            ByteBuffer.wrap(
+                Bytes.concat(
+                    "stop_id,stop_name\ns1,a".getBytes(StandardCharsets.UTF_8),
+                    new byte[] {(byte) 0xFF},
+                    "b\n".getBytes(StandardCharsets.UTF_8))),
+            "stops.txt",
+            CsvFile.createDefaultParserSettings());
+
+    assertThat(describeRows(file)).containsExactly("2:[s1, a\uFFFDb]");
+  }
+
+  @Test
+  public void unsupportedSyntax() {
+    for (String content :
+        new String[] {
+          "id,name\n1,5\" screen\n",
+          "id,name\n1,\"unterminated\n",
+          "id,name\n1,\"quoted\" text\n",
+          "id,name\n1,\"a\r\nb\"\n",
+          "id,name\n1,a\u0001\n",
+          "id,name\n   \n",
+          "id,name\n1,no new line",
+        }) {
+      assertThrows(
+          ByteCsvFile.UnsupportedSyntaxException.class, () -> describeRows(byteCsvFile(content)));
+    }
+  }
+
+  @Test
+  public void tooLongValueIsUnsupported() {
+    CsvParserSettings settings = CsvFile.createDefaultParserSettings();
+    settings.setMaxCharsPerColumn(4);
+    ByteCsvFile file =
+        new ByteCsvFile(
+            ByteBuffer.wrap("id\nabcdef\n".getBytes(StandardCharsets.UTF_8)),
+            "stops.txt",
+            settings);
+
+    assertThrows(ByteCsvFile.UnsupportedSyntaxException.class, () -> describeRows(file));
+  }
+
+  @Test
+  public void forChunk() {
+    ByteCsvFile file =
+        ByteCsvFile.forChunk(
+            ByteBuffer.wrap("s3,c\ns4,d\n".getBytes(StandardCharsets.UTF_8)),
+            "stops.txt",
+            CsvFile.createDefaultParserSettings(),
+            new CsvHeader(new String[] {"stop_id", "stop_name"}),
+            3);
+
+    assertThat(describeRows(file)).containsExactly("4:[s3, c]", "5:[s4, d]").inOrder();
+  }
+
+  /**
+   * Parses the single value with {@link RowParser} over a {@link ByteCsvRow} and over a {@link
+   * CsvRow} and checks that both the results and the notices are equal.
+   */
+  private static <T> void assertParsedSameAsString(
+      String value, BiFunction<RowParser, Integer, T> parse) {
+    String content = "value\n" + value + "\n";
+    DefaultFieldValidator fieldValidator =
+        new DefaultFieldValidator(CountryCode.forStringOrUnknown("US"));
+
+    ByteCsvFile byteCsvFile = byteCsvFile(content);
+    RowParser byteParser = new RowParser("stops.txt", byteCsvFile.getHeader(), fieldValidator);
+    NoticeContainer byteNotices = new NoticeContainer();
+    byteParser.setRow(byteCsvFile.iterator().next(), byteNotices);
+    T byteResult = parse.apply(byteParser, 0);
+
+    CsvFile csvFile = csvFile(content);
+    RowParser stringParser = new RowParser("stops.txt", csvFile.getHeader(), fieldValidator);
+    NoticeContainer stringNotices = new NoticeContainer();
+    stringParser.setRow(csvFile.iterator().next(), stringNotices);
+    T stringResult = parse.apply(stringParser, 0);
+
+    assertThat(byteResult).isEqualTo(stringResult);
+    assertThat(byteNotices.getValidationNotices())
+        .containsExactlyElementsIn(stringNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void parsesIntegersFromBytes() {
+    for (String value :
+        new String[] {
+          "0", "42", "+7", "-13", "2147483647", "-2147483648", "2147483648", "1.5", "-"
+        }) {
+      assertParsedSameAsString(value, (p, i) -> p.asInteger(i, COLUMN_DESCRIPTOR));
+    }
+  }
+
+  @Test
+  public void parsesFloatsFromBytes() {
+    for (String value :
+        new String[] {
+          "0", "-0", "3.21", "-73.5673", "45.50884", ".5", "1.", "0.1", "9007199254740993", "1e5",
+          "NaN", "1.2.3", "\"12.5\"", " 12.5 "
+        }) {
+      assertParsedSameAsString(value, (p, i) -> p.asFloat(i, COLUMN_DESCRIPTOR));
+    }
+  }
+
+  @Test
+  public void parsesTimesFromBytes() {
+    for (String value :
+        new String[] {
+          "8:05:00", "08:05:00", "125:00:59", "12:60:00", "12:00:60", "1234:00:00", "x"
+        }) {
+      assertParsedSameAsString(value, (p, i) -> p.asTime(i, COLUMN_DESCRIPTOR));
+    }
+  }
+
+  @Test
+  public void parsesDatesFromBytes() {
+    for (String value : new String[] {"20210102", "20210230", "2021010", "2021+102", "abcdefgh"}) {
+      assertParsedSameAsString(value, (p, i) -> p.asDate(i, COLUMN_DESCRIPTOR));
+    }
+  }
+}
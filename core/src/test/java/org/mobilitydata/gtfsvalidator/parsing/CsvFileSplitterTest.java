@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mobilitydata.gtfsvalidator.TestUtils.toInputStream;
+
+import com.google.common.primitives.Bytes;
+import com.univocity.parsers.csv.CsvParserSettings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.ByteOrderMark;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.input.MappedFile;
+
+@RunWith(JUnit4.class)
+public class CsvFileSplitterTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static List<String> split(String content, int chunkSize) throws IOException {
+    return readChunks(new CsvFileSplitter(toInputStream(content), chunkSize));
+  }
+
+  private List<String> splitMapped(byte[] content, int chunkSize) throws IOException {
+    Path path = tmpDir.newFile().toPath();
+    Files.write(path, content);
+    try (MappedFile mappedFile = MappedFile.open(path)) {
+      return readChunks(new CsvFileSplitter(mappedFile, chunkSize));
+    }
+  }
+
+  private static List<String> readChunks(CsvFileSplitter splitter) throws IOException {
+    List<String> chunks = new ArrayList<>();
+    CsvFileSplitter.Chunk chunk;
+    while ((chunk = splitter.next()) != null) {
+      chunks.add(new String(chunk.newInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+    return chunks;
+  }
+
+  /** Returns row numbers and values of all rows, parsing the content as chunks. */
+  private static List<String> parseInChunks(String content, int chunkSize) {
+    CsvFileSplitter splitter = new CsvFileSplitter(toInputStream(content), chunkSize);
+    CsvParserSettings settings = CsvFile.createDefaultParserSettings();
+    CsvFileSplitter.Chunk chunk = splitter.next();
+    CsvFile csvFile = new CsvFile(chunk.newInputStream(), "stop_times.txt", settings);
+    List<String> rows = new ArrayList<>(describeRows(csvFile));
+    while ((chunk = splitter.next()) != null) {
+      rows.addAll(
+          describeRows(
+              CsvFile.forChunk(
+                  chunk.newInputStream(),
+                  "stop_times.txt",
+                  settings,
+                  csvFile.getHeader(),
+                  chunk.getLineNumberOffset())));
+    }
+    return rows;
+  }
+
+  private static List<String> describeRows(CsvFile csvFile) {
+    List<String> rows = new ArrayList<>();
+    for (CsvRow row : csvFile) {
+      String[] values = new String[row.getColumnCount()];
+      for (int i = 0; i < values.length; ++i) {
+        values[i] = row.asString(i);
+      }
+      rows.add(row.getRowNumber() + ":" + Arrays.toString(values));
+    }
+    return rows;
+  }
+
+  @Test
+  public void emptyFile() throws IOException {
+    assertThat(split("", 8)).isEmpty();
+  }
+
+  @Test
+  public void smallFileIsSingleChunk() throws IOException {
+    assertThat(split("trip_id,stop_id\nt1,s1\n", 1024)).containsExactly("trip_id,stop_id\nt1,s1\n");
+  }
+
+  @Test
+  public void splitsAtRecordBoundaries() throws IOException {
+    assertThat(split("trip_id,stop_id\nt1,s1\nt2,s2\nt3,s3", 8))
+        .containsExactly("trip_id,stop_id\nt1,s1\nt2,s2\n", "t3,s3")
+        .inOrder();
+  }
+
+  @Test
+  public void doesNotSplitInsideQuotedValue() throws IOException {
+    assertThat(split("id,name\n1,\"a\nb\nc\"\n2,\"d\"\"\ne\"\n3,f\n", 4))
+        .containsExactly("id,name\n", "1,\"a\nb\nc\"\n", "2,\"d\"\"\ne\"\n", "3,f\n")
+        .inOrder();
+  }
+
+  @Test
+  public void keepsEmptyLinesWithPrecedingRecord() throws IOException {
+    assertThat(split("id,name\n1,a\n\n\n2,b\n", 4))
+        .containsExactly("id,name\n1,a\n\n\n", "2,b\n")
+        .inOrder();
+  }
+
+  @Test
+  public void stopsSplittingAfterAmbiguousQuote() throws IOException {
+    assertThat(split("id,name\n1,a\n2,5\" screen\n3,b\n4,c\n", 4))
+        .containsExactly("id,name\n1,a\n", "2,5\" screen\n3,b\n4,c\n")
+        .inOrder();
+  }
+
+  @Test
+  public void unsplittableTailIsNotBuffered() throws IOException {
+    StringBuilder content = new StringBuilder("id,name\n1,a\n2,5\" screen\n");
+    for (int i = 3; i < 1000; ++i) {
+      content.append(i).append(",b\n");
+    }
+    ByteArrayInputStream input =
+        new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8));
+    CsvFileSplitter splitter = new CsvFileSplitter(input, 16);
+
+    CsvFileSplitter.Chunk head = splitter.next();
+    CsvFileSplitter.Chunk tail = splitter.next();
+
+    assertThat(head.asByteBuffer()).isNotNull();
+    // The tail reads the rest of the input only when it is parsed.
+    assertThat(tail.asByteBuffer()).isNull();
+    assertThat(input.available()).isGreaterThan(content.length() / 2);
+    assertThat(
+            new String(head.newInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                + new String(tail.newInputStream().readAllBytes(), StandardCharsets.UTF_8))
+        .isEqualTo(content.toString());
+    assertThat(splitter.next()).isNull();
+  }
+
+  @Test
+  public void removesByteOrderMark() throws IOException {
+    CsvFileSplitter splitter =
+        new CsvFileSplitter(
+            new ByteArrayInputStream(
+                Bytes.concat(
+                    ByteOrderMark.UTF_8.getBytes(),
+                    "id,name\n1,a\n".getBytes(StandardCharsets.UTF_8))),
+            1024);
+
+    assertThat(new String(splitter.next().newInputStream().readAllBytes(), StandardCharsets.UTF_8))
+        .isEqualTo("id,name\n1,a\n");
+    assertThat(splitter.next()).isNull();
+  }
+
+  @Test
+  public void chunkOffsets() {
+    CsvFileSplitter splitter = new CsvFileSplitter(toInputStream("id,name\n1,\"ä\nb\"\n2,c\n"), 4);
+
+    CsvFileSplitter.Chunk chunk = splitter.next();
+    assertThat(chunk.getLineNumberOffset()).isEqualTo(0);
+    assertThat(chunk.getCharOffset()).isEqualTo(0);
+    chunk = splitter.next();
+    assertThat(chunk.getLineNumberOffset()).isEqualTo(1);
+    assertThat(chunk.getCharOffset()).isEqualTo(8);
+    chunk = splitter.next();
+    assertThat(chunk.getLineNumberOffset()).isEqualTo(3);
+    assertThat(chunk.getCharOffset()).isEqualTo(16);
+  }
+
+  @Test
+  public void rowNumbersMatchWholeFile() {
+    String content =
+        "trip_id,stop_headsign\n"
+            + "t1,\"first\nline\"\n"
+            + "\n"
+            + "t2,second\r\n"
+            + "t3,\"with \"\"quotes\"\"\"\n"
+            + "t4,fourth";
+
+    List<String> wholeFile =
+        describeRows(
+            new CsvFile(
+                toInputStream(content),
+                "stop_times.txt",
+                CsvFile.createDefaultParserSettings()));
+    assertThat(parseInChunks(content, 4)).containsExactlyElementsIn(wholeFile).inOrder();
+  }
+
+  @Test
+  public void splitsMappedFile() throws IOException {
+    byte[] content = "trip_id,stop_id\nt1,s1\nt2,s2\nt3,s3".getBytes(StandardCharsets.UTF_8);
+    assertThat(splitMapped(content, 8))
+        .containsExactly("trip_id,stop_id\nt1,s1\nt2,s2\n", "t3,s3")
+        .inOrder();
+    assertThat(splitMapped(new byte[0], 8)).isEmpty();
+  }
+
+  @Test
+  public void mappedChunksHaveSameContentAsStream() throws IOException {
+    for (String content :
+        new String[] {
+          "id,name\n1,\"a\nb\nc\"\n2,\"d\"\"\ne\"\n3,f\n",
+          "id,name\n1,a\n2,5\" screen\n3,b\n4,c\n"
+        }) {
+      assertThat(String.join("", splitMapped(content.getBytes(StandardCharsets.UTF_8), 4)))
+          .isEqualTo(String.join("", split(content, 4)));
+    }
+  }
+
+  @Test
+  public void mappedChunksAreByteBuffers() throws IOException {
+    Path path = tmpDir.newFile().toPath();
+    Files.write(
+        path,
+        Bytes.concat(
+            ByteOrderMark.UTF_8.getBytes(),
+            "id,name\n1,a\n2,b\n".getBytes(StandardCharsets.UTF_8)));
+    try (MappedFile mappedFile = MappedFile.open(path)) {
+      CsvFileSplitter splitter = new CsvFileSplitter(mappedFile, 4);
+
+      assertThat(StandardCharsets.UTF_8.decode(splitter.next().asByteBuffer()).toString())
+          .isEqualTo("id,name\n");
+      assertThat(StandardCharsets.UTF_8.decode(splitter.next().asByteBuffer()).toString())
+          .isEqualTo("1,a\n");
+    }
+  }
+}
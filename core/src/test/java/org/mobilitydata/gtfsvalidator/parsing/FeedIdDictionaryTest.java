@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.parsing;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FeedIdDictionaryTest {
+  @Test
+  public void sameDomainForSameName() {
+    FeedIdDictionary dictionary = new FeedIdDictionary();
+
+    assertThat(dictionary.getDomain("stop_id")).isSameInstanceAs(dictionary.getDomain("stop_id"));
+    assertThat(dictionary.getDomain("stop_id"))
+        .isNotSameInstanceAs(dictionary.getDomain("trip_id"));
+    assertThat(dictionary.getDomain("stop_id").getName()).isEqualTo("stop_id");
+  }
+
+  @Test
+  public void addIfAbsentReturnsCanonicalInstance() {
+    FeedIdDictionary.Domain domain = new FeedIdDictionary().getDomain("stop_id");
+    String s1 = new String("s1");
+
+    assertThat(domain.addIfAbsent(s1)).isSameInstanceAs(s1);
+    assertThat(domain.addIfAbsent(new String("s1"))).isSameInstanceAs(s1);
+    assertThat(domain.addIfAbsent(null)).isNull();
+
+    assertThat(domain.getLookupCount()).isEqualTo(3);
+    assertThat(domain.getCacheSize()).isEqualTo(1);
+    assertThat(domain.getCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void encodeAndDecode() {
+    FeedIdDictionary.Domain domain = new FeedIdDictionary().getDomain("trip_id");
+
+    assertThat(domain.encode("t1")).isEqualTo(0);
+    assertThat(domain.encode("t2")).isEqualTo(1);
+    assertThat(domain.encode("t1")).isEqualTo(0);
+    assertThat(domain.decode(1)).isEqualTo("t2");
+    assertThat(domain.codeOf("t2")).isEqualTo(1);
+    assertThat(domain.codeOf("t3")).isEqualTo(-1);
+    assertThat(domain.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void concurrentEncodingGivesDenseCodes() throws Exception {
+    FeedIdDictionary.Domain domain = new FeedIdDictionary().getDomain("stop_id");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; ++thread) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 10000; ++i) {
+                    String id = "stop" + i;
+                    assertThat(domain.decode(domain.encode(id))).isEqualTo(id);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(domain.size()).isEqualTo(10000);
+    for (int code = 0; code < domain.size(); ++code) {
+      assertThat(domain.codeOf(domain.decode(code))).isEqualTo(code);
+    }
+  }
+}
@@ -477,4 +477,40 @@ public class RowParserTest {
     assertThat(parser.getNoticeContainer().getValidationNotices())
         .containsExactly(new InvalidRowLengthNotice(TEST_FILENAME, 2, 1, 2));
   }
+
+  @Test
+  public void reusedParser_reportsCellOfCurrentRow() {
+    NoticeContainer rowNotices = new NoticeContainer();
+    RowParser parser =
+        new RowParser(
+            TEST_FILENAME, new CsvHeader(new String[] {"other", "column name"}), FIELD_VALIDATOR);
+
+    parser.setRow(new CsvRow(2, new String[] {"invalid", "http://google.com"}), rowNotices);
+    assertThat(parser.asUrl(1, GTFS_COLUMN_DESCRIPTOR)).isEqualTo("http://google.com");
+    assertThat(rowNotices.isEmpty()).isTrue();
+
+    rowNotices.clear();
+    parser.setRow(new CsvRow(3, new String[] {"http://google.com", "invalid"}), rowNotices);
+    assertThat(parser.asUrl(1, GTFS_COLUMN_DESCRIPTOR)).isEqualTo("invalid");
+    assertThat(rowNotices.getValidationNotices())
+        .containsExactly(new InvalidUrlNotice(TEST_FILENAME, 3, "column name", "invalid"));
+  }
+
+  @Test
+  public void asDate_repeatedDate_returnsCachedInstance() {
+    NoticeContainer rowNotices = new NoticeContainer();
+    RowParser parser =
+        new RowParser(TEST_FILENAME, new CsvHeader(new String[] {"column name"}), FIELD_VALIDATOR);
+
+    parser.setRow(new CsvRow(2, new String[] {"20200901"}), rowNotices);
+    GtfsDate first = parser.asDate(0, GTFS_COLUMN_DESCRIPTOR);
+    parser.setRow(new CsvRow(3, new String[] {"20200901"}), rowNotices);
+    GtfsDate second = parser.asDate(0, GTFS_COLUMN_DESCRIPTOR);
+    parser.setRow(new CsvRow(4, new String[] {"20200230"}), rowNotices);
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(parser.asDate(0, GTFS_COLUMN_DESCRIPTOR)).isNull();
+    assertThat(rowNotices.getValidationNotices())
+        .containsExactly(new InvalidDateNotice(TEST_FILENAME, 4, "column name", "20200230"));
+  }
 }
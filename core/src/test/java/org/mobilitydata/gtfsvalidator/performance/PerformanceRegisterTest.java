@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.performance;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PerformanceRegisterTest {
+  private static class SomeValidator {}
+
+  @Test
+  public void bind_setsCurrentRegisterForTheTask() throws Exception {
+    PerformanceRegister register = new PerformanceRegister();
+
+    assertThat(PerformanceRegister.current()).isNull();
+    assertThat(register.bind(PerformanceRegister::current).call()).isSameInstanceAs(register);
+    assertThat(PerformanceRegister.current()).isNull();
+  }
+
+  @Test
+  public void registerValidator_sumsInvocations() {
+    PerformanceRegister register = new PerformanceRegister();
+
+    register.registerValidator(SomeValidator.class, PerformanceRegister.snapshot(), 1, 1);
+    register.registerValidator(SomeValidator.class, PerformanceRegister.snapshot(), 1, 32);
+
+    List<ResourceUsage> usages = register.getValidatorUsages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).getName()).isEqualTo("SomeValidator");
+    assertThat(usages.get(0).getInvocations()).isEqualTo(2);
+    assertThat(usages.get(0).getWallTimeNanos()).isAtLeast(0);
+    assertThat(register.getFileUsages()).isEmpty();
+  }
+
+  @Test
+  public void countValidatorInvocations_addsToMeasuredInvocations() {
+    PerformanceRegister register = new PerformanceRegister();
+
+    register.countValidatorInvocations(SomeValidator.class, 31);
+    register.registerValidator(SomeValidator.class, PerformanceRegister.snapshot(), 1, 32);
+    register.countValidatorInvocations(SomeValidator.class, 5);
+
+    List<ResourceUsage> usages = register.getValidatorUsages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).getName()).isEqualTo("SomeValidator");
+    assertThat(usages.get(0).getInvocations()).isEqualTo(37);
+  }
+
+  @Test
+  public void countValidatorInvocations_withoutMeasurement_hasNoUsage() {
+    PerformanceRegister register = new PerformanceRegister();
+
+    register.countValidatorInvocations(SomeValidator.class, 3);
+
+    List<ResourceUsage> usages = register.getValidatorUsages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).getInvocations()).isEqualTo(3);
+    assertThat(usages.get(0).getWallTimeNanos()).isEqualTo(0);
+    assertThat(usages.get(0).getCpuTimeNanos()).isEqualTo(0);
+    assertThat(usages.get(0).getAllocatedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void registerFile_measuresAllocations() {
+    PerformanceRegister register = new PerformanceRegister();
+
+    PerformanceRegister.Snapshot start = PerformanceRegister.snapshot();
+    long[] allocated = new long[1 << 16];
+    register.registerFile("stops.txt", start, true);
+    register.registerFile("stops.txt", PerformanceRegister.snapshot(), false);
+
+    List<ResourceUsage> usages = register.getFileUsages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).getInvocations()).isEqualTo(2);
+    assertThat(allocated).hasLength(1 << 16);
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      assertThat(usages.get(0).getAllocatedBytes()).isAtLeast(8L << 16);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.performance;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ValidatorCostEstimatorTest {
+  private static class FastValidator {}
+
+  private static class SlowValidator {}
+
+  @Test
+  public void withoutHistory_proportionalToRowCount() {
+    ValidatorCostEstimator estimator = new ValidatorCostEstimator();
+
+    assertThat(estimator.estimateNanos(FastValidator.class, 999))
+        .isEqualTo(ValidatorCostEstimator.DEFAULT_NANOS_PER_ROW * 1000);
+    assertThat(estimator.estimateNanos(FastValidator.class, 0))
+        .isEqualTo(ValidatorCostEstimator.DEFAULT_NANOS_PER_ROW);
+  }
+
+  @Test
+  public void learnsTimePerRowFromRuns() {
+    ValidatorCostEstimator estimator = new ValidatorCostEstimator();
+    estimator.recordRun(FastValidator.class, 999, 1_000);
+    estimator.recordRun(SlowValidator.class, 99, 1_000_000);
+
+    assertThat(estimator.estimateNanos(FastValidator.class, 9_999)).isEqualTo(10_000.0);
+    assertThat(estimator.estimateNanos(SlowValidator.class, 9)).isEqualTo(100_000.0);
+
+    estimator.recordRun(FastValidator.class, 999, 3_000);
+
+    // The last run and the history have the same weight.
+    assertThat(estimator.estimateNanos(FastValidator.class, 9_999)).isEqualTo(20_000.0);
+  }
+}
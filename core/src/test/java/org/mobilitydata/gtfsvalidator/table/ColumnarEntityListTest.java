@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ColumnarEntityListTest {
+
+  /** A segment of rows that only stores row numbers. */
+  private static final class TestSegment implements ColumnarEntity.Segment<TestEntity> {
+    @Override
+    public TestEntity entityAt(int row) {
+      return new TestEntity(this, row);
+    }
+  }
+
+  private static final class TestEntity implements ColumnarEntity {
+    private final TestSegment segment;
+    private final int row;
+
+    TestEntity(TestSegment segment, int row) {
+      this.segment = segment;
+      this.row = row;
+    }
+
+    @Override
+    public int csvRowNumber() {
+      return row + 2;
+    }
+
+    @Override
+    public Segment<?> columnSegment() {
+      return segment;
+    }
+
+    @Override
+    public int rowInSegment() {
+      return row;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof TestEntity
+          && ((TestEntity) other).segment == segment
+          && ((TestEntity) other).row == row;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(segment) + row;
+    }
+  }
+
+  @Test
+  public void copyOfRunsOfSegments() {
+    TestSegment first = new TestSegment();
+    TestSegment second = new TestSegment();
+    List<TestEntity> entities = new ArrayList<>();
+    for (int row = 0; row < 5; ++row) {
+      entities.add(first.entityAt(row));
+    }
+    entities.add(second.entityAt(0));
+    entities.add(second.entityAt(1));
+    // Rows of a segment that are out of order start a new run.
+    entities.add(first.entityAt(7));
+    entities.add(first.entityAt(6));
+
+    ColumnarEntityList<TestEntity> list = ColumnarEntityList.copyOf(entities);
+
+    assertThat(list).containsExactlyElementsIn(entities).inOrder();
+    assertThat(list.get(5).csvRowNumber()).isEqualTo(2);
+  }
+
+  @Test
+  public void emptyList() {
+    assertThat(ColumnarEntityList.copyOf(ImmutableList.<TestEntity>of())).isEmpty();
+  }
+
+  @Test
+  public void getOutOfBounds() {
+    ColumnarEntityList<TestEntity> list =
+        ColumnarEntityList.copyOf(ImmutableList.of(new TestSegment().entityAt(0)));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+  }
+}
@@ -7,18 +7,23 @@ import static org.mockito.Mockito.*;
 
 import com.google.common.collect.ImmutableList;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mobilitydata.gtfsvalidator.annotation.FieldLevelEnum;
 import org.mobilitydata.gtfsvalidator.notice.*;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntity;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestSingleFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableDescriptor;
 import org.mobilitydata.gtfsvalidator.validator.GtfsFieldValidator;
+import org.mobilitydata.gtfsvalidator.validator.SingleEntityValidator;
 import org.mobilitydata.gtfsvalidator.validator.TableHeaderValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
 import org.mockito.ArgumentMatchers;
@@ -138,6 +143,52 @@ public class CsvTableLoaderTest {
     verify(validator, times(1)).validate(any());
   }
 
+  @Test
+  public void withExecutor_entityNoticesInRowOrder() {
+    var testTableDescriptor = new GtfsTestTableDescriptor();
+    when(validatorProvider.getTableHeaderValidator()).thenReturn(mock(TableHeaderValidator.class));
+    when(validatorProvider.getFieldValidator()).thenReturn(mock(GtfsFieldValidator.class));
+    SingleEntityValidator<GtfsTestEntity> validator =
+        new SingleEntityValidator<>() {
+          @Override
+          public void validate(GtfsTestEntity entity, NoticeContainer noticeContainer) {
+            noticeContainer.addValidationNotice(new StringFieldNotice(entity.id()));
+          }
+        };
+    doReturn(List.of(validator))
+        .when(validatorProvider)
+        .createSingleEntityValidators(any(), any(), any());
+    int rowCount = CsvFileLoader.VALIDATION_BATCH_ROWS * 3 + 7;
+    StringBuilder csv = new StringBuilder("id,code\n");
+    List<ValidationNotice> expectedNotices = new ArrayList<>();
+    for (int i = 0; i < rowCount; ++i) {
+      csv.append("s").append(i).append(",c\n");
+      expectedNotices.add(new StringFieldNotice("s" + i));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    GtfsEntityContainer<?, ?> loadedContainer;
+    try {
+      loadedContainer =
+          CsvFileLoader.getInstance()
+              .load(
+                  testTableDescriptor,
+                  validatorProvider,
+                  toInputStream(csv.toString()),
+                  loaderNotices,
+                  executor,
+                  null);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(loadedContainer.getTableStatus()).isEqualTo(TableStatus.PARSABLE_HEADERS_AND_ROWS);
+    assertThat(loadedContainer.getEntities()).hasSize(rowCount);
+    assertThat(loaderNotices.getValidationNotices())
+        .containsExactlyElementsIn(expectedNotices)
+        .inOrder();
+  }
+
   @Test
   public void missingRequiredField() {
     var testTableDescriptor = spy(new GtfsTestTableDescriptor());
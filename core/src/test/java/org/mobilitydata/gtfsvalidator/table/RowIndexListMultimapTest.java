@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RowIndexListMultimapTest {
+
+  private static final class Row {
+    final String key;
+    final int sequence;
+
+    Row(String key, int sequence) {
+      this.key = key;
+      this.sequence = sequence;
+    }
+
+    String key() {
+      return key;
+    }
+
+    int sequence() {
+      return sequence;
+    }
+  }
+
+  private static final Row A2 = new Row("a", 2);
+  private static final Row B1 = new Row("b", 1);
+  private static final Row A1 = new Row("a", 1);
+  private static final Row A2_DUPLICATE = new Row("a", 2);
+  private static final Row C5 = new Row("c", 5);
+  private static final ImmutableList<Row> ROWS = ImmutableList.of(A2, B1, A1, A2_DUPLICATE, C5);
+
+  @Test
+  public void keepsListOrderWithoutSequence() {
+    RowIndexListMultimap<String, Row> index = RowIndexListMultimap.create(ROWS, Row::key, null);
+
+    assertThat(index.get("a")).containsExactly(A2, A1, A2_DUPLICATE).inOrder();
+    assertThat(index.get("b")).containsExactly(B1);
+    assertThat(index.get("d")).isEmpty();
+    assertThat(index.size()).isEqualTo(5);
+  }
+
+  @Test
+  public void sortsBySequenceKeepingListOrderOfEqualSequences() {
+    RowIndexListMultimap<String, Row> index =
+        RowIndexListMultimap.create(ROWS, Row::key, Row::sequence);
+
+    assertThat(index.get("a")).containsExactly(A1, A2, A2_DUPLICATE).inOrder();
+  }
+
+  @Test
+  public void equalsArrayListMultimapWithSameKeyOrder() {
+    ListMultimap<String, Row> expected = ArrayListMultimap.create();
+    for (Row row : ROWS) {
+      expected.put(row.key(), row);
+    }
+
+    RowIndexListMultimap<String, Row> index = RowIndexListMultimap.create(ROWS, Row::key, null);
+
+    assertThat(index).isEqualTo(expected);
+    assertThat(index.keySet()).containsExactlyElementsIn(expected.keySet()).inOrder();
+    assertThat(index.entries()).containsExactlyElementsIn(expected.entries()).inOrder();
+    assertThat(index.keys().count("a")).isEqualTo(3);
+  }
+
+  @Test
+  public void forEachDuplicateSequence() {
+    RowIndexListMultimap<String, Row> index =
+        RowIndexListMultimap.create(ROWS, Row::key, Row::sequence);
+    List<Row> duplicates = new ArrayList<>();
+
+    index.forEachDuplicateSequence(
+        (first, duplicate) -> {
+          duplicates.add(first);
+          duplicates.add(duplicate);
+        });
+
+    assertThat(duplicates).containsExactly(A2, A2_DUPLICATE).inOrder();
+  }
+
+  @Test
+  public void findBySequence() {
+    RowIndexListMultimap<String, Row> index =
+        RowIndexListMultimap.create(ROWS, Row::key, Row::sequence);
+
+    assertThat(index.findBySequence("a", 2)).isEqualTo(Optional.of(A2));
+    assertThat(index.findBySequence("c", 5)).isEqualTo(Optional.of(C5));
+    assertThat(index.findBySequence("a", 3)).isEqualTo(Optional.empty());
+    assertThat(index.findBySequence("d", 1)).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  public void findBySequenceRequiresSequence() {
+    RowIndexListMultimap<String, Row> index = RowIndexListMultimap.create(ROWS, Row::key, null);
+
+    assertThrows(IllegalStateException.class, () -> index.findBySequence("a", 1));
+  }
+
+  @Test
+  public void isImmutable() {
+    RowIndexListMultimap<String, Row> index = RowIndexListMultimap.create(ROWS, Row::key, null);
+
+    assertThrows(UnsupportedOperationException.class, () -> index.put("a", C5));
+    assertThrows(UnsupportedOperationException.class, () -> index.get("a").add(C5));
+  }
+
+  @Test
+  public void emptyIndex() {
+    RowIndexListMultimap<String, Row> index = RowIndexListMultimap.of();
+
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(index.get("a")).isEmpty();
+  }
+}
@@ -38,6 +38,17 @@ public class GtfsDateTest {
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("qwerty"));
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("today"));
     assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("20219999"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("20210230"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("2021-1-1"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsDate.fromString("2021010a"));
+  }
+
+  @Test
+  public void fromString_parsesEachPartAsInteger() {
+    // Each part is parsed by Integer.parseInt, which also accepts signs and non-ASCII digits.
+    assertThat(GtfsDate.fromString("+0210102").getLocalDate()).isEqualTo(LocalDate.of(21, 1, 2));
+    assertThat(GtfsDate.fromString("2021\u0660\u0661\u0660\u0662").getLocalDate())
+        .isEqualTo(LocalDate.of(2021, 1, 2));
   }
 
   @Test
@@ -41,6 +41,23 @@ public class GtfsTimeTest {
     assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("prefix4:00:12suffix"));
   }
 
+  @Test
+  public void fromString_sameFormatAsRegex() {
+    assertThat(GtfsTime.fromString("0:00:00").getSecondsSinceMidnight()).isEqualTo(0);
+    assertThat(GtfsTime.fromString("007:00:01").getSecondsSinceMidnight()).isEqualTo(7 * 3600 + 1);
+
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString(""));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString(":00:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:0:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12-00-00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("+2:00:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:00:0a"));
+    // Arabic-Indic digits are not ASCII digits.
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("\u0661:00:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:60:00"));
+    assertThrows(IllegalArgumentException.class, () -> GtfsTime.fromString("12:00:60"));
+  }
+
   @Test
   public void fromHourMinuteSecondShouldReturnEntityWithCorrectData() {
     assertThat(GtfsTime.fromHourMinuteSecond(12, 20, 20).getSecond()).isEqualTo(20);
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.notice.testnotices.StringFieldNotice;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
+import org.mobilitydata.gtfsvalidator.performance.ResourceUsage;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntity;
+
+@RunWith(JUnit4.class)
+public class EntityGroupValidatorTest {
+
+  private static ListMultimap<String, GtfsTestEntity> createGroups(int groupCount) {
+    ListMultimap<String, GtfsTestEntity> groups = ArrayListMultimap.create();
+    for (int i = 0; i < groupCount * 2; ++i) {
+      GtfsTestEntity entity =
+          new GtfsTestEntity.Builder()
+              .setCsvRowNumber(i + 2)
+              .setId(Integer.toString(i))
+              .setCode(Integer.toString(i / 2))
+              .build();
+      groups.put(entity.code(), entity);
+    }
+    return groups;
+  }
+
+  /** Adds a notice for every group, and remembers the last group it saw on each thread. */
+  private static class NoticePerGroupValidator extends EntityGroupValidator<GtfsTestEntity> {
+    private final String name;
+    private final ListMultimap<String, GtfsTestEntity> groups;
+    private final ThreadLocal<String> lastKey = new ThreadLocal<>();
+
+    NoticePerGroupValidator(String name, ListMultimap<String, GtfsTestEntity> groups) {
+      this.name = name;
+      this.groups = groups;
+    }
+
+    @Override
+    public ListMultimap<String, GtfsTestEntity> entityGroups() {
+      return groups;
+    }
+
+    @Override
+    public void validateGroup(
+        String key, List<GtfsTestEntity> entities, NoticeContainer noticeContainer) {
+      lastKey.set(key);
+      noticeContainer.addValidationNotice(
+          new StringFieldNotice(name + ":" + key + ":" + entities.size()));
+    }
+  }
+
+  /** Fails on the given groups. */
+  private static class FailingValidator extends EntityGroupValidator<GtfsTestEntity> {
+    private final ListMultimap<String, GtfsTestEntity> groups;
+    private final Set<String> failingKeys;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    FailingValidator(ListMultimap<String, GtfsTestEntity> groups, String... failingKeys) {
+      this.groups = groups;
+      this.failingKeys = ImmutableSet.copyOf(failingKeys);
+    }
+
+    @Override
+    public ListMultimap<String, GtfsTestEntity> entityGroups() {
+      return groups;
+    }
+
+    @Override
+    public void validateGroup(
+        String key, List<GtfsTestEntity> entities, NoticeContainer noticeContainer) {
+      calls.incrementAndGet();
+      noticeContainer.addValidationNotice(new StringFieldNotice("failing:" + key));
+      if (failingKeys.contains(key)) {
+        throw new IllegalStateException("Failed on " + key);
+      }
+    }
+  }
+
+  @Test
+  public void fusedValidators_sameNoticesAsSequentialRuns() {
+    ListMultimap<String, GtfsTestEntity> groups =
+        createGroups(ValidatorUtil.GROUPS_PER_TASK * 3 + 5);
+    List<FileValidator> validators =
+        ImmutableList.of(
+            new NoticePerGroupValidator("first", groups),
+            new NoticePerGroupValidator("second", groups));
+
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    for (FileValidator validator : validators) {
+      validator.validate(sequentialNotices);
+    }
+    NoticeContainer fusedNotices = new NoticeContainer();
+    ValidatorUtil.invokeSingleFileValidators(validators, fusedNotices);
+
+    assertThat(fusedNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+
+  @Test
+  public void fusedValidators_visitEachGroupWithAllValidators() {
+    ListMultimap<String, GtfsTestEntity> groups = createGroups(10);
+    NoticePerGroupValidator first = new NoticePerGroupValidator("first", groups);
+    NoticePerGroupValidator second =
+        new NoticePerGroupValidator("second", groups) {
+          @Override
+          public void validateGroup(
+              String key, List<GtfsTestEntity> entities, NoticeContainer noticeContainer) {
+            // The first validator has just checked the same group on this thread.
+            assertThat(first.lastKey.get()).isEqualTo(key);
+            super.validateGroup(key, entities, noticeContainer);
+          }
+        };
+
+    NoticeContainer noticeContainer = new NoticeContainer();
+    ValidatorUtil.invokeSingleFileValidators(ImmutableList.of(first, second), noticeContainer);
+
+    assertThat(noticeContainer.getSystemErrors()).isEmpty();
+    assertThat(noticeContainer.getValidationNotices()).hasSize(20);
+  }
+
+  @Test
+  public void boundPerformanceRegister_countsEveryInvocation() throws Exception {
+    int groupCount = ValidatorUtil.GROUPS_PER_TASK * 2 + 5;
+    ListMultimap<String, GtfsTestEntity> groups = createGroups(groupCount);
+    PerformanceRegister register = new PerformanceRegister();
+
+    register
+        .bind(
+            () -> {
+              ValidatorUtil.invokeEntityGroupValidators(
+                  ImmutableList.of(new NoticePerGroupValidator("first", groups)),
+                  new NoticeContainer());
+              return null;
+            })
+        .call();
+
+    List<ResourceUsage> usages = register.getValidatorUsages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).getName()).isEqualTo("NoticePerGroupValidator");
+    assertThat(usages.get(0).getInvocations()).isEqualTo(groupCount);
+  }
+
+  @Test
+  public void fuseEntityGroupValidators_fusesValidatorsOfSameGroups() {
+    ListMultimap<String, GtfsTestEntity> groups = createGroups(10);
+    NoticePerGroupValidator first = new NoticePerGroupValidator("first", groups);
+    NoticePerGroupValidator other = new NoticePerGroupValidator("other", createGroups(10));
+    FileValidator plain =
+        new FileValidator() {
+          @Override
+          public void validate(NoticeContainer noticeContainer) {}
+        };
+    NoticePerGroupValidator second = new NoticePerGroupValidator("second", groups);
+
+    assertThat(
+            ValidatorUtil.fuseEntityGroupValidators(ImmutableList.of(first, other, plain, second)))
+        .containsExactly(
+            ImmutableList.of(first, second), ImmutableList.of(other), ImmutableList.of(plain))
+        .inOrder();
+  }
+
+  @Test
+  public void failingValidator_reportedOnceAndOthersContinue() {
+    ListMultimap<String, GtfsTestEntity> groups = createGroups(ValidatorUtil.GROUPS_PER_TASK * 2);
+    FailingValidator failing = new FailingValidator(groups, "3");
+    NoticePerGroupValidator other = new NoticePerGroupValidator("other", groups);
+
+    NoticeContainer noticeContainer = new NoticeContainer();
+    ValidatorUtil.invokeEntityGroupValidators(ImmutableList.of(failing, other), noticeContainer);
+
+    assertThat(noticeContainer.getSystemErrors()).hasSize(1);
+    // The failing validator keeps its notices up to the failing group.
+    int failingIndex = ImmutableList.copyOf(Multimaps.asMap(groups).keySet()).indexOf("3");
+    assertThat(noticeContainer.getValidationNotices())
+        .hasSize(ValidatorUtil.GROUPS_PER_TASK * 2 + failingIndex + 1);
+    assertThat(failing.calls.get()).isLessThan(ValidatorUtil.GROUPS_PER_TASK * 2);
+  }
+
+  @Test
+  public void failingValidator_keepsNoticesUpToFirstFailureInGroupOrder() {
+    ListMultimap<String, GtfsTestEntity> groups = createGroups(ValidatorUtil.GROUPS_PER_TASK * 3);
+    List<String> keys = ImmutableList.copyOf(Multimaps.asMap(groups).keySet());
+    // The validator fails in the first and in the last task, whichever runs first.
+    String firstFailingKey = keys.get(ValidatorUtil.GROUPS_PER_TASK / 2);
+    String lastFailingKey = keys.get(ValidatorUtil.GROUPS_PER_TASK * 2 + 1);
+
+    NoticeContainer sequentialNotices = new NoticeContainer();
+    FailingValidator sequential = new FailingValidator(groups, firstFailingKey, lastFailingKey);
+    ValidatorUtil.safeValidate(sequential::validate, FailingValidator.class, sequentialNotices);
+    NoticeContainer fusedNotices = new NoticeContainer();
+    ValidatorUtil.invokeEntityGroupValidators(
+        ImmutableList.of(
+            new FailingValidator(groups, firstFailingKey, lastFailingKey),
+            new NoticePerGroupValidator("other", groups)),
+        fusedNotices);
+
+    int failingNoticeCount = ValidatorUtil.GROUPS_PER_TASK / 2 + 1;
+    assertThat(sequentialNotices.getValidationNotices()).hasSize(failingNoticeCount);
+    assertThat(fusedNotices.getValidationNotices())
+        .hasSize(failingNoticeCount + ValidatorUtil.GROUPS_PER_TASK * 3);
+    assertThat(fusedNotices.getValidationNotices().subList(0, failingNoticeCount))
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+    assertThat(fusedNotices.getSystemErrors())
+        .containsExactlyElementsIn(sequentialNotices.getSystemErrors());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.validator;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
+
+@RunWith(JUnit4.class)
+public class ForeignKeyIndexTest {
+  private static final ImmutableList<String> PARENTS = ImmutableList.of("a", "b", "", "c");
+
+  private static String nonEmpty(String key) {
+    return key.isEmpty() ? null : key;
+  }
+
+  @Test
+  public void withoutDictionary() {
+    ForeignKeyIndex index =
+        ForeignKeyIndex.create(null, null, PARENTS, ForeignKeyIndexTest::nonEmpty);
+
+    assertThat(index.contains("a")).isTrue();
+    assertThat(index.contains("d")).isFalse();
+    assertThat(
+            index.findMissing(
+                ImmutableList.of("a", "d", "", "c", "e"), ForeignKeyIndexTest::nonEmpty))
+        .asList()
+        .containsExactly(1, 4)
+        .inOrder();
+  }
+
+  @Test
+  public void withDictionary() {
+    FeedIdDictionary dictionary = new FeedIdDictionary();
+    FeedIdDictionary.Domain domain = dictionary.getDomain("stop_id");
+    domain.encode("a");
+    domain.encode("d");
+
+    ForeignKeyIndex index =
+        ForeignKeyIndex.create(dictionary, "stop_id", PARENTS, ForeignKeyIndexTest::nonEmpty);
+
+    assertThat(index.contains("a")).isTrue();
+    // Parent keys that were not in the domain yet are added to it.
+    assertThat(index.contains("c")).isTrue();
+    // Keys of the domain that no parent has.
+    assertThat(index.contains("d")).isFalse();
+    assertThat(index.contains("e")).isFalse();
+    assertThat(
+            index.findMissing(
+                ImmutableList.of("a", "d", "", "c", "e"), ForeignKeyIndexTest::nonEmpty))
+        .asList()
+        .containsExactly(1, 4)
+        .inOrder();
+  }
+
+  @Test
+  public void largeChildTableIsCheckedInChunks() {
+    FeedIdDictionary dictionary = new FeedIdDictionary();
+    ForeignKeyIndex index =
+        ForeignKeyIndex.create(dictionary, "trip_id", PARENTS, ForeignKeyIndexTest::nonEmpty);
+    List<String> children = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < ForeignKeyIndex.CHUNK_SIZE * 3 + 5; ++i) {
+      if (i % 1000 == 7) {
+        children.add("missing" + i);
+        expected.add(i);
+      } else {
+        children.add(i % 2 == 0 ? "a" : "b");
+      }
+    }
+
+    assertThat(index.findMissing(children, Function.identity()))
+        .asList()
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+  }
+}
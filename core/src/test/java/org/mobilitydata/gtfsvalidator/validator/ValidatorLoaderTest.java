@@ -26,8 +26,10 @@ import org.mobilitydata.gtfsvalidator.input.DateForValidation;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestEntityValidator;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestMultiFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestSingleFileValidator;
 import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableContainer;
+import org.mobilitydata.gtfsvalidator.testgtfs.GtfsTestTableContainer2;
 import org.mobilitydata.gtfsvalidator.testgtfs.WholeFeedValidator;
 import org.mobilitydata.gtfsvalidator.validator.ValidatorLoader.ValidatorWithDependencyStatus;
 
@@ -99,4 +101,22 @@ public class ValidatorLoaderTest {
     assertThat(validatorWithStatus.dependenciesHaveErrors()).isTrue();
     assertThat(validatorWithStatus.validator().getStopTable()).isEqualTo(table);
   }
+
+  @Test
+  public void createForClasses_keepsTablesOfMultiFileValidators() throws ValidatorLoaderException {
+    ValidatorLoader loader =
+        ValidatorLoader.createForClasses(
+            ImmutableList.of(
+                GtfsTestSingleFileValidator.class,
+                GtfsTestMultiFileValidator.class,
+                WholeFeedValidator.class));
+
+    assertThat(loader.getMultiFileValidators())
+        .containsExactly(GtfsTestMultiFileValidator.class, WholeFeedValidator.class);
+    // Validators injected with the whole feed have to wait for all tables.
+    assertThat(loader.getMultiFileValidatorTables())
+        .containsExactly(
+            GtfsTestMultiFileValidator.class,
+            ImmutableList.of(GtfsTestTableContainer.class, GtfsTestTableContainer2.class));
+  }
 }
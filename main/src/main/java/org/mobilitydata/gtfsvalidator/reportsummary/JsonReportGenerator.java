@@ -1,6 +1,10 @@
 package org.mobilitydata.gtfsvalidator.reportsummary;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
+import java.io.Writer;
+import org.mobilitydata.gtfsvalidator.io.ValidationReportDeserializer;
 import org.mobilitydata.gtfsvalidator.model.ValidationReport;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.reportsummary.model.FeedMetadata;
@@ -26,4 +30,32 @@ public class JsonReportGenerator {
 
     return new JsonReport(summaryGenerator, validationReport.getNotices());
   }
+
+  /**
+   * Write the JSON report to the given writer, notice by notice. The output is the same as {@code
+   * gson.toJson(generateReport(...))}, but the report is not held in memory as a whole.
+   */
+  public void writeReport(
+      FeedMetadata feedMetadata,
+      NoticeContainer noticeContainer,
+      ValidationRunnerConfig config,
+      VersionInfo versionInfo,
+      String date,
+      Gson gson,
+      Writer writer)
+      throws IOException {
+
+    JsonReportSummaryGenerator summaryGenerator =
+        new JsonReportSummaryGenerator(feedMetadata, config, versionInfo, date);
+
+    // Same members and order as the fields of JsonReport.
+    JsonWriter jsonWriter = ValidationReportDeserializer.newJsonWriter(gson, writer);
+    jsonWriter.beginObject();
+    jsonWriter.name("summary");
+    gson.toJson(summaryGenerator.summary, JsonReportSummary.class, jsonWriter);
+    jsonWriter.name("notices");
+    noticeContainer.writeValidationNotices(gson, jsonWriter);
+    jsonWriter.endObject();
+    jsonWriter.flush();
+  }
 }
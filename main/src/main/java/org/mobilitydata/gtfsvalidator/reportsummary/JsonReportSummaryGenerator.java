@@ -50,6 +50,9 @@ public class JsonReportSummaryGenerator {
             feedMetadata != null ? feedMetadata.getFilenames() : null,
             feedMetadata != null ? feedMetadata.validationTimeSeconds : null,
             feedMetadata != null ? feedMetadata.memoryUsageRecords : null,
+            feedMetadata != null && feedMetadata.performanceRegister != null
+                ? new JsonReportPerformance(feedMetadata.performanceRegister)
+                : null,
             feedMetadata != null && feedMetadata.counts != null
                 ? new JsonReportCounts(feedMetadata.counts)
                 : null,
@@ -10,6 +10,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsage;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsageRegister;
+import org.mobilitydata.gtfsvalidator.performance.PerformanceRegister;
 import org.mobilitydata.gtfsvalidator.reportsummary.AgencyMetadata;
 import org.mobilitydata.gtfsvalidator.reportsummary.JsonReportCounts;
 import org.mobilitydata.gtfsvalidator.reportsummary.JsonReportFeedInfo;
@@ -33,6 +34,8 @@ public class FeedMetadata {
 
   public List<MemoryUsage> memoryUsageRecords;
 
+  public PerformanceRegister performanceRegister;
+
   // List of features that only require checking the presence of one record in the file.
   private final List<Pair<FeatureMetadata, String>> FILE_BASED_FEATURES =
       List.of(
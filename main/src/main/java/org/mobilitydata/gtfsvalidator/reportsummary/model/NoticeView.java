@@ -14,6 +14,15 @@ import org.mobilitydata.gtfsvalidator.notice.schema.NoticeSchemaGenerator;
 
 /** NoticeView is a wrapper class to display a Notice. */
 public class NoticeView {
+  /** Doc comments are read once per notice class instead of once per notice. */
+  private static final ClassValue<NoticeDocComments> COMMENTS_BY_CLASS =
+      new ClassValue<>() {
+        @Override
+        protected NoticeDocComments computeValue(Class<?> noticeClass) {
+          return NoticeSchemaGenerator.loadComments(noticeClass);
+        }
+      };
+
   private final ResolvedNotice notice;
   private final JsonObject json;
   private final List<String> fields;
@@ -23,7 +32,7 @@ public class NoticeView {
     this.notice = notice;
     this.json = notice.getContext().toJsonTree().getAsJsonObject();
     this.fields = new ArrayList<>(json.keySet());
-    this.comments = NoticeSchemaGenerator.loadComments(notice.getContext().getClass());
+    this.comments = COMMENTS_BY_CLASS.get(notice.getContext().getClass());
   }
 
   /**
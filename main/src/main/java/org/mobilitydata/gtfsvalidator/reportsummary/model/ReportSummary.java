@@ -18,26 +18,35 @@ package org.mobilitydata.gtfsvalidator.reportsummary.model;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.ResolvedNotice;
 import org.mobilitydata.gtfsvalidator.notice.SeverityLevel;
+import org.mobilitydata.gtfsvalidator.notice.ValidationNotice;
 import org.mobilitydata.gtfsvalidator.util.VersionInfo;
 
-/** ReportSummary is the class containing the summary methods for the HTML report. */
+/**
+ * ReportSummary is the class containing the summary methods for the HTML report.
+ *
+ * <p>The counts are those of the notices in the report. Only a container that keeps the exported
+ * notices only, see {@link NoticeContainer#createBounded}, counts all notices that were added to
+ * it, including those that are not in the report.
+ */
 public class ReportSummary {
   private final NoticeContainer container;
-  private final Map<SeverityLevel, Long> severityCounts;
   private final Map<SeverityLevel, Map<String, List<NoticeView>>> noticesMap;
   private final VersionInfo versionInfo;
 
   public ReportSummary(NoticeContainer container, VersionInfo versionInfo) {
     this.container = container;
-    this.severityCounts =
-        container.getResolvedValidationNotices().stream()
-            .collect(
-                Collectors.groupingBy(ResolvedNotice::getSeverityLevel, Collectors.counting()));
+    List<ResolvedNotice<ValidationNotice>> notices = container.getResolvedValidationNotices();
+    // Notice views are created in parallel for large reports; groupingBy keeps the list order.
+    Stream<ResolvedNotice<ValidationNotice>> stream =
+        notices.size() >= NoticeContainer.MIN_NOTICES_FOR_PARALLEL_EXPORT
+            ? notices.parallelStream()
+            : notices.stream();
     this.noticesMap =
-        container.getResolvedValidationNotices().stream()
+        stream
             .map(NoticeView::new)
             .collect(
                 Collectors.groupingBy(
@@ -65,16 +74,34 @@ public class ReportSummary {
    * @return the total count of notices.
    */
   public int getNoticeCount() {
+    if (container.retainsExportedNoticesOnly()) {
+      return container.getValidationNoticeCount();
+    }
     return container.getValidationNotices().size();
   }
 
+  /**
+   * Returns the count of notices with the given SeverityLevel and notice code. This may be more
+   * than the number of notices in {@link #getNoticesMap()} if the container keeps only the exported
+   * notices.
+   *
+   * @return the count of notices with the given severity and code.
+   */
+  public int getNoticeCount(SeverityLevel severityLevel, String code) {
+    if (container.retainsExportedNoticesOnly()) {
+      return container.getValidationNoticeCount(code, severityLevel);
+    }
+    List<NoticeView> notices = noticesMap.getOrDefault(severityLevel, Map.of()).get(code);
+    return notices == null ? 0 : notices.size();
+  }
+
   /**
    * Returns the count of notices with SeverityLevel.ERROR.
    *
    * @return the count of error notices.
    */
   public long getErrorCount() {
-    return severityCounts.getOrDefault(SeverityLevel.ERROR, 0L);
+    return getNoticeCount(SeverityLevel.ERROR);
   }
 
   /**
@@ -83,7 +110,7 @@ public class ReportSummary {
    * @return the count of warning notices.
    */
   public long getWarningCount() {
-    return severityCounts.getOrDefault(SeverityLevel.WARNING, 0L);
+    return getNoticeCount(SeverityLevel.WARNING);
   }
 
   /**
@@ -92,7 +119,18 @@ public class ReportSummary {
    * @return the count of info notices.
    */
   public long getInfoCount() {
-    return severityCounts.getOrDefault(SeverityLevel.INFO, 0L);
+    return getNoticeCount(SeverityLevel.INFO);
+  }
+
+  private long getNoticeCount(SeverityLevel severityLevel) {
+    if (container.retainsExportedNoticesOnly()) {
+      return container.getValidationNoticeCount(severityLevel);
+    }
+    long count = 0;
+    for (List<NoticeView> notices : noticesMap.getOrDefault(severityLevel, Map.of()).values()) {
+      count += notices.size();
+    }
+    return count;
   }
 
   public String getVersion() {
@@ -22,6 +22,8 @@ import com.google.common.flogger.FluentLogger;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
@@ -37,16 +39,18 @@ import org.mobilitydata.gtfsvalidator.input.DateForValidation;
 import org.mobilitydata.gtfsvalidator.input.GtfsInput;
 import org.mobilitydata.gtfsvalidator.notice.IOError;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.notice.NoticeSpill;
 import org.mobilitydata.gtfsvalidator.notice.URISyntaxError;
 import org.mobilitydata.gtfsvalidator.performance.MemoryMonitor;
 import org.mobilitydata.gtfsvalidator.performance.MemoryUsageRegister;
 import org.mobilitydata.gtfsvalidator.reportsummary.HtmlReportGenerator;
-import org.mobilitydata.gtfsvalidator.reportsummary.JsonReport;
 import org.mobilitydata.gtfsvalidator.reportsummary.JsonReportGenerator;
 import org.mobilitydata.gtfsvalidator.reportsummary.model.FeedMetadata;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsFeedLoader;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 import org.mobilitydata.gtfsvalidator.util.ServiceIntervalCache;
+import org.mobilitydata.gtfsvalidator.util.TripPatternIndex;
 import org.mobilitydata.gtfsvalidator.util.VersionInfo;
 import org.mobilitydata.gtfsvalidator.util.VersionResolver;
 import org.mobilitydata.gtfsvalidator.validator.*;
@@ -112,7 +116,7 @@ public class ValidationRunner {
     final long startNanos = System.nanoTime();
     // Input.
     feedLoader.setNumThreads(config.numThreads());
-    NoticeContainer noticeContainer = new NoticeContainer();
+    NoticeContainer noticeContainer = createNoticeContainer(config);
     GtfsFeedContainer feedContainer;
     GtfsInput gtfsInput = null;
     try {
@@ -127,6 +131,7 @@ public class ValidationRunner {
     }
     if (gtfsInput == null) {
       exportReport(null, noticeContainer, config, versionInfo);
+      closeNoticeSpill(noticeContainer);
       if (!noticeContainer.getSystemErrors().isEmpty()) {
         return Status.SYSTEM_ERRORS;
       } else {
@@ -137,6 +142,8 @@ public class ValidationRunner {
         ValidationContext.builder()
             .setCountryCode(config.countryCode())
             .set(ServiceIntervalCache.class, new ServiceIntervalCache())
+            .set(ServiceCalendarIndex.class, new ServiceCalendarIndex())
+            .set(TripPatternIndex.class, new TripPatternIndex())
             .setDateForValidation(new DateForValidation(config.dateForValidation()))
             .build();
     try {
@@ -145,6 +152,7 @@ public class ValidationRunner {
               validatorLoader, feedLoader, noticeContainer, gtfsInput, validationContext);
     } catch (InterruptedException e) {
       logger.atSevere().withCause(e).log("Validation was interrupted");
+      closeNoticeSpill(noticeContainer);
       return Status.EXCEPTION;
     }
     FeedMetadata feedMetadata = FeedMetadata.from(feedContainer, gtfsInput.getFilenames());
@@ -152,6 +160,7 @@ public class ValidationRunner {
 
     //    Performance metrics
     feedMetadata.validationTimeSeconds = (System.nanoTime() - startNanos) / 1e9;
+    feedMetadata.performanceRegister = feedLoader.getPerformanceRegister();
     var after =
         MemoryUsageRegister.getInstance()
             .getMemoryUsageSnapshot("ValidationRunner.run", memoryBefore);
@@ -159,6 +168,7 @@ public class ValidationRunner {
 
     // Output
     exportReport(feedMetadata, noticeContainer, config, versionInfo);
+    closeNoticeSpill(noticeContainer);
     printSummary(feedMetadata, feedContainer, feedLoader, config);
     return Status.SUCCESS;
   }
@@ -252,6 +262,42 @@ public class ValidationRunner {
     logger.atInfo().log(feedContainer.tableTotalsText());
   }
 
+  /**
+   * Creates the {@code NoticeContainer} for a validation. If bounded notices or a file for all
+   * notices are configured, then the container keeps only the notices that are exported.
+   */
+  private static NoticeContainer createNoticeContainer(ValidationRunnerConfig config) {
+    NoticeSpill noticeSpill = null;
+    if (config.allNoticesPath().isPresent()) {
+      Path path = config.allNoticesPath().get();
+      try {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        noticeSpill = NoticeSpill.create(path);
+      } catch (IOException e) {
+        logger.atSevere().withCause(e).log("Cannot create notices file: %s", path);
+      }
+    }
+    if (config.boundedNotices() || noticeSpill != null) {
+      return NoticeContainer.createBounded(noticeSpill);
+    }
+    return new NoticeContainer();
+  }
+
+  /** Closes the file that all notices are written to, if any. */
+  private static void closeNoticeSpill(NoticeContainer noticeContainer) {
+    NoticeSpill noticeSpill = noticeContainer.getSpill();
+    if (noticeSpill == null) {
+      return;
+    }
+    try {
+      noticeSpill.close();
+      logger.atInfo().log(
+          "Wrote %d notices to %s", noticeSpill.getNoticeCount(), noticeSpill.getPath());
+    } catch (IOException e) {
+      logger.atSevere().withCause(e).log("Cannot write notices file: %s", noticeSpill.getPath());
+    }
+  }
+
   /**
    * Closes a {@code GtfsInput}. Yields {@code IOError} if the {@code GtfsInput} could not be
    * closed.
@@ -317,20 +363,14 @@ public class ValidationRunner {
     Gson gson = createGson(config.prettyJson());
     JsonReportGenerator jsonGenerator = new JsonReportGenerator();
 
-    // Generate JSON report
-    JsonReport jsonReport = null;
-    try {
-      jsonReport =
-          jsonGenerator.generateReport(feedMetadata, noticeContainer, config, versionInfo, date);
-    } catch (Exception ex) {
-      logger.atSevere().withCause(ex).log("Error creating JSON report");
-      return;
-    }
-
     if (config.stdoutOutput()) {
-      // Output JSON to stdout
+      // Output JSON to stdout. The writer is not closed, so that System.out stays open.
       try {
-        System.out.println(gson.toJson(jsonReport));
+        PrintWriter writer = new PrintWriter(System.out);
+        jsonGenerator.writeReport(
+            feedMetadata, noticeContainer, config, versionInfo, date, gson, writer);
+        writer.println();
+        writer.flush();
       } catch (Exception ex) {
         logger.atSevere().withCause(ex).log("Error creating JSON report");
       }
@@ -351,10 +391,12 @@ public class ValidationRunner {
     boolean is_different_date = !now.toLocalDate().equals(config.dateForValidation());
 
     HtmlReportGenerator htmlGenerator = new HtmlReportGenerator();
-    try {
-      Files.write(
-          outputDir.resolve(config.validationReportFileName()),
-          gson.toJson(jsonReport).getBytes(StandardCharsets.UTF_8));
+    // The report is written notice by notice, so that its JSON tree is never built in memory.
+    try (Writer writer =
+        Files.newBufferedWriter(
+            outputDir.resolve(config.validationReportFileName()), StandardCharsets.UTF_8)) {
+      jsonGenerator.writeReport(
+          feedMetadata, noticeContainer, config, versionInfo, date, gson, writer);
     } catch (Exception ex) {
       logger.atSevere().withCause(ex).log("Error creating JSON report");
     }
@@ -368,9 +410,11 @@ public class ValidationRunner {
           outputDir.resolve(config.htmlReportFileName()),
           date,
           is_different_date);
-      Files.write(
-          outputDir.resolve(config.systemErrorsReportFileName()),
-          gson.toJson(noticeContainer.exportSystemErrors()).getBytes(StandardCharsets.UTF_8));
+      try (Writer writer =
+          Files.newBufferedWriter(
+              outputDir.resolve(config.systemErrorsReportFileName()), StandardCharsets.UTF_8)) {
+        noticeContainer.writeSystemErrors(gson, writer);
+      }
     } catch (IOException e) {
       logger.atSevere().withCause(e).log("Cannot store report files");
     }
@@ -397,7 +441,8 @@ public class ValidationRunner {
       throws IOException, URISyntaxException {
     URI source = config.gtfsSource();
     if (source.getScheme().equals("file")) {
-      return GtfsInput.createFromPath(Paths.get(source), noticeContainer);
+      return GtfsInput.createFromPath(
+          Paths.get(source), noticeContainer, config.memoryMappedInput());
     }
 
     if (config.storageDirectory().isEmpty()) {
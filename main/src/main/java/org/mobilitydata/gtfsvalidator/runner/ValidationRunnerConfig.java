@@ -70,6 +70,22 @@ public abstract class ValidationRunnerConfig {
   // If true, output JSON report to stdout instead of writing to files
   public abstract boolean stdoutOutput();
 
+  // If true, files of an unzipped GTFS directory are read through memory
+  // mapping instead of streams.
+  public abstract boolean memoryMappedInput();
+
+  // If true, only the notices that are exported to the reports are kept in
+  // memory, with exact counts of all notices.
+  public abstract boolean boundedNotices();
+
+  // An optional file in the output directory that all notices are written to,
+  // as gzipped JSON lines. Implies bounded notices.
+  public abstract Optional<String> allNoticesFileName();
+
+  public Optional<Path> allNoticesPath() {
+    return allNoticesFileName().map(fileName -> outputDirectory().resolve(fileName));
+  }
+
   // Custom HTTP headers to include when downloading a GTFS feed from a URL.
   // A "User-Agent" entry overrides the default validator User-Agent.
   public abstract ImmutableMap<String, String> httpHeaders();
@@ -86,6 +102,8 @@ public abstract class ValidationRunnerConfig {
         .setDateForValidation(LocalDate.now())
         .setSkipValidatorUpdate(false)
         .setStdoutOutput(false)
+        .setMemoryMappedInput(false)
+        .setBoundedNotices(false)
         .setHttpHeaders(ImmutableMap.of());
   }
 
@@ -115,6 +133,12 @@ public abstract class ValidationRunnerConfig {
 
     public abstract Builder setStdoutOutput(boolean stdoutOutput);
 
+    public abstract Builder setMemoryMappedInput(boolean memoryMappedInput);
+
+    public abstract Builder setBoundedNotices(boolean boundedNotices);
+
+    public abstract Builder setAllNoticesFileName(String allNoticesFileName);
+
     public abstract Builder setHttpHeaders(ImmutableMap<String, String> httpHeaders);
 
     public abstract ValidationRunnerConfig build();
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * Active days of each service of a feed, stored as bitsets.
+ *
+ * <p>Bits of all services are counted from a common epoch day, the first day on which any service
+ * of the feed may be active, so the same day has the same bit in every service. Each service only
+ * keeps the 64-day words from its first to its last active day, so that a service that runs for a
+ * few weeks takes a few words even if the feed spans years.
+ *
+ * <p>The active days of a service are those of {@link ServicePeriod#toDates()}. Checking a date is
+ * a bit lookup and the first common date of two services is found with a word-wise AND.
+ *
+ * <p>This class is immutable and thread-safe.
+ */
+public final class ServiceCalendar {
+  /** Returned by {@link #firstIntersectingEpochDay} if two services have no common date. */
+  public static final long NO_INTERSECTION = Long.MIN_VALUE;
+
+  private static final long[] NO_WORDS = new long[0];
+
+  /** Epoch day of the first bit of word 0. */
+  private final long baseEpochDay;
+
+  /** Services in the order of the map they were built from, with their codes. */
+  private final ImmutableMap<String, Integer> codesByServiceId;
+
+  /** Index of the first stored word of each service, by service code. */
+  private final int[] firstWords;
+
+  /** Stored words of each service, by service code. Empty if the service has no active days. */
+  private final long[][] words;
+
+  private ServiceCalendar(
+      long baseEpochDay,
+      ImmutableMap<String, Integer> codesByServiceId,
+      int[] firstWords,
+      long[][] words) {
+    this.baseEpochDay = baseEpochDay;
+    this.codesByServiceId = codesByServiceId;
+    this.firstWords = firstWords;
+    this.words = words;
+  }
+
+  /**
+   * Builds the calendar of the given services.
+   *
+   * @param servicePeriods mapping from service id to its service period, as returned by {@link
+   *     CalendarUtil#buildServicePeriodMap}
+   */
+  public static ServiceCalendar fromServicePeriods(Map<String, ServicePeriod> servicePeriods) {
+    int serviceCount = servicePeriods.size();
+    ServicePeriod[] periods = new ServicePeriod[serviceCount];
+    long[] minDays = new long[serviceCount];
+    long[] maxDays = new long[serviceCount];
+    ImmutableMap.Builder<String, Integer> codesByServiceId =
+        ImmutableMap.builderWithExpectedSize(serviceCount);
+    long baseEpochDay = Long.MAX_VALUE;
+    int code = 0;
+    for (Map.Entry<String, ServicePeriod> entry : servicePeriods.entrySet()) {
+      ServicePeriod period = entry.getValue();
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      if (period.getWeeklyPattern() != 0) {
+        min = period.getServiceStart().toEpochDay();
+        max = period.getServiceEnd().toEpochDay();
+      }
+      for (LocalDate date : period.getAddedDays()) {
+        min = Math.min(min, date.toEpochDay());
+        max = Math.max(max, date.toEpochDay());
+      }
+      periods[code] = period;
+      minDays[code] = min;
+      maxDays[code] = max;
+      baseEpochDay = Math.min(baseEpochDay, min);
+      codesByServiceId.put(entry.getKey(), code);
+      ++code;
+    }
+    if (baseEpochDay == Long.MAX_VALUE) {
+      baseEpochDay = 0;
+    }
+
+    int[] firstWords = new int[serviceCount];
+    long[][] words = new long[serviceCount][];
+    for (code = 0; code < serviceCount; ++code) {
+      if (minDays[code] > maxDays[code]) {
+        words[code] = NO_WORDS;
+        continue;
+      }
+      int firstWord = (int) ((minDays[code] - baseEpochDay) >>> 6);
+      int lastWord = (int) ((maxDays[code] - baseEpochDay) >>> 6);
+      long[] serviceWords = new long[lastWord - firstWord + 1];
+      // Epoch day of the first bit of serviceWords.
+      long firstDay = baseEpochDay + ((long) firstWord << 6);
+      ServicePeriod period = periods[code];
+      byte pattern = period.getWeeklyPattern();
+      if (pattern != 0) {
+        long end = period.getServiceEnd().toEpochDay();
+        for (long day = period.getServiceStart().toEpochDay(); day <= end; ++day) {
+          // Epoch day 0 is a Thursday and bit 0 of the pattern is Monday.
+          if (((pattern >> Math.floorMod(day + 3, 7)) & 1) != 0) {
+            setBit(serviceWords, day - firstDay);
+          }
+        }
+      }
+      for (LocalDate date : period.getAddedDays()) {
+        setBit(serviceWords, date.toEpochDay() - firstDay);
+      }
+      for (LocalDate date : period.getRemovedDays()) {
+        long bit = date.toEpochDay() - firstDay;
+        if (bit >= 0 && bit < ((long) serviceWords.length << 6)) {
+          serviceWords[(int) (bit >>> 6)] &= ~(1L << bit);
+        }
+      }
+      // Removed days may leave empty words at both ends.
+      int from = 0;
+      int to = serviceWords.length;
+      while (from < to && serviceWords[from] == 0) {
+        ++from;
+      }
+      while (to > from && serviceWords[to - 1] == 0) {
+        --to;
+      }
+      words[code] = from == to ? NO_WORDS : Arrays.copyOfRange(serviceWords, from, to);
+      firstWords[code] = firstWord + from;
+    }
+    return new ServiceCalendar(baseEpochDay, codesByServiceId.buildOrThrow(), firstWords, words);
+  }
+
+  /**
+   * Builds the calendar of services with the given active days.
+   *
+   * @param serviceDates mapping from service id to a set of active days
+   */
+  public static ServiceCalendar fromDates(Map<String, ? extends Set<LocalDate>> serviceDates) {
+    return fromServicePeriods(Maps.transformValues(serviceDates, ServicePeriod::new));
+  }
+
+  private static void setBit(long[] words, long bit) {
+    words[(int) (bit >>> 6)] |= 1L << bit;
+  }
+
+  /** Returns the ids of all services, including those that have no active days. */
+  public ImmutableSet<String> serviceIds() {
+    return codesByServiceId.keySet();
+  }
+
+  /** Returns the number of services, including those that have no active days. */
+  public int serviceCount() {
+    return words.length;
+  }
+
+  /**
+   * Returns the code of a service, a dense index from 0 to {@link #serviceCount()} that may be used
+   * instead of its id, or -1 if the service is unknown.
+   */
+  public int serviceCode(String serviceId) {
+    Integer code = codesByServiceId.get(serviceId);
+    return code == null ? -1 : code;
+  }
+
+  /** Tells if the service is active on at least one day. */
+  public boolean hasActiveDays(String serviceId) {
+    int code = serviceCode(serviceId);
+    return code >= 0 && words[code].length > 0;
+  }
+
+  /** Tells if the service is active on the given date. Unknown services are never active. */
+  public boolean isActive(String serviceId, LocalDate date) {
+    int code = serviceCode(serviceId);
+    if (code < 0) {
+      return false;
+    }
+    long bit = date.toEpochDay() - baseEpochDay - ((long) firstWords[code] << 6);
+    long[] serviceWords = words[code];
+    return bit >= 0
+        && bit < ((long) serviceWords.length << 6)
+        && (serviceWords[(int) (bit >>> 6)] & (1L << bit)) != 0;
+  }
+
+  /** Returns the first date on which the service is active, or null if there is none. */
+  @Nullable
+  public LocalDate firstActiveDate(String serviceId) {
+    int code = serviceCode(serviceId);
+    if (code < 0 || words[code].length == 0) {
+      return null;
+    }
+    return LocalDate.ofEpochDay(epochDayOfBit(code, 0, Long.numberOfTrailingZeros(words[code][0])));
+  }
+
+  /** Returns the last date on which the service is active, or null if there is none. */
+  @Nullable
+  public LocalDate lastActiveDate(String serviceId) {
+    int code = serviceCode(serviceId);
+    if (code < 0 || words[code].length == 0) {
+      return null;
+    }
+    int last = words[code].length - 1;
+    return LocalDate.ofEpochDay(
+        epochDayOfBit(code, last, 63 - Long.numberOfLeadingZeros(words[code][last])));
+  }
+
+  /**
+   * Calls the consumer with the epoch day of each date on which the service is active, in
+   * increasing order. Does nothing for unknown services.
+   */
+  public void forEachActiveEpochDay(String serviceId, LongConsumer consumer) {
+    int code = serviceCode(serviceId);
+    if (code < 0) {
+      return;
+    }
+    long[] serviceWords = words[code];
+    for (int i = 0; i < serviceWords.length; ++i) {
+      for (long word = serviceWords[i]; word != 0; word &= word - 1) {
+        consumer.accept(epochDayOfBit(code, i, Long.numberOfTrailingZeros(word)));
+      }
+    }
+  }
+
+  /**
+   * Returns the first date on which both services are active, or {@code Optional.empty()} if there
+   * is none or if either service is unknown.
+   */
+  public Optional<LocalDate> firstIntersectingDate(String serviceId1, String serviceId2) {
+    long epochDay = firstIntersectingEpochDay(serviceCode(serviceId1), serviceCode(serviceId2));
+    return epochDay == NO_INTERSECTION
+        ? Optional.empty()
+        : Optional.of(LocalDate.ofEpochDay(epochDay));
+  }
+
+  /**
+   * Returns the epoch day of the first date on which both services are active, or {@link
+   * #NO_INTERSECTION} if there is none or if either code is -1.
+   *
+   * @param code1 the {@link #serviceCode} of the first service
+   * @param code2 the {@link #serviceCode} of the second service
+   */
+  public long firstIntersectingEpochDay(int code1, int code2) {
+    if (code1 < 0 || code2 < 0) {
+      return NO_INTERSECTION;
+    }
+    long[] words1 = words[code1];
+    long[] words2 = words[code2];
+    int from = Math.max(firstWords[code1], firstWords[code2]);
+    int to = Math.min(firstWords[code1] + words1.length, firstWords[code2] + words2.length);
+    for (int word = from; word < to; ++word) {
+      long common = words1[word - firstWords[code1]] & words2[word - firstWords[code2]];
+      if (common != 0) {
+        return baseEpochDay + ((long) word << 6) + Long.numberOfTrailingZeros(common);
+      }
+    }
+    return NO_INTERSECTION;
+  }
+
+  private long epochDayOfBit(int code, int serviceWord, int bit) {
+    return baseEpochDay + ((long) (firstWords[code] + serviceWord) << 6) + bit;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.table.GtfsCalendarDateTableContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsCalendarTableContainer;
+
+/**
+ * Lazily builds the {@link ServiceCalendar} of the feed, once for all validators that need the
+ * active days of services.
+ *
+ * <h2>Lifecycle</h2>
+ *
+ * <p>An empty instance is placed in {@link
+ * org.mobilitydata.gtfsvalidator.validator.ValidationContext} before the feed is loaded:
+ *
+ * <pre>{@code
+ * ValidationContext context = ValidationContext.builder()
+ *     .set(ServiceCalendarIndex.class, new ServiceCalendarIndex())
+ *     .build();
+ * }</pre>
+ *
+ * <p>Validators declare the index as a constructor parameter next to the calendar tables, and the
+ * first one to ask for the calendar builds it:
+ *
+ * <pre>{@code
+ * ServiceCalendar serviceCalendar =
+ *     serviceCalendarIndex.getServiceCalendar(calendarTable, calendarDateTable);
+ * }</pre>
+ *
+ * <h2>Thread safety</h2>
+ *
+ * <p>Built using double-checked locking on a {@code volatile} field. Safe to call {@link
+ * #getServiceCalendar} from multiple threads simultaneously.
+ */
+public class ServiceCalendarIndex {
+
+  /** Null until first access. Volatile for correct double-checked locking. */
+  @Nullable private volatile ServiceCalendar serviceCalendar = null;
+
+  /** Creates an empty index. Place this instance in {@code ValidationContext}. */
+  public ServiceCalendarIndex() {}
+
+  /**
+   * Returns the calendar of all services of the feed, building it on first call.
+   *
+   * <p>All calls must pass the tables of the same feed: later calls return the calendar that was
+   * built from the tables of the first call.
+   */
+  public ServiceCalendar getServiceCalendar(
+      GtfsCalendarTableContainer calendarTable,
+      GtfsCalendarDateTableContainer calendarDateTable) {
+    ServiceCalendar result = serviceCalendar;
+    if (result != null) {
+      return result; // Already built, no locking needed.
+    }
+    synchronized (this) {
+      if (serviceCalendar == null) {
+        serviceCalendar =
+            ServiceCalendar.fromServicePeriods(
+                CalendarUtil.buildServicePeriodMap(calendarTable, calendarDateTable));
+      }
+      return serviceCalendar;
+    }
+  }
+}
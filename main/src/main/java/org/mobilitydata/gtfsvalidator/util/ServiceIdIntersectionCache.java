@@ -1,31 +1,39 @@
 package org.mobilitydata.gtfsvalidator.util;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
-import java.util.SortedSet;
+import java.util.Set;
 
 /**
  * A helper class for storing cached results that two given services overlap.
  *
+ * <p>Services are identified by their {@link ServiceCalendar#serviceCode}, and results are cached
+ * by pairs of codes, so that a lookup neither compares strings nor boxes keys.
+ *
  * <p>This class is not thread-safe.
  */
 public class ServiceIdIntersectionCache {
-  private static final LocalDate NO_OVERLAP = LocalDate.EPOCH;
-  private final Map<String, SortedSet<LocalDate>> serviceDates;
-  // The cache stores LocalDate instead of Optional<LocalDate> for size
-  // efficiency. If services do not overlap, we store null.
-  private final Table<String, String, LocalDate> cache = HashBasedTable.create();
+  private final ServiceCalendar serviceCalendar;
+  private final PairCache cache = new PairCache();
 
   /**
    * Creates an intersection cache from the given service dates.
    *
    * @param serviceDates mapping from service id to a set of included days
    */
-  public ServiceIdIntersectionCache(Map<String, SortedSet<LocalDate>> serviceDates) {
-    this.serviceDates = serviceDates;
+  public ServiceIdIntersectionCache(Map<String, ? extends Set<LocalDate>> serviceDates) {
+    this(ServiceCalendar.fromDates(serviceDates));
+  }
+
+  /**
+   * Creates an intersection cache for the services of the given calendar.
+   *
+   * @param serviceCalendar active days of each service
+   */
+  public ServiceIdIntersectionCache(ServiceCalendar serviceCalendar) {
+    this.serviceCalendar = serviceCalendar;
   }
 
   /**
@@ -40,24 +48,38 @@ public class ServiceIdIntersectionCache {
    * @return the first intersecting date or {@code Optional.empty()} for no intersection
    */
   public Optional<LocalDate> findIntersectingDate(String serviceId1, String serviceId2) {
-    // We generate the cache key with the smallest service id coming first.
-    if (serviceId1.compareTo(serviceId2) > 0) {
-      String tmp = serviceId2;
-      serviceId2 = serviceId1;
-      serviceId1 = tmp;
-    }
-    LocalDate inCache = cache.get(serviceId1, serviceId2);
-    if (inCache != null) {
-      return inCache.equals(NO_OVERLAP) ? Optional.empty() : Optional.of(inCache);
+    return findIntersectingDate(serviceCode(serviceId1), serviceCode(serviceId2));
+  }
+
+  /**
+   * Same as {@link #findIntersectingDate(String, String)} for services given by their {@link
+   * #serviceCode}.
+   */
+  public Optional<LocalDate> findIntersectingDate(int serviceCode1, int serviceCode2) {
+    // We generate the cache key with the smallest service code coming first. Unknown services have
+    // code -1, so codes are shifted by one to keep keys non-negative.
+    final long key =
+        ((long) (Math.min(serviceCode1, serviceCode2) + 1) << 32)
+            | (Math.max(serviceCode1, serviceCode2) + 1);
+    int slot = cache.slot(key);
+    long epochDay;
+    if (cache.isSet(slot)) {
+      epochDay = cache.valueAt(slot);
+    } else {
+      epochDay = serviceCalendar.firstIntersectingEpochDay(serviceCode1, serviceCode2);
+      cache.put(slot, key, epochDay);
     }
-    SortedSet<LocalDate> dates1 = serviceDates.get(serviceId1);
-    SortedSet<LocalDate> dates2 = serviceDates.get(serviceId2);
-    final Optional<LocalDate> intersection =
-        dates1 == null || dates2 == null
-            ? Optional.empty()
-            : CalendarUtil.firstIntersectingDate(dates1, dates2);
-    cache.put(serviceId1, serviceId2, intersection.orElse(NO_OVERLAP));
-    return intersection;
+    return epochDay == ServiceCalendar.NO_INTERSECTION
+        ? Optional.empty()
+        : Optional.of(LocalDate.ofEpochDay(epochDay));
+  }
+
+  /**
+   * Returns the code of a service to pass to {@link #findIntersectingDate(int, int)}, or -1 if the
+   * service is unknown.
+   */
+  public int serviceCode(String serviceId) {
+    return serviceCalendar.serviceCode(serviceId);
   }
 
   /**
@@ -66,6 +88,62 @@ public class ServiceIdIntersectionCache {
    * @return cache size.
    */
   public int getCacheSize() {
-    return cache.size();
+    return cache.size;
+  }
+
+  /**
+   * Open-addressing hash map from a non-negative {@code long} key to a {@code long} value, with
+   * linear probing.
+   */
+  private static final class PairCache {
+    private static final long EMPTY = -1;
+
+    private long[] keys = newKeys(64);
+    private long[] values = new long[64];
+    private int size = 0;
+
+    private static long[] newKeys(int capacity) {
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+
+    /** Returns the slot that holds the key, or the empty slot where it should be put. */
+    int slot(long key) {
+      final int mask = keys.length - 1;
+      long hash = key * 0x9E3779B97F4A7C15L;
+      int slot = (int) (hash ^ (hash >>> 32)) & mask;
+      while (keys[slot] != EMPTY && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    boolean isSet(int slot) {
+      return keys[slot] != EMPTY;
+    }
+
+    long valueAt(int slot) {
+      return values[slot];
+    }
+
+    /** Puts the key into the empty slot returned by {@link #slot}. */
+    void put(int slot, long key, long value) {
+      keys[slot] = key;
+      values[slot] = value;
+      if (++size > keys.length * 3 / 4) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = newKeys(oldKeys.length * 2);
+        values = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; ++i) {
+          if (oldKeys[i] != EMPTY) {
+            int newSlot = slot(oldKeys[i]);
+            keys[newSlot] = oldKeys[i];
+            values[newSlot] = oldValues[i];
+          }
+        }
+      }
+    }
   }
 }
@@ -142,14 +142,7 @@ public final class TripCalendarUtil {
       return tripCountByDate;
     }
 
-    Map<String, Integer> tripCountByServiceId = new HashMap<>();
-    for (GtfsTrip trip : tripTable.getEntities()) {
-      tripCountByServiceId.put(
-          trip.serviceId(),
-          tripCountByServiceId.getOrDefault(trip.serviceId(), 0)
-              + computeTripCount(trip.tripId(), frequencyTable));
-    }
-
+    Map<String, Integer> tripCountByServiceId = countTripsForEachService(tripTable, frequencyTable);
     for (Map.Entry<String, Integer> entry : tripCountByServiceId.entrySet()) {
       SortedSet<LocalDate> dates = serviceDates.get(entry.getKey());
       if (dates == null) {
@@ -163,6 +156,68 @@ public final class TripCalendarUtil {
     return tripCountByDate;
   }
 
+  /**
+   * Counts the number of trips active for each service date of the GTFS feed, using the active days
+   * of services from the given calendar.
+   *
+   * <p>Returns the same counts as {@link #countTripsForEachServiceDate(Map,
+   * GtfsTripTableContainer, GtfsFrequencyTableContainer)} with the service dates of the calendar,
+   * but sums them in an array indexed by day instead of a map.
+   */
+  public static NavigableMap<LocalDate, Integer> countTripsForEachServiceDate(
+      ServiceCalendar serviceCalendar,
+      GtfsTripTableContainer tripTable,
+      GtfsFrequencyTableContainer frequencyTable) {
+    NavigableMap<LocalDate, Integer> tripCountByDate = new TreeMap<>();
+    if (tripTable.getEntities().isEmpty() || serviceCalendar.serviceCount() == 0) {
+      return tripCountByDate;
+    }
+
+    Map<String, Integer> tripCountByServiceId = countTripsForEachService(tripTable, frequencyTable);
+    long firstDay = Long.MAX_VALUE;
+    long lastDay = Long.MIN_VALUE;
+    for (String serviceId : tripCountByServiceId.keySet()) {
+      if (serviceCalendar.hasActiveDays(serviceId)) {
+        firstDay = Math.min(firstDay, serviceCalendar.firstActiveDate(serviceId).toEpochDay());
+        lastDay = Math.max(lastDay, serviceCalendar.lastActiveDate(serviceId).toEpochDay());
+      }
+    }
+    if (firstDay > lastDay) {
+      return tripCountByDate;
+    }
+
+    final long baseDay = firstDay;
+    int[] tripCountByDay = new int[Math.toIntExact(lastDay - firstDay + 1)];
+    boolean[] isActiveDay = new boolean[tripCountByDay.length];
+    for (Map.Entry<String, Integer> entry : tripCountByServiceId.entrySet()) {
+      int tripCount = entry.getValue();
+      serviceCalendar.forEachActiveEpochDay(
+          entry.getKey(),
+          epochDay -> {
+            tripCountByDay[(int) (epochDay - baseDay)] += tripCount;
+            isActiveDay[(int) (epochDay - baseDay)] = true;
+          });
+    }
+    for (int i = 0; i < tripCountByDay.length; ++i) {
+      if (isActiveDay[i]) {
+        tripCountByDate.put(LocalDate.ofEpochDay(baseDay + i), tripCountByDay[i]);
+      }
+    }
+    return tripCountByDate;
+  }
+
+  private static Map<String, Integer> countTripsForEachService(
+      GtfsTripTableContainer tripTable, GtfsFrequencyTableContainer frequencyTable) {
+    Map<String, Integer> tripCountByServiceId = new HashMap<>();
+    for (GtfsTrip trip : tripTable.getEntities()) {
+      tripCountByServiceId.put(
+          trip.serviceId(),
+          tripCountByServiceId.getOrDefault(trip.serviceId(), 0)
+              + computeTripCount(trip.tripId(), frequencyTable));
+    }
+    return tripCountByServiceId;
+  }
+
   private static int computeTripCount(String tripId, GtfsFrequencyTableContainer frequencyTable) {
     List<GtfsFrequency> frequencies = frequencyTable.byTripId(tripId);
     if (frequencies.isEmpty()) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import javax.annotation.Nullable;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
+
+/**
+ * Lazily builds the {@link TripPatterns} of the feed, once for all validators that check trips
+ * pattern by pattern.
+ *
+ * <h2>Lifecycle</h2>
+ *
+ * <p>An empty instance is placed in {@link
+ * org.mobilitydata.gtfsvalidator.validator.ValidationContext} before the feed is loaded:
+ *
+ * <pre>{@code
+ * ValidationContext context = ValidationContext.builder()
+ *     .set(TripPatternIndex.class, new TripPatternIndex())
+ *     .build();
+ * }</pre>
+ *
+ * <p>Validators declare the index as a constructor parameter next to the stop times table, and the
+ * first one to ask for the patterns builds them.
+ *
+ * <h2>Thread safety</h2>
+ *
+ * <p>Built using double-checked locking on a {@code volatile} field. Safe to call {@link
+ * #getTripPatterns} from multiple threads simultaneously.
+ */
+public class TripPatternIndex {
+
+  /** Null until first access. Volatile for correct double-checked locking. */
+  @Nullable private volatile TripPatterns tripPatterns = null;
+
+  /** Creates an empty index. Place this instance in {@code ValidationContext}. */
+  public TripPatternIndex() {}
+
+  /**
+   * Returns the trip patterns of the feed, building them on first call.
+   *
+   * <p>All calls must pass the stop times of the same feed: later calls return the patterns that
+   * were built from the table of the first call.
+   */
+  public TripPatterns getTripPatterns(GtfsStopTimeTableContainer stopTimeTable) {
+    TripPatterns result = tripPatterns;
+    if (result != null) {
+      return result; // Already built, no locking needed.
+    }
+    synchronized (this) {
+      if (tripPatterns == null) {
+        tripPatterns = TripPatterns.fromStopTimes(stopTimeTable);
+      }
+      return tripPatterns;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimaps;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTime;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
+
+/**
+ * Trip patterns of a feed: trips that visit the same stops in the same order share a pattern.
+ *
+ * <p>Patterns are numbered from 0 in the order in which their first trip is iterated in {@link
+ * GtfsStopTimeTableContainer#byTripIdMap()}, and that trip is the representative trip of the
+ * pattern. Only trips with stop times have a pattern.
+ *
+ * <p>Validators that check properties of the stop sequence may check each pattern once instead of
+ * each trip.
+ *
+ * <p>This class is immutable and thread-safe.
+ */
+public final class TripPatterns {
+  private final ImmutableMap<String, Integer> patternIdByTripId;
+  private final ImmutableList<ImmutableList<String>> stopIdsByPattern;
+  private final ImmutableList<ImmutableList<String>> tripIdsByPattern;
+
+  private TripPatterns(
+      ImmutableMap<String, Integer> patternIdByTripId,
+      ImmutableList<ImmutableList<String>> stopIdsByPattern,
+      ImmutableList<ImmutableList<String>> tripIdsByPattern) {
+    this.patternIdByTripId = patternIdByTripId;
+    this.stopIdsByPattern = stopIdsByPattern;
+    this.tripIdsByPattern = tripIdsByPattern;
+  }
+
+  /**
+   * Groups the trips of the given stop times by pattern.
+   *
+   * <p>Stop sequences of trips are read and hashed in parallel. Pattern ids are then assigned in a
+   * single pass so that they do not depend on scheduling.
+   */
+  public static TripPatterns fromStopTimes(GtfsStopTimeTableContainer stopTimeTable) {
+    final List<List<GtfsStopTime>> stopTimesByTrip =
+        new ArrayList<>(Multimaps.asMap(stopTimeTable.byTripIdMap()).values());
+    final StopSequence[] stopSequences =
+        IntStream.range(0, stopTimesByTrip.size())
+            .parallel()
+            .mapToObj(i -> StopSequence.of(stopTimesByTrip.get(i)))
+            .toArray(StopSequence[]::new);
+
+    Map<StopSequence, Integer> patternIdBySequence = new HashMap<>();
+    ImmutableMap.Builder<String, Integer> patternIdByTripId =
+        ImmutableMap.builderWithExpectedSize(stopSequences.length);
+    List<StopSequence> sequenceByPattern = new ArrayList<>();
+    List<ImmutableList.Builder<String>> tripIdsByPattern = new ArrayList<>();
+    for (int i = 0; i < stopSequences.length; ++i) {
+      Integer patternId = patternIdBySequence.get(stopSequences[i]);
+      if (patternId == null) {
+        patternId = sequenceByPattern.size();
+        patternIdBySequence.put(stopSequences[i], patternId);
+        sequenceByPattern.add(stopSequences[i]);
+        tripIdsByPattern.add(ImmutableList.builder());
+      }
+      String tripId = stopTimesByTrip.get(i).get(0).tripId();
+      patternIdByTripId.put(tripId, patternId);
+      tripIdsByPattern.get(patternId).add(tripId);
+    }
+
+    ImmutableList.Builder<ImmutableList<String>> stopIds =
+        ImmutableList.builderWithExpectedSize(sequenceByPattern.size());
+    ImmutableList.Builder<ImmutableList<String>> tripIds =
+        ImmutableList.builderWithExpectedSize(sequenceByPattern.size());
+    for (int patternId = 0; patternId < sequenceByPattern.size(); ++patternId) {
+      stopIds.add(ImmutableList.copyOf(sequenceByPattern.get(patternId).stopIds));
+      tripIds.add(tripIdsByPattern.get(patternId).build());
+    }
+    return new TripPatterns(patternIdByTripId.buildOrThrow(), stopIds.build(), tripIds.build());
+  }
+
+  /** Returns the number of patterns. Pattern ids are from 0 to {@code patternCount() - 1}. */
+  public int patternCount() {
+    return stopIdsByPattern.size();
+  }
+
+  /** Returns the pattern of the trip, or -1 if the trip has no stop times. */
+  public int patternId(String tripId) {
+    Integer patternId = patternIdByTripId.get(tripId);
+    return patternId == null ? -1 : patternId;
+  }
+
+  /** Returns the stop ids of the pattern in the order of stop times. */
+  public ImmutableList<String> stopIds(int patternId) {
+    return stopIdsByPattern.get(patternId);
+  }
+
+  /** Returns the trips of the pattern, in the order of {@code byTripIdMap()}. */
+  public ImmutableList<String> tripIds(int patternId) {
+    return tripIdsByPattern.get(patternId);
+  }
+
+  /** Returns the first trip of the pattern. */
+  public String representativeTripId(int patternId) {
+    return tripIdsByPattern.get(patternId).get(0);
+  }
+
+  /** Stop ids of a trip with a precomputed hash code. */
+  private static final class StopSequence {
+    private final String[] stopIds;
+    private final int hashCode;
+
+    private StopSequence(String[] stopIds) {
+      this.stopIds = stopIds;
+      this.hashCode = Arrays.hashCode(stopIds);
+    }
+
+    static StopSequence of(List<GtfsStopTime> stopTimes) {
+      String[] stopIds = new String[stopTimes.size()];
+      for (int i = 0; i < stopIds.length; ++i) {
+        stopIds[i] = stopTimes.get(i).stopId();
+      }
+      return new StopSequence(stopIds);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof StopSequence
+          && hashCode == ((StopSequence) other).hashCode
+          && Arrays.equals(stopIds, ((StopSequence) other).stopIds);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package org.mobilitydata.gtfsvalidator.util.shape;
 
+import java.util.Objects;
 import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.table.GtfsStopTime;
 
@@ -110,10 +111,10 @@ public class Problem {
 
   public boolean approxEquals(Problem that, double maxError) {
     return this.type.equals(that.type)
-        && this.stopTime == that.stopTime
+        && this.stopTime.equals(that.stopTime)
         && this.match.approxEquals(that.match, maxError)
         && this.matchCount == that.matchCount
-        && this.prevStopTime == that.prevStopTime
+        && Objects.equals(this.prevStopTime, that.prevStopTime)
         && ((this.prevMatch == null && that.prevMatch == null)
             || (this.prevMatch != null
                 && that.prevMatch != null
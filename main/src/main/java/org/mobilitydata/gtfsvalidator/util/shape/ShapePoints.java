@@ -18,15 +18,19 @@ package org.mobilitydata.gtfsvalidator.util.shape;
 
 import static org.mobilitydata.gtfsvalidator.util.S2Earth.getDistanceMeters;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.geometry.S2;
 import com.google.common.geometry.S2EdgeUtil;
 import com.google.common.geometry.S2LatLng;
 import com.google.common.geometry.S2Point;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.mobilitydata.gtfsvalidator.table.GtfsShape;
 import org.mobilitydata.gtfsvalidator.util.MathUtil;
+import org.mobilitydata.gtfsvalidator.util.S2Earth;
 
 /**
  * Models a GTFS shape, which is a sequence of lat/lng points, annotated with distances.
@@ -43,8 +47,20 @@ import org.mobilitydata.gtfsvalidator.util.MathUtil;
  */
 public class ShapePoints {
 
+  /**
+   * Shapes with fewer points are matched by scanning all segments, which is cheaper than building
+   * a {@link ShapeSegmentIndex}.
+   */
+  @VisibleForTesting static final int MIN_POINTS_FOR_SEGMENT_INDEX = 64;
+
   private final List<ShapePoint> points;
 
+  /**
+   * Built by the first call to {@link #matchesFromLocation}. The index is immutable, so threads
+   * that race to build it get equivalent indices.
+   */
+  @Nullable private ShapeSegmentIndex segmentIndex;
+
   public ShapePoints(List<ShapePoint> points) {
     this.points = points;
   }
@@ -118,8 +134,29 @@ public class ShapePoints {
    *
    * <p>Returns an empty list if no matches were found within the specified max distance from the
    * shape.
+   *
+   * <p>Long shapes are matched with a {@link ShapeSegmentIndex} that skips the segments far from
+   * the location. The matches are the same as when scanning all segments.
    */
   public List<StopToShapeMatch> matchesFromLocation(S2Point location, double maxDistanceFromShape) {
+    return matchesFromLocation(
+        location, maxDistanceFromShape, points.size() >= MIN_POINTS_FOR_SEGMENT_INDEX);
+  }
+
+  @VisibleForTesting
+  List<StopToShapeMatch> matchesFromLocation(
+      S2Point location, double maxDistanceFromShape, boolean useSegmentIndex) {
+    // Candidate segments in increasing order, or null to scan all segments. Segments that are not
+    // candidates are farther than maxDistanceFromShape.
+    int[] segments = null;
+    if (useSegmentIndex) {
+      if (segmentIndex == null) {
+        segmentIndex = ShapeSegmentIndex.build(Lists.transform(points, point -> point.location));
+      }
+      segments =
+          segmentIndex.findSegments(location, maxDistanceFromShape / S2Earth.getRadiusMeters());
+    }
+    final int segmentCount = segments == null ? Math.max(0, points.size() - 1) : segments.length;
     List<StopToShapeMatch> matches = new ArrayList<>();
     StopToShapeMatch localMatch = new StopToShapeMatch();
 
@@ -135,10 +172,21 @@ public class ShapePoints {
     // detect an inflection point where the shape moved away and then came back
     // in between our previous match and current match, we store the previous
     // best localMatch to the matches list and reset the localMatch.
+    //
+    // Skipped segments are too far from the stop, so the first of them would store the pending
+    // localMatch. Since localMatch is then cleared, the values that they would leave in
+    // distanceToEndOfPreviousSegment and previousSegmentGettingFurtherAway are never read.
     double distanceToEndOfPreviousSegment = Double.POSITIVE_INFINITY;
     boolean previousSegmentGettingFurtherAway = false;
+    int previousSegment = -1;
 
-    for (int i = 0; i + 1 < points.size(); ++i) {
+    for (int k = 0; k < segmentCount; ++k) {
+      final int i = segments == null ? k : segments[k];
+      if (i != previousSegment + 1 && localMatch.hasBestMatch()) {
+        matches.add(new StopToShapeMatch(localMatch));
+        localMatch.clearBestMatch();
+      }
+      previousSegment = i;
       final ShapePoint left = points.get(i);
       final ShapePoint right = points.get(i + 1);
       final S2Point closestPoint =
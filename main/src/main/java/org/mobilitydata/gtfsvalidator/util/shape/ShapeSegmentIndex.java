@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util.shape;
+
+import com.google.common.geometry.S2Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the segments of a shape that may be close to a location without measuring the distance to
+ * every segment.
+ *
+ * <p>The index is a binary tree over the segments of the shape. Each leaf holds up to {@link
+ * #LEAF_SEGMENTS} consecutive segments and each node holds a spherical cap that contains all
+ * segments below it. Consecutive segments of a shape are close to each other, so the caps stay
+ * small and a query only descends into the nodes whose cap is near the location.
+ *
+ * <p>Segment {@code i} goes from point {@code i} to point {@code i + 1}.
+ *
+ * <p>This class is immutable and thread-safe.
+ */
+final class ShapeSegmentIndex {
+  /** Maximal number of segments of a leaf. */
+  static final int LEAF_SEGMENTS = 8;
+
+  /**
+   * Added to the radius of queries, about 6 mm on the earth, so that rounding errors never skip a
+   * segment that is within the radius.
+   */
+  private static final double MARGIN_RADIANS = 1e-9;
+
+  /** Radius of caps that contain the whole sphere. Such nodes are never skipped. */
+  private static final double FULL_SPHERE_RADIANS = Math.PI;
+
+  private final int segmentCount;
+
+  /** Center of the cap of each node, in heap order: the children of node k are 2k+1 and 2k+2. */
+  private final S2Point[] centers;
+
+  /** Angular radius of the cap of each node. */
+  private final double[] radii;
+
+  private ShapeSegmentIndex(int segmentCount, S2Point[] centers, double[] radii) {
+    this.segmentCount = segmentCount;
+    this.centers = centers;
+    this.radii = radii;
+  }
+
+  /** Builds the index of the segments between consecutive points. */
+  static ShapeSegmentIndex build(List<S2Point> points) {
+    int segmentCount = Math.max(0, points.size() - 1);
+    int leafCount = Math.max(1, (segmentCount + LEAF_SEGMENTS - 1) / LEAF_SEGMENTS);
+    // A balanced tree over leafCount leaves has less than 4 * leafCount nodes in heap order.
+    S2Point[] centers = new S2Point[4 * leafCount];
+    double[] radii = new double[4 * leafCount];
+    if (segmentCount > 0) {
+      buildNode(points, 0, 0, segmentCount, centers, radii);
+    }
+    return new ShapeSegmentIndex(segmentCount, centers, radii);
+  }
+
+  private static void buildNode(
+      List<S2Point> points, int node, int from, int to, S2Point[] centers, double[] radii) {
+    if (to - from <= LEAF_SEGMENTS) {
+      // The cap of a leaf contains the points of its segments.
+      double x = 0;
+      double y = 0;
+      double z = 0;
+      for (int i = from; i <= to; ++i) {
+        x += points.get(i).getX();
+        y += points.get(i).getY();
+        z += points.get(i).getZ();
+      }
+      S2Point center = normalizedOrNull(x, y, z);
+      double radius = FULL_SPHERE_RADIANS;
+      if (center != null) {
+        radius = 0;
+        for (int i = from; i <= to; ++i) {
+          radius = Math.max(radius, center.angle(points.get(i)));
+        }
+        // A cap that is smaller than a hemisphere is convex, so it also contains the segments
+        // between its points.
+        if (radius >= Math.PI / 2) {
+          radius = FULL_SPHERE_RADIANS;
+        }
+      }
+      centers[node] = center == null ? points.get(from) : center;
+      radii[node] = radius;
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    int left = 2 * node + 1;
+    int right = 2 * node + 2;
+    buildNode(points, left, from, middle, centers, radii);
+    buildNode(points, right, middle, to, centers, radii);
+    // The cap of a node contains the caps of its children.
+    S2Point center =
+        normalizedOrNull(
+            centers[left].getX() + centers[right].getX(),
+            centers[left].getY() + centers[right].getY(),
+            centers[left].getZ() + centers[right].getZ());
+    double radius = FULL_SPHERE_RADIANS;
+    if (center != null) {
+      radius =
+          Math.min(
+              FULL_SPHERE_RADIANS,
+              Math.max(
+                  center.angle(centers[left]) + radii[left],
+                  center.angle(centers[right]) + radii[right]));
+    }
+    centers[node] = center == null ? centers[left] : center;
+    radii[node] = radius;
+  }
+
+  private static S2Point normalizedOrNull(double x, double y, double z) {
+    double norm = Math.sqrt(x * x + y * y + z * z);
+    return norm == 0 ? null : new S2Point(x / norm, y / norm, z / norm);
+  }
+
+  /** Returns the number of segments. */
+  int segmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Returns the segments that may be within the given angle from the location, in increasing
+   * order.
+   *
+   * <p>Every segment that is not returned is farther than {@code maxRadians} from the location.
+   * Returned segments may be farther, so the caller has to measure their distance.
+   */
+  int[] findSegments(S2Point location, double maxRadians) {
+    SegmentCollector collector = new SegmentCollector();
+    if (segmentCount > 0) {
+      collectSegments(0, 0, segmentCount, location, maxRadians + MARGIN_RADIANS, collector);
+    }
+    return collector.toArray();
+  }
+
+  private void collectSegments(
+      int node, int from, int to, S2Point location, double maxRadians, SegmentCollector collector) {
+    if (radii[node] < FULL_SPHERE_RADIANS
+        && location.angle(centers[node]) - radii[node] > maxRadians) {
+      return;
+    }
+    if (to - from <= LEAF_SEGMENTS) {
+      for (int segment = from; segment < to; ++segment) {
+        collector.add(segment);
+      }
+      return;
+    }
+    // Children are visited from left to right, so segments are collected in increasing order.
+    int middle = (from + to) >>> 1;
+    collectSegments(2 * node + 1, from, middle, location, maxRadians, collector);
+    collectSegments(2 * node + 2, middle, to, location, maxRadians, collector);
+  }
+
+  /** Growable array of segment indices. */
+  private static final class SegmentCollector {
+    private int[] segments = new int[LEAF_SEGMENTS];
+    private int size = 0;
+
+    void add(int segment) {
+      if (size == segments.length) {
+        segments = Arrays.copyOf(segments, 2 * size);
+      }
+      segments[size++] = segment;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(segments, size);
+    }
+  }
+}
@@ -160,7 +160,7 @@ public class StopPoints {
     public boolean approxEquals(StopPoint that, double maxError) {
       return getDistanceMeters(this.location, that.location) < maxError
           && Math.abs(this.userDistance - that.userDistance) < maxError
-          && this.stopTime == that.stopTime
+          && this.stopTime.equals(that.stopTime)
           && this.isLargeStation == that.isLargeStation;
     }
   }
@@ -23,8 +23,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTrip;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripSchema;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
-import org.mobilitydata.gtfsvalidator.type.GtfsTime;
-import org.mobilitydata.gtfsvalidator.util.CalendarUtil;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 import org.mobilitydata.gtfsvalidator.util.ServiceIdIntersectionCache;
 
 /**
@@ -46,16 +45,20 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
 
   private final GtfsCalendarDateTableContainer calendarDateTable;
 
+  private final ServiceCalendarIndex serviceCalendarIndex;
+
   @Inject
   BlockTripsWithOverlappingStopTimesValidator(
       GtfsTripTableContainer tripTable,
       GtfsStopTimeTableContainer stopTimeTable,
       GtfsCalendarTableContainer calendarTable,
-      GtfsCalendarDateTableContainer calendarDateTable) {
+      GtfsCalendarDateTableContainer calendarDateTable,
+      ServiceCalendarIndex serviceCalendarIndex) {
     this.tripTable = tripTable;
     this.stopTimeTable = stopTimeTable;
     this.calendarTable = calendarTable;
     this.calendarDateTable = calendarDateTable;
+    this.serviceCalendarIndex = serviceCalendarIndex;
   }
 
   @Override
@@ -75,8 +78,7 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
     // list.
     final ServiceIdIntersectionCache serviceIdIntersectionCache =
         new ServiceIdIntersectionCache(
-            CalendarUtil.servicePeriodToServiceDatesMap(
-                CalendarUtil.buildServicePeriodMap(calendarTable, calendarDateTable)));
+            serviceCalendarIndex.getServiceCalendar(calendarTable, calendarDateTable));
     for (List<GtfsTrip> tripsInBlock : Multimaps.asMap(tripTable.byBlockIdMap()).values()) {
       // We don't care about trips without a block id.
       if (!tripsInBlock.get(0).hasBlockId()) {
@@ -86,7 +88,8 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
       // properly judge trip overlap.
       for (GtfsTripOverlap overlap :
           findOverlapIntervals(
-              constructOrderedTripIntervals(tripsInBlock), serviceIdIntersectionCache)) {
+              constructOrderedTripIntervals(tripsInBlock, serviceIdIntersectionCache),
+              serviceIdIntersectionCache)) {
         final GtfsTrip tripA = overlap.getTripA();
         final GtfsTrip tripB = overlap.getTripB();
         noticeContainer.addValidationNotice(
@@ -105,7 +108,8 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
    *
    * <p>Intervals are sorted by increasing first-arrival times, and then last-departure time.
    */
-  private List<GtfsTripInterval> constructOrderedTripIntervals(List<GtfsTrip> tripsInBlock) {
+  private List<GtfsTripInterval> constructOrderedTripIntervals(
+      List<GtfsTrip> tripsInBlock, ServiceIdIntersectionCache serviceIdIntersectionCache) {
     ArrayList<GtfsTripInterval> intervals = new ArrayList<>();
     intervals.ensureCapacity(tripsInBlock.size());
     for (GtfsTrip trip : tripsInBlock) {
@@ -125,16 +129,17 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
       intervals.add(
           new GtfsTripInterval(
               trip,
-              firstStopTime.arrivalTime(),
-              firstStopTime.departureTime(),
-              lastStopTime.arrivalTime(),
-              lastStopTime.departureTime()));
+              serviceIdIntersectionCache.serviceCode(trip.serviceId()),
+              firstStopTime.arrivalTimeSeconds(),
+              firstStopTime.departureTimeSeconds(),
+              lastStopTime.arrivalTimeSeconds(),
+              lastStopTime.departureTimeSeconds()));
     }
     // Sort the trips by their first arrival and last departure times.
     Collections.sort(
         intervals,
-        Comparator.comparing(GtfsTripInterval::getFirstArrival)
-            .thenComparing(GtfsTripInterval::getLastDeparture));
+        Comparator.comparingInt(GtfsTripInterval::getFirstArrival)
+            .thenComparingInt(GtfsTripInterval::getLastDeparture));
     return intervals;
   }
 
@@ -153,7 +158,7 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
         final GtfsTripInterval nextInterval = intervals.get(j);
         // We can stop searching for overlapping intervals if there is
         // no more overlap.
-        if (interval.getLastDeparture().compareTo(nextInterval.getFirstArrival()) <= 0) {
+        if (interval.getLastDeparture() <= nextInterval.getFirstArrival()) {
           break;
         }
         // We technically allow two trip intervals to have overlapping stop
@@ -162,13 +167,13 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
         // the first stop in the next trip.  Many agencies model a block
         // transfer between two trips by basically replicating the
         // stop_times.txt entry for the two trips, creating a small overlap.
-        if (interval.getLastArrival().equals(nextInterval.getFirstArrival())
-            && interval.getLastDeparture().equals(nextInterval.getFirstDeparture())) {
+        if (interval.getLastArrival() == nextInterval.getFirstArrival()
+            && interval.getLastDeparture() == nextInterval.getFirstDeparture()) {
           continue;
         }
         final Optional<LocalDate> intersection =
             serviceIdIntersectionCache.findIntersectingDate(
-                interval.getTrip().serviceId(), nextInterval.getTrip().serviceId());
+                interval.getServiceCode(), nextInterval.getServiceCode());
         if (intersection.isPresent()) {
           overlaps.add(
               new GtfsTripOverlap(interval.getTrip(), nextInterval.getTrip(), intersection.get()));
@@ -180,26 +185,32 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
 
   /**
    * Captures the time interval spanned by the first and last stop time of a particular GTFS trip.
+   *
+   * <p>Times are in seconds since midnight.
    */
   private static class GtfsTripInterval {
 
     private final GtfsTrip trip;
 
-    private final GtfsTime firstArrival;
+    private final int serviceCode;
+
+    private final int firstArrival;
 
-    private final GtfsTime firstDeparture;
+    private final int firstDeparture;
 
-    private final GtfsTime lastArrival;
+    private final int lastArrival;
 
-    private final GtfsTime lastDeparture;
+    private final int lastDeparture;
 
     public GtfsTripInterval(
         GtfsTrip trip,
-        GtfsTime firstArrival,
-        GtfsTime firstDeparture,
-        GtfsTime lastArrival,
-        GtfsTime lastDeparture) {
+        int serviceCode,
+        int firstArrival,
+        int firstDeparture,
+        int lastArrival,
+        int lastDeparture) {
       this.trip = trip;
+      this.serviceCode = serviceCode;
       this.firstArrival = firstArrival;
       this.firstDeparture = firstDeparture;
       this.lastArrival = lastArrival;
@@ -210,19 +221,24 @@ public class BlockTripsWithOverlappingStopTimesValidator extends FileValidator {
       return trip;
     }
 
-    public GtfsTime getFirstArrival() {
+    /** Returns the {@link ServiceIdIntersectionCache#serviceCode} of the trip's service. */
+    public int getServiceCode() {
+      return serviceCode;
+    }
+
+    public int getFirstArrival() {
       return firstArrival;
     }
 
-    public GtfsTime getFirstDeparture() {
+    public int getFirstDeparture() {
       return firstDeparture;
     }
 
-    public GtfsTime getLastArrival() {
+    public int getLastArrival() {
       return lastArrival;
     }
 
-    public GtfsTime getLastDeparture() {
+    public int getLastDeparture() {
       return lastDeparture;
     }
   }
@@ -18,10 +18,8 @@ package org.mobilitydata.gtfsvalidator.validator;
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.WARNING;
 
 import java.time.LocalDate;
-import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.SortedSet;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidator;
@@ -30,7 +28,7 @@ import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.ValidationNotice;
 import org.mobilitydata.gtfsvalidator.table.*;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
-import org.mobilitydata.gtfsvalidator.util.CalendarUtil;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 import org.mobilitydata.gtfsvalidator.util.TripCalendarUtil;
 
 /**
@@ -57,28 +55,31 @@ public class DateTripsValidator extends FileValidator {
 
   private final DateForValidation dateForValidation;
 
+  private final ServiceCalendarIndex serviceCalendarIndex;
+
   @Inject
   DateTripsValidator(
       DateForValidation dateForValidation,
       GtfsCalendarDateTableContainer calendarDateTable,
       GtfsCalendarTableContainer calendarTable,
       GtfsTripTableContainer tripContainer,
-      GtfsFrequencyTableContainer frequencyTable) {
+      GtfsFrequencyTableContainer frequencyTable,
+      ServiceCalendarIndex serviceCalendarIndex) {
     this.dateForValidation = dateForValidation;
     this.calendarTable = calendarTable;
     this.calendarDateTable = calendarDateTable;
     this.tripContainer = tripContainer;
     this.frequencyTable = frequencyTable;
+    this.serviceCalendarIndex = serviceCalendarIndex;
   }
 
   @Override
   public void validate(NoticeContainer noticeContainer) {
-    final Map<String, SortedSet<LocalDate>> servicePeriodMap =
-        CalendarUtil.servicePeriodToServiceDatesMap(
-            CalendarUtil.buildServicePeriodMap(calendarTable, calendarDateTable));
     NavigableMap<LocalDate, Integer> tripCounts =
         TripCalendarUtil.countTripsForEachServiceDate(
-            servicePeriodMap, tripContainer, frequencyTable);
+            serviceCalendarIndex.getServiceCalendar(calendarTable, calendarDateTable),
+            tripContainer,
+            frequencyTable);
     Optional<TripCalendarUtil.DateInterval> majorityServiceDates =
         TripCalendarUtil.computeMajorityServiceCoverage(tripCounts);
     LocalDate currentDatePlusSevenDays = dateForValidation.getDate().plusDays(7);
@@ -27,7 +27,8 @@ import org.mobilitydata.gtfsvalidator.input.DateForValidation;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.notice.ValidationNotice;
 import org.mobilitydata.gtfsvalidator.table.*;
-import org.mobilitydata.gtfsvalidator.util.CalendarUtil;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendar;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 
 @GtfsValidator
 public class ExpiredCalendarValidator extends FileValidator {
@@ -38,33 +39,36 @@ public class ExpiredCalendarValidator extends FileValidator {
 
   private final DateForValidation dateForValidation;
 
+  private final ServiceCalendarIndex serviceCalendarIndex;
+
   @Inject
   ExpiredCalendarValidator(
       DateForValidation dateForValidation,
       GtfsCalendarTableContainer calendarTable,
-      GtfsCalendarDateTableContainer calendarDateTable) {
+      GtfsCalendarDateTableContainer calendarDateTable,
+      ServiceCalendarIndex serviceCalendarIndex) {
     this.dateForValidation = dateForValidation;
     this.calendarTable = calendarTable;
     this.calendarDateTable = calendarDateTable;
+    this.serviceCalendarIndex = serviceCalendarIndex;
   }
 
   @Override
   public void validate(NoticeContainer noticeContainer) {
-    final Map<String, SortedSet<LocalDate>> servicePeriodMap =
-        CalendarUtil.servicePeriodToServiceDatesMap(
-            CalendarUtil.buildServicePeriodMap(calendarTable, calendarDateTable));
+    final ServiceCalendar serviceCalendar =
+        serviceCalendarIndex.getServiceCalendar(calendarTable, calendarDateTable);
     boolean isCalendarTableEmpty = calendarTable.getEntities().isEmpty();
     List<ExpiredCalendarNotice> noticesToReturn = new ArrayList<>();
     // Notices to return only if there are no calendars in `calendar.txt` and
     // all calendar dates are in the past.
     List<ExpiredCalendarNotice> expiredCalendarDatesNotices = new ArrayList<>();
     boolean allCalendarAreExpired = true;
-    for (var serviceId : servicePeriodMap.keySet()) {
-      SortedSet<LocalDate> serviceDates = servicePeriodMap.get(serviceId);
-      if (serviceDates.isEmpty()) {
+    for (var serviceId : serviceCalendar.serviceIds()) {
+      LocalDate lastActiveDate = serviceCalendar.lastActiveDate(serviceId);
+      if (lastActiveDate == null) {
         continue;
       }
-      if (serviceDates.last().isBefore(dateForValidation.getDate())) {
+      if (lastActiveDate.isBefore(dateForValidation.getDate())) {
         if (calendarTable.byServiceId(serviceId).isPresent()) {
           noticesToReturn.add(
               new ExpiredCalendarNotice(
@@ -19,9 +19,8 @@ import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 import static org.mobilitydata.gtfsvalidator.table.GtfsStopTime.ARRIVAL_TIME_FIELD_NAME;
 import static org.mobilitydata.gtfsvalidator.table.GtfsStopTime.DEPARTURE_TIME_FIELD_NAME;
 
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ListMultimap;
 import java.util.List;
-import java.util.Map.Entry;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice.FileRefs;
@@ -39,7 +38,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
  * <p>Generated notice: {@link MissingTripEdgeNotice}.
  */
 @GtfsValidator
-public class MissingTripEdgeValidator extends FileValidator {
+public class MissingTripEdgeValidator extends EntityGroupValidator<GtfsStopTime> {
 
   private final GtfsStopTimeTableContainer stopTimeTable;
 
@@ -49,50 +48,50 @@ public class MissingTripEdgeValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (Entry<String, List<GtfsStopTime>> entry :
-        Multimaps.asMap(stopTimeTable.byTripIdMap()).entrySet()) {
-      String tripId = entry.getKey();
-      List<GtfsStopTime> stopTimesForTrip = entry.getValue();
-      GtfsStopTime tripFirstStop = stopTimesForTrip.get(0);
-      GtfsStopTime tripLastStop = stopTimesForTrip.get(stopTimesForTrip.size() - 1);
-      if (!tripFirstStop.hasStartPickupDropOffWindow()
-          && !tripFirstStop.hasEndPickupDropOffWindow()) {
-        if (!tripFirstStop.hasArrivalTime()) {
-          noticeContainer.addValidationNotice(
-              new MissingTripEdgeNotice(
-                  tripFirstStop.csvRowNumber(),
-                  tripFirstStop.stopSequence(),
-                  tripId,
-                  ARRIVAL_TIME_FIELD_NAME));
-        }
-        if (!tripFirstStop.hasDepartureTime()) {
-          noticeContainer.addValidationNotice(
-              new MissingTripEdgeNotice(
-                  tripFirstStop.csvRowNumber(),
-                  tripFirstStop.stopSequence(),
-                  tripId,
-                  DEPARTURE_TIME_FIELD_NAME));
-        }
+  public ListMultimap<String, GtfsStopTime> entityGroups() {
+    return stopTimeTable.byTripIdMap();
+  }
+
+  @Override
+  public void validateGroup(
+      String tripId, List<GtfsStopTime> stopTimesForTrip, NoticeContainer noticeContainer) {
+    GtfsStopTime tripFirstStop = stopTimesForTrip.get(0);
+    GtfsStopTime tripLastStop = stopTimesForTrip.get(stopTimesForTrip.size() - 1);
+    if (!tripFirstStop.hasStartPickupDropOffWindow()
+        && !tripFirstStop.hasEndPickupDropOffWindow()) {
+      if (!tripFirstStop.hasArrivalTime()) {
+        noticeContainer.addValidationNotice(
+            new MissingTripEdgeNotice(
+                tripFirstStop.csvRowNumber(),
+                tripFirstStop.stopSequence(),
+                tripId,
+                ARRIVAL_TIME_FIELD_NAME));
+      }
+      if (!tripFirstStop.hasDepartureTime()) {
+        noticeContainer.addValidationNotice(
+            new MissingTripEdgeNotice(
+                tripFirstStop.csvRowNumber(),
+                tripFirstStop.stopSequence(),
+                tripId,
+                DEPARTURE_TIME_FIELD_NAME));
+      }
+    }
+    if (!tripLastStop.hasStartPickupDropOffWindow() && !tripLastStop.hasEndPickupDropOffWindow()) {
+      if (!tripLastStop.hasArrivalTime()) {
+        noticeContainer.addValidationNotice(
+            new MissingTripEdgeNotice(
+                tripLastStop.csvRowNumber(),
+                tripLastStop.stopSequence(),
+                tripId,
+                ARRIVAL_TIME_FIELD_NAME));
       }
-      if (!tripLastStop.hasStartPickupDropOffWindow()
-          && !tripLastStop.hasEndPickupDropOffWindow()) {
-        if (!tripLastStop.hasArrivalTime()) {
-          noticeContainer.addValidationNotice(
-              new MissingTripEdgeNotice(
-                  tripLastStop.csvRowNumber(),
-                  tripLastStop.stopSequence(),
-                  tripId,
-                  ARRIVAL_TIME_FIELD_NAME));
-        }
-        if (!tripLastStop.hasDepartureTime()) {
-          noticeContainer.addValidationNotice(
-              new MissingTripEdgeNotice(
-                  tripLastStop.csvRowNumber(),
-                  tripLastStop.stopSequence(),
-                  tripId,
-                  DEPARTURE_TIME_FIELD_NAME));
-        }
+      if (!tripLastStop.hasDepartureTime()) {
+        noticeContainer.addValidationNotice(
+            new MissingTripEdgeNotice(
+                tripLastStop.csvRowNumber(),
+                tripLastStop.stopSequence(),
+                tripId,
+                DEPARTURE_TIME_FIELD_NAME));
       }
     }
   }
@@ -2,10 +2,9 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import java.util.List;
-import java.util.Map;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidator;
@@ -15,7 +14,7 @@ import org.mobilitydata.gtfsvalidator.table.*;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 
 @GtfsValidator
-public class OverlappingPickupDropOffZoneValidator extends FileValidator {
+public class OverlappingPickupDropOffZoneValidator extends EntityGroupValidator<GtfsStopTime> {
 
   private final GtfsStopTimeTableContainer stopTimeTableContainer;
   private final GtfsGeoJsonFeaturesContainer geoJsonFeaturesContainer;
@@ -28,82 +27,82 @@ public class OverlappingPickupDropOffZoneValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
+  public ListMultimap<String, GtfsStopTime> entityGroups() {
     // If either the stop_times file or GeoJSON file is missing, skip validation.
     if (stopTimeTableContainer.isMissingFile() || geoJsonFeaturesContainer.isMissingFile()) {
-      return;
+      return ImmutableListMultimap.of();
     }
+    // Stop times grouped by trip ID.
+    return stopTimeTableContainer.byTripIdMap();
+  }
+
+  @Override
+  public void validateGroup(
+      String tripId, List<GtfsStopTime> stopTimesForTrip, NoticeContainer noticeContainer) {
+    // Compare each pair of stop times within the same trip.
+    for (int i = 0; i < stopTimesForTrip.size(); i++) {
+      GtfsStopTime stopTime1 = stopTimesForTrip.get(i);
+      for (int j = i + 1; j < stopTimesForTrip.size(); j++) {
+        GtfsStopTime stopTime2 = stopTimesForTrip.get(j);
+
+        // Skip validation if the two stop times have different pickup/drop-off types or if
+        // the types are UNRECOGNIZED.
+        if ((stopTime1.pickupType() != stopTime2.pickupType()
+                && stopTime1.dropOffType() != stopTime2.dropOffType())
+            || (stopTime1.pickupType() == GtfsPickupDropOff.UNRECOGNIZED
+                || stopTime1.dropOffType() == GtfsPickupDropOff.UNRECOGNIZED
+                || stopTime2.pickupType() == GtfsPickupDropOff.UNRECOGNIZED
+                || stopTime2.dropOffType() == GtfsPickupDropOff.UNRECOGNIZED)) {
+          continue;
+        }
+
+        // Skip validation if any required fields are missing in either stop time.
+        if (!(stopTime1.hasEndPickupDropOffWindow()
+            && stopTime1.hasStartPickupDropOffWindow()
+            && stopTime2.hasEndPickupDropOffWindow()
+            && stopTime2.hasStartPickupDropOffWindow()
+            && stopTime1.hasLocationId()
+            && stopTime2.hasLocationId())) {
+          continue;
+        }
+
+        // Skip validation if both stop times reference the same location.
+        if (stopTime1.locationId().equals(stopTime2.locationId())) {
+          continue;
+        }
+
+        // Skip validation if the pickup/drop-off windows of the two stop times do not overlap.
+        if (stopTime1.startPickupDropOffWindow().isAfter(stopTime2.endPickupDropOffWindow())
+            || stopTime1.endPickupDropOffWindow().isBefore(stopTime2.startPickupDropOffWindow())
+            || stopTime1.endPickupDropOffWindow().equals(stopTime2.startPickupDropOffWindow())
+            || stopTime1.startPickupDropOffWindow().equals(stopTime2.endPickupDropOffWindow())) {
+          continue;
+        }
+
+        // Retrieve GeoJSON features for the locations referenced by the two stop times.
+        GtfsGeoJsonFeature stop1GeoJsonFeature =
+            geoJsonFeaturesContainer.byLocationId(stopTime1.locationId());
+        GtfsGeoJsonFeature stop2GeoJsonFeature =
+            geoJsonFeaturesContainer.byLocationId(stopTime2.locationId());
+
+        // Skip validation if either location has no corresponding GeoJSON feature.
+        if (stop1GeoJsonFeature == null || stop2GeoJsonFeature == null) {
+          continue;
+        }
 
-    // Iterate through all stop times grouped by trip ID.
-    for (Map.Entry<String, Collection<GtfsStopTime>> entry :
-        stopTimeTableContainer.byTripIdMap().asMap().entrySet()) {
-      List<GtfsStopTime> stopTimesForTrip = new ArrayList<>(entry.getValue());
-
-      // Compare each pair of stop times within the same trip.
-      for (int i = 0; i < stopTimesForTrip.size(); i++) {
-        GtfsStopTime stopTime1 = stopTimesForTrip.get(i);
-        for (int j = i + 1; j < stopTimesForTrip.size(); j++) {
-          GtfsStopTime stopTime2 = stopTimesForTrip.get(j);
-
-          // Skip validation if the two stop times have different pickup/drop-off types or if
-          // the types are UNRECOGNIZED.
-          if ((stopTime1.pickupType() != stopTime2.pickupType()
-                  && stopTime1.dropOffType() != stopTime2.dropOffType())
-              || (stopTime1.pickupType() == GtfsPickupDropOff.UNRECOGNIZED
-                  || stopTime1.dropOffType() == GtfsPickupDropOff.UNRECOGNIZED
-                  || stopTime2.pickupType() == GtfsPickupDropOff.UNRECOGNIZED
-                  || stopTime2.dropOffType() == GtfsPickupDropOff.UNRECOGNIZED)) {
-            continue;
-          }
-
-          // Skip validation if any required fields are missing in either stop time.
-          if (!(stopTime1.hasEndPickupDropOffWindow()
-              && stopTime1.hasStartPickupDropOffWindow()
-              && stopTime2.hasEndPickupDropOffWindow()
-              && stopTime2.hasStartPickupDropOffWindow()
-              && stopTime1.hasLocationId()
-              && stopTime2.hasLocationId())) {
-            continue;
-          }
-
-          // Skip validation if both stop times reference the same location.
-          if (stopTime1.locationId().equals(stopTime2.locationId())) {
-            continue;
-          }
-
-          // Skip validation if the pickup/drop-off windows of the two stop times do not overlap.
-          if (stopTime1.startPickupDropOffWindow().isAfter(stopTime2.endPickupDropOffWindow())
-              || stopTime1.endPickupDropOffWindow().isBefore(stopTime2.startPickupDropOffWindow())
-              || stopTime1.endPickupDropOffWindow().equals(stopTime2.startPickupDropOffWindow())
-              || stopTime1.startPickupDropOffWindow().equals(stopTime2.endPickupDropOffWindow())) {
-            continue;
-          }
-
-          // Retrieve GeoJSON features for the locations referenced by the two stop times.
-          GtfsGeoJsonFeature stop1GeoJsonFeature =
-              geoJsonFeaturesContainer.byLocationId(stopTime1.locationId());
-          GtfsGeoJsonFeature stop2GeoJsonFeature =
-              geoJsonFeaturesContainer.byLocationId(stopTime2.locationId());
-
-          // Skip validation if either location has no corresponding GeoJSON feature.
-          if (stop1GeoJsonFeature == null || stop2GeoJsonFeature == null) {
-            continue;
-          }
-
-          // If the geometries of the two locations overlap, generate a validation notice.
-          if (stop1GeoJsonFeature.geometryOverlaps(stop2GeoJsonFeature)) {
-            noticeContainer.addValidationNotice(
-                new OverlappingZoneAndPickupDropOffWindowNotice(
-                    stopTime1.tripId(),
-                    stopTime1.stopSequence(),
-                    stopTime1.locationId(),
-                    stopTime1.startPickupDropOffWindow(),
-                    stopTime1.endPickupDropOffWindow(),
-                    stopTime2.stopSequence(),
-                    stopTime2.locationId(),
-                    stopTime2.startPickupDropOffWindow(),
-                    stopTime2.endPickupDropOffWindow()));
-          }
+        // If the geometries of the two locations overlap, generate a validation notice.
+        if (stop1GeoJsonFeature.geometryOverlaps(stop2GeoJsonFeature)) {
+          noticeContainer.addValidationNotice(
+              new OverlappingZoneAndPickupDropOffWindowNotice(
+                  stopTime1.tripId(),
+                  stopTime1.stopSequence(),
+                  stopTime1.locationId(),
+                  stopTime1.startPickupDropOffWindow(),
+                  stopTime1.endPickupDropOffWindow(),
+                  stopTime2.stopSequence(),
+                  stopTime2.locationId(),
+                  stopTime2.startPickupDropOffWindow(),
+                  stopTime2.endPickupDropOffWindow()));
         }
       }
     }
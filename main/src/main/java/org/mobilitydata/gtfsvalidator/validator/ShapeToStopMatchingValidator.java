@@ -47,6 +47,8 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsTrip;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripSchema;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
+import org.mobilitydata.gtfsvalidator.util.TripPatternIndex;
+import org.mobilitydata.gtfsvalidator.util.TripPatterns;
 import org.mobilitydata.gtfsvalidator.util.shape.Problem;
 import org.mobilitydata.gtfsvalidator.util.shape.Problem.ProblemType;
 import org.mobilitydata.gtfsvalidator.util.shape.ShapePoints;
@@ -75,19 +77,23 @@ public class ShapeToStopMatchingValidator extends FileValidator {
 
   private final StopToShapeMatcher stopToShapeMatcher;
 
+  private final TripPatternIndex tripPatternIndex;
+
   @Inject
   ShapeToStopMatchingValidator(
       GtfsStopTableContainer stopTable,
       GtfsTripTableContainer tripTable,
       GtfsRouteTableContainer routeTable,
       GtfsStopTimeTableContainer stopTimeTable,
-      GtfsShapeTableContainer shapeTable) {
+      GtfsShapeTableContainer shapeTable,
+      TripPatternIndex tripPatternIndex) {
     this(
         stopTable,
         tripTable,
         routeTable,
         stopTimeTable,
         shapeTable,
+        tripPatternIndex,
         new StopToShapeMatcher(new StopToShapeMatcherSettings()));
   }
 
@@ -98,22 +104,25 @@ public class ShapeToStopMatchingValidator extends FileValidator {
       GtfsRouteTableContainer routeTable,
       GtfsStopTimeTableContainer stopTimeTable,
       GtfsShapeTableContainer shapeTable,
+      TripPatternIndex tripPatternIndex,
       StopToShapeMatcher stopToShapeMatcher) {
     this.stopTable = stopTable;
     this.tripTable = tripTable;
     this.routeTable = routeTable;
     this.stopTimeTable = stopTimeTable;
     this.shapeTable = shapeTable;
+    this.tripPatternIndex = tripPatternIndex;
     this.stopToShapeMatcher = stopToShapeMatcher;
   }
 
-  private static long tripHash(List<GtfsStopTime> stopTimes) {
-    Hasher hasher = HASH_FUNCTION.newHasher().putInt(stopTimes.size());
+  /**
+   * Returns a fingerprint of the trip data that is relevant for matching stops to a shape: the
+   * pattern, which fixes the stop ids, and the distances traveled.
+   */
+  private static long tripHash(int patternId, List<GtfsStopTime> stopTimes) {
+    Hasher hasher = HASH_FUNCTION.newHasher().putInt(patternId).putInt(stopTimes.size());
     for (GtfsStopTime stopTime : stopTimes) {
-      hasher
-          .putInt(stopTime.stopId().length())
-          .putUnencodedChars(stopTime.stopId())
-          .putDouble(stopTime.shapeDistTraveled());
+      hasher.putDouble(stopTime.shapeDistTraveled());
     }
     return hasher.hash().asLong();
   }
@@ -126,6 +135,7 @@ public class ShapeToStopMatchingValidator extends FileValidator {
         || shapeTable.getEntities().isEmpty()) {
       return;
     }
+    final TripPatterns tripPatterns = tripPatternIndex.getTripPatterns(stopTimeTable);
     for (List<GtfsShape> gtfsShapePoints : Multimaps.asMap(shapeTable.byShapeIdMap()).values()) {
       List<GtfsTrip> trips = tripTable.byShapeId(gtfsShapePoints.get(0).shapeId());
       if (trips.isEmpty()) {
@@ -138,7 +148,8 @@ public class ShapeToStopMatchingValidator extends FileValidator {
       Set<String> reportedStopIds = new HashSet<>();
       for (GtfsTrip trip : trips) {
         List<GtfsStopTime> stopTimes = stopTimeTable.byTripId(trip.tripId());
-        if (!processedTripHashes.add(tripHash(stopTimes))) {
+        int patternId = tripPatterns.patternId(trip.tripId());
+        if (!processedTripHashes.add(tripHash(patternId, stopTimes))) {
           continue;
         }
         Optional<GtfsRoute> route = routeTable.byRouteId(trip.routeId());
@@ -17,7 +17,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ListMultimap;
 import java.util.List;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -43,7 +43,7 @@ import org.mobilitydata.gtfsvalidator.type.GtfsTime;
  * </ul>
  */
 @GtfsValidator
-public class StopTimeArrivalAndDepartureTimeValidator extends FileValidator {
+public class StopTimeArrivalAndDepartureTimeValidator extends EntityGroupValidator<GtfsStopTime> {
 
   private final GtfsStopTimeTableContainer table;
 
@@ -53,39 +53,43 @@ public class StopTimeArrivalAndDepartureTimeValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (List<GtfsStopTime> stopTimeList : Multimaps.asMap(table.byTripIdMap()).values()) {
-      int previousDepartureRow = -1;
-      for (int i = 0; i < stopTimeList.size(); ++i) {
-        GtfsStopTime stopTime = stopTimeList.get(i);
-        final boolean hasDeparture = stopTime.hasDepartureTime();
-        final boolean hasArrival = stopTime.hasArrivalTime();
-        if (hasArrival != hasDeparture) {
-          noticeContainer.addValidationNotice(
-              new StopTimeWithOnlyArrivalOrDepartureTimeNotice(
-                  stopTime.csvRowNumber(),
-                  stopTime.tripId(),
-                  stopTime.stopSequence(),
-                  hasArrival
-                      ? GtfsStopTime.ARRIVAL_TIME_FIELD_NAME
-                      : GtfsStopTime.DEPARTURE_TIME_FIELD_NAME));
-        }
-        if (hasArrival
-            && previousDepartureRow != -1
-            && stopTime
-                .arrivalTime()
-                .isBefore(stopTimeList.get(previousDepartureRow).departureTime())) {
-          noticeContainer.addValidationNotice(
-              new StopTimeWithArrivalBeforePreviousDepartureTimeNotice(
-                  stopTime.csvRowNumber(),
-                  stopTimeList.get(previousDepartureRow).csvRowNumber(),
-                  stopTime.tripId(),
-                  stopTime.arrivalTime(),
-                  stopTimeList.get(previousDepartureRow).departureTime()));
-        }
-        if (hasDeparture) {
-          previousDepartureRow = i;
-        }
+  public ListMultimap<String, GtfsStopTime> entityGroups() {
+    return table.byTripIdMap();
+  }
+
+  @Override
+  public void validateGroup(
+      String tripId, List<GtfsStopTime> stopTimeList, NoticeContainer noticeContainer) {
+    int previousDepartureRow = -1;
+    int previousDepartureSeconds = 0;
+    for (int i = 0; i < stopTimeList.size(); ++i) {
+      GtfsStopTime stopTime = stopTimeList.get(i);
+      final boolean hasDeparture = stopTime.hasDepartureTime();
+      final boolean hasArrival = stopTime.hasArrivalTime();
+      if (hasArrival != hasDeparture) {
+        noticeContainer.addValidationNotice(
+            new StopTimeWithOnlyArrivalOrDepartureTimeNotice(
+                stopTime.csvRowNumber(),
+                stopTime.tripId(),
+                stopTime.stopSequence(),
+                hasArrival
+                    ? GtfsStopTime.ARRIVAL_TIME_FIELD_NAME
+                    : GtfsStopTime.DEPARTURE_TIME_FIELD_NAME));
+      }
+      if (hasArrival
+          && previousDepartureRow != -1
+          && stopTime.arrivalTimeSeconds() < previousDepartureSeconds) {
+        noticeContainer.addValidationNotice(
+            new StopTimeWithArrivalBeforePreviousDepartureTimeNotice(
+                stopTime.csvRowNumber(),
+                stopTimeList.get(previousDepartureRow).csvRowNumber(),
+                stopTime.tripId(),
+                stopTime.arrivalTime(),
+                stopTimeList.get(previousDepartureRow).departureTime()));
+      }
+      if (hasDeparture) {
+        previousDepartureRow = i;
+        previousDepartureSeconds = stopTime.departureTimeSeconds();
       }
     }
   }
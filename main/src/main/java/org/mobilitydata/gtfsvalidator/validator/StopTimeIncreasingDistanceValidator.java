@@ -17,7 +17,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.ERROR;
 
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ListMultimap;
 import java.util.List;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -35,7 +35,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
  * <p>Generated notice: {@link DecreasingOrEqualStopTimeDistanceNotice}.
  */
 @GtfsValidator
-public class StopTimeIncreasingDistanceValidator extends FileValidator {
+public class StopTimeIncreasingDistanceValidator extends EntityGroupValidator<GtfsStopTime> {
 
   private final GtfsStopTimeTableContainer stopTimeTable;
 
@@ -51,35 +51,39 @@ public class StopTimeIncreasingDistanceValidator extends FileValidator {
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (List<GtfsStopTime> stopTimeList : Multimaps.asMap(stopTimeTable.byTripIdMap()).values()) {
-      // GtfsStopTime objects are sorted based on @SequenceKey annotation on stop_sequence field.
-      GtfsStopTime prev = null;
-      for (var curr : stopTimeList) {
-        // DecreasingOrEqualStopTimeDistanceNotice should not be triggered in cases where stop
-        // times has location id, location group id or stop id is not present
-        // See: https://github.com/MobilityData/gtfs-validator/issues/1882
-        if (!curr.hasStopId()) {
-          continue;
-        }
-
-        if (prev != null
-            && prev.hasShapeDistTraveled()
-            && curr.hasShapeDistTraveled()
-            && prev.shapeDistTraveled() >= curr.shapeDistTraveled()) {
-          noticeContainer.addValidationNotice(
-              new DecreasingOrEqualStopTimeDistanceNotice(
-                  curr.tripId(),
-                  curr.stopId(),
-                  curr.csvRowNumber(),
-                  curr.shapeDistTraveled(),
-                  curr.stopSequence(),
-                  prev.csvRowNumber(),
-                  prev.shapeDistTraveled(),
-                  prev.stopSequence()));
-        }
-        prev = curr;
+  public ListMultimap<String, GtfsStopTime> entityGroups() {
+    return stopTimeTable.byTripIdMap();
+  }
+
+  @Override
+  public void validateGroup(
+      String tripId, List<GtfsStopTime> stopTimeList, NoticeContainer noticeContainer) {
+    // GtfsStopTime objects are sorted based on @SequenceKey annotation on stop_sequence field.
+    GtfsStopTime prev = null;
+    for (var curr : stopTimeList) {
+      // DecreasingOrEqualStopTimeDistanceNotice should not be triggered in cases where stop
+      // times has location id, location group id or stop id is not present
+      // See: https://github.com/MobilityData/gtfs-validator/issues/1882
+      if (!curr.hasStopId()) {
+        continue;
+      }
+
+      if (prev != null
+          && prev.hasShapeDistTraveled()
+          && curr.hasShapeDistTraveled()
+          && prev.shapeDistTraveled() >= curr.shapeDistTraveled()) {
+        noticeContainer.addValidationNotice(
+            new DecreasingOrEqualStopTimeDistanceNotice(
+                curr.tripId(),
+                curr.stopId(),
+                curr.csvRowNumber(),
+                curr.shapeDistTraveled(),
+                curr.stopSequence(),
+                prev.csvRowNumber(),
+                prev.shapeDistTraveled(),
+                prev.stopSequence()));
       }
+      prev = curr;
     }
   }
 
@@ -49,6 +49,8 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 import org.mobilitydata.gtfsvalidator.util.S2Earth;
 import org.mobilitydata.gtfsvalidator.util.StopUtil;
+import org.mobilitydata.gtfsvalidator.util.TripPatternIndex;
+import org.mobilitydata.gtfsvalidator.util.TripPatterns;
 
 /**
  * Validates that transit vehicles do not travel too fast between consecutive and between far stops.
@@ -68,16 +70,20 @@ public class StopTimeTravelSpeedValidator extends FileValidator {
 
   private final GtfsStopTableContainer stopTable;
 
+  private final TripPatternIndex tripPatternIndex;
+
   @Inject
   StopTimeTravelSpeedValidator(
       GtfsRouteTableContainer routeTable,
       GtfsTripTableContainer tripTable,
       GtfsStopTimeTableContainer stopTimeTable,
-      GtfsStopTableContainer stopTable) {
+      GtfsStopTableContainer stopTable,
+      TripPatternIndex tripPatternIndex) {
     this.routeTable = routeTable;
     this.tripTable = tripTable;
     this.stopTimeTable = stopTimeTable;
     this.stopTable = stopTable;
+    this.tripPatternIndex = tripPatternIndex;
   }
 
   @Override
@@ -90,6 +96,12 @@ public class StopTimeTravelSpeedValidator extends FileValidator {
           .ifPresent(
               tripAndStopTimes -> tripsByHash.put(tripAndStopTimes.tripFprint(), tripAndStopTimes));
     }
+    // Trips with the same fingerprint visit the same stops, so they have the same pattern.
+    // Distances between stops are computed once per pattern, even if its trips have different
+    // routes or times. Speeds depend on times and the max speed on the route type, so the checks
+    // still run once per fingerprint, which also keeps the order of notices.
+    final TripPatterns tripPatterns = tripPatternIndex.getTripPatterns(stopTimeTable);
+    final double[][] distancesKmByPattern = new double[tripPatterns.patternCount()][];
     for (List<TripAndStopTimes> trips : Multimaps.asMap(tripsByHash).values()) {
       final TripAndStopTimes tripAndStopTimes = trips.get(0);
       // All trips belong to the same route.
@@ -99,10 +111,13 @@ public class StopTimeTravelSpeedValidator extends FileValidator {
         continue;
       }
       final double maxSpeedKph = getMaxVehicleSpeedKph(route.get().routeType());
-      final double[] distancesKm =
-          findDistancesKmBetweenStops(tripAndStopTimes.getStopTimes(), stopTable);
+      final int patternId = tripPatterns.patternId(tripAndStopTimes.getTrip().tripId());
+      if (distancesKmByPattern[patternId] == null) {
+        distancesKmByPattern[patternId] =
+            findDistancesKmBetweenStops(tripAndStopTimes.getStopTimes(), stopTable);
+      }
       validateConsecutiveStops(trips, maxSpeedKph, noticeContainer);
-      validateFarStops(trips, distancesKm, maxSpeedKph, noticeContainer);
+      validateFarStops(trips, distancesKmByPattern[patternId], maxSpeedKph, noticeContainer);
     }
   }
 
@@ -17,7 +17,7 @@ package org.mobilitydata.gtfsvalidator.validator;
 
 import static org.mobilitydata.gtfsvalidator.notice.SeverityLevel.INFO;
 
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ListMultimap;
 import java.util.List;
 import javax.inject.Inject;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidationNotice;
@@ -46,7 +46,8 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
  * <p>Generated notice: {@link TripWithShapeDistTraveledButNoShapeDistancesNotice}.
  */
 @GtfsValidator
-public class TripWithShapeDistTraveledButNoShapeDistancesValidator extends FileValidator {
+public class TripWithShapeDistTraveledButNoShapeDistancesValidator
+    extends EntityGroupValidator<GtfsStopTime> {
 
   private final GtfsTripTableContainer tripTable;
   private final GtfsStopTimeTableContainer stopTimeTable;
@@ -75,51 +76,51 @@ public class TripWithShapeDistTraveledButNoShapeDistancesValidator extends FileV
   }
 
   @Override
-  public void validate(NoticeContainer noticeContainer) {
-    for (List<GtfsStopTime> stopTimesForTrip :
-        Multimaps.asMap(stopTimeTable.byTripIdMap()).values()) {
-
-      // Find the first stop time that carries a shape_dist_traveled value.
-      // If none exist there is nothing to check for this trip.
-      GtfsStopTime firstStopTimeWithDist =
-          stopTimesForTrip.stream()
-              .filter(GtfsStopTime::hasShapeDistTraveled)
-              .findFirst()
-              .orElse(null);
-      if (firstStopTimeWithDist == null) {
-        continue;
-      }
-
-      String tripId = stopTimesForTrip.get(0).tripId();
-      GtfsTrip trip = tripTable.byTripId(tripId).orElse(null);
-      if (trip == null || !trip.hasShapeId() || trip.shapeId().isEmpty()) {
-        // No associated shape – nothing to check.
-        continue;
-      }
-
-      List<GtfsShape> shapePoints = shapeTable.byShapeId(trip.shapeId());
-      if (shapePoints.isEmpty()) {
-        // A missing shape is reported by a foreign-key rule; skip here to avoid double-reporting.
-        continue;
-      }
-
-      // All shape points must carry shape_dist_traveled for the distances to be usable.
-      // Partial population (some points have a value, others do not) is also treated as
-      // non-compliant because consumers cannot interpolate positions reliably from an
-      // incomplete distance sequence.
-      boolean allShapePointsHaveDist =
-          shapePoints.stream().allMatch(GtfsShape::hasShapeDistTraveled);
-      if (!allShapePointsHaveDist) {
-        noticeContainer.addValidationNotice(
-            new TripWithShapeDistTraveledButNoShapeDistancesNotice(
-                trip.csvRowNumber(),
-                tripId,
-                trip.shapeId(),
-                // Row number of the first stop time with a distance value, provided as context
-                // so the consumer can locate the relevant record quickly. Only the first
-                // offending stop time is reported to keep notice volume manageable.
-                firstStopTimeWithDist.csvRowNumber()));
-      }
+  public ListMultimap<String, GtfsStopTime> entityGroups() {
+    return stopTimeTable.byTripIdMap();
+  }
+
+  @Override
+  public void validateGroup(
+      String tripId, List<GtfsStopTime> stopTimesForTrip, NoticeContainer noticeContainer) {
+    // Find the first stop time that carries a shape_dist_traveled value.
+    // If none exist there is nothing to check for this trip.
+    GtfsStopTime firstStopTimeWithDist =
+        stopTimesForTrip.stream()
+            .filter(GtfsStopTime::hasShapeDistTraveled)
+            .findFirst()
+            .orElse(null);
+    if (firstStopTimeWithDist == null) {
+      return;
+    }
+
+    GtfsTrip trip = tripTable.byTripId(tripId).orElse(null);
+    if (trip == null || !trip.hasShapeId() || trip.shapeId().isEmpty()) {
+      // No associated shape – nothing to check.
+      return;
+    }
+
+    List<GtfsShape> shapePoints = shapeTable.byShapeId(trip.shapeId());
+    if (shapePoints.isEmpty()) {
+      // A missing shape is reported by a foreign-key rule; skip here to avoid double-reporting.
+      return;
+    }
+
+    // All shape points must carry shape_dist_traveled for the distances to be usable.
+    // Partial population (some points have a value, others do not) is also treated as
+    // non-compliant because consumers cannot interpolate positions reliably from an
+    // incomplete distance sequence.
+    boolean allShapePointsHaveDist = shapePoints.stream().allMatch(GtfsShape::hasShapeDistTraveled);
+    if (!allShapePointsHaveDist) {
+      noticeContainer.addValidationNotice(
+          new TripWithShapeDistTraveledButNoShapeDistancesNotice(
+              trip.csvRowNumber(),
+              tripId,
+              trip.shapeId(),
+              // Row number of the first stop time with a distance value, provided as context
+              // so the consumer can locate the relevant record quickly. Only the first
+              // offending stop time is reported to keep notice volume manageable.
+              firstStopTimeWithDist.csvRowNumber()));
     }
   }
 
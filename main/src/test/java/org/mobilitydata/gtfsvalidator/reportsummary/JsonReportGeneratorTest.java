@@ -0,0 +1,54 @@
+package org.mobilitydata.gtfsvalidator.reportsummary;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.notice.MissingRecommendedFileNotice;
+import org.mobilitydata.gtfsvalidator.notice.MissingRequiredFileNotice;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.runner.ValidationRunnerConfig;
+import org.mobilitydata.gtfsvalidator.util.VersionInfo;
+
+@RunWith(JUnit4.class)
+public class JsonReportGeneratorTest {
+
+  private static final VersionInfo VERSION_INFO =
+      VersionInfo.create(Optional.of("1.0"), Optional.of("1.1"));
+
+  @Test
+  public void writeReport_sameAsGeneratedReport() throws Exception {
+    ValidationRunnerConfig config =
+        ValidationRunnerConfig.builder()
+            .setCountryCode(CountryCode.forStringOrUnknown("GB"))
+            .setGtfsSource(new URI("some_dataset_filename"))
+            .setOutputDirectory(Path.of("some_output_directory"))
+            .setDateForValidation(LocalDate.parse("2020-01-02"))
+            .build();
+    NoticeContainer noticeContainer = new NoticeContainer();
+    noticeContainer.addValidationNotice(new MissingRequiredFileNotice("stops.txt"));
+    noticeContainer.addValidationNotice(new MissingRequiredFileNotice("agency.txt"));
+    noticeContainer.addValidationNotice(new MissingRecommendedFileNotice("feed_info.txt"));
+    JsonReportGenerator generator = new JsonReportGenerator();
+
+    for (Gson gson : ImmutableList.of(new Gson(), new GsonBuilder().setPrettyPrinting().create())) {
+      StringWriter writer = new StringWriter();
+      generator.writeReport(null, noticeContainer, config, VERSION_INFO, "now", gson, writer);
+
+      assertThat(writer.toString())
+          .isEqualTo(
+              gson.toJson(
+                  generator.generateReport(null, noticeContainer, config, VERSION_INFO, "now")));
+    }
+  }
+}
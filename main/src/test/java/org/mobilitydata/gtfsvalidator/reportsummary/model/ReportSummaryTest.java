@@ -100,6 +100,52 @@ public class ReportSummaryTest {
         1);
   }
 
+  @Test
+  public void defaultContainer_countsNoticesInReport() {
+    // Keeps at most 2 notices of each type and severity.
+    NoticeContainer noticeContainer = new NoticeContainer(100, 2, 2);
+    for (int i = 0; i < 3; ++i) {
+      noticeContainer.addValidationNotice(new MissingRequiredFieldNotice("test.txt", i, "field"));
+    }
+    noticeContainer.addValidationNotice(new UnknownColumnNotice("test.txt", "unknown", 2));
+
+    ReportSummary reportSummary = new ReportSummary(noticeContainer, VersionInfo.empty());
+
+    assertEquals(3, reportSummary.getNoticeCount());
+    assertEquals(2, reportSummary.getErrorCount());
+    assertEquals(0, reportSummary.getWarningCount());
+    assertEquals(1, reportSummary.getInfoCount());
+    assertEquals(
+        2, reportSummary.getNoticeCount(SeverityLevel.ERROR, MISSING_REQUIRED_FIELD_NOTICE_CODE));
+    assertEquals(
+        0, reportSummary.getNoticeCount(SeverityLevel.WARNING, UNKNOWN_COLUMN_NOTICE_CODE));
+  }
+
+  @Test
+  public void boundedContainer_countsAllNotices() {
+    NoticeContainer noticeContainer = NoticeContainer.createBounded(null);
+    for (int i = 0; i < 1001; ++i) {
+      noticeContainer.addValidationNotice(new MissingRequiredFieldNotice("test.txt", i, "field"));
+    }
+    noticeContainer.addValidationNotice(new UnknownColumnNotice("test.txt", "unknown", 2));
+
+    ReportSummary reportSummary = new ReportSummary(noticeContainer, VersionInfo.empty());
+
+    assertEquals(
+        1000,
+        reportSummary
+            .getNoticesMap()
+            .get(SeverityLevel.ERROR)
+            .get(MISSING_REQUIRED_FIELD_NOTICE_CODE)
+            .size());
+    assertEquals(1002, reportSummary.getNoticeCount());
+    assertEquals(1001, reportSummary.getErrorCount());
+    assertEquals(1, reportSummary.getInfoCount());
+    assertEquals(
+        1001,
+        reportSummary.getNoticeCount(SeverityLevel.ERROR, MISSING_REQUIRED_FIELD_NOTICE_CODE));
+  }
+
   @Test
   public void testVersionPresent() {
     VersionInfo versionInfo = VersionInfo.create(Optional.of("1.2.3"), Optional.of("1.2.4"));
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Tracks the memory footprint of entities of the largest tables, as computed by JOL.
+ *
+ * <p>Bounds assume a 64-bit JVM with compressed references, which is the default for heaps under
+ * 32 GB.
+ */
+@RunWith(JUnit4.class)
+public class EntityFootprintTest {
+  /** Number of rows in a segment, a power of two so that columns have no spare capacity. */
+  private static final int ROWS = 1024;
+
+  /**
+   * Returns the bytes per row of a segment of shapes.txt.
+   *
+   * @param dropDistanceEveryOtherRow whether odd rows have no shape_dist_traveled
+   */
+  private static double shapeBytesPerRow(boolean dropDistanceEveryOtherRow) {
+    GtfsShape.Builder builder = new GtfsShape.Builder();
+    GtfsShape shape = null;
+    for (int i = 0; i < ROWS; ++i) {
+      builder
+          .setCsvRowNumber(i + 2)
+          .setShapeId("shape1")
+          .setShapePtLat(45.0 + i * 1e-5)
+          .setShapePtLon(-73.0 + i * 1e-5)
+          .setShapePtSequence(i)
+          .setShapeDistTraveled(i * 1.5);
+      if (dropDistanceEveryOtherRow && i % 2 == 1) {
+        builder.clearShapeDistTraveled();
+      }
+      shape = builder.build();
+    }
+    return (double) GraphLayout.parseInstance(shape.columnSegment()).totalSize() / ROWS;
+  }
+
+  @Test
+  public void gtfsShape_sameFieldsInAllRows_noPresenceColumn() {
+    // Three doubles and three ints per row, with a few bytes of overhead per segment.
+    assertThat(shapeBytesPerRow(false)).isLessThan(37.0);
+  }
+
+  @Test
+  public void gtfsShape_differentFieldsInRows_storesPresencePerRow() {
+    assertThat(shapeBytesPerRow(true) - shapeBytesPerRow(false)).isAtLeast(1.0);
+  }
+
+  @Test
+  public void gtfsCalendarDate_instanceSize() {
+    // Header, csv row number, service id, epoch day, exception type and bitField.
+    assertThat(ClassLayout.parseClass(GtfsCalendarDate.class).instanceSize()).isAtMost(32L);
+  }
+}
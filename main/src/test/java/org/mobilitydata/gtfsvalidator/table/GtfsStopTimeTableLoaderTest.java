@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.table;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.input.CountryCode;
+import org.mobilitydata.gtfsvalidator.input.DateForValidation;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.validator.DefaultValidatorProvider;
+import org.mobilitydata.gtfsvalidator.validator.PickupDropOffTypeValidator;
+import org.mobilitydata.gtfsvalidator.validator.StopTimesShapeDistTraveledPresenceValidator;
+import org.mobilitydata.gtfsvalidator.validator.ValidationContext;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorLoader;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorLoaderException;
+import org.mobilitydata.gtfsvalidator.validator.ValidatorProvider;
+
+/** Loads stop_times.txt, which is stored in columns, with and without an executor. */
+@RunWith(JUnit4.class)
+public class GtfsStopTimeTableLoaderTest {
+
+  /** Short rows, so that the first chunk of the file spans several segments of columns. */
+  private static final int ROW_COUNT = 300_000;
+
+  private static String createStopTimes() {
+    StringBuilder csv =
+        new StringBuilder(
+            "trip_id,stop_sequence,stop_id,location_id,shape_dist_traveled,pickup_type,"
+                + "start_pickup_drop_off_window\n");
+    for (int i = 0; i < ROW_COUNT; ++i) {
+      csv.append('t').append(i / 20).append(',').append(i % 20).append(',');
+      if (i % 7 == 0) {
+        // Forbidden shape_dist_traveled for a location.
+        csv.append(",l").append(i % 13).append(",1,");
+      } else {
+        csv.append('s').append(i % 1000).append(",,,");
+      }
+      if (i % 11 == 0) {
+        // Forbidden pickup_drop_off_window for regular pickup and drop-off.
+        csv.append("0,08:00:00");
+      } else {
+        csv.append(',');
+      }
+      csv.append('\n');
+    }
+    return csv.toString();
+  }
+
+  private static NoticeContainer load(String csv, @Nullable ExecutorService executor)
+      throws ValidatorLoaderException {
+    ValidationContext context =
+        ValidationContext.builder()
+            .setCountryCode(CountryCode.forStringOrUnknown("ca"))
+            .setDateForValidation(new DateForValidation(LocalDate.of(2021, 1, 1)))
+            .build();
+    ValidatorProvider provider =
+        new DefaultValidatorProvider(
+            context,
+            ValidatorLoader.createForClasses(
+                ImmutableList.of(
+                    StopTimesShapeDistTraveledPresenceValidator.class,
+                    PickupDropOffTypeValidator.class)));
+    NoticeContainer noticeContainer = new NoticeContainer();
+    GtfsEntityContainer<?, ?> container =
+        CsvFileLoader.getInstance()
+            .load(
+                new GtfsStopTimeTableDescriptor(),
+                provider,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                noticeContainer,
+                executor,
+                null);
+    assertThat(container.getEntities()).hasSize(ROW_COUNT);
+    return noticeContainer;
+  }
+
+  @Test
+  public void withExecutor_sameNoticesAsSequentialLoading() throws ValidatorLoaderException {
+    String csv = createStopTimes();
+    assertThat(csv.length()).isGreaterThan(CsvFileLoader.CHUNK_SIZE_BYTES);
+
+    NoticeContainer sequentialNotices = load(csv, null);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    NoticeContainer parallelNotices;
+    try {
+      parallelNotices = load(csv, executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(sequentialNotices.getValidationNotices()).isNotEmpty();
+    assertThat(parallelNotices.getValidationNotices())
+        .containsExactlyElementsIn(sequentialNotices.getValidationNotices())
+        .inOrder();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ServiceCalendarTest {
+  private static final byte WEEKDAYS = ServicePeriod.weeklyPatternFromMTWTFSS(1, 1, 1, 1, 1, 0, 0);
+  private static final byte WEEKEND = ServicePeriod.weeklyPatternFromMTWTFSS(0, 0, 0, 0, 0, 1, 1);
+
+  private static final ImmutableMap<String, ServicePeriod> SERVICE_PERIODS =
+      ImmutableMap.of(
+          "WEEK",
+          new ServicePeriod(
+              LocalDate.of(2021, 1, 1),
+              LocalDate.of(2021, 12, 31),
+              WEEKDAYS,
+              ImmutableSet.of(LocalDate.of(2021, 7, 3)),
+              ImmutableSet.of(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31))),
+          "WEEKEND",
+          new ServicePeriod(
+              LocalDate.of(2021, 3, 1),
+              LocalDate.of(2021, 3, 31),
+              WEEKEND,
+              ImmutableSet.of(LocalDate.of(2022, 5, 10)),
+              ImmutableSet.of(LocalDate.of(2021, 3, 6))),
+          "DATES",
+          new ServicePeriod(ImmutableSet.of(LocalDate.of(2020, 12, 25), LocalDate.of(2021, 7, 3))),
+          "REMOVED",
+          new ServicePeriod(
+              LocalDate.of(2021, 6, 7),
+              LocalDate.of(2021, 6, 8),
+              WEEKDAYS,
+              ImmutableSet.of(),
+              ImmutableSet.of(LocalDate.of(2021, 6, 7), LocalDate.of(2021, 6, 8))));
+
+  private static final ServiceCalendar CALENDAR =
+      ServiceCalendar.fromServicePeriods(SERVICE_PERIODS);
+
+  private static List<LocalDate> activeDates(String serviceId) {
+    List<LocalDate> dates = new ArrayList<>();
+    CALENDAR.forEachActiveEpochDay(serviceId, day -> dates.add(LocalDate.ofEpochDay(day)));
+    return dates;
+  }
+
+  @Test
+  public void activeDates_sameAsServicePeriod() {
+    for (var entry : SERVICE_PERIODS.entrySet()) {
+      SortedSet<LocalDate> expected = entry.getValue().toDates();
+      assertThat(activeDates(entry.getKey())).containsExactlyElementsIn(expected).inOrder();
+      for (LocalDate date = LocalDate.of(2020, 12, 1);
+          date.isBefore(LocalDate.of(2022, 6, 1));
+          date = date.plusDays(1)) {
+        assertThat(CALENDAR.isActive(entry.getKey(), date)).isEqualTo(expected.contains(date));
+      }
+    }
+  }
+
+  @Test
+  public void firstAndLastActiveDate() {
+    assertThat(CALENDAR.firstActiveDate("WEEK")).isEqualTo(LocalDate.of(2021, 1, 4));
+    assertThat(CALENDAR.lastActiveDate("WEEK")).isEqualTo(LocalDate.of(2021, 12, 30));
+    assertThat(CALENDAR.firstActiveDate("WEEKEND")).isEqualTo(LocalDate.of(2021, 3, 7));
+    assertThat(CALENDAR.lastActiveDate("WEEKEND")).isEqualTo(LocalDate.of(2022, 5, 10));
+    assertThat(CALENDAR.firstActiveDate("REMOVED")).isNull();
+    assertThat(CALENDAR.lastActiveDate("REMOVED")).isNull();
+    assertThat(CALENDAR.firstActiveDate("UNKNOWN")).isNull();
+  }
+
+  @Test
+  public void serviceIds_includeServicesWithoutActiveDays() {
+    assertThat(CALENDAR.serviceIds())
+        .containsExactly("WEEK", "WEEKEND", "DATES", "REMOVED")
+        .inOrder();
+    assertThat(CALENDAR.hasActiveDays("DATES")).isTrue();
+    assertThat(CALENDAR.hasActiveDays("REMOVED")).isFalse();
+    assertThat(CALENDAR.serviceCode("REMOVED")).isEqualTo(3);
+    assertThat(CALENDAR.serviceCode("UNKNOWN")).isEqualTo(-1);
+  }
+
+  @Test
+  public void firstIntersectingDate() {
+    assertThat(CALENDAR.firstIntersectingDate("WEEK", "DATES"))
+        .isEqualTo(Optional.of(LocalDate.of(2021, 7, 3)));
+    assertThat(CALENDAR.firstIntersectingDate("DATES", "WEEK"))
+        .isEqualTo(Optional.of(LocalDate.of(2021, 7, 3)));
+    assertThat(CALENDAR.firstIntersectingDate("WEEK", "WEEK"))
+        .isEqualTo(Optional.of(LocalDate.of(2021, 1, 4)));
+    assertThat(CALENDAR.firstIntersectingDate("WEEK", "WEEKEND")).isEqualTo(Optional.empty());
+    assertThat(CALENDAR.firstIntersectingDate("REMOVED", "REMOVED")).isEqualTo(Optional.empty());
+    assertThat(CALENDAR.firstIntersectingDate("WEEK", "UNKNOWN")).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  public void noServices() {
+    ServiceCalendar calendar = ServiceCalendar.fromServicePeriods(ImmutableMap.of());
+
+    assertThat(calendar.serviceCount()).isEqualTo(0);
+    assertThat(calendar.isActive("WEEK", LocalDate.of(2021, 1, 4))).isFalse();
+  }
+}
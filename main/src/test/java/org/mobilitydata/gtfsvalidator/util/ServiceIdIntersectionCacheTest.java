@@ -3,9 +3,13 @@ package org.mobilitydata.gtfsvalidator.util;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -47,4 +51,28 @@ public class ServiceIdIntersectionCacheTest {
     assertThat(cache.findIntersectingDate("notFound", "notFound")).isEqualTo(Optional.empty());
     assertThat(cache.getCacheSize()).isEqualTo(3);
   }
+
+  @Test
+  public void findIntersectingDate_byServiceCode_manyServices() {
+    // Each service runs on its own day and on a common day.
+    final LocalDate commonDay = LocalDate.of(2021, 12, 31);
+    final int serviceCount = 50;
+    Map<String, Set<LocalDate>> serviceDates = new HashMap<>();
+    for (int i = 0; i < serviceCount; ++i) {
+      serviceDates.put("s" + i, ImmutableSet.of(LocalDate.of(2021, 1, 1).plusDays(i), commonDay));
+    }
+    final ServiceIdIntersectionCache cache = new ServiceIdIntersectionCache(serviceDates);
+
+    for (int i = 0; i < serviceCount; ++i) {
+      for (int j = 0; j < serviceCount; ++j) {
+        int code1 = cache.serviceCode("s" + i);
+        int code2 = cache.serviceCode("s" + j);
+        assertThat(cache.findIntersectingDate(code1, code2))
+            .isEqualTo(Optional.of(i == j ? LocalDate.of(2021, 1, 1).plusDays(i) : commonDay));
+      }
+    }
+    assertThat(cache.getCacheSize()).isEqualTo(serviceCount * (serviceCount + 1) / 2);
+    assertThat(cache.serviceCode("notFound")).isEqualTo(-1);
+    assertThat(cache.findIntersectingDate(cache.serviceCode("s0"), -1)).isEqualTo(Optional.empty());
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 MobilityData IO
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mobilitydata.gtfsvalidator.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTime;
+import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
+
+@RunWith(JUnit4.class)
+public class TripPatternsTest {
+
+  private static void addTrip(List<GtfsStopTime> stopTimes, String tripId, String... stopIds) {
+    for (int i = 0; i < stopIds.length; ++i) {
+      stopTimes.add(
+          new GtfsStopTime.Builder()
+              .setCsvRowNumber(stopTimes.size() + 2)
+              .setTripId(tripId)
+              .setStopSequence(i)
+              .setStopId(stopIds[i])
+              .build());
+    }
+  }
+
+  @Test
+  public void tripsWithSameStops_sharePattern() {
+    List<GtfsStopTime> stopTimes = new ArrayList<>();
+    addTrip(stopTimes, "t1", "a", "b", "c");
+    addTrip(stopTimes, "t2", "a", "b", "c");
+    addTrip(stopTimes, "t3", "c", "b", "a");
+    addTrip(stopTimes, "t4", "a", "b");
+    TripPatterns patterns =
+        new TripPatternIndex()
+            .getTripPatterns(
+                GtfsStopTimeTableContainer.forEntities(stopTimes, new NoticeContainer()));
+
+    assertThat(patterns.patternCount()).isEqualTo(3);
+    int pattern = patterns.patternId("t1");
+    assertThat(patterns.patternId("t2")).isEqualTo(pattern);
+    assertThat(patterns.patternId("t3")).isNotEqualTo(pattern);
+    assertThat(patterns.patternId("t4")).isNotEqualTo(pattern);
+    assertThat(patterns.patternId("t3")).isNotEqualTo(patterns.patternId("t4"));
+    assertThat(patterns.stopIds(pattern)).containsExactly("a", "b", "c").inOrder();
+    assertThat(patterns.stopIds(patterns.patternId("t3"))).containsExactly("c", "b", "a").inOrder();
+    assertThat(patterns.tripIds(pattern)).containsExactly("t1", "t2");
+    assertThat(patterns.representativeTripId(pattern)).isIn(patterns.tripIds(pattern));
+    assertThat(patterns.patternId("noStopTimes")).isEqualTo(-1);
+  }
+
+  @Test
+  public void stopTimesOutOfOrder_patternFollowsStopSequence() {
+    List<GtfsStopTime> stopTimes = new ArrayList<>();
+    addTrip(stopTimes, "t1", "a", "b");
+    stopTimes.add(
+        new GtfsStopTime.Builder()
+            .setCsvRowNumber(10)
+            .setTripId("t2")
+            .setStopSequence(2)
+            .setStopId("b")
+            .build());
+    stopTimes.add(
+        new GtfsStopTime.Builder()
+            .setCsvRowNumber(11)
+            .setTripId("t2")
+            .setStopSequence(1)
+            .setStopId("a")
+            .build());
+    TripPatterns patterns =
+        TripPatterns.fromStopTimes(
+            GtfsStopTimeTableContainer.forEntities(stopTimes, new NoticeContainer()));
+
+    assertThat(patterns.patternCount()).isEqualTo(1);
+    assertThat(patterns.patternId("t2")).isEqualTo(patterns.patternId("t1"));
+  }
+
+  @Test
+  public void noStopTimes_noPatterns() {
+    TripPatterns patterns =
+        TripPatterns.fromStopTimes(
+            GtfsStopTimeTableContainer.forEntities(new ArrayList<>(), new NoticeContainer()));
+
+    assertThat(patterns.patternCount()).isEqualTo(0);
+  }
+}
@@ -17,10 +17,13 @@
 package org.mobilitydata.gtfsvalidator.util.shape;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.geometry.S2LatLng;
 import com.google.common.geometry.S2Point;
 import com.google.common.truth.Correspondence;
 import com.google.common.truth.Expect;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -196,4 +199,33 @@ public class ShapePointsTest {
             new StopToShapeMatch(2, 0.0, 221.3, 0.8, toS2Point(47.3650083, 8.5256577)),
             new StopToShapeMatch(6, 0.0, 483.5, 0.8, toS2Point(47.3650140, 8.5256455)));
   }
+
+  @Test
+  public void matchesFromLocation_segmentIndexSameAsScan() {
+    // A zigzag shape that passes several times near each stop.
+    List<ShapePoint> points = new ArrayList<>();
+    for (int i = 0; i < 10 * ShapePoints.MIN_POINTS_FOR_SEGMENT_INDEX; ++i) {
+      int step = i % 40;
+      double lat = 47.36 + 0.0001 * (step < 20 ? step : 40 - step);
+      points.add(new ShapePoint(10.0 * i, 0, toS2Point(lat, 8.52 + 0.00001 * i)));
+    }
+    ShapePoints shapePoints = new ShapePoints(points);
+
+    for (S2Point stop :
+        ImmutableList.of(
+            toS2Point(47.3610, 8.5230),
+            toS2Point(47.3605, 8.5201),
+            toS2Point(47.3620, 8.5262),
+            toS2Point(47.3700, 8.5230))) {
+      for (double maxDistance : new double[] {0.0, 5.0, 20.0, 100.0, 1e7}) {
+        List<StopToShapeMatch> scanned = shapePoints.matchesFromLocation(stop, maxDistance, false);
+        List<StopToShapeMatch> indexed = shapePoints.matchesFromLocation(stop, maxDistance, true);
+        expect
+            .that(Lists.transform(indexed, StopToShapeMatch::toString))
+            .containsExactlyElementsIn(Lists.transform(scanned, StopToShapeMatch::toString))
+            .inOrder();
+      }
+    }
+    expect.that(shapePoints.matchesFromLocation(toS2Point(47.3610, 8.5230), 20.0)).hasSize(2);
+  }
 }
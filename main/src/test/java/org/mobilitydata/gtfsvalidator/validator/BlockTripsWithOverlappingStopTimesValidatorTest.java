@@ -26,6 +26,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 import org.mobilitydata.gtfsvalidator.util.CalendarUtilTest;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 import org.mobilitydata.gtfsvalidator.validator.BlockTripsWithOverlappingStopTimesValidator.BlockTripsWithOverlappingStopTimesNotice;
 
 @RunWith(JUnit4.class)
@@ -120,7 +121,8 @@ public class BlockTripsWithOverlappingStopTimesValidatorTest {
             GtfsTripTableContainer.forEntities(trips, noticeContainer),
             GtfsStopTimeTableContainer.forEntities(stopTimes, noticeContainer),
             GtfsCalendarTableContainer.forEntities(calendars, noticeContainer),
-            GtfsCalendarDateTableContainer.forEntities(calendarDates, noticeContainer))
+            GtfsCalendarDateTableContainer.forEntities(calendarDates, noticeContainer),
+            new ServiceCalendarIndex())
         .validate(noticeContainer);
     return noticeContainer.getValidationNotices();
   }
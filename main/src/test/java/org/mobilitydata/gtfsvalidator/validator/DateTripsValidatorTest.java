@@ -19,6 +19,7 @@ import org.mobilitydata.gtfsvalidator.table.*;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
 import org.mobilitydata.gtfsvalidator.util.CalendarUtilTest;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 
 @RunWith(JUnit4.class)
 public class DateTripsValidatorTest {
@@ -95,7 +96,8 @@ public class DateTripsValidatorTest {
             dateTable,
             calendarTable,
             tripContainer,
-            frequencyTable);
+            frequencyTable,
+            new ServiceCalendarIndex());
 
     validator.validate(noticeContainer);
 
@@ -32,6 +32,7 @@ import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.table.*;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
+import org.mobilitydata.gtfsvalidator.util.ServiceCalendarIndex;
 
 @RunWith(JUnit4.class)
 public class ExpiredCalendarValidatorTest {
@@ -66,7 +67,8 @@ public class ExpiredCalendarValidatorTest {
         GtfsCalendarTableContainer.forEntities(calendars, container);
 
     var dateTable = GtfsCalendarDateTableContainer.forStatus(TableStatus.EMPTY_FILE);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices())
         .containsExactly(new ExpiredCalendarValidator.ExpiredCalendarNotice(2, "WEEK"));
@@ -93,7 +95,8 @@ public class ExpiredCalendarValidatorTest {
         GtfsCalendarTableContainer.forEntities(calendars, container);
 
     var dateTable = GtfsCalendarDateTableContainer.forStatus(TableStatus.EMPTY_FILE);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -119,7 +122,8 @@ public class ExpiredCalendarValidatorTest {
         GtfsCalendarTableContainer.forEntities(calendars, container);
 
     var dateTable = GtfsCalendarDateTableContainer.forStatus(TableStatus.EMPTY_FILE);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -154,7 +158,8 @@ public class ExpiredCalendarValidatorTest {
                     .setExceptionType(GtfsCalendarDateExceptionType.SERVICE_ADDED)
                     .build()),
             container);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -189,7 +194,8 @@ public class ExpiredCalendarValidatorTest {
                     .setExceptionType(GtfsCalendarDateExceptionType.SERVICE_REMOVED)
                     .build()),
             container);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices())
         .containsExactly(new ExpiredCalendarValidator.ExpiredCalendarNotice(2, "WEEK"));
@@ -211,7 +217,8 @@ public class ExpiredCalendarValidatorTest {
     GtfsCalendarTableContainer calendarTable =
         GtfsCalendarTableContainer.forEntities(calendars, container);
     var dateTable = GtfsCalendarDateTableContainer.forStatus(TableStatus.EMPTY_FILE);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, dateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW), calendarTable, dateTable, new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -253,7 +260,11 @@ public class ExpiredCalendarValidatorTest {
                     .setExceptionType(GtfsCalendarDateExceptionType.SERVICE_ADDED)
                     .build()),
             container);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, calendarDateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW),
+            calendarTable,
+            calendarDateTable,
+            new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -288,7 +299,11 @@ public class ExpiredCalendarValidatorTest {
                     .setExceptionType(GtfsCalendarDateExceptionType.SERVICE_ADDED)
                     .build()),
             container);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, calendarDateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW),
+            calendarTable,
+            calendarDateTable,
+            new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices()).isEmpty();
   }
@@ -329,7 +344,11 @@ public class ExpiredCalendarValidatorTest {
                     .setExceptionType(GtfsCalendarDateExceptionType.SERVICE_ADDED)
                     .build()),
             container);
-    new ExpiredCalendarValidator(new DateForValidation(TEST_NOW), calendarTable, calendarDateTable)
+    new ExpiredCalendarValidator(
+            new DateForValidation(TEST_NOW),
+            calendarTable,
+            calendarDateTable,
+            new ServiceCalendarIndex())
         .validate(container);
     assertThat(container.getValidationNotices())
         // We verify that entries are sorted by row number.
@@ -41,6 +41,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsStopTime;
 import org.mobilitydata.gtfsvalidator.table.GtfsStopTimeTableContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsTrip;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
+import org.mobilitydata.gtfsvalidator.util.TripPatternIndex;
 import org.mobilitydata.gtfsvalidator.util.shape.StopToShapeMatcher;
 import org.mobilitydata.gtfsvalidator.util.shape.StopToShapeMatcherSettings;
 import org.mobilitydata.gtfsvalidator.validator.ShapeToStopMatchingValidator.StopHasTooManyMatchesForShapeNotice;
@@ -100,6 +101,7 @@ public class ShapeToStopMatchingValidatorTest {
             GtfsRouteTableContainer.forEntities(routes, noticeContainer),
             GtfsStopTimeTableContainer.forEntities(stopTimes, noticeContainer),
             GtfsShapeTableContainer.forEntities(shapes, noticeContainer),
+            new TripPatternIndex(),
             stopToShapeMatcher)
         .validate(noticeContainer);
     return noticeContainer.getValidationNotices();
@@ -43,6 +43,7 @@ import org.mobilitydata.gtfsvalidator.table.GtfsTrip;
 import org.mobilitydata.gtfsvalidator.table.GtfsTripTableContainer;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 import org.mobilitydata.gtfsvalidator.util.S2Earth;
+import org.mobilitydata.gtfsvalidator.util.TripPatternIndex;
 import org.mobilitydata.gtfsvalidator.validator.StopTimeTravelSpeedValidator.FastTravelBetweenConsecutiveStopsNotice;
 import org.mobilitydata.gtfsvalidator.validator.StopTimeTravelSpeedValidator.FastTravelBetweenFarStopsNotice;
 
@@ -59,7 +60,8 @@ public final class StopTimeTravelSpeedValidatorTest {
             GtfsRouteTableContainer.forEntities(routes, noticeContainer),
             GtfsTripTableContainer.forEntities(trips, noticeContainer),
             GtfsStopTimeTableContainer.forEntities(stopTimes, noticeContainer),
-            GtfsStopTableContainer.forEntities(stops, noticeContainer))
+            GtfsStopTableContainer.forEntities(stops, noticeContainer),
+            new TripPatternIndex())
         .validate(noticeContainer);
     return noticeContainer.getValidationNotices();
   }
@@ -48,4 +48,13 @@ public @interface GtfsTable {
    * for the CSV Parser.
    */
   int maxCharsPerColumn() default 0;
+
+  /**
+   * Stores the table in primitive arrays, one per column, instead of one object per row.
+   *
+   * <p>Entities of such table are views of a row that are created on demand, and indices of the
+   * table keep row positions instead of entities. This is meant for the largest tables, such as
+   * "stop_times.txt", and requires the sequence field, if any, to be an integer.
+   */
+  boolean columnar() default false;
 }
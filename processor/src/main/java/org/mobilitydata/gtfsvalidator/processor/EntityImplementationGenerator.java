@@ -17,17 +17,20 @@
 package org.mobilitydata.gtfsvalidator.processor;
 
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.clearMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.epochDayMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.fieldDefaultName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.fieldNameField;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getValueMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.getterMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.gtfsColumnName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.hasMethodName;
+import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.secondsMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.FieldNameConverter.setterMethodName;
 import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_PACKAGE_NAME;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.geometry.S2LatLng;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -39,6 +42,7 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.math.BigDecimal;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -47,8 +51,10 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import org.mobilitydata.gtfsvalidator.annotation.FieldTypeEnum;
 import org.mobilitydata.gtfsvalidator.annotation.Generated;
+import org.mobilitydata.gtfsvalidator.table.ColumnarEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntity;
 import org.mobilitydata.gtfsvalidator.table.GtfsEntityBuilder;
+import org.mobilitydata.gtfsvalidator.table.StringColumnDictionary;
 import org.mobilitydata.gtfsvalidator.type.GtfsColor;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
@@ -57,6 +63,14 @@ import org.mobilitydata.gtfsvalidator.type.GtfsTime;
  * Generates a class that represent a single parsed row of a GTFS table.
  *
  * <p>E.g., GtfsStop class is generated for "stops.txt".
+ *
+ * <p>Times are stored as {@code int} seconds since midnight and dates as {@code int} epoch days.
+ * Their getters return {@link GtfsTime} and {@link GtfsDate} objects created on each call, and
+ * primitive accessors such as {@code arrivalTimeSeconds()} and {@code startDateEpochDay()} return
+ * the stored values.
+ *
+ * <p>For columnar tables, the entity class is a view of a row in a nested {@code Columns} class
+ * that keeps values of a segment of rows in primitive arrays.
  */
 public class EntityImplementationGenerator {
   private enum ClassContext {
@@ -66,6 +80,8 @@ public class EntityImplementationGenerator {
 
   private static final String CSV_ROW_NUMBER = "csvRowNumber";
   private static final Class CSV_ROW_NUMBER_TYPE = int.class;
+  private static final String COLUMNS = "columns";
+  private static final String ROW = "row";
   private final GtfsFileDescriptor fileDescriptor;
   private final GtfsEntityClasses classNames;
   private final ImmutableMap<String, TypeName> enumIntegerFieldTypes;
@@ -139,6 +155,19 @@ public class EntityImplementationGenerator {
     return bitFieldName(fieldNumber / 32);
   }
 
+  /**
+   * Returns name of the bitField that a segment of a columnar table shares by all its rows, as long
+   * as they have the same fields.
+   */
+  private static String commonBitFieldName(int i) {
+    return "commonBitField" + i + "_";
+  }
+
+  /** Returns name of the method of a segment that returns a bitField of a row. */
+  private static String bitFieldAtName(int i) {
+    return "bitField" + i + "At";
+  }
+
   private static String maskForFieldNumber(int fieldNumber) {
     return "0x" + Integer.toHexString(1 << (fieldNumber % 32));
   }
@@ -212,25 +241,106 @@ public class EntityImplementationGenerator {
     return JavaFile.builder(TABLE_PACKAGE_NAME, generateGtfsEntityClass()).build();
   }
 
+  /**
+   * Returns the type of the entity and builder field that stores the GTFS field.
+   *
+   * <p>Times are stored as seconds since midnight and dates as epoch days, see {@link #fromStored}.
+   */
+  private TypeName getStoredFieldType(GtfsFieldDescriptor field) {
+    if (isTimeOrDateField(field)) {
+      return TypeName.INT;
+    }
+    return getClassFieldType(field);
+  }
+
+  /**
+   * Returns the type of a column that stores the field in a columnar table.
+   *
+   * <p>Strings are stored as codes of a {@link StringColumnDictionary}, other fields as in entities.
+   */
+  private TypeName getColumnElementType(GtfsFieldDescriptor field) {
+    if (isStringField(field)) {
+      return TypeName.INT;
+    }
+    return getStoredFieldType(field);
+  }
+
+  private static boolean isTimeOrDateField(GtfsFieldDescriptor field) {
+    return field.type() == FieldTypeEnum.TIME || field.type() == FieldTypeEnum.DATE;
+  }
+
+  /** Returns the expression that converts a stored value to the type of the getter. */
+  private static CodeBlock fromStored(GtfsFieldDescriptor field, CodeBlock value) {
+    if (field.type() == FieldTypeEnum.TIME) {
+      return CodeBlock.of("$T.fromSecondsSinceMidnight($L)", GtfsTime.class, value);
+    }
+    if (field.type() == FieldTypeEnum.DATE) {
+      return CodeBlock.of("$T.fromEpochDay($L)", GtfsDate.class, value);
+    }
+    return value;
+  }
+
+  /** Returns the expression that converts a value of the getter type to the stored type. */
+  private static CodeBlock toStored(GtfsFieldDescriptor field, CodeBlock value) {
+    if (field.type() == FieldTypeEnum.TIME) {
+      return CodeBlock.of("$L.getSecondsSinceMidnight()", value);
+    }
+    if (field.type() == FieldTypeEnum.DATE) {
+      return CodeBlock.of("(int) $L.toEpochDay()", value);
+    }
+    return value;
+  }
+
+  /**
+   * Adds a method that returns the stored value of a time or date field, e.g., {@code
+   * arrivalTimeSeconds()}.
+   */
+  private static void maybeAddPrimitiveGetter(
+      GtfsFieldDescriptor field, CodeBlock value, TypeSpec.Builder typeSpec) {
+    String methodName;
+    String javadoc;
+    if (field.type() == FieldTypeEnum.TIME) {
+      methodName = secondsMethodName(field.name());
+      javadoc = "Returns {@link #$L()} as seconds since midnight, without creating an object.";
+    } else if (field.type() == FieldTypeEnum.DATE) {
+      methodName = epochDayMethodName(field.name());
+      javadoc = "Returns {@link #$L()} as epoch days, without creating an object.";
+    } else {
+      return;
+    }
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc(javadoc, getterMethodName(field.name()))
+            .returns(int.class)
+            .addStatement("return $L", value)
+            .build());
+  }
+
+  private static boolean isStringField(GtfsFieldDescriptor field) {
+    return TypeName.get(field.javaType()).equals(ClassName.get(String.class));
+  }
+
+  private static String dictionaryName(GtfsFieldDescriptor field) {
+    return field.name() + "Dictionary";
+  }
+
+  private Class<?> getBitFieldType() {
+    if (fileDescriptor.fields().size() <= 32) {
+      return fileDescriptor.fields().size() <= 8
+          ? byte.class
+          : fileDescriptor.fields().size() <= 16 ? short.class : int.class;
+    }
+    return int.class;
+  }
+
   private void addEntityOrBuilderFields(TypeSpec.Builder typeSpec) {
     typeSpec.addField(CSV_ROW_NUMBER_TYPE, CSV_ROW_NUMBER, Modifier.PRIVATE);
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
-      typeSpec.addField(getClassFieldType(field), field.name(), Modifier.PRIVATE);
+      typeSpec.addField(getStoredFieldType(field), field.name(), Modifier.PRIVATE);
     }
-    if (fileDescriptor.fields().size() <= 32) {
-      typeSpec.addField(
-          FieldSpec.builder(
-                  fileDescriptor.fields().size() <= 8
-                      ? byte.class
-                      : fileDescriptor.fields().size() <= 16 ? short.class : int.class,
-                  "bitField0_",
-                  Modifier.PRIVATE)
-              .build());
-    } else {
-      for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
-        typeSpec.addField(
-            FieldSpec.builder(int.class, "bitField" + i + "_", Modifier.PRIVATE).build());
-      }
+    for (int i = 0; i <= lastBitFieldNumber(fileDescriptor.fields().size()); ++i) {
+      typeSpec.addField(getBitFieldType(), bitFieldName(i), Modifier.PRIVATE);
     }
   }
 
@@ -249,6 +359,9 @@ public class EntityImplementationGenerator {
   }
 
   public TypeSpec generateGtfsEntityClass() {
+    if (fileDescriptor.columnar()) {
+      return generateColumnarEntityClass();
+    }
     TypeSpec.Builder typeSpec =
         TypeSpec.classBuilder(classNames.entityImplementationSimpleName())
             .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
@@ -281,19 +394,301 @@ public class EntityImplementationGenerator {
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
       typeSpec.addMethod(generateGetterMethod(field, ClassContext.ENTITY));
       maybeAddEnumValueGetter(field, typeSpec);
+      maybeAddPrimitiveGetter(field, CodeBlock.of("$L", field.name()), typeSpec);
       typeSpec.addMethod(generateHasMethod(field, fieldNumber));
       ++fieldNumber;
     }
     for (LatLonDescriptor latLonDescriptor : fileDescriptor.latLonFields()) {
-      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor));
+      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor, ""));
+      typeSpec.addMethod(generateHasLatLonMethod(latLonDescriptor));
+    }
+
+    typeSpec.addType(generateGtfsEntityBuilderClass());
+
+    return typeSpec.build();
+  }
+
+  private TypeSpec generateColumnarEntityClass() {
+    TypeName gtfsEntityType = classNames.entityImplementationTypeName();
+    ClassName columnsType = classNames.entityImplementationTypeName().nestedClass("Columns");
+    TypeSpec.Builder typeSpec =
+        TypeSpec.classBuilder(classNames.entityImplementationSimpleName())
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addAnnotation(Generated.class)
+            .addSuperinterface(GtfsEntity.class)
+            .addSuperinterface(ColumnarEntity.class)
+            .addJavadoc(
+                "A view of a row of $S that is stored in columns.\n\n"
+                    + "<p>Views of the same row are equal but may be different objects.",
+                fileDescriptor.filename());
+
+    for (TypeMirror superinterface : fileDescriptor.interfaces()) {
+      typeSpec.addSuperinterface(superinterface);
+    }
+
+    typeSpec.addField(columnsType, COLUMNS, Modifier.PRIVATE, Modifier.FINAL);
+    typeSpec.addField(int.class, ROW, Modifier.PRIVATE, Modifier.FINAL);
+    typeSpec.addMethod(
+        MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .addJavadoc("Use {@link Builder} class to construct an object.")
+            .addParameter(columnsType, COLUMNS)
+            .addParameter(int.class, ROW)
+            .addStatement("this.$L = $L", COLUMNS, COLUMNS)
+            .addStatement("this.$L = $L", ROW, ROW)
+            .build());
+
+    generateFilenameAndFieldNameConstants(typeSpec);
+    addDefaultValueFields(typeSpec);
+
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder(getterMethodName(CSV_ROW_NUMBER))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(CSV_ROW_NUMBER_TYPE)
+            .addAnnotation(Override.class)
+            .addStatement("return $L.$L[$L]", COLUMNS, CSV_ROW_NUMBER, ROW)
+            .build());
+    int fieldNumber = 0;
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      typeSpec.addMethod(generateColumnarGetterMethod(field));
+      maybeAddPrimitiveGetter(
+          field, CodeBlock.of("$L.$L[$L]", COLUMNS, field.name(), ROW), typeSpec);
+      if (field.type().equals(FieldTypeEnum.ENUM)) {
+        typeSpec.addMethod(
+            MethodSpec.methodBuilder(getValueMethodName(field.name()))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return $L.$L[$L]", COLUMNS, field.name(), ROW)
+                .build());
+      }
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(hasMethodName(field.name()))
+              .addModifiers(Modifier.PUBLIC)
+              .returns(boolean.class)
+              .addStatement(
+                  "return ($L.$L($L) & $L) != 0",
+                  COLUMNS,
+                  bitFieldAtName(fieldNumber / 32),
+                  ROW,
+                  maskForFieldNumber(fieldNumber))
+              .build());
+      ++fieldNumber;
+    }
+    for (LatLonDescriptor latLonDescriptor : fileDescriptor.latLonFields()) {
+      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor, "()"));
       typeSpec.addMethod(generateHasLatLonMethod(latLonDescriptor));
     }
 
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("columnSegment")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(
+                ParameterizedTypeName.get(
+                    ClassName.get(ColumnarEntity.Segment.class), gtfsEntityType))
+            .addStatement("return $L", COLUMNS)
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("rowInSegment")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addStatement("return $L", ROW)
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("equals")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(boolean.class)
+            .addParameter(
+                ParameterSpec.builder(Object.class, "other").addAnnotation(Nullable.class).build())
+            .beginControlFlow("if (!(other instanceof $T))", gtfsEntityType)
+            .addStatement("return false")
+            .endControlFlow()
+            .addStatement("$T that = ($T) other", gtfsEntityType, gtfsEntityType)
+            .addStatement("return $L == that.$L && $L == that.$L", COLUMNS, COLUMNS, ROW, ROW)
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("hashCode")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(int.class)
+            .addStatement("return 31 * System.identityHashCode($L) + $L", COLUMNS, ROW)
+            .build());
+
+    typeSpec.addType(generateColumnsClass());
     typeSpec.addType(generateGtfsEntityBuilderClass());
 
     return typeSpec.build();
   }
 
+  private MethodSpec generateColumnarGetterMethod(GtfsFieldDescriptor field) {
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder(getterMethodName(field.name()))
+            .addModifiers(Modifier.PUBLIC)
+            .returns(TypeName.get(field.javaType()))
+            .addAnnotation(nullabilityAnnotation(field))
+            .addAnnotation(Override.class);
+    CodeBlock value = CodeBlock.of("$L.$L[$L]", COLUMNS, field.name(), ROW);
+    if (field.type().equals(FieldTypeEnum.ENUM)) {
+      method
+          .addStatement("$T result = $T.forNumber($L)", field.javaType(), field.javaType(), value)
+          .addStatement("return result == null ? $T.UNRECOGNIZED : result", field.javaType());
+    } else if (isStringField(field)) {
+      method.addStatement("return $L.$L.decode($L)", COLUMNS, dictionaryName(field), value);
+    } else {
+      method.addStatement("return $L", fromStored(field, value));
+    }
+    return method.build();
+  }
+
+  /** Returns the expression that converts the value of a builder field to a column element. */
+  private CodeBlock toColumnElement(GtfsFieldDescriptor field, String builder) {
+    if (isStringField(field)) {
+      return CodeBlock.of("$L.encode($L.$L)", dictionaryName(field), builder, field.name());
+    }
+    return CodeBlock.of("$L.$L", builder, field.name());
+  }
+
+  private TypeSpec generateColumnsClass() {
+    TypeName gtfsEntityType = classNames.entityImplementationTypeName();
+    TypeSpec.Builder typeSpec =
+        TypeSpec.classBuilder("Columns")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .addSuperinterface(
+                ParameterizedTypeName.get(
+                    ClassName.get(ColumnarEntity.Segment.class), gtfsEntityType))
+            .addJavadoc(
+                "Values of a segment of rows, one array per column.\n\n"
+                    + "<p>Arrays grow as rows are added, up to {@link #MAX_ROWS}. A builder then"
+                    + " starts a new segment.\n\n"
+                    + "<p>Rows of a file usually have the same fields, so bitFields are kept once"
+                    + " per segment and are only stored per row once rows differ.");
+    typeSpec.addField(
+        FieldSpec.builder(
+                int.class, "INITIAL_CAPACITY", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("16")
+            .build());
+    typeSpec.addField(
+        FieldSpec.builder(int.class, "MAX_ROWS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("1 << 16")
+            .build());
+    typeSpec.addField(int.class, "size", Modifier.PRIVATE);
+
+    // Name and element type of every array.
+    ImmutableMap.Builder<String, TypeName> arraysBuilder = ImmutableMap.builder();
+    arraysBuilder.put(CSV_ROW_NUMBER, TypeName.get(CSV_ROW_NUMBER_TYPE));
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      arraysBuilder.put(field.name(), getColumnElementType(field));
+    }
+    ImmutableMap<String, TypeName> arrays = arraysBuilder.buildOrThrow();
+    arrays.forEach(
+        (name, elementType) ->
+            typeSpec.addField(
+                FieldSpec.builder(ArrayTypeName.of(elementType), name, Modifier.PRIVATE)
+                    .initializer("new $T[INITIAL_CAPACITY]", elementType)
+                    .build()));
+    final int lastBitFieldNumber = lastBitFieldNumber(fileDescriptor.fields().size());
+    final TypeName bitFieldType = TypeName.get(getBitFieldType());
+    for (int i = 0; i <= lastBitFieldNumber; ++i) {
+      typeSpec.addField(bitFieldType, commonBitFieldName(i), Modifier.PRIVATE);
+      typeSpec.addField(
+          FieldSpec.builder(ArrayTypeName.of(bitFieldType), bitFieldName(i), Modifier.PRIVATE)
+              .addAnnotation(Nullable.class)
+              .addJavadoc("Null while all rows have {@link #$L}.", commonBitFieldName(i))
+              .build());
+      typeSpec.addMethod(
+          MethodSpec.methodBuilder(bitFieldAtName(i))
+              .returns(bitFieldType)
+              .addParameter(int.class, ROW)
+              .addStatement(
+                  "return $L == null ? $L : $L[$L]",
+                  bitFieldName(i),
+                  commonBitFieldName(i),
+                  bitFieldName(i),
+                  ROW)
+              .build());
+    }
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (isStringField(field)) {
+        typeSpec.addField(
+            FieldSpec.builder(
+                    StringColumnDictionary.class,
+                    dictionaryName(field),
+                    Modifier.PRIVATE,
+                    Modifier.FINAL)
+                .initializer("new $T()", StringColumnDictionary.class)
+                .build());
+      }
+    }
+
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("entityAt")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(gtfsEntityType)
+            .addParameter(int.class, ROW)
+            .addStatement("return new $T(this, $L)", gtfsEntityType, ROW)
+            .build());
+    typeSpec.addMethod(
+        MethodSpec.methodBuilder("isFull")
+            .returns(boolean.class)
+            .addStatement("return size == MAX_ROWS")
+            .build());
+
+    MethodSpec.Builder addMethod =
+        MethodSpec.methodBuilder("add")
+            .addJavadoc("Appends the values of the builder as a new row.")
+            .returns(gtfsEntityType)
+            .addParameter(classNames.entityBuilderTypeName(), "builder")
+            .beginControlFlow("if (size == $L.length)", CSV_ROW_NUMBER);
+    arrays.forEach(
+        (name, elementType) ->
+            addMethod.addStatement(
+                "$L = $T.copyOf($L, Math.min(size * 2, MAX_ROWS))", name, Arrays.class, name));
+    for (int i = 0; i <= lastBitFieldNumber; ++i) {
+      addMethod
+          .beginControlFlow("if ($L != null)", bitFieldName(i))
+          .addStatement(
+              "$L = $T.copyOf($L, $L.length)",
+              bitFieldName(i),
+              Arrays.class,
+              bitFieldName(i),
+              CSV_ROW_NUMBER)
+          .endControlFlow();
+    }
+    addMethod
+        .endControlFlow()
+        .addStatement("$L[size] = builder.$L", CSV_ROW_NUMBER, CSV_ROW_NUMBER);
+    for (int i = 0; i <= lastBitFieldNumber; ++i) {
+      addMethod
+          .beginControlFlow("if ($L != null)", bitFieldName(i))
+          .addStatement("$L[size] = builder.$L", bitFieldName(i), bitFieldName(i))
+          .nextControlFlow("else if (size == 0)")
+          .addStatement("$L = builder.$L", commonBitFieldName(i), bitFieldName(i))
+          .nextControlFlow("else if (builder.$L != $L)", bitFieldName(i), commonBitFieldName(i))
+          .addStatement("$L = new $T[$L.length]", bitFieldName(i), bitFieldType, CSV_ROW_NUMBER)
+          .addStatement(
+              "$T.fill($L, 0, size, $L)", Arrays.class, bitFieldName(i), commonBitFieldName(i))
+          .addStatement("$L[size] = builder.$L", bitFieldName(i), bitFieldName(i))
+          .endControlFlow();
+    }
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      addMethod.addStatement("$L[size] = $L", field.name(), toColumnElement(field, "builder"));
+    }
+    addMethod.addStatement("$T entity = new $T(this, size++)", gtfsEntityType, gtfsEntityType);
+    addMethod.beginControlFlow("if (isFull())");
+    for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
+      if (isStringField(field)) {
+        addMethod.addStatement("$L.freeze()", dictionaryName(field));
+      }
+    }
+    addMethod.endControlFlow().addStatement("return entity");
+    typeSpec.addMethod(addMethod.build());
+
+    return typeSpec.build();
+  }
+
   private void generateFilenameAndFieldNameConstants(TypeSpec.Builder typeSpec) {
     typeSpec.addField(
         FieldSpec.builder(
@@ -328,7 +723,7 @@ public class EntityImplementationGenerator {
               "$T result = $T.forNumber($L)", field.javaType(), field.javaType(), field.name())
           .addStatement("return result == null ? $T.UNRECOGNIZED : result", field.javaType());
     } else {
-      method.addStatement("return $L", field.name());
+      method.addStatement("return $L", fromStored(field, CodeBlock.of("$L", field.name())));
     }
     return method.build();
   }
@@ -345,15 +740,23 @@ public class EntityImplementationGenerator {
             .build());
   }
 
-  private MethodSpec generateGetLatLonMethod(LatLonDescriptor latLonDescriptor) {
+  /**
+   * Generates a method that returns a point.
+   *
+   * @param accessorSuffix appended to field names to access their values, e.g., "()" for getters
+   */
+  private MethodSpec generateGetLatLonMethod(
+      LatLonDescriptor latLonDescriptor, String accessorSuffix) {
     return MethodSpec.methodBuilder(latLonDescriptor.latLonField())
         .addModifiers(Modifier.PUBLIC)
         .returns(S2LatLng.class)
         .addStatement(
-            "return $T.fromDegrees($L, $L)",
+            "return $T.fromDegrees($L$L, $L$L)",
             S2LatLng.class,
             latLonDescriptor.latField(),
-            latLonDescriptor.lonField())
+            accessorSuffix,
+            latLonDescriptor.lonField(),
+            accessorSuffix)
         .build();
   }
 
@@ -390,7 +793,7 @@ public class EntityImplementationGenerator {
       // Integer.shortValue().
       method.addStatement("$L = value.$LValue()", field.name(), fieldType.toString());
     } else {
-      method.addStatement("$L = value", field.name());
+      method.addStatement("$L = $L", field.name(), toStored(field, CodeBlock.of("value")));
     }
     return method
         .addStatement(
@@ -424,7 +827,10 @@ public class EntityImplementationGenerator {
         .addModifiers(Modifier.PUBLIC)
         .returns(classNames.entityBuilderTypeName())
         .addAnnotation(Nonnull.class)
-        .addStatement("$L = $L", field.name(), fieldDefaultName(field.name()))
+        .addStatement(
+            "$L = $L",
+            field.name(),
+            toStored(field, CodeBlock.of("$L", fieldDefaultName(field.name()))))
         .addStatement(
             "$L &= ~$L", bitFieldForFieldNumber(fieldNumber), maskForFieldNumber(fieldNumber))
         .addStatement("return this")
@@ -487,10 +893,22 @@ public class EntityImplementationGenerator {
       ++fieldNumber;
     }
     for (LatLonDescriptor latLonDescriptor : fileDescriptor.latLonFields()) {
-      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor));
+      typeSpec.addMethod(generateGetLatLonMethod(latLonDescriptor, ""));
     }
 
-    typeSpec.addMethod(generateBuilderBuildMethod());
+    if (fileDescriptor.columnar()) {
+      typeSpec.addField(
+          FieldSpec.builder(
+                  classNames.entityImplementationTypeName().nestedClass("Columns"),
+                  COLUMNS,
+                  Modifier.PRIVATE)
+              .addAnnotation(Nullable.class)
+              .addJavadoc("Segment that receives built rows.")
+              .build());
+      typeSpec.addMethod(generateColumnarBuilderBuildMethod());
+    } else {
+      typeSpec.addMethod(generateBuilderBuildMethod());
+    }
     typeSpec.addMethod(generateBuilderClearMethod());
 
     return typeSpec.build();
@@ -516,6 +934,18 @@ public class EntityImplementationGenerator {
     return buildMethod.build();
   }
 
+  private MethodSpec generateColumnarBuilderBuildMethod() {
+    return MethodSpec.methodBuilder("build")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(classNames.entityImplementationTypeName())
+        .beginControlFlow("if ($L == null || $L.isFull())", COLUMNS, COLUMNS)
+        .addStatement("$L = new Columns()", COLUMNS)
+        .endControlFlow()
+        .addStatement("return $L.add(this)", COLUMNS)
+        .build();
+  }
+
   private MethodSpec generateBuilderClearMethod() {
     MethodSpec.Builder buildMethod =
         MethodSpec.methodBuilder("clear")
@@ -527,7 +957,10 @@ public class EntityImplementationGenerator {
       buildMethod.addStatement("$L = 0", bitFieldName(i));
     }
     for (GtfsFieldDescriptor field : fileDescriptor.fields()) {
-      buildMethod.addStatement("$L = $L", field.name(), fieldDefaultName(field.name()));
+      buildMethod.addStatement(
+          "$L = $L",
+          field.name(),
+          toStored(field, CodeBlock.of("$L", fieldDefaultName(field.name()))));
     }
     return buildMethod.build();
   }
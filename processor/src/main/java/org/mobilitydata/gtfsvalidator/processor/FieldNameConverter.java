@@ -32,6 +32,14 @@ public final class FieldNameConverter {
     return field + "Value";
   }
 
+  public static String secondsMethodName(String field) {
+    return field + "Seconds";
+  }
+
+  public static String epochDayMethodName(String field) {
+    return field + "EpochDay";
+  }
+
   public static String setterMethodName(String field) {
     return "set" + StringUtils.capitalize(field);
   }
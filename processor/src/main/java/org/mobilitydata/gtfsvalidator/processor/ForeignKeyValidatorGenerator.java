@@ -17,11 +17,16 @@
 package org.mobilitydata.gtfsvalidator.processor;
 
 import com.google.common.collect.ImmutableList;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.TypeSpec;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.lang.model.element.Modifier;
 import org.apache.commons.lang3.StringUtils;
@@ -29,12 +34,18 @@ import org.mobilitydata.gtfsvalidator.annotation.Generated;
 import org.mobilitydata.gtfsvalidator.annotation.GtfsValidator;
 import org.mobilitydata.gtfsvalidator.notice.ForeignKeyViolationNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.parsing.FeedIdDictionary;
 import org.mobilitydata.gtfsvalidator.validator.FileValidator;
+import org.mobilitydata.gtfsvalidator.validator.ForeignKeyIndex;
 
 /**
  * Generates a validator class to check reference integrity for a foreign key.
  *
  * <p>A foreign key constraint is added with {@code @ForeignKey} annotation in GTFS schema.
+ *
+ * <p>The generated validator checks the child keys against a {@link ForeignKeyIndex} of the parent
+ * keys, which compares codes of the feed-wide id dictionary when both keys are ids of the same
+ * domain.
  */
 public class ForeignKeyValidatorGenerator {
 
@@ -95,6 +106,10 @@ public class ForeignKeyValidatorGenerator {
         Modifier.FINAL);
     typeSpec.addField(
         childClasses.tableContainerTypeName(), "childContainer", Modifier.PRIVATE, Modifier.FINAL);
+    typeSpec.addField(
+        FieldSpec.builder(FeedIdDictionary.class, "idDictionary", Modifier.PRIVATE, Modifier.FINAL)
+            .addAnnotation(Nullable.class)
+            .build());
 
     typeSpec.addMethod(
         MethodSpec.constructorBuilder()
@@ -102,61 +117,69 @@ public class ForeignKeyValidatorGenerator {
             .addAnnotation(Inject.class)
             .addParameter(parentClasses.tableContainerTypeName(), "parentContainer")
             .addParameter(childClasses.tableContainerTypeName(), "childContainer")
+            .addParameter(
+                ParameterSpec.builder(FeedIdDictionary.class, "idDictionary")
+                    .addAnnotation(Nullable.class)
+                    .build())
             .addStatement("this.parentContainer = parentContainer")
             .addStatement("this.childContainer = childContainer")
+            .addStatement("this.idDictionary = idDictionary")
             .build());
 
+    if (!(parentFile.hasSingleColumnPrimaryKey() && parentField.primaryKey().isPresent())
+        && !parentField.index()) {
+      reportWarning(
+          "Parent field "
+              + FieldNameConverter.gtfsColumnName(parentField.name())
+              + " in "
+              + parentFile.filename()
+              + " must be annotated with @PrimaryKey or @Index");
+    }
+
+    // Codes of the id dictionary may be compared only if both keys are interned in the same domain.
+    Optional<String> domain = TableDescriptorGenerator.idDomain(parentField);
+    if (!domain.equals(TableDescriptorGenerator.idDomain(childField))) {
+      domain = Optional.empty();
+    }
+
     MethodSpec.Builder validateMethod =
         MethodSpec.methodBuilder("validate")
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(void.class)
             .addParameter(NoticeContainer.class, "noticeContainer")
-            .beginControlFlow(
-                "for ($T childEntity: childContainer.getEntities())",
+            .addStatement(
+                "$T referencedKeys = $T.create(idDictionary, $L, parentContainer.getEntities(),"
+                    + " parentEntity -> parentEntity.$L() ? parentEntity.$L() : null)",
+                ForeignKeyIndex.class,
+                ForeignKeyIndex.class,
+                domain.map(d -> CodeBlock.of("$S", d)).orElse(CodeBlock.of("null")),
+                FieldNameConverter.hasMethodName(parentField.name()),
+                parentField.name())
+            .addStatement(
+                "$T<$T> childEntities = childContainer.getEntities()",
+                List.class,
                 childClasses.entityImplementationTypeName())
             .beginControlFlow(
-                "if (!childEntity.$L())", FieldNameConverter.hasMethodName(childField.name()))
-            .addStatement("continue")
-            .endControlFlow()
-            .addStatement("String childKey = childEntity.$L()", childField.name())
-            .beginControlFlow("if (!hasReferencedKey(childKey, parentContainer))")
+                "for (int i : referencedKeys.findMissing(childEntities,"
+                    + " childEntity -> childEntity.$L() ? childEntity.$L() : null))",
+                FieldNameConverter.hasMethodName(childField.name()),
+                childField.name())
             .addStatement(
-                "noticeContainer.addValidationNotice(new $T($S, $S, $S, $S, childKey,"
+                "$T childEntity = childEntities.get(i)",
+                childClasses.entityImplementationTypeName())
+            .addStatement(
+                "noticeContainer.addValidationNotice(new $T($S, $S, $S, $S, childEntity.$L(),"
                     + " childEntity.csvRowNumber()))",
                 ForeignKeyViolationNotice.class,
                 childFile.filename(),
                 FieldNameConverter.gtfsColumnName(childField.name()),
                 parentFile.filename(),
-                FieldNameConverter.gtfsColumnName(parentField.name()))
-            .endControlFlow()
+                FieldNameConverter.gtfsColumnName(parentField.name()),
+                childField.name())
             .endControlFlow();
     typeSpec.addMethod(validateMethod.build());
 
-    MethodSpec.Builder hasReferencedKeyMethod =
-        MethodSpec.methodBuilder("hasReferencedKey")
-            .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
-            .returns(boolean.class)
-            .addParameter(String.class, "key")
-            .addParameter(parentClasses.tableContainerTypeName(), "parentContainer");
-    if (parentFile.hasSingleColumnPrimaryKey() && parentField.primaryKey().isPresent()) {
-      hasReferencedKeyMethod.addStatement(
-          "return parentContainer.$L(key).isPresent()",
-          FieldNameConverter.byKeyMethodName(parentField.name()));
-    } else if (parentField.index()) {
-      hasReferencedKeyMethod.addStatement(
-          "return !parentContainer.$L(key).isEmpty()",
-          FieldNameConverter.byKeyMethodName(parentField.name()));
-    } else {
-      reportWarning(
-          "Parent field "
-              + FieldNameConverter.gtfsColumnName(parentField.name())
-              + " in "
-              + parentFile.filename()
-              + " must be annotated with @PrimaryKey or @Index");
-    }
-    typeSpec.addMethod(hasReferencedKeyMethod.build());
-
     // Add the shouldCallValidate method, which checks if the source column for the foreign key
     // check is present.
     MethodSpec.Builder shouldCallValidateMethod =
@@ -48,6 +48,9 @@ public abstract class GtfsFileDescriptor {
 
   public abstract Optional<Integer> maxCharsPerColumn();
 
+  /** Whether the table is stored in columns, see {@code GtfsTable#columnar}. */
+  public abstract boolean columnar();
+
   public abstract ImmutableList<GtfsFieldDescriptor> fields();
 
   public abstract ImmutableMap<String, GtfsFieldDescriptor> fieldByName();
@@ -93,6 +96,10 @@ public abstract class GtfsFileDescriptor {
 
     public abstract Builder setMaxCharsPerColumn(int maxCharsPerColumn);
 
+    public abstract Builder setColumnar(boolean value);
+
+    abstract boolean columnar();
+
     public abstract ImmutableList.Builder<GtfsFieldDescriptor> fieldsBuilder();
 
     abstract ImmutableList<GtfsFieldDescriptor> fields();
@@ -144,6 +151,7 @@ public abstract class GtfsFileDescriptor {
 
       validateIsSequenceUsedForSortingAnnotation();
       validateTranslationRecordTypeAnnotations();
+      validateColumnarAnnotation();
 
       return autoBuild();
     }
@@ -162,6 +170,20 @@ public abstract class GtfsFileDescriptor {
       }
     }
 
+    private void validateColumnarAnnotation() {
+      if (!columnar()) {
+        return;
+      }
+      for (GtfsFieldDescriptor field : fields()) {
+        if (field.primaryKey().isPresent()
+            && field.primaryKey().get().isSequenceUsedForSorting()
+            && !field.type().equals(FieldTypeEnum.INTEGER)) {
+          throw new IllegalArgumentException(
+              filename() + ": Columnar tables may only be sorted by an integer sequence field");
+        }
+      }
+    }
+
     private void validateTranslationRecordTypeAnnotations() {
       Map<TranslationRecordIdType, Long> translationRecordTypeCounts =
           fields().stream()
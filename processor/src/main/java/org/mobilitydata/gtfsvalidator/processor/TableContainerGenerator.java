@@ -19,6 +19,7 @@ package org.mobilitydata.gtfsvalidator.processor;
 import static org.mobilitydata.gtfsvalidator.processor.GtfsEntityClasses.TABLE_PACKAGE_NAME;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -30,6 +31,7 @@ import javax.lang.model.element.Modifier;
 import org.mobilitydata.gtfsvalidator.annotation.Generated;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
 import org.mobilitydata.gtfsvalidator.parsing.CsvHeader;
+import org.mobilitydata.gtfsvalidator.table.ColumnarEntityList;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableContainer;
 import org.mobilitydata.gtfsvalidator.table.GtfsTableDescriptor;
 import org.mobilitydata.gtfsvalidator.table.TableStatus;
@@ -124,7 +126,10 @@ public class TableContainerGenerator {
                 ClassName.get(List.class), classNames.entityImplementationTypeName()),
             "entities")
         .addStatement("super(descriptor, TableStatus.PARSABLE_HEADERS_AND_ROWS, header)")
-        .addStatement("this.entities = entities")
+        .addStatement(
+            fileDescriptor.columnar()
+                ? CodeBlock.of("this.entities = $T.copyOf(entities)", ColumnarEntityList.class)
+                : CodeBlock.of("this.entities = entities"))
         .build();
   }
 
@@ -26,10 +26,17 @@ import org.mobilitydata.gtfsvalidator.annotation.TranslationRecordIdType;
 import org.mobilitydata.gtfsvalidator.notice.DuplicateKeyNotice;
 import org.mobilitydata.gtfsvalidator.notice.MoreThanOneEntityNotice;
 import org.mobilitydata.gtfsvalidator.notice.NoticeContainer;
+import org.mobilitydata.gtfsvalidator.table.RowIndexListMultimap;
 import org.mobilitydata.gtfsvalidator.type.GtfsDate;
 import org.mobilitydata.gtfsvalidator.type.GtfsTime;
 
-/** Generates code in a container class for @Index and @PrimaryKey annotations. */
+/**
+ * Generates code in a container class for @Index and @PrimaryKey annotations.
+ *
+ * <p>Indices of columnar tables are {@link RowIndexListMultimap}. If the primary key of such table
+ * is an indexed field and its sequence, duplicate keys and translation keys are looked up in that
+ * index instead of a map with an entry per entity.
+ */
 class TableContainerIndexGenerator {
 
   private static final String BY_COMPOSITE_KEY_MAP_FIELD_NAME = "byCompositeKeyMap";
@@ -60,7 +67,7 @@ class TableContainerIndexGenerator {
           typeSpec,
           fileDescriptor.getSingleColumnPrimaryKey(),
           classNames.entityImplementationTypeName());
-    } else if (fileDescriptor.hasMultiColumnPrimaryKey()) {
+    } else if (fileDescriptor.hasMultiColumnPrimaryKey() && getRowIndexedKey().isEmpty()) {
       addMapByCompositeKey(typeSpec, classNames.entityImplementationTypeName());
     }
 
@@ -69,7 +76,8 @@ class TableContainerIndexGenerator {
           typeSpec,
           indexField,
           resolveSequenceField(indexField),
-          classNames.entityImplementationTypeName());
+          classNames.entityImplementationTypeName(),
+          fileDescriptor.columnar());
     }
 
     typeSpec.addMethod(generateByTranslationKeyMethod());
@@ -96,20 +104,50 @@ class TableContainerIndexGenerator {
     return Optional.empty();
   }
 
+  /**
+   * Returns the indexed field of a primary key that consists of that field and its sequence, if
+   * the table is columnar. Such key is looked up in the index of the field.
+   */
+  private Optional<GtfsFieldDescriptor> getRowIndexedKey() {
+    if (!fileDescriptor.columnar() || fileDescriptor.primaryKeys().size() != 2) {
+      return Optional.empty();
+    }
+    for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
+      if (indexField.primaryKey().isPresent() && resolveSequenceField(indexField).isPresent()) {
+        return Optional.of(indexField);
+      }
+    }
+    return Optional.empty();
+  }
+
   private static void addListMultimapWithGetters(
       TypeSpec.Builder typeSpec,
       GtfsFieldDescriptor indexField,
       Optional<GtfsFieldDescriptor> sequenceField,
-      TypeName entityTypeName) {
+      TypeName entityTypeName,
+      boolean columnar) {
     TypeName keyMapType =
         ParameterizedTypeName.get(
             ClassName.get(ListMultimap.class), TypeName.get(indexField.javaType()), entityTypeName);
     String methodName = byKeyMethodName(indexField.name());
     String fieldName = byKeyMapName(indexField.name());
-    typeSpec.addField(
-        FieldSpec.builder(keyMapType, fieldName, Modifier.PRIVATE)
-            .initializer("$T.create()", ParameterizedTypeName.get(ArrayListMultimap.class))
-            .build());
+    if (columnar) {
+      typeSpec.addField(
+          FieldSpec.builder(
+                  ParameterizedTypeName.get(
+                      ClassName.get(RowIndexListMultimap.class),
+                      TypeName.get(indexField.javaType()),
+                      entityTypeName),
+                  fieldName,
+                  Modifier.PRIVATE)
+              .initializer("$T.of()", RowIndexListMultimap.class)
+              .build());
+    } else {
+      typeSpec.addField(
+          FieldSpec.builder(keyMapType, fieldName, Modifier.PRIVATE)
+              .initializer("$T.create()", ParameterizedTypeName.get(ArrayListMultimap.class))
+              .build());
+    }
     String sortedBy =
         sequenceField
             .map((f) -> " sorted by " + FieldNameConverter.gtfsColumnName(f.name()))
@@ -220,6 +258,7 @@ class TableContainerIndexGenerator {
     } else if (fileDescriptor.hasMultiColumnPrimaryKey() && hasTranslationRecordId()) {
       ImmutableMap<TranslationRecordIdType, String> recordIdTypes =
           ImmutableMap.of(RECORD_ID, "recordId", RECORD_SUB_ID, "recordSubId");
+      Map<GtfsFieldDescriptor, CodeBlock> keyAccessors = new HashMap<>();
       List<CodeBlock> keyBuilderSetters = new ArrayList<>();
       for (GtfsFieldDescriptor field : fileDescriptor.primaryKeys()) {
         // Currently, translations.txt only supports lookup of entities with at most two primary
@@ -242,15 +281,25 @@ class TableContainerIndexGenerator {
                   accessor,
                   wrapStringAccessorWithTypeConversion(field, CodeBlock.of(parameterName)));
         }
+        keyAccessors.put(field, accessor);
         keyBuilderSetters.add(
             CodeBlock.of(".$L($L)", FieldNameConverter.setterMethodName(field.name()), accessor));
       }
+      method.beginControlFlow("try");
+      Optional<GtfsFieldDescriptor> rowIndexedKey = getRowIndexedKey();
+      if (rowIndexedKey.isPresent()) {
+        method.addStatement(
+            "return $L.findBySequence($L, $L)",
+            byKeyMapName(rowIndexedKey.get().name()),
+            keyAccessors.get(rowIndexedKey.get()),
+            keyAccessors.get(resolveSequenceField(rowIndexedKey.get()).get()));
+      } else {
+        method.addStatement(
+            "return Optional.ofNullable($L.getOrDefault(CompositeKey.builder()\n$L.\nbuild(), null))",
+            BY_COMPOSITE_KEY_MAP_FIELD_NAME,
+            CodeBlock.join(keyBuilderSetters, "\n"));
+      }
       method
-          .beginControlFlow("try")
-          .addStatement(
-              "return Optional.ofNullable($L.getOrDefault(CompositeKey.builder()\n$L.\nbuild(), null))",
-              BY_COMPOSITE_KEY_MAP_FIELD_NAME,
-              CodeBlock.join(keyBuilderSetters, "\n"))
           .nextControlFlow("catch (NumberFormatException ex)")
           .addStatement("return Optional.empty()")
           .endControlFlow();
@@ -294,19 +343,12 @@ class TableContainerIndexGenerator {
               "noticeContainer.addValidationNotice(new $T(gtfsFilename(), entities.size()))",
               MoreThanOneEntityNotice.class)
           .endControlFlow();
-    } else if (fileDescriptor.hasMultiColumnPrimaryKey()) {
+    } else if (fileDescriptor.hasMultiColumnPrimaryKey() && getRowIndexedKey().isEmpty()) {
       method
           .beginControlFlow("for ($T newEntity : entities)", gtfsEntityType)
           .addStatement(
               "CompositeKey key = CompositeKey.builder()\n$L\n.build()",
-              fileDescriptor.primaryKeys().stream()
-                  .map(
-                      (field) ->
-                          CodeBlock.of(
-                              ".$L(newEntity.$L())",
-                              FieldNameConverter.setterMethodName(field.name()),
-                              field.name()))
-                  .collect(CodeBlock.joining("\n")))
+              compositeKeySetters("newEntity"))
           .addStatement(
               "$T oldEntity = $L.getOrDefault(key, null)",
               classNames.entityImplementationTypeName(),
@@ -348,7 +390,36 @@ class TableContainerIndexGenerator {
       method.endControlFlow();
     }
 
-    if (!fileDescriptor.indices().isEmpty()) {
+    if (fileDescriptor.columnar()) {
+      for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
+        Optional<GtfsFieldDescriptor> sequenceField = resolveSequenceField(indexField);
+        method.addStatement(
+            "$L = $T.create(entities, $T::$L, $L)",
+            byKeyMapName(indexField.name()),
+            RowIndexListMultimap.class,
+            gtfsEntityType,
+            indexField.name(),
+            sequenceField
+                .map(f -> CodeBlock.of("$T::$L", gtfsEntityType, f.name()))
+                .orElse(CodeBlock.of("null")));
+      }
+      Optional<GtfsFieldDescriptor> rowIndexedKey = getRowIndexedKey();
+      if (rowIndexedKey.isPresent()) {
+        method
+            .addCode(
+                "$L.forEachDuplicateSequence(\n$>(oldEntity, newEntity) -> {\n$>",
+                byKeyMapName(rowIndexedKey.get().name()))
+            .addStatement(
+                "CompositeKey key = CompositeKey.builder()\n$L\n.build()",
+                compositeKeySetters("newEntity"))
+            .addStatement(
+                "noticeContainer.addValidationNotice(new $T(\n"
+                    + "gtfsFilename(), oldEntity.csvRowNumber(), newEntity.csvRowNumber(),\n"
+                    + "key.getDefinedKeys(oldEntity), key.getDefinedValues(oldEntity)))",
+                DuplicateKeyNotice.class)
+            .addCode("$<}$<);\n");
+      }
+    } else if (!fileDescriptor.indices().isEmpty()) {
       method.beginControlFlow("for ($T entity : entities)", gtfsEntityType);
       for (GtfsFieldDescriptor indexField : fileDescriptor.indices()) {
         method.addStatement(
@@ -376,6 +447,18 @@ class TableContainerIndexGenerator {
     return method.build();
   }
 
+  private CodeBlock compositeKeySetters(String entity) {
+    return fileDescriptor.primaryKeys().stream()
+        .map(
+            (field) ->
+                CodeBlock.of(
+                    ".$L($L.$L())",
+                    FieldNameConverter.setterMethodName(field.name()),
+                    entity,
+                    field.name()))
+        .collect(CodeBlock.joining("\n"));
+  }
+
   private TypeSpec compositeKeyClass() {
     // We generate an @AutoValue object to contain the values of the key.  @AutoValue automatically
     // generates equals() and hashCode() methods.
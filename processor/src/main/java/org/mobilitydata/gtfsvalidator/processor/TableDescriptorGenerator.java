@@ -92,6 +92,19 @@ public class TableDescriptorGenerator {
         || field.type() == FieldTypeEnum.ID;
   }
 
+  /**
+   * Returns the domain of an id field in a feed-wide id dictionary: the column that a foreign key
+   * references, or the column of the field itself.
+   */
+  static Optional<String> idDomain(GtfsFieldDescriptor field) {
+    if (field.type() != FieldTypeEnum.ID) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        FieldNameConverter.gtfsColumnName(
+            field.foreignKey().map(ForeignKeyDescriptor::field).orElse(field.name())));
+  }
+
   public JavaFile generateGtfsDescriptorJavaFile() {
     return JavaFile.builder(TABLE_PACKAGE_NAME, generateGtfsTableDescriptorClass()).build();
   }
@@ -211,6 +224,7 @@ public class TableDescriptorGenerator {
               bounds ->
                   descriptor.add(
                       ".setNumberBounds($T.$L)\n", RowParser.NumberBounds.class, bounds));
+      idDomain(field).ifPresent(domain -> descriptor.add(".setIdDomain($S)\n", domain));
       method.addStatement("builder.add($L.build())", descriptor.build());
     }
     method.addStatement("return builder.build()");